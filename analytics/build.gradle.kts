@@ -42,6 +42,7 @@ dependencies {
     testImplementation(testlib.junit.test.ktx)
 
     testImplementation(testlib.bundles.unit.test)
+    testImplementation(lib.bundles.unit.test)
 
     testImplementation(testlib.mockito)
     testImplementation(testlib.mockito.kotlin)
@@ -1,19 +1,18 @@
 package mega.privacy.android.analytics
 
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.launch
-import mega.privacy.android.domain.qualifier.ApplicationScope
-import mega.privacy.android.domain.usecase.analytics.SendUserJourneyEventUseCase
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
 import mega.privacy.mobile.analytics.event.api.EventSender
 import javax.inject.Inject
 
+/**
+ * Event sender queueing the events in [UserJourneyEventQueue] to send them in batches
+ */
 internal class EventSenderImpl @Inject constructor(
-    private val sendUserJourneyEventUseCase: SendUserJourneyEventUseCase,
-    @ApplicationScope private val scope: CoroutineScope,
+    private val userJourneyEventQueue: UserJourneyEventQueue,
 ) : EventSender {
     override fun sendEvent(eventId: Int, message: String, viewId: String?) {
-        scope.launch {
-            sendUserJourneyEventUseCase(eventId = eventId, message = message, viewId = viewId)
-        }
+        userJourneyEventQueue.add(
+            UserJourneyEvent(eventId = eventId, message = message, viewId = viewId)
+        )
     }
-}
\ No newline at end of file
+}
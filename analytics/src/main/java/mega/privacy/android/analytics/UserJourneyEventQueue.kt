@@ -0,0 +1,241 @@
+package mega.privacy.android.analytics
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.stateIn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withTimeoutOrNull
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.usecase.analytics.GetPendingUserJourneyEventsUseCase
+import mega.privacy.android.domain.usecase.analytics.SendUserJourneyEventUseCase
+import mega.privacy.android.domain.usecase.analytics.SetPendingUserJourneyEventsUseCase
+import mega.privacy.android.domain.usecase.network.MonitorConnectivityUseCase
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Bounded queue of user journey events, sent in batches
+ *
+ * Events are sent once [BATCH_SIZE] of them are queued or [FLUSH_INTERVAL_MS] after the first one
+ * was queued, whichever comes first, and only while there is network connectivity. If the queue is
+ * full the oldest event is dropped. The queued events are saved [SAVE_DELAY_MS] after new ones are
+ * added, and again after each batch, so they are restored the next time the app starts even if the
+ * process dies before they are sent. After a failed send the queue is retried on its own, waiting
+ * [RETRY_INITIAL_DELAY_MS] at first and twice as long after each failure, up to
+ * [RETRY_MAX_DELAY_MS]. The queue metrics are logged after every flush.
+ */
+@Singleton
+internal class UserJourneyEventQueue @Inject constructor(
+    private val sendUserJourneyEventUseCase: SendUserJourneyEventUseCase,
+    private val getPendingUserJourneyEventsUseCase: GetPendingUserJourneyEventsUseCase,
+    private val setPendingUserJourneyEventsUseCase: SetPendingUserJourneyEventsUseCase,
+    private val monitorConnectivityUseCase: MonitorConnectivityUseCase,
+    @ApplicationScope private val scope: CoroutineScope,
+) {
+    private val queue = ArrayDeque<UserJourneyEvent>()
+    private val signal = Channel<Unit>(Channel.CONFLATED)
+    private val saveSignal = Channel<Unit>(Channel.CONFLATED)
+    private val saveMutex = Mutex()
+
+    private var sentEvents = 0L
+    private var droppedEvents = 0L
+
+    /**
+     * Last events saved, to skip saving them again if the queue didn't change
+     */
+    private var savedEvents = emptyList<UserJourneyEvent>()
+
+    init {
+        scope.launch { run() }
+    }
+
+    /**
+     * Queue an event to be sent with the next batch
+     *
+     * @param event
+     */
+    fun add(event: UserJourneyEvent) {
+        synchronized(queue) { addLocked(event) }
+        signal.trySend(Unit)
+        saveSignal.trySend(Unit)
+    }
+
+    /**
+     * Current queue metrics
+     */
+    fun getMetrics() = synchronized(queue) {
+        UserJourneyEventQueueMetrics(
+            queuedEvents = queue.size,
+            sentEvents = sentEvents,
+            droppedEvents = droppedEvents,
+        )
+    }
+
+    private fun addLocked(event: UserJourneyEvent) {
+        if (queue.size >= MAX_QUEUE_SIZE) {
+            queue.removeFirst()
+            droppedEvents++
+        }
+        queue.addLast(event)
+    }
+
+    private suspend fun run() {
+        restorePendingEvents()
+        // only after restoring, otherwise the restored events could be overwritten
+        scope.launch { saveAddedEvents() }
+        val connected = monitorConnectivityUseCase()
+            .catch { emit(true) }
+            .stateIn(scope, SharingStarted.Eagerly, true)
+        var retryDelay = 0L
+        while (true) {
+            if (retryDelay > 0) {
+                delay(retryDelay)
+            } else {
+                signal.receive()
+                withTimeoutOrNull(FLUSH_INTERVAL_MS) {
+                    while (size() < BATCH_SIZE) signal.receive()
+                }
+            }
+            if (!connected.value) {
+                savePendingEvents()
+                connected.first { it }
+            }
+            if (flush()) {
+                retryDelay = 0L
+                Timber.d("User journey events sent, ${getMetrics()}")
+            } else {
+                retryDelay = (retryDelay * 2).coerceIn(RETRY_INITIAL_DELAY_MS, RETRY_MAX_DELAY_MS)
+                Timber.w("User journey events not sent, retrying in $retryDelay ms, ${getMetrics()}")
+            }
+            savePendingEvents()
+        }
+    }
+
+    /**
+     * Send the queued events in batches, stopping at the first failed send
+     *
+     * @return true if all the queued events were sent
+     */
+    private suspend fun flush(): Boolean {
+        while (true) {
+            val batch = synchronized(queue) {
+                List(minOf(queue.size, BATCH_SIZE)) { queue.removeFirst() }
+            }
+            if (batch.isEmpty()) return true
+            batch.forEachIndexed { index, event ->
+                try {
+                    sendUserJourneyEventUseCase(
+                        eventId = event.eventId,
+                        message = event.message,
+                        viewId = event.viewId,
+                    )
+                    synchronized(queue) { sentEvents++ }
+                } catch (e: CancellationException) {
+                    requeue(batch.subList(index, batch.size))
+                    throw e
+                } catch (e: Exception) {
+                    Timber.w(e, "Error sending user journey event")
+                    requeue(batch.subList(index, batch.size))
+                    return false
+                }
+            }
+        }
+    }
+
+    /**
+     * Put back at the head of the queue events that could not be sent
+     */
+    private fun requeue(events: List<UserJourneyEvent>) = synchronized(queue) {
+        val newer = queue.toList()
+        queue.clear()
+        events.forEach { addLocked(it) }
+        newer.forEach { addLocked(it) }
+    }
+
+    private fun size() = synchronized(queue) { queue.size }
+
+    /**
+     * Save the queue shortly after events are added, at most once every [SAVE_DELAY_MS]
+     */
+    private suspend fun saveAddedEvents() {
+        while (true) {
+            saveSignal.receive()
+            delay(SAVE_DELAY_MS)
+            savePendingEvents()
+        }
+    }
+
+    private suspend fun restorePendingEvents() {
+        val pending = runCatching { getPendingUserJourneyEventsUseCase() }
+            .onFailure { Timber.w(it, "Error restoring pending user journey events") }
+            .getOrNull()
+            .orEmpty()
+        if (pending.isEmpty()) return
+        // restored events are older than any event queued since the app started
+        requeue(pending)
+        saveMutex.withLock { savedEvents = pending }
+        signal.trySend(Unit)
+    }
+
+    private suspend fun savePendingEvents() = saveMutex.withLock {
+        val pending = synchronized(queue) { queue.toList() }
+        if (pending == savedEvents) return@withLock
+        runCatching { setPendingUserJourneyEventsUseCase(pending) }
+            .onSuccess { savedEvents = pending }
+            .onFailure { Timber.w(it, "Error saving pending user journey events") }
+    }
+
+    companion object {
+        /**
+         * Maximum number of queued events, the oldest ones are dropped beyond it
+         */
+        const val MAX_QUEUE_SIZE = 500
+
+        /**
+         * Number of queued events that triggers sending them
+         */
+        const val BATCH_SIZE = 20
+
+        /**
+         * Maximum time an event waits for its batch to be sent, if there is connectivity
+         */
+        const val FLUSH_INTERVAL_MS = 10_000L
+
+        /**
+         * Time to wait after events are added before saving the queue, so bursts are saved once
+         */
+        const val SAVE_DELAY_MS = 1_000L
+
+        /**
+         * Time to wait before retrying after a first failed send
+         */
+        const val RETRY_INITIAL_DELAY_MS = 30_000L
+
+        /**
+         * Maximum time to wait before retrying after consecutive failed sends
+         */
+        const val RETRY_MAX_DELAY_MS = 15 * 60_000L
+    }
+}
+
+/**
+ * User journey event queue metrics
+ *
+ * @property queuedEvents events waiting to be sent
+ * @property sentEvents events sent since the app started
+ * @property droppedEvents events dropped because the queue was full
+ */
+internal data class UserJourneyEventQueueMetrics(
+    val queuedEvents: Int,
+    val sentEvents: Long,
+    val droppedEvents: Long,
+)
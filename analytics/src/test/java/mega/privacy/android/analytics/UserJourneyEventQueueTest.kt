@@ -0,0 +1,202 @@
+package mega.privacy.android.analytics
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+import mega.privacy.android.domain.usecase.analytics.GetPendingUserJourneyEventsUseCase
+import mega.privacy.android.domain.usecase.analytics.SendUserJourneyEventUseCase
+import mega.privacy.android.domain.usecase.analytics.SetPendingUserJourneyEventsUseCase
+import mega.privacy.android.domain.usecase.network.MonitorConnectivityUseCase
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.inOrder
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserJourneyEventQueueTest {
+
+    private val sendUserJourneyEventUseCase = mock<SendUserJourneyEventUseCase>()
+    private val getPendingUserJourneyEventsUseCase = mock<GetPendingUserJourneyEventsUseCase>()
+    private val setPendingUserJourneyEventsUseCase = mock<SetPendingUserJourneyEventsUseCase>()
+    private val monitorConnectivityUseCase = mock<MonitorConnectivityUseCase>()
+
+    private val connectivity = MutableStateFlow(true)
+
+    @BeforeEach
+    fun resetMocks() = runTest {
+        reset(
+            sendUserJourneyEventUseCase,
+            getPendingUserJourneyEventsUseCase,
+            setPendingUserJourneyEventsUseCase,
+            monitorConnectivityUseCase,
+        )
+        connectivity.value = true
+        whenever(monitorConnectivityUseCase()).thenReturn(connectivity)
+        whenever(getPendingUserJourneyEventsUseCase()).thenReturn(emptyList())
+    }
+
+    @Test
+    fun `test that events are sent once the flush interval elapses`() = runTest {
+        val underTest = createQueue()
+        val events = createEvents(3)
+
+        events.forEach { underTest.add(it) }
+        runCurrent()
+        verify(sendUserJourneyEventUseCase, never()).invoke(any(), any(), anyOrNull())
+
+        advanceTimeBy(UserJourneyEventQueue.FLUSH_INTERVAL_MS + 1)
+
+        inOrder(sendUserJourneyEventUseCase) {
+            events.forEach { verify(sendUserJourneyEventUseCase).invoke(it.eventId, it.message, it.viewId) }
+        }
+        assertThat(underTest.getMetrics()).isEqualTo(UserJourneyEventQueueMetrics(0, 3, 0))
+    }
+
+    @Test
+    fun `test that a full batch is sent without waiting for the flush interval`() = runTest {
+        val underTest = createQueue()
+
+        createEvents(UserJourneyEventQueue.BATCH_SIZE).forEach { underTest.add(it) }
+        runCurrent()
+
+        verify(sendUserJourneyEventUseCase, times(UserJourneyEventQueue.BATCH_SIZE))
+            .invoke(any(), any(), anyOrNull())
+    }
+
+    @Test
+    fun `test that the oldest events are dropped when the queue is full`() = runTest {
+        connectivity.value = false
+        val underTest = createQueue()
+
+        createEvents(UserJourneyEventQueue.MAX_QUEUE_SIZE + 5).forEach { underTest.add(it) }
+        runCurrent()
+
+        assertThat(underTest.getMetrics()).isEqualTo(
+            UserJourneyEventQueueMetrics(UserJourneyEventQueue.MAX_QUEUE_SIZE, 0, 5)
+        )
+    }
+
+    @Test
+    fun `test that events are saved while offline and sent once connected`() = runTest {
+        connectivity.value = false
+        val underTest = createQueue()
+        val events = createEvents(2)
+
+        events.forEach { underTest.add(it) }
+        advanceTimeBy(UserJourneyEventQueue.FLUSH_INTERVAL_MS + 1)
+        verify(setPendingUserJourneyEventsUseCase).invoke(events)
+        verify(sendUserJourneyEventUseCase, never()).invoke(any(), any(), anyOrNull())
+
+        connectivity.value = true
+        runCurrent()
+
+        verify(sendUserJourneyEventUseCase, times(2)).invoke(any(), any(), anyOrNull())
+        verify(setPendingUserJourneyEventsUseCase).invoke(emptyList())
+    }
+
+    @Test
+    fun `test that events are saved shortly after being added`() = runTest {
+        val underTest = createQueue()
+        val events = createEvents(2)
+
+        events.forEach { underTest.add(it) }
+        advanceTimeBy(UserJourneyEventQueue.SAVE_DELAY_MS + 1)
+
+        verify(setPendingUserJourneyEventsUseCase).invoke(events)
+        verify(sendUserJourneyEventUseCase, never()).invoke(any(), any(), anyOrNull())
+    }
+
+    @Test
+    fun `test that every event added while offline is saved`() = runTest {
+        connectivity.value = false
+        val underTest = createQueue()
+        val events = createEvents(2)
+
+        underTest.add(events[0])
+        advanceTimeBy(UserJourneyEventQueue.FLUSH_INTERVAL_MS + 1)
+        underTest.add(events[1])
+        advanceTimeBy(UserJourneyEventQueue.SAVE_DELAY_MS + 1)
+
+        inOrder(setPendingUserJourneyEventsUseCase) {
+            verify(setPendingUserJourneyEventsUseCase).invoke(events.take(1))
+            verify(setPendingUserJourneyEventsUseCase).invoke(events)
+        }
+    }
+
+    @Test
+    fun `test that restored events are sent before the new ones`() = runTest {
+        val restored = createEvents(2, firstId = 100)
+        whenever(getPendingUserJourneyEventsUseCase()).thenReturn(restored)
+        val underTest = createQueue()
+        val event = createEvents(1).single()
+
+        underTest.add(event)
+        advanceTimeBy(UserJourneyEventQueue.FLUSH_INTERVAL_MS + 1)
+
+        inOrder(sendUserJourneyEventUseCase) {
+            (restored + event).forEach {
+                verify(sendUserJourneyEventUseCase).invoke(it.eventId, it.message, it.viewId)
+            }
+        }
+        verify(setPendingUserJourneyEventsUseCase).invoke(emptyList())
+    }
+
+    @Test
+    fun `test that events that fail to be sent are kept and saved`() = runTest {
+        val events = createEvents(3)
+        whenever(sendUserJourneyEventUseCase(events[1].eventId, events[1].message, events[1].viewId))
+            .thenThrow(RuntimeException())
+        val underTest = createQueue()
+
+        events.forEach { underTest.add(it) }
+        advanceTimeBy(UserJourneyEventQueue.FLUSH_INTERVAL_MS + 1)
+
+        verify(setPendingUserJourneyEventsUseCase).invoke(events.drop(1))
+        assertThat(underTest.getMetrics()).isEqualTo(UserJourneyEventQueueMetrics(2, 1, 0))
+    }
+
+    @Test
+    fun `test that events that fail to be sent are retried without new events`() = runTest {
+        val event = createEvents(1).single()
+        whenever(sendUserJourneyEventUseCase(event.eventId, event.message, event.viewId))
+            .thenThrow(RuntimeException())
+            .thenReturn(Unit)
+        val underTest = createQueue()
+
+        underTest.add(event)
+        advanceTimeBy(UserJourneyEventQueue.FLUSH_INTERVAL_MS + 1)
+        verify(sendUserJourneyEventUseCase).invoke(event.eventId, event.message, event.viewId)
+
+        advanceTimeBy(UserJourneyEventQueue.RETRY_INITIAL_DELAY_MS + 1)
+
+        verify(sendUserJourneyEventUseCase, times(2))
+            .invoke(event.eventId, event.message, event.viewId)
+        assertThat(underTest.getMetrics()).isEqualTo(UserJourneyEventQueueMetrics(0, 1, 0))
+    }
+
+    private fun TestScope.createQueue() = UserJourneyEventQueue(
+        sendUserJourneyEventUseCase = sendUserJourneyEventUseCase,
+        getPendingUserJourneyEventsUseCase = getPendingUserJourneyEventsUseCase,
+        setPendingUserJourneyEventsUseCase = setPendingUserJourneyEventsUseCase,
+        monitorConnectivityUseCase = monitorConnectivityUseCase,
+        scope = backgroundScope,
+    ).also { runCurrent() }
+
+    private fun createEvents(count: Int, firstId: Int = 0) = (firstId until firstId + count).map {
+        UserJourneyEvent(eventId = it, message = "message$it", viewId = "view$it".takeIf { _ -> it % 2 == 0 })
+    }
+}
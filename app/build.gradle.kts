@@ -211,6 +211,7 @@ dependencies {
     //Test Modules
     testImplementation(project(":core-test"))
     testImplementation(project(":core-ui-test"))
+    androidTestImplementation(project(":core-test"))
 
     // Jetbrains
     implementation(lib.coroutines.android)
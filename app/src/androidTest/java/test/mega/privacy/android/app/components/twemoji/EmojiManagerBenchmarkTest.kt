@@ -0,0 +1,104 @@
+package mega.privacy.android.app.components.twemoji
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth
+import mega.privacy.android.core.test.benchmark.logComparison
+import mega.privacy.android.core.test.benchmark.measure
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.regex.Pattern
+
+/**
+ * Compares the emoji matching of [EmojiManager] against the regex alternation of all the emojis it
+ * used before, both for the install cost and for matching typical chat messages. The timings are
+ * logged, the test checks both find the same emojis
+ */
+@RunWith(AndroidJUnit4::class)
+class EmojiManagerBenchmarkTest {
+
+    @After
+    fun tearDown() {
+        EmojiManager.destroy()
+    }
+
+    @Test
+    fun test_that_emojis_are_matched_the_same_as_with_the_regex() {
+        val provider = TwitterEmojiProvider()
+        val regex = measure(rounds = 1, warmUpRounds = 0) { RegexMatcher(provider) }
+        val install = measure(rounds = 1, warmUpRounds = 0) { EmojiManager.install(provider) }
+        logComparison(TAG, "Install", regex, install)
+
+        val manager = EmojiManager.getInstance()
+        val messages = createMessages(regex.result.emojis)
+        val before = measure {
+            messages.sumOf { message ->
+                regex.result.isOnlyEmojis(message)
+                regex.result.findAll(message).size
+            }
+        }
+        val after = measure {
+            messages.sumOf { message ->
+                manager.isOnlyEmojis(message)
+                manager.findAllEmojis(message).size
+            }
+        }
+
+        logComparison(TAG, "Matching a message", before, after, operations = MESSAGES.toLong())
+        messages.forEach { message ->
+            Truth.assertThat(manager.findAllEmojis(message).map { it.start to it.end })
+                .isEqualTo(regex.result.findAll(message))
+            Truth.assertThat(manager.isOnlyEmojis(message))
+                .isEqualTo(regex.result.isOnlyEmojis(message))
+        }
+        Truth.assertThat(after.result).isEqualTo(before.result)
+    }
+
+    /**
+     * Chat like messages: plain text, text with a few emojis and messages made only of emojis
+     */
+    private fun createMessages(emojis: List<String>) = (0 until MESSAGES).map { index ->
+        val emoji = emojis[index * 7919 % emojis.size]
+        val other = emojis[index * 104729 % emojis.size]
+        when (index % 4) {
+            0 -> "Hi, are we still meeting tomorrow at ${index % 24}:00? Let me know"
+            1 -> "Sounds good $emoji see you there $other"
+            2 -> "$emoji$other $emoji"
+            else -> "Sent the files, check the shared folder when you can $emoji"
+        }
+    }
+
+    /**
+     * Previous implementation, an alternation of all the emojis sorted by length
+     */
+    private class RegexMatcher(provider: EmojiProvider) {
+        val emojis = provider.categories
+            .flatMap { category -> category.emojis.flatMap { listOf(it) + it.variants } }
+            .map { it.unicode }
+        private val pattern: Pattern
+        private val repetitivePattern: Pattern
+
+        init {
+            val regex = emojis.sortedByDescending { it.length }
+                .joinToString("|") { Pattern.quote(it) }
+            pattern = Pattern.compile(regex)
+            repetitivePattern = Pattern.compile("($regex)+")
+        }
+
+        fun findAll(text: String): List<Pair<Int, Int>> {
+            val matcher = pattern.matcher(text)
+            val result = mutableListOf<Pair<Int, Int>>()
+            while (matcher.find()) result.add(matcher.start() to matcher.end())
+            return result
+        }
+
+        fun isOnlyEmojis(text: String) =
+            repetitivePattern.matcher(text.replace(WHITESPACE, "")).matches()
+    }
+
+    companion object {
+        private const val TAG = "EmojiManagerBenchmark"
+        private const val MESSAGES = 2_000
+        private val WHITESPACE = Regex("\\s")
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.barteksc.pdfviewer;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of bitmaps released by the {@link CacheManager}, reused by the {@link RenderingHandler}
+ * instead of allocating a new bitmap for each rendered part.
+ * <p>
+ * Bitmaps are kept by size and config, up to a maximum number of bytes.
+ */
+class BitmapPool {
+
+    private final Map<Key, ArrayDeque<Bitmap>> bitmaps = new HashMap<>();
+
+    private final long maxBytes;
+
+    private long bytes = 0;
+
+    BitmapPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a cleared bitmap of the given size and config, creating it if none is pooled
+     */
+    Bitmap acquire(int width, int height, Bitmap.Config config) {
+        Bitmap bitmap = null;
+        synchronized (bitmaps) {
+            ArrayDeque<Bitmap> pooled = bitmaps.get(new Key(width, height, config));
+            if (pooled != null && !pooled.isEmpty()) {
+                bitmap = pooled.poll();
+                bytes -= bitmap.getAllocationByteCount();
+            }
+        }
+        if (bitmap == null) {
+            return Bitmap.createBitmap(width, height, config);
+        }
+        bitmap.eraseColor(Color.TRANSPARENT);
+        return bitmap;
+    }
+
+    /**
+     * Give back a bitmap that is no longer used, it is recycled if the pool is full
+     */
+    void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        if (bitmap.isMutable()) {
+            synchronized (bitmaps) {
+                int size = bitmap.getAllocationByteCount();
+                if (bytes + size <= maxBytes) {
+                    Key key = new Key(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+                    ArrayDeque<Bitmap> pooled = bitmaps.get(key);
+                    if (pooled == null) {
+                        pooled = new ArrayDeque<>();
+                        bitmaps.put(key, pooled);
+                    }
+                    pooled.push(bitmap);
+                    bytes += size;
+                    return;
+                }
+            }
+        }
+        bitmap.recycle();
+    }
+
+    /**
+     * Recycle all the pooled bitmaps
+     */
+    void clear() {
+        synchronized (bitmaps) {
+            for (ArrayDeque<Bitmap> pooled : bitmaps.values()) {
+                for (Bitmap bitmap : pooled) {
+                    bitmap.recycle();
+                }
+            }
+            bitmaps.clear();
+            bytes = 0;
+        }
+    }
+
+    private static final class Key {
+        private final int width;
+        private final int height;
+        private final Bitmap.Config config;
+
+        Key(int width, int height, Bitmap.Config config) {
+            this.width = width;
+            this.height = height;
+            this.config = config;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return key.width == width && key.height == height && key.config == config;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = width;
+            result = 31 * result + height;
+            result = 31 * result + (config != null ? config.hashCode() : 0);
+            return result;
+        }
+    }
+}
@@ -15,45 +15,88 @@
  */
 package com.github.barteksc.pdfviewer;
 
+import android.graphics.Bitmap;
 import android.graphics.RectF;
-import androidx.annotation.Nullable;
 
 import com.github.barteksc.pdfviewer.model.PagePart;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Map;
+import java.util.TreeSet;
 
+import static com.github.barteksc.pdfviewer.util.Constants.Cache.BITMAP_POOL_RATIO;
+import static com.github.barteksc.pdfviewer.util.Constants.Cache.CACHE_MEMORY_RATIO;
 import static com.github.barteksc.pdfviewer.util.Constants.Cache.CACHE_SIZE;
 import static com.github.barteksc.pdfviewer.util.Constants.Cache.THUMBNAILS_CACHE_SIZE;
+import static com.github.barteksc.pdfviewer.util.Constants.PART_SIZE;
 
+/**
+ * Keeps the rendered parts within a memory budget.
+ * <p>
+ * Parts are indexed by page, bounds and rendered size, so they are found in constant time. Parts
+ * of the current set are active, the ones from previous sets are passive and evicted first, in
+ * both cases from the lowest cache order. Evicted bitmaps are given to the {@link BitmapPool} to
+ * be reused by the next rendered parts.
+ */
 class CacheManager {
 
-    private final PriorityQueue<PagePart> passiveCache;
+    private final TreeSet<Entry> passiveCache;
 
-    private final PriorityQueue<PagePart> activeCache;
+    private final TreeSet<Entry> activeCache;
+
+    private final Map<TileKey, Entry> index = new HashMap<>();
 
     private final List<PagePart> thumbnails;
 
     private final Object passiveActiveLock = new Object();
 
-    private final PagePartComparator orderComparator = new PagePartComparator();
+    private final BitmapPool bitmapPool;
+
+    private final long maxBytes;
+
+    private long bytes = 0;
+
+    private long sequence = 0;
 
     public CacheManager() {
-        activeCache = new PriorityQueue<>(CACHE_SIZE, orderComparator);
-        passiveCache = new PriorityQueue<>(CACHE_SIZE, orderComparator);
+        EntryComparator orderComparator = new EntryComparator();
+        activeCache = new TreeSet<>(orderComparator);
+        passiveCache = new TreeSet<>(orderComparator);
         thumbnails = new ArrayList<>();
+        // never less than the previous fixed number of full size parts
+        long minBytes = (long) (CACHE_SIZE * PART_SIZE * PART_SIZE * 4);
+        maxBytes = Math.max(minBytes, (long) (Runtime.getRuntime().maxMemory() * CACHE_MEMORY_RATIO));
+        bitmapPool = new BitmapPool((long) (maxBytes * BITMAP_POOL_RATIO));
+    }
+
+    BitmapPool getBitmapPool() {
+        return bitmapPool;
     }
 
     public void cachePart(PagePart part) {
         synchronized (passiveActiveLock) {
-            // If cache too big, remove and recycle
-            makeAFreeSpace();
+            TileKey key = TileKey.of(part);
+            Entry existing = index.get(key);
+            if (existing != null) {
+                // rendered again while the previous part was cached, keep the cached one
+                bitmapPool.release(part.getRenderedBitmap());
+                return;
+            }
+
+            long partBytes = part.getRenderedBitmap().getAllocationByteCount();
+
+            // If cache too big, remove and release
+            makeAFreeSpace(partBytes);
 
             // Then add part
-            activeCache.offer(part);
+            Entry entry = new Entry(part, key, partBytes, sequence++);
+            index.put(key, entry);
+            activeCache.add(entry);
+            bytes += partBytes;
         }
     }
 
@@ -64,26 +107,29 @@ class CacheManager {
         }
     }
 
-    private void makeAFreeSpace() {
+    private void makeAFreeSpace(long neededBytes) {
         synchronized (passiveActiveLock) {
-            while ((activeCache.size() + passiveCache.size()) >= CACHE_SIZE &&
-                    !passiveCache.isEmpty()) {
-                PagePart part = passiveCache.poll();
-                part.getRenderedBitmap().recycle();
+            while (bytes + neededBytes > maxBytes && !passiveCache.isEmpty()) {
+                evict(passiveCache.pollFirst());
             }
 
-            while ((activeCache.size() + passiveCache.size()) >= CACHE_SIZE &&
-                    !activeCache.isEmpty()) {
-                activeCache.poll().getRenderedBitmap().recycle();
+            while (bytes + neededBytes > maxBytes && !activeCache.isEmpty()) {
+                evict(activeCache.pollFirst());
             }
         }
     }
 
+    private void evict(Entry entry) {
+        index.remove(entry.key);
+        bytes -= entry.bytes;
+        bitmapPool.release(entry.part.getRenderedBitmap());
+    }
+
     public void cacheThumbnail(PagePart part) {
         synchronized (thumbnails) {
             // If cache too big, remove and recycle
             while (thumbnails.size() >= THUMBNAILS_CACHE_SIZE) {
-                thumbnails.remove(0).getRenderedBitmap().recycle();
+                bitmapPool.release(thumbnails.remove(0).getRenderedBitmap());
             }
 
             // Then add thumbnail
@@ -92,19 +138,22 @@ class CacheManager {
 
     }
 
-    public boolean upPartIfContained(int page, RectF pageRelativeBounds, int toOrder) {
-        PagePart fakePart = new PagePart(page, null, pageRelativeBounds, false, 0);
-
-        PagePart found;
+    /**
+     * Move the described part to the current set if it is cached
+     *
+     * @return true if the part is cached
+     */
+    public boolean upPartIfContained(int page, RectF pageRelativeBounds, int width, int height, int toOrder) {
         synchronized (passiveActiveLock) {
-            if ((found = find(passiveCache, fakePart)) != null) {
-                passiveCache.remove(found);
-                found.setCacheOrder(toOrder);
-                activeCache.offer(found);
-                return true;
+            Entry found = index.get(new TileKey(page, pageRelativeBounds, width, height));
+            if (found == null) {
+                return false;
             }
-
-            return find(activeCache, fakePart) != null;
+            if (passiveCache.remove(found)) {
+                found.part.setCacheOrder(toOrder);
+                activeCache.add(found);
+            }
+            return true;
         }
     }
 
@@ -124,32 +173,27 @@ class CacheManager {
     }
 
     /**
-     * Add part if it doesn't exist, recycle bitmap otherwise
+     * Add part if it doesn't exist, release bitmap otherwise
      */
     private void addWithoutDuplicates(Collection<PagePart> collection, PagePart newPart) {
         for (PagePart part : collection) {
             if (part.equals(newPart)) {
-                newPart.getRenderedBitmap().recycle();
+                bitmapPool.release(newPart.getRenderedBitmap());
                 return;
             }
         }
         collection.add(newPart);
     }
 
-    @Nullable
-    private static PagePart find(PriorityQueue<PagePart> vector, PagePart fakePart) {
-        for (PagePart part : vector) {
-            if (part.equals(fakePart)) {
-                return part;
-            }
-        }
-        return null;
-    }
-
     public List<PagePart> getPageParts() {
         synchronized (passiveActiveLock) {
-            List<PagePart> parts = new ArrayList<>(passiveCache);
-            parts.addAll(activeCache);
+            List<PagePart> parts = new ArrayList<>(passiveCache.size() + activeCache.size());
+            for (Entry entry : passiveCache) {
+                parts.add(entry.part);
+            }
+            for (Entry entry : activeCache) {
+                parts.add(entry.part);
+            }
             return parts;
         }
     }
@@ -162,14 +206,16 @@ class CacheManager {
 
     public void recycle() {
         synchronized (passiveActiveLock) {
-            for (PagePart part : passiveCache) {
-                part.getRenderedBitmap().recycle();
+            for (Entry entry : passiveCache) {
+                entry.part.getRenderedBitmap().recycle();
             }
             passiveCache.clear();
-            for (PagePart part : activeCache) {
-                part.getRenderedBitmap().recycle();
+            for (Entry entry : activeCache) {
+                entry.part.getRenderedBitmap().recycle();
             }
             activeCache.clear();
+            index.clear();
+            bytes = 0;
         }
         synchronized (thumbnails) {
             for (PagePart part : thumbnails) {
@@ -177,15 +223,87 @@ class CacheManager {
             }
             thumbnails.clear();
         }
+        bitmapPool.clear();
+    }
+
+    /**
+     * Cached part, with a sequence number to order the parts with the same cache order
+     */
+    private static final class Entry {
+        final PagePart part;
+        final TileKey key;
+        final long bytes;
+        final long sequence;
+
+        Entry(PagePart part, TileKey key, long bytes, long sequence) {
+            this.part = part;
+            this.key = key;
+            this.bytes = bytes;
+            this.sequence = sequence;
+        }
     }
 
-    class PagePartComparator implements Comparator<PagePart> {
+    /**
+     * Page, bounds and rendered size of a part, the rendered size changes with the zoom
+     */
+    private static final class TileKey {
+        private final int page;
+        private final float left;
+        private final float top;
+        private final float right;
+        private final float bottom;
+        private final int width;
+        private final int height;
+
+        TileKey(int page, RectF bounds, int width, int height) {
+            this.page = page;
+            // adding 0 turns a negative zero into zero, which would have a different hash
+            this.left = bounds.left + 0f;
+            this.top = bounds.top + 0f;
+            this.right = bounds.right + 0f;
+            this.bottom = bounds.bottom + 0f;
+            this.width = width;
+            this.height = height;
+        }
+
+        static TileKey of(PagePart part) {
+            Bitmap bitmap = part.getRenderedBitmap();
+            return new TileKey(part.getPage(), part.getPageRelativeBounds(), bitmap.getWidth(), bitmap.getHeight());
+        }
+
         @Override
-        public int compare(PagePart part1, PagePart part2) {
-            if (part1.getCacheOrder() == part2.getCacheOrder()) {
-                return 0;
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TileKey)) {
+                return false;
             }
-            return part1.getCacheOrder() > part2.getCacheOrder() ? 1 : -1;
+            TileKey key = (TileKey) obj;
+            return key.page == page
+                    && key.left == left
+                    && key.top == top
+                    && key.right == right
+                    && key.bottom == bottom
+                    && key.width == width
+                    && key.height == height;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = page;
+            result = 31 * result + Float.floatToIntBits(left);
+            result = 31 * result + Float.floatToIntBits(top);
+            result = 31 * result + Float.floatToIntBits(right);
+            result = 31 * result + Float.floatToIntBits(bottom);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            return result;
+        }
+    }
+
+    static class EntryComparator implements Comparator<Entry> {
+        @Override
+        public int compare(Entry entry1, Entry entry2) {
+            int order = Integer.compare(entry1.part.getCacheOrder(), entry2.part.getCacheOrder());
+            return order != 0 ? order : Long.compare(entry1.sequence, entry2.sequence);
         }
     }
 
@@ -235,6 +235,9 @@ public class PDFView extends RelativeLayout {
     /** Spacing between pages, in px */
     private int spacingPx = 0;
 
+    /** On disk cache of the opened documents, null if documents are not cached */
+    private PdfDocumentCache documentCache;
+
     /** pages numbers used when calling onDrawAllListener */
     private List<Integer> onDrawPagesNums = new ArrayList<>(10);
 
@@ -288,8 +291,11 @@ public class PDFView extends RelativeLayout {
                 Throwable error = null;
                 try {
                     PdfDocument pdfDocument = docSource.createDocument(pdfView.getContext(), pdfiumCore, password);
+                    // password protected documents are not cached to keep their content off the disk
+                    PdfDocumentCache.Document cachedDocument = documentCache != null && password == null
+                            ? documentCache.open(pdfView.getContext(), docSource) : null;
                     pdfFile = new PdfFile(pdfiumCore, pdfDocument, pdfView.getPageFitPolicy(), getViewSize(pdfView),
-                            userPages, pdfView.isSwipeVertical(), pdfView.getSpacingPx());
+                            userPages, pdfView.isSwipeVertical(), pdfView.getSpacingPx(), cachedDocument);
                 } catch (Throwable t) {
                     error = t;
                 }
@@ -436,7 +442,7 @@ public class PDFView extends RelativeLayout {
         // Stop tasks
         if (renderingHandler != null) {
             renderingHandler.stop();
-            renderingHandler.removeMessages(RenderingHandler.MSG_RENDER_TASK);
+            renderingHandler.cancelPendingTasks();
         }
         if (decodingExecutorService != null) {
             decodingExecutorService.shutdownNow();
@@ -705,6 +711,33 @@ public class PDFView extends RelativeLayout {
 
     }
 
+    /**
+     * Check if a part of a page is on the screen, the same way {@link #drawPart(Canvas, PagePart)} does
+     *
+     * @param page               page index
+     * @param pageRelativeBounds bounds of the part relative to the page size
+     */
+    boolean isPartVisible(int page, RectF pageRelativeBounds) {
+        SizeF size = pdfFile.getPageSize(page);
+        float translationX;
+        float translationY;
+        if (swipeVertical) {
+            translationY = pdfFile.getPageOffset(page, zoom);
+            translationX = toCurrentScale(pdfFile.getMaxPageWidth() - size.getWidth()) / 2;
+        } else {
+            translationX = pdfFile.getPageOffset(page, zoom);
+            translationY = toCurrentScale(pdfFile.getMaxPageHeight() - size.getHeight()) / 2;
+        }
+        translationX += currentXOffset;
+        translationY += currentYOffset;
+
+        float left = translationX + toCurrentScale(pageRelativeBounds.left * size.getWidth());
+        float top = translationY + toCurrentScale(pageRelativeBounds.top * size.getHeight());
+        float right = left + toCurrentScale(pageRelativeBounds.width() * size.getWidth());
+        float bottom = top + toCurrentScale(pageRelativeBounds.height() * size.getHeight());
+        return left < getWidth() && right > 0 && top < getHeight() && bottom > 0;
+    }
+
     /**
      * Load all the parts around the center of the screen,
      * taking into account X and Y offsets, zoom level, and
@@ -716,7 +749,7 @@ public class PDFView extends RelativeLayout {
         }
 
         // Cancel all current tasks
-        renderingHandler.removeMessages(RenderingHandler.MSG_RENDER_TASK);
+        renderingHandler.cancelPendingTasks();
         cacheManager.makeANewSet();
 
         pagesLoader.loadPages();
@@ -1188,6 +1221,10 @@ public class PDFView extends RelativeLayout {
         this.spacingPx = Util.getDP(getContext(), spacing);
     }
 
+    private void setDocumentCache(PdfDocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
     private void setPageFitPolicy(FitPolicy pageFitPolicy) {
         this.pageFitPolicy = pageFitPolicy;
     }
@@ -1300,6 +1337,8 @@ public class PDFView extends RelativeLayout {
 
         private int spacing = 0;
 
+        private PdfDocumentCache documentCache = null;
+
         private FitPolicy pageFitPolicy = FitPolicy.WIDTH;
 
         private Configurator(DocumentSource documentSource) {
@@ -1406,6 +1445,14 @@ public class PDFView extends RelativeLayout {
             return this;
         }
 
+        /**
+         * Cache the page sizes, table of contents and thumbnails of the document on disk
+         */
+        public Configurator documentCache(PdfDocumentCache documentCache) {
+            this.documentCache = documentCache;
+            return this;
+        }
+
         public Configurator pageFitPolicy(FitPolicy pageFitPolicy) {
             this.pageFitPolicy = pageFitPolicy;
             return this;
@@ -1431,6 +1478,7 @@ public class PDFView extends RelativeLayout {
             PDFView.this.setScrollHandle(scrollHandle);
             PDFView.this.enableAntialiasing(antialiasing);
             PDFView.this.setSpacing(spacing);
+            PDFView.this.setDocumentCache(documentCache);
             PDFView.this.setPageFitPolicy(pageFitPolicy);
 
             PDFView.this.removeCallbacks(loadRunnable);
@@ -0,0 +1,358 @@
+package com.github.barteksc.pdfviewer;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+
+import com.github.barteksc.pdfviewer.source.DocumentSource;
+import com.shockwave.pdfium.PdfDocument;
+import com.shockwave.pdfium.util.Size;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import timber.log.Timber;
+
+/**
+ * On disk cache of the page sizes, table of contents and low resolution page thumbnails of the
+ * opened documents, so reopening a document doesn't need to query every page again.
+ * <p>
+ * Each document has its own folder named after its fingerprint. Folders are evicted from the least
+ * recently opened one when the cache goes over its size, and as the cache folder is expected to be
+ * inside the app cache dir it is also cleared and accounted with the rest of the app cache.
+ */
+public class PdfDocumentCache {
+
+    private static final int VERSION = 1;
+    private static final String INFO_FILE = "info";
+    private static final String THUMBNAIL_PREFIX = "thumbnail_";
+    private static final String ANNOTATIONS_SUFFIX = "_a";
+    private static final int THUMBNAIL_QUALITY = 80;
+
+    private final File folder;
+    private final long maxSizeInBytes;
+
+    /** Writes the cache files and evicts old documents, in order and off the rendering thread */
+    private final ExecutorService writer = new ThreadPoolExecutor(0, 1,
+            10, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+
+    /**
+     * @param folder         folder of the cache, created if needed
+     * @param maxSizeInBytes maximum size of the cache
+     */
+    public PdfDocumentCache(File folder, long maxSizeInBytes) {
+        this.folder = folder;
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * Open the cache of a document, to be called off the main thread
+     *
+     * @return the document cache, or null if the document can't be identified
+     */
+    Document open(Context context, DocumentSource source) {
+        String fingerprint;
+        try {
+            fingerprint = source.getFingerprint(context);
+        } catch (IOException e) {
+            Timber.w(e, "Cannot compute the document fingerprint");
+            return null;
+        }
+        if (fingerprint == null || (!folder.exists() && !folder.mkdirs())) {
+            return null;
+        }
+        File documentFolder = new File(folder, fingerprint);
+        if (!documentFolder.exists() && !documentFolder.mkdir()) {
+            return null;
+        }
+        documentFolder.setLastModified(System.currentTimeMillis());
+        return new Document(documentFolder);
+    }
+
+    private void trim(File keep) {
+        File[] documentFolders = folder.listFiles(File::isDirectory);
+        if (documentFolders == null) {
+            return;
+        }
+        Arrays.sort(documentFolders, Comparator.comparingLong(File::lastModified));
+        long[] sizes = new long[documentFolders.length];
+        long size = 0;
+        for (int i = 0; i < documentFolders.length; i++) {
+            sizes[i] = folderSize(documentFolders[i]);
+            size += sizes[i];
+        }
+        int evicted = 0;
+        for (int i = 0; i < documentFolders.length && size > maxSizeInBytes; i++) {
+            if (documentFolders[i].equals(keep)) {
+                continue;
+            }
+            deleteFolder(documentFolders[i]);
+            size -= sizes[i];
+            evicted++;
+        }
+        if (evicted > 0) {
+            Timber.d("PDF cache: evicted %d documents, %d bytes in use", evicted, size);
+        }
+    }
+
+    private static long folderSize(File documentFolder) {
+        File[] files = documentFolder.listFiles();
+        long size = 0;
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    private static void deleteFolder(File documentFolder) {
+        File[] files = documentFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        documentFolder.delete();
+    }
+
+    /**
+     * Cached data of an opened document
+     */
+    class Document {
+
+        private final File documentFolder;
+
+        private List<Size> pageSizes;
+
+        private List<PdfDocument.Bookmark> tableOfContents;
+
+        /** Thumbnails on disk or being written, by {@link #thumbnailIndex(int, boolean)} */
+        private final BitSet storedThumbnails = new BitSet();
+
+        private Document(File documentFolder) {
+            this.documentFolder = documentFolder;
+            readInfo();
+            String[] names = documentFolder.list();
+            if (names != null) {
+                for (String name : names) {
+                    int index = thumbnailIndex(name);
+                    if (index >= 0) {
+                        storedThumbnails.set(index);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Original size of each page of the document, null if not cached yet
+         */
+        List<Size> getPageSizes() {
+            return pageSizes;
+        }
+
+        /**
+         * Table of contents of the document, null if not cached yet
+         */
+        List<PdfDocument.Bookmark> getTableOfContents() {
+            return tableOfContents;
+        }
+
+        /**
+         * Store the page sizes and table of contents of the document
+         */
+        void putInfo(List<Size> pageSizes, List<PdfDocument.Bookmark> tableOfContents) {
+            this.pageSizes = pageSizes;
+            this.tableOfContents = tableOfContents;
+            writer.execute(() -> {
+                File temp = new File(documentFolder, INFO_FILE + ".tmp");
+                try (DataOutputStream output = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(temp)))) {
+                    output.writeInt(VERSION);
+                    output.writeInt(pageSizes.size());
+                    for (Size size : pageSizes) {
+                        output.writeInt(size.getWidth());
+                        output.writeInt(size.getHeight());
+                    }
+                    writeBookmarks(output, tableOfContents);
+                } catch (IOException e) {
+                    Timber.w(e, "Cannot write the PDF cache");
+                    temp.delete();
+                    return;
+                }
+                if (!temp.renameTo(new File(documentFolder, INFO_FILE))) {
+                    temp.delete();
+                }
+            });
+        }
+
+        /**
+         * Cached thumbnail of a page, null if not cached
+         *
+         * @param documentPage page index in the document
+         * @param config       preferred bitmap config
+         */
+        Bitmap getThumbnail(int documentPage, boolean annotationRendering, Bitmap.Config config) {
+            if (documentPage < 0) {
+                return null;
+            }
+            synchronized (storedThumbnails) {
+                if (!storedThumbnails.get(thumbnailIndex(documentPage, annotationRendering))) {
+                    return null;
+                }
+            }
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inPreferredConfig = config;
+            return BitmapFactory.decodeFile(
+                    thumbnailFile(documentPage, annotationRendering).getAbsolutePath(), options);
+        }
+
+        /**
+         * Store the thumbnail of a page if it isn't cached yet, the bitmap can be reused once this returns
+         *
+         * @param documentPage page index in the document
+         */
+        void putThumbnail(int documentPage, boolean annotationRendering, Bitmap bitmap) {
+            if (documentPage < 0) {
+                return;
+            }
+            int index = thumbnailIndex(documentPage, annotationRendering);
+            synchronized (storedThumbnails) {
+                if (storedThumbnails.get(index)) {
+                    return;
+                }
+                storedThumbnails.set(index);
+            }
+            Bitmap copy = bitmap.copy(bitmap.getConfig(), false);
+            if (copy == null) {
+                return;
+            }
+            writer.execute(() -> {
+                File file = thumbnailFile(documentPage, annotationRendering);
+                try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+                    copy.compress(thumbnailFormat(), THUMBNAIL_QUALITY, output);
+                } catch (IOException e) {
+                    Timber.w(e, "Cannot write the PDF thumbnail");
+                    file.delete();
+                } finally {
+                    copy.recycle();
+                }
+            });
+        }
+
+        /**
+         * Mark the document as no longer used, evicting other documents if the cache is over its size
+         */
+        void close() {
+            writer.execute(() -> trim(documentFolder));
+        }
+
+        private File thumbnailFile(int documentPage, boolean annotationRendering) {
+            return new File(documentFolder,
+                    THUMBNAIL_PREFIX + documentPage + (annotationRendering ? ANNOTATIONS_SUFFIX : ""));
+        }
+
+        private int thumbnailIndex(int documentPage, boolean annotationRendering) {
+            return documentPage * 2 + (annotationRendering ? 1 : 0);
+        }
+
+        /**
+         * Index of a thumbnail file name, -1 if it isn't a thumbnail
+         */
+        private int thumbnailIndex(String name) {
+            if (!name.startsWith(THUMBNAIL_PREFIX)) {
+                return -1;
+            }
+            String page = name.substring(THUMBNAIL_PREFIX.length());
+            boolean annotationRendering = page.endsWith(ANNOTATIONS_SUFFIX);
+            if (annotationRendering) {
+                page = page.substring(0, page.length() - ANNOTATIONS_SUFFIX.length());
+            }
+            try {
+                return thumbnailIndex(Integer.parseInt(page), annotationRendering);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private void readInfo() {
+            File file = new File(documentFolder, INFO_FILE);
+            if (!file.exists()) {
+                return;
+            }
+            try (DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file)))) {
+                if (input.readInt() != VERSION) {
+                    deleteFolderContent();
+                    return;
+                }
+                int pagesCount = input.readInt();
+                Size[] sizes = new Size[pagesCount];
+                for (int i = 0; i < pagesCount; i++) {
+                    sizes[i] = new Size(input.readInt(), input.readInt());
+                }
+                List<PdfDocument.Bookmark> bookmarks = readBookmarks(input);
+                pageSizes = Arrays.asList(sizes);
+                tableOfContents = bookmarks;
+            } catch (IOException e) {
+                Timber.w(e, "Cannot read the PDF cache");
+                deleteFolderContent();
+            }
+        }
+
+        private void deleteFolderContent() {
+            File[] files = documentFolder.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    private static void writeBookmarks(DataOutputStream output, List<PdfDocument.Bookmark> bookmarks) throws IOException {
+        output.writeInt(bookmarks.size());
+        for (PdfDocument.Bookmark bookmark : bookmarks) {
+            output.writeBoolean(bookmark.getTitle() != null);
+            if (bookmark.getTitle() != null) {
+                output.writeUTF(bookmark.getTitle());
+            }
+            output.writeLong(bookmark.getPageIdx());
+            writeBookmarks(output, bookmark.getChildren());
+        }
+    }
+
+    private static List<PdfDocument.Bookmark> readBookmarks(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        List<PdfDocument.Bookmark> bookmarks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = input.readBoolean() ? input.readUTF() : null;
+            long pageIdx = input.readLong();
+            bookmarks.add(new PdfDocument.Bookmark(title, pageIdx, readBookmarks(input)));
+        }
+        return bookmarks;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat thumbnailFormat() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY : Bitmap.CompressFormat.WEBP;
+    }
+}
@@ -63,10 +63,18 @@ class PdfFile {
      * (ex: 0, 2, 2, 8, 8, 1, 1, 1)
      */
     private int[] originalUserPages;
+    /** Cached data of the document, null if not cached */
+    private PdfDocumentCache.Document documentCache;
 
     PdfFile(PdfiumCore pdfiumCore, PdfDocument pdfDocument, FitPolicy pageFitPolicy, Size viewSize, int[] originalUserPages,
             boolean isVertical, int spacing) {
+        this(pdfiumCore, pdfDocument, pageFitPolicy, viewSize, originalUserPages, isVertical, spacing, null);
+    }
+
+    PdfFile(PdfiumCore pdfiumCore, PdfDocument pdfDocument, FitPolicy pageFitPolicy, Size viewSize, int[] originalUserPages,
+            boolean isVertical, int spacing, PdfDocumentCache.Document documentCache) {
         this.pdfiumCore = pdfiumCore;
+        this.documentCache = documentCache;
         this.pdfDocument = pdfDocument;
         this.pageFitPolicy = pageFitPolicy;
         this.originalUserPages = originalUserPages;
@@ -82,8 +90,12 @@ class PdfFile {
             pagesCount = pdfiumCore.getPageCount(pdfDocument);
         }
 
+        List<Size> documentPageSizes = getDocumentPageSizes();
         for (int i = 0; i < pagesCount; i++) {
-            Size pageSize = pdfiumCore.getPageSize(pdfDocument, documentPage(i));
+            int docPage = documentPage(i);
+            Size pageSize = docPage >= 0 && docPage < documentPageSizes.size()
+                    ? documentPageSizes.get(docPage)
+                    : pdfiumCore.getPageSize(pdfDocument, docPage);
             if (pageSize.getWidth() > originalMaxWidthPageSize.getWidth()) {
                 originalMaxWidthPageSize = pageSize;
             }
@@ -96,6 +108,27 @@ class PdfFile {
         recalculatePageSizes(viewSize);
     }
 
+    /**
+     * Original size of every page of the document, from the document cache if possible,
+     * empty if the document is not cached
+     */
+    private List<Size> getDocumentPageSizes() {
+        if (documentCache == null) {
+            return new ArrayList<>();
+        }
+        int documentPagesCount = pdfiumCore.getPageCount(pdfDocument);
+        List<Size> sizes = documentCache.getPageSizes();
+        if (sizes != null && sizes.size() == documentPagesCount) {
+            return sizes;
+        }
+        sizes = new ArrayList<>(documentPagesCount);
+        for (int i = 0; i < documentPagesCount; i++) {
+            sizes.add(pdfiumCore.getPageSize(pdfDocument, i));
+        }
+        documentCache.putInfo(sizes, pdfiumCore.getTableOfContents(pdfDocument));
+        return sizes;
+    }
+
     /**
      * Call after view size change to recalculate page sizes, offsets and document length
      *
@@ -246,6 +279,24 @@ class PdfFile {
                 bounds.left, bounds.top, bounds.width(), bounds.height(), annotationRendering);
     }
 
+    /**
+     * Thumbnail of a page from the document cache, null if not cached
+     */
+    public Bitmap getCachedThumbnail(int pageIndex, boolean annotationRendering, Bitmap.Config config) {
+        return documentCache != null
+                ? documentCache.getThumbnail(documentPage(pageIndex), annotationRendering, config)
+                : null;
+    }
+
+    /**
+     * Store a rendered thumbnail of a page in the document cache
+     */
+    public void cacheThumbnail(int pageIndex, boolean annotationRendering, Bitmap bitmap) {
+        if (documentCache != null) {
+            documentCache.putThumbnail(documentPage(pageIndex), annotationRendering, bitmap);
+        }
+    }
+
     public PdfDocument.Meta getMetaData() {
         if (pdfDocument == null) {
             return null;
@@ -257,6 +308,9 @@ class PdfFile {
         if (pdfDocument == null) {
             return new ArrayList<>();
         }
+        if (documentCache != null && documentCache.getTableOfContents() != null) {
+            return documentCache.getTableOfContents();
+        }
         return pdfiumCore.getTableOfContents(pdfDocument);
     }
 
@@ -275,6 +329,10 @@ class PdfFile {
         if (pdfiumCore != null && pdfDocument != null) {
             pdfiumCore.closeDocument(pdfDocument);
         }
+        if (documentCache != null) {
+            documentCache.close();
+            documentCache = null;
+        }
 
         pdfDocument = null;
         originalUserPages = null;
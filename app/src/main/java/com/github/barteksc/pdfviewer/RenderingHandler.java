@@ -28,10 +28,17 @@ import android.util.Log;
 import com.github.barteksc.pdfviewer.exception.PageRenderingException;
 import com.github.barteksc.pdfviewer.model.PagePart;
 
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
 /**
- * A {@link Handler} that will process incoming {@link RenderingTask} messages
+ * A {@link Handler} that will process the queued {@link RenderingTask}s
  * and alert {@link PDFView#onBitmapRendered(PagePart)} when the portion of the
  * PDF is ready to render.
+ * <p>
+ * Tasks of parts visible on screen are rendered before the ones preloaded around them, and in the
+ * order they were added otherwise. One task is rendered per message, so pending tasks can be
+ * cancelled between renders.
  */
 class RenderingHandler extends Handler {
     /**
@@ -48,20 +55,50 @@ class RenderingHandler extends Handler {
     private Matrix renderMatrix = new Matrix();
     private boolean running = false;
 
+    private final PriorityQueue<RenderingTask> tasks = new PriorityQueue<>(11, new TaskComparator());
+    private long sequence = 0;
+
     RenderingHandler(Looper looper, PDFView pdfView) {
         super(looper);
         this.pdfView = pdfView;
     }
 
-    void addRenderingTask(int page, float width, float height, RectF bounds, boolean thumbnail, int cacheOrder, boolean bestQuality, boolean annotationRendering) {
+    void addRenderingTask(int page, float width, float height, RectF bounds, boolean thumbnail, int cacheOrder, boolean bestQuality, boolean annotationRendering, boolean visible) {
         RenderingTask task = new RenderingTask(width, height, bounds, page, thumbnail, cacheOrder, bestQuality, annotationRendering);
-        Message msg = obtainMessage(MSG_RENDER_TASK, task);
-        sendMessage(msg);
+        task.visible = visible;
+        synchronized (tasks) {
+            task.sequence = sequence++;
+            tasks.add(task);
+        }
+        if (!hasMessages(MSG_RENDER_TASK)) {
+            sendEmptyMessage(MSG_RENDER_TASK);
+        }
+    }
+
+    /**
+     * Discard the tasks not rendered yet, the one being rendered is still delivered
+     */
+    void cancelPendingTasks() {
+        synchronized (tasks) {
+            tasks.clear();
+        }
+        removeMessages(MSG_RENDER_TASK);
     }
 
     @Override
     public void handleMessage(Message message) {
-        RenderingTask task = (RenderingTask) message.obj;
+        RenderingTask task;
+        boolean hasMoreTasks;
+        synchronized (tasks) {
+            task = tasks.poll();
+            hasMoreTasks = !tasks.isEmpty();
+        }
+        if (task == null) {
+            return;
+        }
+        if (hasMoreTasks && !hasMessages(MSG_RENDER_TASK)) {
+            sendEmptyMessage(MSG_RENDER_TASK);
+        }
         try {
             final PagePart part = proceed(task);
             if (part != null) {
@@ -97,9 +134,18 @@ class RenderingHandler extends Handler {
             return null;
         }
 
+        Bitmap.Config config = renderingTask.bestQuality ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565;
+        if (renderingTask.thumbnail) {
+            Bitmap cached = pdfFile.getCachedThumbnail(renderingTask.page, renderingTask.annotationRendering, config);
+            if (cached != null) {
+                return new PagePart(renderingTask.page, cached,
+                        renderingTask.bounds, true, renderingTask.cacheOrder);
+            }
+        }
+
         Bitmap render;
         try {
-            render = Bitmap.createBitmap(w, h, renderingTask.bestQuality ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565);
+            render = pdfView.cacheManager.getBitmapPool().acquire(w, h, config);
         } catch (IllegalArgumentException e) {
             Log.e(TAG, "Cannot create bitmap", e);
             return null;
@@ -107,6 +153,9 @@ class RenderingHandler extends Handler {
         calculateBounds(w, h, renderingTask.bounds);
 
         pdfFile.renderPageBitmap(render, renderingTask.page, roundedRenderBounds, renderingTask.annotationRendering);
+        if (renderingTask.thumbnail) {
+            pdfFile.cacheThumbnail(renderingTask.page, renderingTask.annotationRendering, render);
+        }
 
         return new PagePart(renderingTask.page, render,
                 renderingTask.bounds, renderingTask.thumbnail,
@@ -131,6 +180,19 @@ class RenderingHandler extends Handler {
         running = true;
     }
 
+    /**
+     * Visible parts first, then in the order they were added
+     */
+    private static class TaskComparator implements Comparator<RenderingTask> {
+        @Override
+        public int compare(RenderingTask first, RenderingTask second) {
+            if (first.visible != second.visible) {
+                return first.visible ? -1 : 1;
+            }
+            return Long.compare(first.sequence, second.sequence);
+        }
+    }
+
     private class RenderingTask {
 
         float width, height;
@@ -147,6 +209,10 @@ class RenderingHandler extends Handler {
 
         boolean annotationRendering;
 
+        boolean visible;
+
+        long sequence;
+
         RenderingTask(float width, float height, RectF bounds, int page, boolean thumbnail, int cacheOrder, boolean bestQuality, boolean annotationRendering) {
             this.page = page;
             this.width = width;
@@ -17,6 +17,7 @@ package com.github.barteksc.pdfviewer.source;
 
 import android.content.Context;
 
+import com.github.barteksc.pdfviewer.util.FileUtils;
 import com.shockwave.pdfium.PdfDocument;
 import com.shockwave.pdfium.PdfiumCore;
 
@@ -34,4 +35,9 @@ public class ByteArraySource implements DocumentSource {
     public PdfDocument createDocument(Context context, PdfiumCore core, String password) throws IOException {
         return core.newDocument(data, password);
     }
+
+    @Override
+    public String getFingerprint(Context context) throws IOException {
+        return FileUtils.fingerprint(data);
+    }
 }
@@ -24,4 +24,13 @@ import java.io.IOException;
 
 public interface DocumentSource {
     PdfDocument createDocument(Context context, PdfiumCore core, String password) throws IOException;
+
+    /**
+     * Fingerprint identifying the content of the document, used as key of the {@link com.github.barteksc.pdfviewer.PdfDocumentCache}
+     *
+     * @return the fingerprint or null if the document can't be identified
+     */
+    default String getFingerprint(Context context) throws IOException {
+        return null;
+    }
 }
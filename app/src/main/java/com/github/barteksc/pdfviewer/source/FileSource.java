@@ -18,6 +18,7 @@ package com.github.barteksc.pdfviewer.source;
 import android.content.Context;
 import android.os.ParcelFileDescriptor;
 
+import com.github.barteksc.pdfviewer.util.FileUtils;
 import com.shockwave.pdfium.PdfDocument;
 import com.shockwave.pdfium.PdfiumCore;
 
@@ -37,4 +38,9 @@ public class FileSource implements DocumentSource {
         ParcelFileDescriptor pfd = ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY);
         return core.newDocument(pfd, password);
     }
+
+    @Override
+    public String getFingerprint(Context context) throws IOException {
+        return FileUtils.fingerprint(ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY));
+    }
 }
@@ -34,9 +34,18 @@ public class Constants {
 
     public static class Cache {
 
-        /** The size of the cache (number of bitmaps kept) */
+        /**
+         * The maximum number of parts loaded at once, the cache always has room for at least
+         * this number of full size parts
+         */
         public static int CACHE_SIZE = 120;
 
+        /** Share of the maximum heap size that the rendered parts can use, if bigger than the minimum */
+        public static float CACHE_MEMORY_RATIO = 0.125f;
+
+        /** Share of the cache memory that released bitmaps waiting to be reused can use */
+        public static float BITMAP_POOL_RATIO = 0.25f;
+
         public static int THUMBNAILS_CACHE_SIZE = 8;
     }
 
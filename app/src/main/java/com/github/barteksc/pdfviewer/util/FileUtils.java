@@ -16,12 +16,18 @@
 package com.github.barteksc.pdfviewer.util;
 
 import android.content.Context;
+import android.os.ParcelFileDescriptor;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 public class FileUtils {
 
@@ -29,6 +35,9 @@ public class FileUtils {
         // Prevents instantiation
     }
 
+    /** Bytes read from each end of a document to compute its fingerprint */
+    private static final int FINGERPRINT_CHUNK_SIZE = 64 * 1024;
+
     public static File fileFromAsset(Context context, String assetName) throws IOException {
         File outFile = new File(context.getCacheDir(), assetName + "-pdfview.pdf");
         if (assetName.contains("/")) {
@@ -59,4 +68,69 @@ public class FileUtils {
             }
         }
     }
+
+    /**
+     * Fingerprint of a document, computed from its size and the bytes at its beginning and end,
+     * where PDF files keep their header, cross-reference table and trailer (with the document ID)
+     *
+     * @param pfd descriptor of the document, closed once read
+     */
+    public static String fingerprint(ParcelFileDescriptor pfd) throws IOException {
+        try (FileInputStream inputStream = new ParcelFileDescriptor.AutoCloseInputStream(pfd)) {
+            FileChannel channel = inputStream.getChannel();
+            long size = channel.size();
+            MessageDigest digest = newFingerprintDigest(size);
+            ByteBuffer buffer = ByteBuffer.allocate(FINGERPRINT_CHUNK_SIZE);
+            readFully(channel, buffer, 0);
+            digest.update(buffer.array(), 0, buffer.position());
+            if (size > FINGERPRINT_CHUNK_SIZE) {
+                buffer.clear();
+                readFully(channel, buffer, Math.max(FINGERPRINT_CHUNK_SIZE, size - FINGERPRINT_CHUNK_SIZE));
+                digest.update(buffer.array(), 0, buffer.position());
+            }
+            return toHex(digest.digest());
+        }
+    }
+
+    /**
+     * Fingerprint of a document in memory, see {@link #fingerprint(ParcelFileDescriptor)}
+     */
+    public static String fingerprint(byte[] data) throws IOException {
+        MessageDigest digest = newFingerprintDigest(data.length);
+        int head = Math.min(data.length, FINGERPRINT_CHUNK_SIZE);
+        digest.update(data, 0, head);
+        if (data.length > FINGERPRINT_CHUNK_SIZE) {
+            int tailStart = Math.max(FINGERPRINT_CHUNK_SIZE, data.length - FINGERPRINT_CHUNK_SIZE);
+            digest.update(data, tailStart, data.length - tailStart);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newFingerprintDigest(long size) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(Long.BYTES).putLong(size).array());
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+            builder.append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
 }
@@ -12,12 +12,9 @@ import androidx.annotation.Nullable;
 import androidx.emoji2.text.EmojiCompat;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import mega.privacy.android.app.components.twemoji.emoji.Emoji;
 import mega.privacy.android.app.components.twemoji.emoji.EmojiCategory;
@@ -28,10 +25,6 @@ public final class EmojiManager {
 
     private static final EmojiManager INSTANCE = new EmojiManager();
     private static final int GUESSED_UNICODE_AMOUNT = 3000;
-    private static final int GUESSED_TOTAL_PATTERN_LENGTH = GUESSED_UNICODE_AMOUNT * 4;
-    private static final Pattern SPACE_REMOVAL = Pattern.compile("\\s");
-    private static final Comparator<String> STRING_LENGTH_COMPARATOR =
-            (first, second) -> Integer.compare(second.length(), first.length());
 
     @SuppressLint("CheckResult")
     private static final EmojiReplacer DEFAULT_EMOJI_REPLACER = (context, text, emojiSize, defaultEmojiSize, fallback) -> {
@@ -83,8 +76,7 @@ public final class EmojiManager {
 
     private final Map<String, Emoji> emojiMap = new LinkedHashMap<>(GUESSED_UNICODE_AMOUNT);
     private EmojiCategory[] categories;
-    private Pattern emojiPattern;
-    private Pattern emojiRepetitivePattern;
+    private EmojiTrie emojiTrie;
     private EmojiReplacer emojiReplacer;
 
     private EmojiManager() {
@@ -102,8 +94,7 @@ public final class EmojiManager {
         INSTANCE.categories = checkNotNull(provider.getCategories(), "categories == null");
         INSTANCE.emojiMap.clear();
         INSTANCE.emojiReplacer = provider instanceof EmojiReplacer ? (EmojiReplacer) provider : DEFAULT_EMOJI_REPLACER;
-        final List<String> unicodesForPattern = new ArrayList<>(GUESSED_UNICODE_AMOUNT);
-
+        final EmojiTrie emojiTrie = new EmojiTrie();
 
         for (EmojiCategory category : INSTANCE.categories) {
             final Emoji[] emojis = checkNotNull(category.getEmojis(), "emojis == null");
@@ -112,37 +103,26 @@ public final class EmojiManager {
                 final String unicode = emoji.getUnicode();
                 final List<Emoji> variants = emoji.getVariants();
                 INSTANCE.emojiMap.put(unicode, emoji);
-                unicodesForPattern.add(unicode);
+                emojiTrie.put(unicode, emoji);
 
                 for (Emoji variant: variants) {
                     final String variantUnicode = variant.getUnicode();
                     INSTANCE.emojiMap.put(variantUnicode, variant);
-                    unicodesForPattern.add(variantUnicode);
-
+                    emojiTrie.put(variantUnicode, variant);
                 }
             }
         }
-        if (unicodesForPattern.isEmpty()) {
+        if (emojiTrie.size() == 0) {
             throw new IllegalArgumentException("Your EmojiProvider must at least have one category with at least one emoji.");
         }
-        // We need to sort the unicodes by length so the longest one gets matched first.
-        unicodesForPattern.sort(STRING_LENGTH_COMPARATOR);
-        final StringBuilder patternBuilder = new StringBuilder(GUESSED_TOTAL_PATTERN_LENGTH);
-        final int unicodesForPatternSize = unicodesForPattern.size();
-        for (int i = 0; i < unicodesForPatternSize; i++) {
-            patternBuilder.append(Pattern.quote(unicodesForPattern.get(i))).append('|');
-        }
-        final String regex = patternBuilder.deleteCharAt(patternBuilder.length() - 1).toString();
-        INSTANCE.emojiPattern = Pattern.compile(regex);
-        INSTANCE.emojiRepetitivePattern = Pattern.compile('(' + regex + ")+");
+        INSTANCE.emojiTrie = emojiTrie;
     }
 
     public static void destroy() {
         release();
         INSTANCE.emojiMap.clear();
         INSTANCE.categories = null;
-        INSTANCE.emojiPattern = null;
-        INSTANCE.emojiRepetitivePattern = null;
+        INSTANCE.emojiTrie = null;
         INSTANCE.emojiReplacer = null;
     }
 
@@ -162,21 +142,13 @@ public final class EmojiManager {
         return categories;
     }
 
-    Pattern getEmojiRepetitivePattern() {
-        return emojiRepetitivePattern;
-    }
-
     /**
      * returns true when the string contains only emojis. Note that whitespace will be filtered out.
      */
     public boolean isOnlyEmojis(@Nullable final String text) {
         try {
             if (!TextUtils.isEmpty(text)) {
-                final String inputWithoutSpaces = SPACE_REMOVAL.matcher(text).replaceAll(Matcher.quoteReplacement(""));
-                return EmojiManager.getInstance()
-                        .getEmojiRepetitivePattern()
-                        .matcher(inputWithoutSpaces)
-                        .matches();
+                return emojiTrie.isSequenceOfEmojis(removeWhitespaces(text));
             }
         } catch (Exception e) {
             Timber.e(e);
@@ -185,6 +157,23 @@ public final class EmojiManager {
         return false;
     }
 
+    /**
+     * Remove the chars matched by the {@code \s} regex class
+     */
+    private static CharSequence removeWhitespaces(@NonNull final String text) {
+        StringBuilder builder = null;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            final boolean whitespace = c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if (whitespace && builder == null) {
+                builder = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (!whitespace && builder != null) {
+                builder.append(c);
+            }
+        }
+        return builder != null ? builder : text;
+    }
+
     public int getNumEmojis(@Nullable final CharSequence text) {
         List<EmojiRange> emojis = findAllEmojis(text);
         return emojis.size();
@@ -196,11 +185,15 @@ public final class EmojiManager {
         try {
             verifyInstalled();
             if (!TextUtils.isEmpty(text)) {
-                final Matcher matcher = emojiPattern.matcher(text);
-                while (matcher.find()) {
-                    final Emoji found = findEmoji(text.subSequence(matcher.start(), matcher.end()));
-                    if (found != null) {
-                        result.add(new EmojiRange(matcher.start(), matcher.end(), found));
+                // the longest emoji at each position, as the regex alternation of emojis sorted by length did
+                int position = 0;
+                while (position < text.length()) {
+                    final EmojiTrie.Node match = emojiTrie.longestMatch(text, position);
+                    if (match != null) {
+                        result.add(new EmojiRange(position, position + match.depth, match.emoji));
+                        position += match.depth;
+                    } else {
+                        position++;
                     }
                 }
             }
@@ -0,0 +1,135 @@
+package mega.privacy.android.app.components.twemoji;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+import mega.privacy.android.app.components.twemoji.emoji.Emoji;
+
+/**
+ * Trie of emoji unicode sequences, keyed by UTF-16 char, used to find emojis in a text in a single
+ * pass without regular expressions.
+ * <p>
+ * Children are kept in sorted arrays and looked up with a binary search, as most nodes only have a
+ * few of them.
+ */
+final class EmojiTrie {
+
+    private final Node root = new Node(0);
+    private int size = 0;
+
+    /**
+     * Add an emoji, replacing any emoji with the same unicode
+     */
+    void put(@NonNull final String unicode, @NonNull final Emoji emoji) {
+        Node node = root;
+        for (int i = 0; i < unicode.length(); i++) {
+            node = node.getOrAddChild(unicode.charAt(i));
+        }
+        if (node.emoji == null) {
+            size++;
+        }
+        node.emoji = emoji;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Longest emoji starting at a position of the text
+     *
+     * @return the node of the emoji, its depth being the emoji length, or null if no emoji starts there
+     */
+    @Nullable
+    Node longestMatch(@NonNull final CharSequence text, final int start) {
+        Node node = root;
+        Node match = null;
+        for (int i = start; i < text.length(); i++) {
+            node = node.getChild(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.emoji != null) {
+                match = node;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Check if the whole text is a sequence of emojis, trying every emoji starting at each position
+     * so a shorter emoji is used when the longest one doesn't lead to a full match
+     */
+    boolean isSequenceOfEmojis(@NonNull final CharSequence text) {
+        final int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+        final boolean[] reachable = new boolean[length + 1];
+        reachable[0] = true;
+        for (int start = 0; start < length; start++) {
+            if (!reachable[start]) {
+                continue;
+            }
+            Node node = root;
+            for (int i = start; i < length; i++) {
+                node = node.getChild(text.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.emoji != null) {
+                    reachable[i + 1] = true;
+                }
+            }
+        }
+        return reachable[length];
+    }
+
+    static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /**
+         * Number of chars from the root, the length of the emoji if this node ends one
+         */
+        final int depth;
+
+        @Nullable
+        Emoji emoji;
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+
+        private Node(final int depth) {
+            this.depth = depth;
+        }
+
+        @Nullable
+        private Node getChild(final char key) {
+            final int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrAddChild(final char key) {
+            final int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            final int insertion = -index - 1;
+            final Node child = new Node(depth + 1);
+            final char[] newKeys = new char[keys.length + 1];
+            final Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            newKeys[insertion] = key;
+            newChildren[insertion] = child;
+            System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
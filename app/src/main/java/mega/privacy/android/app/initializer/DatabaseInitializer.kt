@@ -0,0 +1,46 @@
+package mega.privacy.android.app.initializer
+
+import android.content.Context
+import androidx.startup.Initializer
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import mega.privacy.android.data.gateway.DatabaseBootstrapGateway
+
+/**
+ * Database initializer, starts opening the local databases in the background
+ *
+ */
+class DatabaseInitializer : Initializer<Unit> {
+    /**
+     * Database initializer entry point
+     *
+     */
+    @EntryPoint
+    @InstallIn(SingletonComponent::class)
+    interface DatabaseInitializerEntryPoint {
+        /**
+         * Database bootstrap gateway
+         *
+         */
+        fun databaseBootstrapGateway(): DatabaseBootstrapGateway
+    }
+
+    /**
+     * Create
+     *
+     */
+    override fun create(context: Context) {
+        EntryPointAccessors.fromApplication(context, DatabaseInitializerEntryPoint::class.java)
+            .databaseBootstrapGateway()
+            .start()
+    }
+
+    /**
+     * Dependencies
+     *
+     */
+    override fun dependencies(): List<Class<out Initializer<*>>> =
+        listOf(LoggerInitializer::class.java)
+}
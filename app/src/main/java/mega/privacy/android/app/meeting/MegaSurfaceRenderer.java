@@ -29,6 +29,7 @@ import android.graphics.SurfaceTexture;
 import android.util.DisplayMetrics;
 import android.view.TextureView;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -152,7 +153,13 @@ public class MegaSurfaceRenderer implements TextureView.SurfaceTextureListener {
         }
     }
 
-    public Bitmap createBitmap(int width, int height) {
+    /**
+     * Replace the bitmap frames are copied to, for frames of a new size.
+     *
+     * @param width  Frame width.
+     * @param height Frame height.
+     */
+    public synchronized void createBitmap(int width, int height) {
         if (bitmap == null) {
             try {
                 android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_DISPLAY);
@@ -161,13 +168,30 @@ public class MegaSurfaceRenderer implements TextureView.SurfaceTextureListener {
             }
         }
 
-        bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Bitmap previousBitmap = bitmap;
+        bitmap = VideoBitmapPool.INSTANCE.acquire(width, height);
+        if (previousBitmap != null) {
+            VideoBitmapPool.INSTANCE.release(previousBitmap);
+        }
         srcRect.left = 0;
         srcRect.top = 0;
         srcRect.bottom = height;
         srcRect.right = width;
         adjustAspectRatio();
-        return bitmap;
+    }
+
+    /**
+     * Copy a video frame to the bitmap. The bitmap is only used while holding the renderer lock,
+     * so it is not written after it is returned to the pool when the surface is destroyed.
+     *
+     * @param frame Pixels of the frame, of the size of the last {@link #createBitmap(int, int)}.
+     * @return True if the frame was copied, false if there is no bitmap.
+     */
+    public synchronized boolean copyFrame(byte[] frame) {
+        if (bitmap == null) return false;
+
+        bitmap.copyPixelsFromBuffer(ByteBuffer.wrap(frame));
+        return true;
     }
 
     /**
@@ -175,7 +199,7 @@ public class MegaSurfaceRenderer implements TextureView.SurfaceTextureListener {
      *
      * @param isLocal Indicates if the frames are from the local camera.
      */
-    public void drawBitmap(boolean isLocal) {
+    public synchronized void drawBitmap(boolean isLocal) {
         if (bitmap == null || myTexture == null)
             return;
 
@@ -242,8 +266,11 @@ public class MegaSurfaceRenderer implements TextureView.SurfaceTextureListener {
     }
 
     @Override
-    public boolean onSurfaceTextureDestroyed(SurfaceTexture surfaceTexture) {
+    public synchronized boolean onSurfaceTextureDestroyed(SurfaceTexture surfaceTexture) {
         Timber.d("TextureView destroyed");
+        if (bitmap != null) {
+            VideoBitmapPool.INSTANCE.release(bitmap);
+        }
         bitmap = null;
         surfaceWidth = 0;
         surfaceHeight = 0;
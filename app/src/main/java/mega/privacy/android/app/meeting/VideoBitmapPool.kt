@@ -0,0 +1,63 @@
+package mega.privacy.android.app.meeting
+
+import android.graphics.Bitmap
+
+/**
+ * Pool of the bitmaps video frames are copied to
+ *
+ * The bitmap of a tile is replaced every time the resolution of the stream changes and tiles are
+ * created and removed while scrolling the participants, so released bitmaps are kept and
+ * reconfigured for the next tile instead of allocating a new one.
+ */
+object VideoBitmapPool {
+    /**
+     * Maximum bytes kept in the pool, enough for a few HD frames
+     */
+    private const val MAX_POOL_BYTES = 16 * 1024 * 1024
+    private const val BYTES_PER_PIXEL = 4
+
+    private val bitmaps = ArrayDeque<Bitmap>()
+    private var pooledBytes = 0
+
+    /**
+     * Get a bitmap for frames of the given size, reusing a released one if it is big enough
+     *
+     * @param width frame width
+     * @param height frame height
+     * @return an ARGB_8888 bitmap of the given size
+     */
+    @Synchronized
+    fun acquire(width: Int, height: Int): Bitmap {
+        val requiredBytes = width * height * BYTES_PER_PIXEL
+        val bitmap = bitmaps.firstOrNull { it.allocationByteCount >= requiredBytes }
+            ?: return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
+        bitmaps.remove(bitmap)
+        pooledBytes -= bitmap.allocationByteCount
+        if (bitmap.width != width || bitmap.height != height) {
+            bitmap.reconfigure(width, height, Bitmap.Config.ARGB_8888)
+        }
+        return bitmap
+    }
+
+    /**
+     * Return a bitmap no longer drawn to the pool
+     *
+     * @param bitmap the released bitmap, dropped if the pool is full
+     */
+    @Synchronized
+    fun release(bitmap: Bitmap) {
+        if (bitmap.isRecycled || !bitmap.isMutable || bitmaps.any { it === bitmap }) return
+        if (pooledBytes + bitmap.allocationByteCount > MAX_POOL_BYTES) return
+        bitmaps.addLast(bitmap)
+        pooledBytes += bitmap.allocationByteCount
+    }
+
+    /**
+     * Drop every pooled bitmap
+     */
+    @Synchronized
+    fun clear() {
+        bitmaps.clear()
+        pooledBytes = 0
+    }
+}
@@ -0,0 +1,149 @@
+package mega.privacy.android.app.meeting
+
+import android.graphics.Rect
+import android.os.SystemClock
+import android.view.TextureView
+import android.view.View
+import android.view.ViewTreeObserver
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Decides which of the video frames received for a meeting tile are rendered
+ *
+ * Frames are dropped while the tile is not on screen: detached, hidden, transparent, scrolled out
+ * of the screen or in a window that is not visible. Visible tiles are rendered at a frame rate
+ * that depends on their size, so small tiles are not drawn at the full rate of the stream.
+ *
+ * The visibility is updated on the main thread before every draw of the window and read on the
+ * thread receiving the frames.
+ *
+ * @param textureView the view the frames are drawn on
+ */
+class VideoFrameScheduler(private val textureView: TextureView?) :
+    View.OnAttachStateChangeListener, ViewTreeObserver.OnPreDrawListener {
+
+    @Volatile
+    private var isVisible = false
+
+    @Volatile
+    private var minFrameIntervalMs = 0L
+
+    private var lastRenderedFrameMs = 0L
+    private val renderedFrames = AtomicLong()
+    private val droppedFrames = AtomicLong()
+    private val visibleRect = Rect()
+
+    init {
+        textureView?.let {
+            it.addOnAttachStateChangeListener(this)
+            if (it.isAttachedToWindow) onViewAttachedToWindow(it)
+        }
+    }
+
+    /**
+     * Check if a received frame should be rendered, counting it as rendered or dropped
+     *
+     * @param nowMs time the frame is received
+     * @return true if the frame should be copied and drawn, false if it should be dropped
+     */
+    fun shouldRenderFrame(nowMs: Long = SystemClock.elapsedRealtime()): Boolean {
+        val shouldRender = isVisible && nowMs - lastRenderedFrameMs >= minFrameIntervalMs
+        if (shouldRender) {
+            lastRenderedFrameMs = nowMs
+            renderedFrames.incrementAndGet()
+        } else {
+            droppedFrames.incrementAndGet()
+        }
+        return shouldRender
+    }
+
+    /**
+     * Get the number of rendered and dropped frames
+     */
+    fun getStats() = VideoFrameStats(
+        renderedFrames = renderedFrames.get(),
+        droppedFrames = droppedFrames.get(),
+    )
+
+    /**
+     * Update the visibility and the frame rate of the tile
+     *
+     * @param isVisible true if the tile is on screen
+     * @param tileArea visible area of the tile in pixels
+     * @param screenArea area of the screen in pixels
+     */
+    internal fun onVisibilityChanged(isVisible: Boolean, tileArea: Long, screenArea: Long) {
+        minFrameIntervalMs = getMinFrameIntervalMs(tileArea, screenArea)
+        this.isVisible = isVisible && tileArea > 0
+    }
+
+    override fun onViewAttachedToWindow(view: View) {
+        view.viewTreeObserver.addOnPreDrawListener(this)
+    }
+
+    override fun onViewDetachedFromWindow(view: View) {
+        view.viewTreeObserver.removeOnPreDrawListener(this)
+        isVisible = false
+        Timber.d("Video tile detached, ${getStats()}")
+    }
+
+    override fun onPreDraw(): Boolean {
+        textureView?.let { view ->
+            val isVisible = view.windowVisibility == View.VISIBLE
+                    && view.isShown
+                    && view.alpha > 0f
+                    && view.getGlobalVisibleRect(visibleRect)
+            val metrics = view.resources.displayMetrics
+            onVisibilityChanged(
+                isVisible = isVisible,
+                tileArea = if (isVisible) visibleRect.width().toLong() * visibleRect.height() else 0L,
+                screenArea = metrics.widthPixels.toLong() * metrics.heightPixels,
+            )
+        }
+        return true
+    }
+
+    companion object {
+        /**
+         * Tiles covering at least this fraction of the screen are rendered at the full frame rate
+         */
+        private const val LARGE_TILE_FRACTION = 0.25
+
+        /**
+         * Tiles covering less than this fraction of the screen are rendered at the lowest frame rate
+         */
+        private const val SMALL_TILE_FRACTION = 0.08
+
+        private const val MEDIUM_TILE_FRAME_INTERVAL_MS = 1000L / 15
+        private const val SMALL_TILE_FRAME_INTERVAL_MS = 1000L / 8
+
+        /**
+         * Get the minimum time between two rendered frames of a tile
+         *
+         * @param tileArea visible area of the tile in pixels
+         * @param screenArea area of the screen in pixels
+         * @return the minimum interval, 0 to render every frame
+         */
+        internal fun getMinFrameIntervalMs(tileArea: Long, screenArea: Long): Long {
+            if (screenArea <= 0) return 0L
+            val fraction = tileArea.toDouble() / screenArea
+            return when {
+                fraction >= LARGE_TILE_FRACTION -> 0L
+                fraction >= SMALL_TILE_FRACTION -> MEDIUM_TILE_FRAME_INTERVAL_MS
+                else -> SMALL_TILE_FRAME_INTERVAL_MS
+            }
+        }
+    }
+}
+
+/**
+ * Frames received for a meeting tile
+ *
+ * @property renderedFrames frames copied and drawn
+ * @property droppedFrames frames dropped because the tile was not visible or to cap its frame rate
+ */
+data class VideoFrameStats(
+    val renderedFrames: Long,
+    val droppedFrames: Long,
+)
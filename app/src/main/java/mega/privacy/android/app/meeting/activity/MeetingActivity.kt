@@ -29,6 +29,7 @@ import mega.privacy.android.app.arch.extensions.collectFlow
 import mega.privacy.android.app.databinding.ActivityMeetingBinding
 import mega.privacy.android.app.extensions.consumeInsetsWithToolbar
 import mega.privacy.android.app.meeting.CallNotificationIntentService
+import mega.privacy.android.app.meeting.VideoBitmapPool
 import mega.privacy.android.app.meeting.fragments.CreateMeetingFragment
 import mega.privacy.android.app.meeting.fragments.InMeetingFragment
 import mega.privacy.android.app.meeting.fragments.JoinMeetingAsGuestFragment
@@ -394,6 +395,7 @@ class MeetingActivity : PasscodeActivity() {
     override fun onDestroy() {
         Timber.d("onDestroy")
         navController?.removeOnDestinationChangedListener(destinationChangedListener)
+        if (isFinishing) VideoBitmapPool.clear()
         super.onDestroy()
     }
 
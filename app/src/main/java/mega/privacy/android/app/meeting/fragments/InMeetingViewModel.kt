@@ -2137,11 +2137,16 @@ class InMeetingViewModel @Inject constructor(
     /**
      * Method for know if the resolution of a participant's video should be high
      *
+     * Pages of the grid with more than [MAX_PARTICIPANTS_GRID_HI_RES] participants have tiles too
+     * small for high resolution
+     *
      * @return True, if should be high. False, otherwise
      */
     private fun needHiRes(): Boolean =
-        participants.value?.let { state.value.callUIStatus != CallUIStatusType.SpeakerView }
-            ?: run { false }
+        participants.value?.let {
+            state.value.callUIStatus != CallUIStatusType.SpeakerView
+                    && it.size <= MAX_PARTICIPANTS_GRID_HI_RES
+        } ?: run { false }
 
     /**
      * Method to know if the session has video on and is not on hold
@@ -2704,7 +2709,9 @@ class InMeetingViewModel @Inject constructor(
             val iterator = listParticipants.iterator()
             iterator.forEach { participant ->
                 getSessionByClientId(participant.clientId)?.let { _ ->
-                    if (state.value.callUIStatus == CallUIStatusType.SpeakerView && participant.hasHiRes && !participant.isScreenShared) {
+                    val isSpeakerView = state.value.callUIStatus == CallUIStatusType.SpeakerView
+                    val isGridView = state.value.callUIStatus == CallUIStatusType.GridView
+                    if ((isSpeakerView || isGridView) && !needHiRes() && participant.hasHiRes && !participant.isScreenShared) {
                         Timber.d("Change to low resolution, clientID ${participant.clientId}")
                         participant.videoListener?.let {
                             removeResolutionAndListener(participant, it)
@@ -2712,7 +2719,7 @@ class InMeetingViewModel @Inject constructor(
 
                         participant.videoListener = null
                         participant.hasHiRes = false
-                    } else if (state.value.callUIStatus == CallUIStatusType.GridView && !participant.hasHiRes) {
+                    } else if (isGridView && needHiRes() && !participant.hasHiRes) {
                         Timber.d("Change to high resolution, clientID ${participant.clientId}")
                         participant.videoListener?.let {
                             removeResolutionAndListener(participant, it)
@@ -2955,6 +2962,11 @@ class InMeetingViewModel @Inject constructor(
 
     companion object {
         const val IS_SHOWED_TIPS = "is_showed_meeting_bottom_tips"
+
+        /**
+         * Maximum number of participants in the grid view receiving high resolution video
+         */
+        private const val MAX_PARTICIPANTS_GRID_HI_RES = 4
     }
 
     override fun onUserEmailUpdate(email: String?, handler: Long, position: Int) {
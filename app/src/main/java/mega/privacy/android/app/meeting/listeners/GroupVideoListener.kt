@@ -1,14 +1,13 @@
 package mega.privacy.android.app.meeting.listeners
 
-import android.graphics.Bitmap
 import android.view.TextureView
 import mega.privacy.android.app.meeting.MegaSurfaceRenderer
+import mega.privacy.android.app.meeting.VideoFrameScheduler
 import mega.privacy.android.app.utils.Constants.INVALID_DIMENSION
 import mega.privacy.android.app.utils.VideoCaptureUtils
 import nz.mega.sdk.MegaChatApiJava
 import nz.mega.sdk.MegaChatVideoListenerInterface
 import timber.log.Timber
-import java.nio.ByteBuffer
 
 class GroupVideoListener(
     textureView: TextureView?,
@@ -20,11 +19,15 @@ class GroupVideoListener(
 
     var width = 0
     var height = 0
-    private var bitmap: Bitmap? = null
     var textureView: TextureView? = null
     private var isLocal = false
     var localRenderer: MegaSurfaceRenderer
 
+    /**
+     * Scheduler dropping the frames of the tile while it is not visible
+     */
+    val frameScheduler = VideoFrameScheduler(textureView)
+
     override fun onChatVideoData(
         api: MegaChatApiJava,
         chatid: Long,
@@ -36,20 +39,24 @@ class GroupVideoListener(
             return
         }
 
+        if (!frameScheduler.shouldRenderFrame()) {
+            return
+        }
+
         if (this.width != width || this.height != height) {
             this.width = width
             this.height = height
             val viewWidth = textureView?.width
             val viewHeight = textureView?.height
             if (viewWidth != null && viewWidth != 0 && viewHeight != null && viewHeight != 0) {
-                bitmap = localRenderer.createBitmap(width, height)
+                localRenderer.createBitmap(width, height)
             } else {
                 this.width = INVALID_DIMENSION
                 this.height = INVALID_DIMENSION
             }
         }
 
-        (bitmap ?: return).copyPixelsFromBuffer(ByteBuffer.wrap(byteBuffer))
+        if (!localRenderer.copyFrame(byteBuffer)) return
 
         if (!isLocal || VideoCaptureUtils.isVideoAllowed()) {
             localRenderer.drawBitmap(isLocal)
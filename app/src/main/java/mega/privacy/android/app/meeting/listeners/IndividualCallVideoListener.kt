@@ -1,16 +1,15 @@
 package mega.privacy.android.app.meeting.listeners
 
-import android.graphics.Bitmap
 import android.util.DisplayMetrics
 import android.view.TextureView
 import mega.privacy.android.app.meeting.MegaSurfaceRenderer
+import mega.privacy.android.app.meeting.VideoFrameScheduler
 import mega.privacy.android.app.utils.Constants
 import mega.privacy.android.app.utils.VideoCaptureUtils
 import nz.mega.sdk.MegaChatApiJava
 import nz.mega.sdk.MegaChatApiJava.MEGACHAT_INVALID_HANDLE
 import nz.mega.sdk.MegaChatVideoListenerInterface
 import timber.log.Timber
-import java.nio.ByteBuffer
 
 /**
  * A listener for metadata corresponding to video being rendered.
@@ -27,7 +26,11 @@ class IndividualCallVideoListener(
     private var isFloatingWindow = false
     private var isLocal = true
     val renderer: MegaSurfaceRenderer
-    private var bitmap: Bitmap? = null
+
+    /**
+     * Scheduler dropping the frames while the video is not visible
+     */
+    val frameScheduler = VideoFrameScheduler(textureView)
 
     fun setAlpha(alpha: Int) {
         renderer.setAlpha(alpha)
@@ -45,20 +48,24 @@ class IndividualCallVideoListener(
             return
         }
 
+        if (!frameScheduler.shouldRenderFrame()) {
+            return
+        }
+
         if (this.width != width || this.height != height) {
             this.width = width
             this.height = height
             val viewWidth = textureView?.width
             val viewHeight = textureView?.height
             if (viewWidth != null && viewWidth != 0 && viewHeight != null && viewHeight != 0) {
-                bitmap = renderer.createBitmap(width, height)
+                renderer.createBitmap(width, height)
             } else {
                 this.width = Constants.INVALID_DIMENSION
                 this.height = Constants.INVALID_DIMENSION
             }
         }
 
-        (bitmap ?: return).copyPixelsFromBuffer(ByteBuffer.wrap(byteBuffer))
+        if (!renderer.copyFrame(byteBuffer)) return
         if (VideoCaptureUtils.isVideoAllowed()) {
             renderer.drawBitmap(isLocal)
         }
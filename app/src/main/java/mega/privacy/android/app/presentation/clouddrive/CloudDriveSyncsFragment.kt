@@ -467,6 +467,7 @@ class CloudDriveSyncsFragment : Fragment() {
                     isMediaDiscoveryOpenedByIconClick = true,
                 )
             },
+            onLoadMore = fileBrowserViewModel::loadMoreNodes,
             fileTypeIconMapper = fileTypeIconMapper
         )
     }
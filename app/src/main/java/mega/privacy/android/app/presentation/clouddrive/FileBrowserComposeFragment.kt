@@ -258,6 +258,7 @@ class FileBrowserComposeFragment : Fragment() {
                                     isMediaDiscoveryOpenedByIconClick = true,
                                 )
                             },
+                            onLoadMore = fileBrowserViewModel::loadMoreNodes,
                             fileTypeIconMapper = fileTypeIconMapper
                         )
                         StartTransferComponent(
@@ -7,6 +7,7 @@ import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
 import de.palm.composestateevents.consumed
 import de.palm.composestateevents.triggered
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.async
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
@@ -40,6 +41,7 @@ import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.Node
 import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.preference.ViewType
 import mega.privacy.android.domain.usecase.GetBusinessStatusUseCase
@@ -140,6 +142,12 @@ class FileBrowserViewModel @Inject constructor(
     private var showHiddenItems: Boolean = true
     private var cachedStorageState: StorageState? = null
 
+    /**
+     * Handle of the folder whose nodes are in [FileBrowserState.sourceNodesList]
+     */
+    private var loadedNodesHandle: Long? = null
+    private var loadMoreNodesJob: Job? = null
+
     init {
         refreshNodes()
         monitorMediaDiscovery()
@@ -372,7 +380,17 @@ class FileBrowserViewModel @Inject constructor(
         }
     }
 
-    private suspend fun refreshNodesState() {
+    /**
+     * Load the nodes of the current folder
+     *
+     * Only the first page is loaded when a folder is opened, the next ones are loaded with
+     * [loadMoreNodes] when scrolling. When the same folder is refreshed, all the nodes already
+     * loaded are loaded again, so the list doesn't shrink.
+     *
+     * @param loadAllNodes true to load all the nodes of the folder instead of pages
+     */
+    private suspend fun refreshNodesState(loadAllNodes: Boolean = false) {
+        loadMoreNodesJob?.cancel()
         val fileBrowserHandle = _state.value.fileBrowserHandle
         val rootNode = getRootNodeUseCase()?.id?.longValue
         val isRootNode = fileBrowserHandle == rootNode
@@ -389,7 +407,14 @@ class FileBrowserViewModel @Inject constructor(
             }
         }
 
-        val childrenNodes = getFileBrowserNodeChildrenUseCase(fileBrowserHandle)
+        val loadedNodesCount = _state.value.sourceNodesList.size
+            .takeIf { loadedNodesHandle == fileBrowserHandle } ?: 0
+        val page = NodePage(
+            offset = 0L,
+            size = loadedNodesCount.coerceAtLeast(NODES_PAGE_SIZE),
+        ).takeUnless { loadAllNodes }
+        val childrenNodes = getFileBrowserNodeChildrenUseCase(fileBrowserHandle, page)
+        loadedNodesHandle = fileBrowserHandle
         val showMediaDiscoveryIcon = !isRootNode && containsMediaItemUseCase(childrenNodes)
         val sourceNodeUIItems = getNodeUiItems(childrenNodes)
         val nodeUIItems = filterNonSensitiveNodes(sourceNodeUIItems)
@@ -401,6 +426,7 @@ class FileBrowserViewModel @Inject constructor(
                 showMediaDiscoveryIcon = showMediaDiscoveryIcon,
                 nodesList = nodeUIItems,
                 sourceNodesList = sourceNodeUIItems,
+                hasMoreNodes = page != null && childrenNodes.size == page.size,
                 isLoading = false,
                 sortOrder = sortOrder,
                 isFileBrowserEmpty = isFileBrowserEmpty,
@@ -409,6 +435,47 @@ class FileBrowserViewModel @Inject constructor(
         }
     }
 
+    /**
+     * Loads the next page of nodes of the current folder, if there are more nodes to load
+     */
+    fun loadMoreNodes() {
+        val currentState = _state.value
+        if (currentState.isLoading || !currentState.hasMoreNodes || loadMoreNodesJob?.isActive == true) return
+        val fileBrowserHandle = currentState.fileBrowserHandle
+        val loadedNodes = currentState.sourceNodesList
+        loadMoreNodesJob = viewModelScope.launch {
+            runCatching {
+                getFileBrowserNodeChildrenUseCase(
+                    fileBrowserHandle,
+                    NodePage(offset = loadedNodes.size.toLong(), size = NODES_PAGE_SIZE),
+                )
+            }.onSuccess { nodes ->
+                if (_state.value.fileBrowserHandle != fileBrowserHandle) return@onSuccess
+                // nodes added or removed since the previous page can shift the offsets
+                val loadedNodeIds = loadedNodes.mapTo(HashSet()) { it.node.id }
+                val newNodeUIItems = nodes.filterNot { it.id in loadedNodeIds }.map { node ->
+                    NodeUIItem(
+                        node = node,
+                        isSelected = _state.value.selectedNodeHandles.contains(node.id.longValue),
+                        fileDuration = getFileDuration(node),
+                    )
+                }
+                val containsMediaItem = !_state.value.isRootNode && containsMediaItemUseCase(nodes)
+                val visibleNodeUIItems = filterNonSensitiveNodes(newNodeUIItems)
+                _state.update {
+                    it.copy(
+                        showMediaDiscoveryIcon = it.showMediaDiscoveryIcon || containsMediaItem,
+                        nodesList = it.nodesList + visibleNodeUIItems,
+                        sourceNodesList = it.sourceNodesList + newNodeUIItems,
+                        hasMoreNodes = nodes.size == NODES_PAGE_SIZE,
+                    )
+                }
+            }.onFailure {
+                Timber.e(it)
+            }
+        }
+    }
+
     /**
      * This will map list of [Node] to [NodeUIItem]
      */
@@ -416,18 +483,19 @@ class FileBrowserViewModel @Inject constructor(
         val existingNodeList = state.value.nodesList
         return nodeList.mapIndexed { index, node ->
             val isSelected = state.value.selectedNodeHandles.contains(node.id.longValue)
-            val fileDuration = if (node is FileNode) {
-                fileDurationMapper(node.type)?.let { durationInSecondsTextMapper(it) }
-            } else null
             NodeUIItem(
                 node = node,
                 isSelected = if (existingNodeList.size > index) isSelected else false,
                 isInvisible = if (existingNodeList.size > index) existingNodeList[index].isInvisible else false,
-                fileDuration = fileDuration
+                fileDuration = getFileDuration(node)
             )
         }
     }
 
+    private fun getFileDuration(node: TypedNode) = if (node is FileNode) {
+        fileDurationMapper(node.type)?.let { durationInSecondsTextMapper(it) }
+    } else null
+
     /**
      * Checks if Media Discovery is open or not
      *
@@ -618,7 +686,10 @@ class FileBrowserViewModel @Inject constructor(
     /**
      * Select all [NodeUIItem]
      */
-    fun selectAllNodes() {
+    fun selectAllNodes() = viewModelScope.launch {
+        if (_state.value.hasMoreNodes) {
+            refreshNodesState(loadAllNodes = true)
+        }
         val selectedNodeList = selectAllNodesUiList()
         var totalFolderNode = 0
         var totalFileNode = 0
@@ -992,4 +1063,11 @@ class FileBrowserViewModel @Inject constructor(
     fun onTabChanged(tab: CloudDriveTab) {
         _state.update { it.copy(selectedTab = tab) }
     }
+
+    companion object {
+        /**
+         * Number of nodes loaded each time the end of the list is reached
+         */
+        const val NODES_PAGE_SIZE = 200
+    }
 }
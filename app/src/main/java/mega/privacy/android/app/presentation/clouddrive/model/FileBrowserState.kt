@@ -29,6 +29,7 @@ import mega.privacy.android.domain.entity.preference.ViewType
  * @property isPendingRefresh
  * @property nodesList list of [NodeUIItem]
  * @property sourceNodesList list of [NodeUIItem]
+ * @property hasMoreNodes true if the folder has more nodes than the pages loaded
  * @property isInSelection if list is in selection mode or not
  * @property selectedNodeHandles List of selected node handles
  * @property selectedFileNodes number of selected file [NodeUIItem] on Compose
@@ -66,6 +67,7 @@ data class FileBrowserState(
     val isPendingRefresh: Boolean = false,
     val nodesList: List<NodeUIItem<TypedNode>> = emptyList(),
     val sourceNodesList: List<NodeUIItem<TypedNode>> = emptyList(),
+    val hasMoreNodes: Boolean = false,
     val isInSelection: Boolean = false,
     val selectedNodeHandles: List<Long> = emptyList(),
     val selectedFileNodes: Int = 0,
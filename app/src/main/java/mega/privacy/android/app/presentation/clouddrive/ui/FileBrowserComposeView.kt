@@ -49,6 +49,7 @@ import mega.privacy.android.shared.original.core.ui.utils.sync
  * @param onChangeViewTypeClick
  * @param onDisputeTakeDownClicked
  * @param onLinkClicked
+ * @param onLoadMore callback to load the next nodes when the end of the list is reached
  */
 @OptIn(ExperimentalComposeUiApi::class)
 @Composable
@@ -68,6 +69,7 @@ fun FileBrowserComposeView(
     onEnterMediaDiscoveryClick: () -> Unit,
     fileTypeIconMapper: FileTypeIconMapper,
     onStorageAlmostFullWarningDismiss: () -> Unit,
+    onLoadMore: () -> Unit = {},
 ) {
 
     var listStateMap by rememberSaveable(saver = ListGridStateMap.Saver) {
@@ -135,6 +137,7 @@ fun FileBrowserComposeView(
                         shouldApplySensitiveMode = uiState.hiddenNodeEnabled
                                 && uiState.accountType?.isPaid == true
                                 && !uiState.isBusinessAccountExpired,
+                        onLoadMore = onLoadMore.takeIf { uiState.hasMoreNodes },
                     )
                 }
             } else {
@@ -33,6 +33,7 @@ import androidx.appcompat.app.AlertDialog
 import androidx.appcompat.app.AppCompatDelegate
 import androidx.core.view.isVisible
 import androidx.lifecycle.lifecycleScope
+import com.github.barteksc.pdfviewer.PdfDocumentCache
 import com.github.barteksc.pdfviewer.listener.OnLoadCompleteListener
 import com.github.barteksc.pdfviewer.listener.OnPageChangeListener
 import com.github.barteksc.pdfviewer.listener.OnPageErrorListener
@@ -74,6 +75,7 @@ import mega.privacy.android.app.utils.AlertDialogUtil.dismissAlertDialogIfExists
 import mega.privacy.android.app.utils.AlertDialogUtil.isAlertDialogShown
 import mega.privacy.android.app.utils.AlertsAndWarnings
 import mega.privacy.android.app.utils.AlertsAndWarnings.showTakenDownAlert
+import mega.privacy.android.app.utils.CacheFolderManager
 import mega.privacy.android.app.utils.Constants
 import mega.privacy.android.app.utils.Constants.HANDLE
 import mega.privacy.android.app.utils.Constants.SNACKBAR_TYPE
@@ -164,6 +166,9 @@ class PdfViewerActivity : BaseActivity(), MegaGlobalListenerInterface, OnPageCha
 
     private var isUrl = false
     private var defaultScrollHandle: DefaultScrollHandle? = null
+    private val pdfDocumentCache by lazy {
+        PdfDocumentCache(File(cacheDir, CacheFolderManager.PDF_FOLDER), PDF_CACHE_MAX_SIZE)
+    }
     private var uri: Uri? = null
     private var handle: Long = -1
     private var isFolderLink = false
@@ -435,6 +440,7 @@ class PdfViewerActivity : BaseActivity(), MegaGlobalListenerInterface, OnPageCha
                             .onLoad(this@PdfViewerActivity)
                             .scrollHandle(defaultScrollHandle)
                             .spacing(10) // in dp
+                            .documentCache(pdfDocumentCache)
                             .onPageError(this@PdfViewerActivity)
                             .password(password)
                             .load()
@@ -759,6 +765,7 @@ class PdfViewerActivity : BaseActivity(), MegaGlobalListenerInterface, OnPageCha
                 .onLoad(this)
                 .scrollHandle(defaultScrollHandle)
                 .spacing(10) // in dp
+                .documentCache(pdfDocumentCache)
                 .onPageError(this)
                 .password(password)
                 .load()
@@ -1857,5 +1864,7 @@ class PdfViewerActivity : BaseActivity(), MegaGlobalListenerInterface, OnPageCha
          */
         @JvmField
         var loading = true
+
+        private const val PDF_CACHE_MAX_SIZE = 100L * 1024 * 1024
     }
 }
\ No newline at end of file
@@ -96,6 +96,7 @@ fun SearchScreen(
             )
         },
         clearSelection = searchViewModel::clearSelection,
+        onLoadMore = searchViewModel::loadMoreResults,
         onBackPressed = onBackPressed,
         navHostController = navHostController,
         nodeActionHandler = nodeActionHandler,
@@ -40,6 +40,7 @@ import mega.privacy.android.app.presentation.search.navigation.TYPE
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.account.business.BusinessAccountStatus
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.NodeSourceType
 import mega.privacy.android.domain.entity.node.NodeSourceType.OTHER
 import mega.privacy.android.domain.entity.node.TypedNode
@@ -108,6 +109,12 @@ class SearchViewModel @Inject constructor(
      */
     val state: StateFlow<SearchViewState> = _state
     private var searchJob: Job? = null
+    private var loadMoreResultsJob: Job? = null
+
+    /**
+     * Search results loaded so far, before filtering the sensitive nodes
+     */
+    private var sourceSearchResults: List<TypedNode> = emptyList()
 
     private val nodeSourceType =
         stateHandle.get<NodeSourceType>(SearchActivity.SEARCH_TYPE) ?: OTHER
@@ -174,18 +181,30 @@ class SearchViewModel @Inject constructor(
     @OptIn(ExperimentalCoroutinesApi::class)
     private fun performSearch() {
         searchJob?.cancel()
+        loadMoreResultsJob?.cancel()
         _state.update { it.copy(isSearching = true) }
         searchJob = viewModelScope.launch {
             runCatching {
-                val search = executeSearchQuery()
                 channelFlow {
-                    send(search())
+                    send(executeSearchQuery(SEARCH_PAGE_SIZE))
                     monitorNodeChanges().flatMapLatest {
-                        flow { emit(search()) }
+                        // search again all the results loaded so far
+                        flow {
+                            emit(
+                                executeSearchQuery(
+                                    sourceSearchResults.size.coerceAtLeast(SEARCH_PAGE_SIZE)
+                                )
+                            )
+                        }
                     }.collectLatest {
                         send(it)
                     }
-                }.collectLatest(::onSearchSuccess)
+                }.collectLatest { (searchResults, pageSize) ->
+                    onSearchSuccess(
+                        sourceSearchResults = searchResults,
+                        hasMoreResults = searchResults.size == pageSize,
+                    )
+                }
             }.onFailure { ex ->
                 onSearchFailure(ex)
             }
@@ -202,15 +221,55 @@ class SearchViewModel @Inject constructor(
     ).conflate()
 
     /**
-     * Execute search query
+     * Execute search query, only getting the first results
+     *
+     * @param pageSize maximum number of results
+     * @return the results and the page size
      */
-    private fun executeSearchQuery() = suspend {
+    private suspend fun executeSearchQuery(pageSize: Int): Pair<List<TypedNode>, Int> {
         cancelCancelTokenUseCase()
-        searchUseCase(
+        return searchUseCase(
             parentHandle = NodeId(getCurrentParentHandle()),
             nodeSourceType = nodeSourceType,
-            searchParameters = getSearchParameters()
-        )
+            searchParameters = getSearchParameters(),
+            page = NodePage(offset = 0L, size = pageSize),
+        ) to pageSize
+    }
+
+    /**
+     * Loads the next page of search results, if there are more results to load
+     */
+    fun loadMoreResults() {
+        val currentState = _state.value
+        if (currentState.isSearching || !currentState.hasMoreResults || loadMoreResultsJob?.isActive == true) return
+        val loadedResults = sourceSearchResults
+        loadMoreResultsJob = viewModelScope.launch {
+            runCatching {
+                searchUseCase(
+                    parentHandle = NodeId(getCurrentParentHandle()),
+                    nodeSourceType = nodeSourceType,
+                    searchParameters = getSearchParameters(),
+                    page = NodePage(offset = loadedResults.size.toLong(), size = SEARCH_PAGE_SIZE),
+                )
+            }.onSuccess { searchResults ->
+                // a new search replaced the loaded results
+                if (sourceSearchResults !== loadedResults) return@onSuccess
+                val loadedIds = loadedResults.mapTo(HashSet()) { it.id }
+                val newResults = searchResults.filterNot { it.id in loadedIds }
+                sourceSearchResults = loadedResults + newResults
+                val newNodeUIItems = filterNonSensitiveNodes(newResults).orEmpty().map {
+                    NodeUIItem(node = it, isSelected = false)
+                }
+                _state.update {
+                    it.copy(
+                        searchItemList = it.searchItemList + newNodeUIItems,
+                        hasMoreResults = searchResults.size == SEARCH_PAGE_SIZE,
+                    )
+                }
+            }.onFailure {
+                Timber.e(it)
+            }
+        }
     }
 
     private fun getSearchParameters() = SearchParameters(
@@ -261,7 +320,11 @@ class SearchViewModel @Inject constructor(
         }
     }
 
-    private suspend fun onSearchSuccess(sourceSearchResults: List<TypedNode>?) {
+    private suspend fun onSearchSuccess(
+        sourceSearchResults: List<TypedNode>,
+        hasMoreResults: Boolean,
+    ) {
+        this.sourceSearchResults = sourceSearchResults
         val searchResults = filterNonSensitiveNodes(sourceSearchResults)
         if (searchResults.isNullOrEmpty()) {
             val emptyState = getEmptySearchState()
@@ -269,6 +332,7 @@ class SearchViewModel @Inject constructor(
                 it.copy(
                     searchItemList = emptyList(),
                     isSearching = false,
+                    hasMoreResults = hasMoreResults,
                     emptyState = emptyState
                 )
             }
@@ -285,6 +349,7 @@ class SearchViewModel @Inject constructor(
                 state.copy(
                     searchItemList = nodeUIItems,
                     isSearching = false,
+                    hasMoreResults = hasMoreResults,
                     sortOrder = cloudSortOrder
                 )
             }
@@ -356,6 +421,20 @@ class SearchViewModel @Inject constructor(
      * Select ALl
      */
     fun selectAll() = viewModelScope.launch {
+        if (_state.value.hasMoreResults) {
+            loadMoreResultsJob?.cancel()
+            runCatching {
+                searchUseCase(
+                    parentHandle = NodeId(getCurrentParentHandle()),
+                    nodeSourceType = nodeSourceType,
+                    searchParameters = getSearchParameters(),
+                )
+            }.onSuccess {
+                onSearchSuccess(sourceSearchResults = it, hasMoreResults = false)
+            }.onFailure {
+                Timber.e(it)
+            }
+        }
         val searchResultsUpdated = _state.value.searchItemList.asSequence().map {
             it.copy(isSelected = true)
         }
@@ -641,4 +720,11 @@ class SearchViewModel @Inject constructor(
             }
             .launchIn(viewModelScope)
     }
+
+    companion object {
+        /**
+         * Number of search results loaded each time the end of the list is reached
+         */
+        const val SEARCH_PAGE_SIZE = 200
+    }
 }
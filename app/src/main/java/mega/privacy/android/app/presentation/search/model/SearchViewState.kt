@@ -18,6 +18,7 @@ import mega.privacy.android.domain.entity.preference.ViewType
  * @property searchTagsEnabled is search by tags enabled via feature flag
  * @property searchItemList list of search items in [TypedNode]
  * @property isSearching to show loading or not
+ * @property hasMoreResults true if there are more search results than the pages loaded
  * @property sortOrder [SortOrder] to display nodes
  * @property currentViewType current [ViewType]
  * @property searchQuery current typed search query in search activity
@@ -43,6 +44,7 @@ data class SearchViewState(
     val searchTagsEnabled: Boolean? = null,
     val searchItemList: List<NodeUIItem<TypedNode>> = emptyList(),
     val isSearching: Boolean = true,
+    val hasMoreResults: Boolean = false,
     val sortOrder: SortOrder = SortOrder.ORDER_NONE,
     val currentViewType: ViewType = ViewType.LIST,
     val searchQuery: String = "",
@@ -58,6 +58,7 @@ import mega.privacy.android.shared.original.core.ui.preview.CombinedThemePreview
  * @param onLinkClicked link click listener for item
  * @param onDisputeTakeDownClicked dispute take-down click listener
  * @param onFilterClicked a filter has been clicked
+ * @param onLoadMore callback to load the next results when the end of the list is reached
  */
 @OptIn(ExperimentalComposeUiApi::class)
 @Composable
@@ -81,6 +82,7 @@ fun SearchComposeView(
     fileTypeIconMapper: FileTypeIconMapper,
     nodeSourceType: NodeSourceType,
     modifier: Modifier = Modifier,
+    onLoadMore: () -> Unit = {},
 ) {
     val listState = rememberLazyListState()
     val gridState = rememberLazyGridState()
@@ -180,6 +182,7 @@ fun SearchComposeView(
                                 && state.accountType?.isPaid == true
                                 && !state.isBusinessAccountExpired,
                         nodeSourceType = nodeSourceType,
+                        onLoadMore = onLoadMore.takeIf { state.hasMoreResults },
                     )
                 } else {
                     LegacyMegaEmptyViewForSearch(
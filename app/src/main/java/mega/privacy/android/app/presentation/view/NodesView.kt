@@ -7,11 +7,17 @@ import androidx.compose.foundation.lazy.LazyListState
 import androidx.compose.foundation.lazy.grid.LazyGridState
 import androidx.compose.material.MaterialTheme
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.getValue
 import androidx.compose.runtime.mutableStateOf
 import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.runtime.snapshotFlow
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.platform.LocalConfiguration
 import androidx.compose.ui.unit.dp
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filterNotNull
 import mega.privacy.android.app.presentation.data.NodeUIItem
 import mega.privacy.android.app.utils.Constants
 import mega.privacy.android.core.ui.mapper.FileTypeIconMapper
@@ -43,6 +49,8 @@ import mega.privacy.android.domain.entity.node.TypedNode
  * @param showMediaDiscoveryButton whether to show media discovery button
  * @param onEnterMediaDiscoveryClick callback for enter media discovery click
  * @param listContentPadding the content padding of the list/lazyColumn
+ * @param onLoadMore callback when the end of the list is close, to load the next nodes. Null if
+ * all the nodes are loaded
  */
 @Composable
 fun <T : TypedNode> NodesView(
@@ -73,10 +81,30 @@ fun <T : TypedNode> NodesView(
     onEnterMediaDiscoveryClick: () -> Unit = {},
     listContentPadding: PaddingValues = PaddingValues(0.dp),
     nodeSourceType: NodeSourceType = NodeSourceType.CLOUD_DRIVE,
+    onLoadMore: (() -> Unit)? = null,
 ) {
     val takenDownDialog = remember { mutableStateOf(Pair(false, false)) }
     val orientation = LocalConfiguration.current.orientation
     val span = if (orientation == Configuration.ORIENTATION_PORTRAIT) spanCount else 4
+    if (onLoadMore != null) {
+        val currentOnLoadMore by rememberUpdatedState(onLoadMore)
+        LaunchedEffect(isListView, listState, gridState) {
+            snapshotFlow {
+                // total count of the items when the last visible one is close to the end
+                val (lastVisibleIndex, totalItemsCount) = if (isListView) {
+                    with(listState.layoutInfo) { visibleItemsInfo.lastOrNull()?.index to totalItemsCount }
+                } else {
+                    with(gridState.layoutInfo) { visibleItemsInfo.lastOrNull()?.index to totalItemsCount }
+                }
+                totalItemsCount.takeIf {
+                    lastVisibleIndex != null
+                            && lastVisibleIndex >= totalItemsCount - LOAD_MORE_THRESHOLD
+                }
+            }.filterNotNull()
+                .distinctUntilChanged()
+                .collect { currentOnLoadMore() }
+        }
+    }
     if (isListView) {
         NodeListView(
             modifier = modifier.background(MaterialTheme.colors.background),
@@ -182,6 +210,11 @@ private fun <T : TypedNode> rememberNodeListForGrid(
     nodeUIItems
 }
 
+/**
+ * Number of items from the end of the list at which the next nodes are requested
+ */
+private const val LOAD_MORE_THRESHOLD = 20
+
 /**
  * Test tag for nodesView visibility
  */
@@ -17,7 +17,7 @@ import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.usecase.file.GetFileTypeInfoUseCase
 import mega.privacy.android.domain.usecase.zipbrowser.GetZipTreeMapUseCase
-import mega.privacy.android.domain.usecase.zipbrowser.UnzipFileUseCase
+import mega.privacy.android.domain.usecase.zipbrowser.MonitorUnzipFileUseCase
 import timber.log.Timber
 import java.io.File
 import java.nio.charset.Charset
@@ -31,7 +31,7 @@ import javax.inject.Inject
 class ZipBrowserViewModel @Inject constructor(
     private val getZipTreeMapUseCase: GetZipTreeMapUseCase,
     private val zipInfoUiEntityMapper: ZipInfoUiEntityMapper,
-    private val unzipFileUseCase: UnzipFileUseCase,
+    private val monitorUnzipFileUseCase: MonitorUnzipFileUseCase,
     private val getFileTypeInfoUseCase: GetFileTypeInfoUseCase,
     savedStateHandle: SavedStateHandle,
 ) : ViewModel() {
@@ -135,19 +135,23 @@ class ZipBrowserViewModel @Inject constructor(
 
             ZipItemClickedEventType.ZipFileNotUnpacked -> {
                 viewModelScope.launch {
-                    val unzipResult = runCatching {
-                        unzipFileUseCase(zipFile, unzipRootPath)
-                    }.recover { Timber.e(it) }.getOrNull()
+                    val zipFile = zipFile
+                    val unzipRootPath = unzipRootPath
+                    val isUnzipped = zipFile != null && unzipRootPath != null && runCatching {
+                        monitorUnzipFileUseCase(zipFile, unzipRootPath).collect { progress ->
+                            _uiState.update { it.copy(unzipProgress = progress) }
+                        }
+                    }.onFailure { Timber.e(it) }.isSuccess
 
-                    if (unzipResult == true) {
+                    _uiState.update {
+                        it.copy(showUnzipProgressBar = false, unzipProgress = null)
+                    }
+
+                    if (isUnzipped) {
                         itemClicked(item)
                     } else {
                         updateShowAlertDialog(true)
                     }
-
-                    _uiState.update {
-                        it.copy(showUnzipProgressBar = false)
-                    }
                 }
             }
 
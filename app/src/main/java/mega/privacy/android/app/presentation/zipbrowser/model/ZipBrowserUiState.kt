@@ -1,5 +1,6 @@
 package mega.privacy.android.app.presentation.zipbrowser.model
 
+import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 
 /**
@@ -10,6 +11,7 @@ import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
  * @property parentFolderName parent folder name
  * @property currentZipTreeNode the current ZipTreeNode
  * @property showUnzipProgressBar whether should show the unzip progress bar
+ * @property unzipProgress progress of the unzip, null until the first progress is known
  * @property showAlertDialog whether should show the file cannot open alert dialog
  * @property showSnackBar whether should show the snack bar
  * @property openedFile opened file
@@ -20,6 +22,7 @@ data class ZipBrowserUiState(
     val parentFolderName: String = "",
     val currentZipTreeNode: ZipTreeNode? = null,
     val showUnzipProgressBar: Boolean = false,
+    val unzipProgress: Progress? = null,
     val showAlertDialog: Boolean = false,
     val showSnackBar: Boolean = false,
     val openedFile: ZipInfoUiEntity? = null,
@@ -53,6 +53,7 @@ internal fun ZipBrowserView(
     showAlertDialog: Boolean,
     showSnackBar: Boolean,
     modifier: Modifier = Modifier,
+    unzipProgress: Float? = null,
     onItemClicked: (ZipInfoUiEntity) -> Unit = {},
     onBackPressed: () -> Unit = {},
     onDialogDismiss: () -> Unit = {},
@@ -95,7 +96,7 @@ internal fun ZipBrowserView(
         }
 
         if (showProgressBar) {
-            UnzipProgressBarView()
+            UnzipProgressBarView(progress = unzipProgress)
         }
 
         if (items.isNotEmpty()) {
@@ -140,6 +141,7 @@ private fun ZipBrowserAlertDialog(
 @Composable
 private fun UnzipProgressBarView(
     modifier: Modifier = Modifier,
+    progress: Float? = null,
 ) {
     Dialog(
         onDismissRequest = {}
@@ -154,6 +156,7 @@ private fun UnzipProgressBarView(
             MegaCircularProgressIndicator(
                 modifier = Modifier.padding(start = 10.dp),
                 strokeWidth = 4.dp,
+                progress = progress,
             )
 
             MegaText(
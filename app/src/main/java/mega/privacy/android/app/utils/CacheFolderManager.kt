@@ -41,6 +41,11 @@ object CacheFolderManager {
      */
     const val TEMPORARY_FOLDER = "tempMEGA"
 
+    /**
+     * PDF_FOLDER, page sizes, table of contents and thumbnails of the opened PDF documents
+     */
+    const val PDF_FOLDER = "pdfMEGA"
+
     /**
      * CacheFolder Gateway
      */
@@ -0,0 +1,82 @@
+package mega.privacy.android.app.components.twemoji
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.components.twemoji.emoji.Emoji
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+
+class EmojiTrieTest {
+
+    private lateinit var underTest: EmojiTrie
+
+    private val thumbsUp = emoji(0x1F44D)
+    private val thumbsUpLightSkin = emoji(0x1F44D, 0x1F3FB)
+    private val flagSpain = emoji(0x1F1EA, 0x1F1F8)
+
+    @BeforeEach
+    fun setUp() {
+        underTest = EmojiTrie()
+        listOf(thumbsUp, thumbsUpLightSkin, flagSpain).forEach { underTest.put(it.unicode, it) }
+    }
+
+    @Test
+    fun `test that the longest emoji starting at a position is matched`() {
+        val text = "a${thumbsUpLightSkin.unicode}b"
+
+        val match = underTest.longestMatch(text, 1)
+
+        assertThat(match?.emoji).isEqualTo(thumbsUpLightSkin)
+        assertThat(match?.depth).isEqualTo(thumbsUpLightSkin.unicode.length)
+    }
+
+    @Test
+    fun `test that a shorter emoji is matched when the longer one is not complete`() {
+        val text = "${thumbsUp.unicode}${flagSpain.unicode}"
+
+        val match = underTest.longestMatch(text, 0)
+
+        assertThat(match?.emoji).isEqualTo(thumbsUp)
+    }
+
+    @Test
+    fun `test that no match is returned when no emoji starts at a position`() {
+        assertThat(underTest.longestMatch("a${thumbsUp.unicode}", 0)).isNull()
+    }
+
+    @Test
+    fun `test that a text made of emojis is a sequence of emojis`() {
+        val text = "${thumbsUpLightSkin.unicode}${flagSpain.unicode}${thumbsUp.unicode}"
+
+        assertThat(underTest.isSequenceOfEmojis(text)).isTrue()
+    }
+
+    @Test
+    fun `test that a text with other chars is not a sequence of emojis`() {
+        val text = "${thumbsUp.unicode}a${flagSpain.unicode}"
+
+        assertThat(underTest.isSequenceOfEmojis(text)).isFalse()
+        assertThat(underTest.isSequenceOfEmojis("")).isFalse()
+    }
+
+    @Test
+    fun `test that shorter emojis are tried when the longest ones do not cover the text`() {
+        val trie = EmojiTrie()
+        listOf(emoji('a'.code, 'b'.code), emoji('a'.code, 'b'.code, 'c'.code), emoji('c'.code, 'd'.code))
+            .forEach { trie.put(it.unicode, it) }
+
+        assertThat(trie.isSequenceOfEmojis("abcd")).isTrue()
+        assertThat(trie.isSequenceOfEmojis("abcdc")).isFalse()
+    }
+
+    @Test
+    fun `test that an emoji with the same unicode replaces the previous one`() {
+        val replacement = emoji(0x1F44D)
+
+        underTest.put(replacement.unicode, replacement)
+
+        assertThat(underTest.size()).isEqualTo(3)
+        assertThat(underTest.longestMatch(thumbsUp.unicode, 0)?.emoji).isSameInstanceAs(replacement)
+    }
+
+    private fun emoji(vararg codePoints: Int) = Emoji(codePoints, 0)
+}
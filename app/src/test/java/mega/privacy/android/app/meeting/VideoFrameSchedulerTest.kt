@@ -0,0 +1,77 @@
+package mega.privacy.android.app.meeting
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+
+class VideoFrameSchedulerTest {
+
+    private val screenArea = 1000L * 2000L
+
+    @Test
+    fun `test that frames are dropped until the tile is visible`() {
+        val underTest = VideoFrameScheduler(null)
+
+        assertThat(underTest.shouldRenderFrame(nowMs = 1000L)).isFalse()
+
+        underTest.onVisibilityChanged(isVisible = true, tileArea = screenArea, screenArea = screenArea)
+
+        assertThat(underTest.shouldRenderFrame(nowMs = 1010L)).isTrue()
+        assertThat(underTest.getStats()).isEqualTo(VideoFrameStats(renderedFrames = 1, droppedFrames = 1))
+    }
+
+    @Test
+    fun `test that frames are dropped when the tile stops being visible`() {
+        val underTest = VideoFrameScheduler(null)
+        underTest.onVisibilityChanged(isVisible = true, tileArea = screenArea, screenArea = screenArea)
+        assertThat(underTest.shouldRenderFrame(nowMs = 1000L)).isTrue()
+
+        underTest.onVisibilityChanged(isVisible = false, tileArea = 0L, screenArea = screenArea)
+
+        assertThat(underTest.shouldRenderFrame(nowMs = 2000L)).isFalse()
+    }
+
+    @Test
+    fun `test that every frame of a large tile is rendered`() {
+        val underTest = VideoFrameScheduler(null)
+        underTest.onVisibilityChanged(isVisible = true, tileArea = screenArea, screenArea = screenArea)
+
+        val rendered = (0 until 30).count { underTest.shouldRenderFrame(nowMs = 1000L + it * 33L) }
+
+        assertThat(rendered).isEqualTo(30)
+    }
+
+    @Test
+    fun `test that the frame rate of a small tile is capped`() {
+        val underTest = VideoFrameScheduler(null)
+        underTest.onVisibilityChanged(
+            isVisible = true,
+            tileArea = screenArea / 20,
+            screenArea = screenArea
+        )
+
+        // 30 frames in a second
+        val rendered = (0 until 30).count { underTest.shouldRenderFrame(nowMs = 1000L + it * 33L) }
+
+        assertThat(rendered).isLessThan(10)
+        assertThat(underTest.getStats().droppedFrames).isEqualTo(30L - rendered)
+    }
+
+    @ParameterizedTest(name = "tile area {0} of screen area {1} has interval {2}")
+    @CsvSource(
+        "2000000, 2000000, 0",
+        "500000, 2000000, 0",
+        "200000, 2000000, 66",
+        "100000, 2000000, 125",
+        "100000, 0, 0",
+    )
+    fun `test that the frame interval depends on the size of the tile`(
+        tileArea: Long,
+        screenArea: Long,
+        expected: Long,
+    ) {
+        assertThat(VideoFrameScheduler.getMinFrameIntervalMs(tileArea, screenArea))
+            .isEqualTo(expected)
+    }
+}
@@ -35,6 +35,7 @@ import mega.privacy.android.domain.entity.account.AccountLevelDetail
 import mega.privacy.android.domain.entity.node.Node
 import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.node.TypedFileNode
 import mega.privacy.android.domain.entity.node.TypedFolderNode
@@ -75,6 +76,7 @@ import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
@@ -99,6 +101,7 @@ class FileBrowserViewModelTest {
     private val monitorNodeUpdatesUseCase = mock<MonitorNodeUpdatesUseCase>()
     private val getParentNodeUseCase = mock<GetParentNodeUseCase>()
     private val getFileBrowserNodeChildrenUseCase = mock<GetFileBrowserNodeChildrenUseCase>()
+    private val firstPage = NodePage(offset = 0L, size = FileBrowserViewModel.NODES_PAGE_SIZE)
     private val getCloudSortOrder = mock<GetCloudSortOrder>()
     private val handleOptionClickMapper = mock<HandleOptionClickMapper>()
     private val monitorViewType = mock<MonitorViewType>()
@@ -288,7 +291,7 @@ class FileBrowserViewModelTest {
     fun `test that the nodes are returned when setting the file browser handle`() =
         runTest {
             val newValue = 123456789L
-            whenever(getFileBrowserNodeChildrenUseCase(newValue)).thenReturn(
+            whenever(getFileBrowserNodeChildrenUseCase(newValue, firstPage)).thenReturn(
                 listOf<TypedFolderNode>(mock(), mock())
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
@@ -305,10 +308,10 @@ class FileBrowserViewModelTest {
     fun `test that no nodes are returned when setting the file browser handle and the file browser node is null`() =
         runTest {
             val newValue = 123456789L
-            whenever(getFileBrowserNodeChildrenUseCase.invoke(newValue)).thenReturn(emptyList())
+            whenever(getFileBrowserNodeChildrenUseCase.invoke(newValue, firstPage)).thenReturn(emptyList())
             underTest.setFileBrowserHandle(newValue)
             assertThat(underTest.state.value.nodesList.size).isEqualTo(0)
-            verify(getFileBrowserNodeChildrenUseCase).invoke(newValue)
+            verify(getFileBrowserNodeChildrenUseCase).invoke(newValue, firstPage)
         }
 
     @Test
@@ -400,7 +403,7 @@ class FileBrowserViewModelTest {
         runTest {
             val newValue = 123456789L
             underTest.performBackNavigation()
-            verify(getFileBrowserNodeChildrenUseCase, times(0)).invoke(newValue)
+            verify(getFileBrowserNodeChildrenUseCase, times(0)).invoke(eq(newValue), anyOrNull())
         }
 
     @Test
@@ -408,12 +411,12 @@ class FileBrowserViewModelTest {
         runTest {
             val newValue = 123456789L
             // to update handles fileBrowserHandle
-            whenever(getFileBrowserNodeChildrenUseCase.invoke(newValue)).thenReturn(
+            whenever(getFileBrowserNodeChildrenUseCase.invoke(newValue, firstPage)).thenReturn(
                 listOf<TypedFolderNode>(mock(), mock())
             )
             underTest.setFileBrowserHandle(newValue)
             underTest.performBackNavigation()
-            verify(getFileBrowserNodeChildrenUseCase).invoke(newValue)
+            verify(getFileBrowserNodeChildrenUseCase).invoke(newValue, firstPage)
         }
 
     @Test
@@ -423,7 +426,7 @@ class FileBrowserViewModelTest {
             val nodesListItem2 = mock<TypedFileNode>()
             whenever(nodesListItem1.id.longValue).thenReturn(1L)
             whenever(nodesListItem2.id.longValue).thenReturn(2L)
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
+            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle, firstPage)).thenReturn(
                 listOf(nodesListItem1, nodesListItem2)
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
@@ -450,7 +453,7 @@ class FileBrowserViewModelTest {
             val nodesListItem2 = mock<TypedFileNode>()
             whenever(nodesListItem1.id.longValue).thenReturn(1L)
             whenever(nodesListItem2.id.longValue).thenReturn(2L)
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
+            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle, firstPage)).thenReturn(
                 listOf(nodesListItem1, nodesListItem2)
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
@@ -486,7 +489,7 @@ class FileBrowserViewModelTest {
             whenever(nodesListItem1.id.longValue).thenReturn(1L)
             whenever(nodesListItem2.id.longValue).thenReturn(2L)
 
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
+            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle, firstPage)).thenReturn(
                 listOf(nodesListItem1, nodesListItem2)
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
@@ -523,7 +526,7 @@ class FileBrowserViewModelTest {
     @Test
     fun `test that the sizes of both selected node handles and the nodes are equal when selecting all nodes`() =
         runTest {
-            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
+            whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle, firstPage)).thenReturn(
                 listOf<TypedFolderNode>(mock(), mock())
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
@@ -533,6 +536,52 @@ class FileBrowserViewModelTest {
                 .isEqualTo(underTest.state.value.selectedNodeHandles.size)
         }
 
+    @Test
+    fun `test that the next page of nodes is added when loading more nodes`() = runTest {
+        val handle = 123456789L
+        val pageSize = FileBrowserViewModel.NODES_PAGE_SIZE
+        val firstNodes = List(pageSize) {
+            mock<TypedFolderNode> { on { id }.thenReturn(NodeId(it.toLong())) }
+        }
+        val nextNodes = listOf(mock<TypedFolderNode> { on { id }.thenReturn(NodeId(1000L)) })
+        whenever(getFileBrowserNodeChildrenUseCase(handle, firstPage)).thenReturn(firstNodes)
+        whenever(
+            getFileBrowserNodeChildrenUseCase(
+                handle,
+                NodePage(offset = pageSize.toLong(), size = pageSize)
+            )
+        ).thenReturn(nextNodes)
+        whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+
+        underTest.setFileBrowserHandle(handle)
+        assertThat(underTest.state.value.hasMoreNodes).isTrue()
+        underTest.loadMoreNodes()
+
+        assertThat(underTest.state.value.nodesList.map { it.node })
+            .containsExactlyElementsIn(firstNodes + nextNodes).inOrder()
+        assertThat(underTest.state.value.hasMoreNodes).isFalse()
+    }
+
+    @Test
+    fun `test that all the nodes are loaded when selecting all nodes and there are more nodes`() =
+        runTest {
+            val handle = 123456789L
+            val firstNodes = List(FileBrowserViewModel.NODES_PAGE_SIZE) {
+                mock<TypedFolderNode> { on { id }.thenReturn(NodeId(it.toLong())) }
+            }
+            val allNodes =
+                firstNodes + mock<TypedFolderNode> { on { id }.thenReturn(NodeId(1000L)) }
+            whenever(getFileBrowserNodeChildrenUseCase(handle, firstPage)).thenReturn(firstNodes)
+            whenever(getFileBrowserNodeChildrenUseCase(handle, null)).thenReturn(allNodes)
+            whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+
+            underTest.setFileBrowserHandle(handle)
+            underTest.selectAllNodes()
+
+            assertThat(underTest.state.value.selectedNodeHandles).hasSize(allNodes.size)
+            assertThat(underTest.state.value.hasMoreNodes).isFalse()
+        }
+
     @Test
     fun `test that the selected node handles is empty when clearing all nodes`() = runTest {
         underTest.clearAllNodes()
@@ -688,7 +737,7 @@ class FileBrowserViewModelTest {
         whenever(nodesListItem2.isMarkedSensitive).thenReturn(true)
         whenever(nodesListItem2.isSensitiveInherited).thenReturn(true)
 
-        whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle))
+        whenever(getFileBrowserNodeChildrenUseCase(underTest.state.value.fileBrowserHandle, firstPage))
             .thenReturn(listOf(nodesListItem1, nodesListItem2))
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
 
@@ -726,13 +775,13 @@ class FileBrowserViewModelTest {
         }
 
         // Verify that refreshNodesState is called
-        verify(getFileBrowserNodeChildrenUseCase).invoke(folderHandle)
+        verify(getFileBrowserNodeChildrenUseCase).invoke(folderHandle, firstPage)
     }
 
     private suspend fun stubCommon() {
         whenever(monitorNodeUpdatesUseCase()).thenReturn(monitorNodeUpdatesFakeFlow)
         whenever(monitorViewType()).thenReturn(emptyFlow())
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(emptyList())
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(emptyList())
         whenever(getParentNodeUseCase(NodeId(any()))).thenReturn(null)
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(monitorRefreshSessionUseCase()).thenReturn(emptyFlow())
@@ -27,6 +27,7 @@ import mega.privacy.android.domain.entity.account.AccountDetail
 import mega.privacy.android.domain.entity.account.AccountLevelDetail
 import mega.privacy.android.domain.entity.node.FileNode
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.NodeSourceType
 import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.node.TypedFileNode
@@ -79,6 +80,7 @@ class SearchViewModelTest {
     private val dateFilterStringMapper: DateFilterOptionStringResMapper = mock()
     private val monitorOfflineNodeUpdatesUseCase: MonitorOfflineNodeUpdatesUseCase = mock()
     private val searchUseCase: SearchUseCase = mock()
+    private val firstPage = NodePage(offset = 0L, size = SearchViewModel.SEARCH_PAGE_SIZE)
     private val monitorAccountDetailUseCase: MonitorAccountDetailUseCase = mock()
     private val monitorShowHiddenItemsUseCase: MonitorShowHiddenItemsUseCase = mock()
     private val accountDetailFakeFlow = MutableSharedFlow<AccountDetail>()
@@ -348,6 +350,7 @@ class SearchViewModelTest {
                     searchParameters = SearchParameters(
                         query = query,
                     ),
+                    page = firstPage,
                 )
             ).thenReturn(nodeList)
             underTest.updateSearchQuery(query)
@@ -396,6 +399,7 @@ class SearchViewModelTest {
                     searchParameters = SearchParameters(
                         query = query,
                     ),
+                    page = firstPage,
                 )
             ).thenReturn(listOf(typedFileNode, typedFolderNode))
             underTest.updateSearchQuery(query)
@@ -415,6 +419,42 @@ class SearchViewModelTest {
             }
         }
 
+    @Test
+    fun `test that the next page of results is added when loading more results`() = runTest {
+        val query = "query"
+        val pageSize = SearchViewModel.SEARCH_PAGE_SIZE
+        val firstResults = List(pageSize) {
+            mock<TypedFileNode> { on { id }.thenReturn(NodeId(it.toLong())) }
+        }
+        val nextResults = listOf(mock<TypedFileNode> { on { id }.thenReturn(NodeId(1000L)) })
+        whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+        whenever(monitorViewType()).thenReturn(flowOf(ViewType.LIST))
+        whenever(
+            searchUseCase(
+                parentHandle = NodeId(parentHandle),
+                nodeSourceType = nodeSourceType,
+                searchParameters = SearchParameters(query = query),
+                page = firstPage,
+            )
+        ).thenReturn(firstResults)
+        whenever(
+            searchUseCase(
+                parentHandle = NodeId(parentHandle),
+                nodeSourceType = nodeSourceType,
+                searchParameters = SearchParameters(query = query),
+                page = NodePage(offset = pageSize.toLong(), size = pageSize),
+            )
+        ).thenReturn(nextResults)
+
+        underTest.updateSearchQuery(query)
+        assertThat(underTest.state.value.hasMoreResults).isTrue()
+        underTest.loadMoreResults()
+
+        assertThat(underTest.state.value.searchItemList.map { it.node })
+            .containsExactlyElementsIn(firstResults + nextResults).inOrder()
+        assertThat(underTest.state.value.hasMoreResults).isFalse()
+    }
+
     @Test
     fun `test that sensitive nodes should be filtered with subscribed account`() = runTest {
         stubCommon()
@@ -455,6 +495,7 @@ class SearchViewModelTest {
                 searchParameters = SearchParameters(
                     query = query,
                 ),
+                page = firstPage,
             )
         ).thenReturn(listOf(typedFileNode, typedFolderNode))
 
@@ -510,6 +551,7 @@ class SearchViewModelTest {
                 searchParameters = SearchParameters(
                     query = query,
                 ),
+                page = firstPage,
             )
         ).thenReturn(listOf(typedFileNode, typedFolderNode))
 
@@ -34,6 +34,7 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.api.extension.ExtendWith
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.whenever
@@ -83,7 +84,7 @@ class VideoSelectedViewModelTest {
     @BeforeEach
     fun setUp() {
         wheneverBlocking { monitorViewType() }.thenReturn(fakeMonitorViewTypeFlow)
-        wheneverBlocking { getFileBrowserNodeChildrenUseCase(any()) }.thenReturn(emptyList())
+        wheneverBlocking { getFileBrowserNodeChildrenUseCase(any(), anyOrNull()) }.thenReturn(emptyList())
         wheneverBlocking { getCloudSortOrder() }.thenReturn(SortOrder.ORDER_NONE)
         wheneverBlocking { getFeatureFlagValueUseCase(any()) }.thenReturn(false)
         initUnderTest()
@@ -140,7 +141,7 @@ class VideoSelectedViewModelTest {
     fun `test that the nodes return correctly after init`() = runTest {
         val sortOrder = SortOrder.ORDER_DEFAULT_ASC
 
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testNode))
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
 
         initUnderTest()
@@ -159,7 +160,7 @@ class VideoSelectedViewModelTest {
 
     @Test
     fun `test that the state is updated correctly after a file is clicked`() = runTest {
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testNode))
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
 
         initUnderTest()
@@ -177,7 +178,7 @@ class VideoSelectedViewModelTest {
 
     @Test
     fun `test that the state is updated correctly after a folder is clicked`() = runTest {
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testFolderNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testFolderNode))
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
 
         initUnderTest()
@@ -198,7 +199,7 @@ class VideoSelectedViewModelTest {
 
     @Test
     fun `test that the state is updated correctly after back to parent folder`() = runTest {
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testNode))
         whenever(getParentNodeUseCase(NodeId(-1))).thenReturn(unTypedNode)
         whenever(getRootNodeUseCase()).thenReturn(null)
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
@@ -219,7 +220,7 @@ class VideoSelectedViewModelTest {
 
     @Test
     fun `test that the state is updated correctly after back to root folder`() = runTest {
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testNode))
         whenever(getParentNodeUseCase(NodeId(-1))).thenReturn(unTypedNode)
         whenever(getRootNodeUseCase()).thenReturn(unTypedNode)
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
@@ -240,7 +241,7 @@ class VideoSelectedViewModelTest {
 
     @Test
     fun `test that the state is updated correctly after select all`() = runTest {
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testNode))
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
 
         initUnderTest()
@@ -258,7 +259,7 @@ class VideoSelectedViewModelTest {
 
     @Test
     fun `test that the state is updated correctly after clear all`() = runTest {
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testNode))
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
 
         initUnderTest()
@@ -277,7 +278,7 @@ class VideoSelectedViewModelTest {
     @Test
     fun `test that the state is updated correctly after order changed`() = runTest {
         val newSortOrder = SortOrder.ORDER_FAV_ASC
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(listOf(testNode))
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(listOf(testNode))
         whenever(getCloudSortOrder()).thenReturn(newSortOrder)
 
         initUnderTest()
@@ -312,7 +313,7 @@ class VideoSelectedViewModelTest {
             on { name }.thenReturn("abc")
             on { type }.thenReturn(VideoFileTypeInfo("", "", 0.seconds))
         }
-        whenever(getFileBrowserNodeChildrenUseCase(any())).thenReturn(
+        whenever(getFileBrowserNodeChildrenUseCase(any(), anyOrNull())).thenReturn(
             listOf(testNode1, testNode2)
         )
         whenever(getCloudSortOrder()).thenReturn(sortOrder)
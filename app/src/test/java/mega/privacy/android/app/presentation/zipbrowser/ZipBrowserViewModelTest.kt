@@ -6,6 +6,7 @@ import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.resetMain
 import kotlinx.coroutines.test.runTest
@@ -14,12 +15,13 @@ import mega.privacy.android.app.presentation.zipbrowser.ZipBrowserViewModel
 import mega.privacy.android.app.presentation.zipbrowser.mapper.ZipInfoUiEntityMapper
 import mega.privacy.android.app.presentation.zipbrowser.model.ZipInfoUiEntity
 import mega.privacy.android.app.utils.Constants.EXTRA_PATH_ZIP
+import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.VideoFileTypeInfo
 import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.usecase.file.GetFileTypeInfoUseCase
 import mega.privacy.android.domain.usecase.zipbrowser.GetZipTreeMapUseCase
-import mega.privacy.android.domain.usecase.zipbrowser.UnzipFileUseCase
+import mega.privacy.android.domain.usecase.zipbrowser.MonitorUnzipFileUseCase
 import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.BeforeEach
@@ -32,6 +34,8 @@ import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.io.File
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
 import kotlin.time.Duration.Companion.seconds
 
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -44,7 +48,7 @@ class ZipBrowserViewModelTest {
 
     private val getZipTreeMapUseCase = mock<GetZipTreeMapUseCase>()
     private val zipInfoUiEntityMapper = mock<ZipInfoUiEntityMapper>()
-    private val unzipFileUseCase = mock<UnzipFileUseCase>()
+    private val monitorUnzipFileUseCase = mock<MonitorUnzipFileUseCase>()
     private val savedStateHandle = mock<SavedStateHandle>()
     private val getFileTypeInfoUseCase = mock<GetFileTypeInfoUseCase>()
 
@@ -100,7 +104,7 @@ class ZipBrowserViewModelTest {
         underTest = ZipBrowserViewModel(
             getZipTreeMapUseCase = getZipTreeMapUseCase,
             zipInfoUiEntityMapper = zipInfoUiEntityMapper,
-            unzipFileUseCase = unzipFileUseCase,
+            monitorUnzipFileUseCase = monitorUnzipFileUseCase,
             savedStateHandle = savedStateHandle,
             getFileTypeInfoUseCase = getFileTypeInfoUseCase
         )
@@ -111,7 +115,7 @@ class ZipBrowserViewModelTest {
         reset(
             getZipTreeMapUseCase,
             zipInfoUiEntityMapper,
-            unzipFileUseCase,
+            monitorUnzipFileUseCase,
             savedStateHandle,
             getFileTypeInfoUseCase
         )
@@ -199,7 +203,8 @@ class ZipBrowserViewModelTest {
             whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(false)
+            whenever(monitorUnzipFileUseCase(anyOrNull(), anyOrNull()))
+                .thenReturn(flow { throw IllegalStateException() })
 
             initUnderTest()
             underTest.itemClicked(testFileEntity)
@@ -216,7 +221,8 @@ class ZipBrowserViewModelTest {
             whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(false)
+            whenever(monitorUnzipFileUseCase(anyOrNull(), anyOrNull()))
+                .thenReturn(flow { throw IllegalStateException() })
 
             initUnderTest()
             underTest.getUnzipRootPath()?.let { File(it).mkdirs() }
@@ -237,7 +243,8 @@ class ZipBrowserViewModelTest {
             whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testZipFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(false)
+            whenever(monitorUnzipFileUseCase(anyOrNull(), anyOrNull()))
+                .thenReturn(flow { throw IllegalStateException() })
 
             initUnderTest()
             underTest.itemClicked(testZipFileEntity)
@@ -248,7 +255,7 @@ class ZipBrowserViewModelTest {
         }
 
     @Test
-    fun `test that shouldShowAlertDialog is true when the unzipFileUseCase throws an exception`() =
+    fun `test that shouldShowAlertDialog is true when the monitorUnzipFileUseCase throws an exception`() =
         runTest {
             val zipFile = File(temporaryFolder, "zipFile.txt").apply { createNewFile() }
             File(temporaryFolder, "zipFile").apply { createNewFile() }
@@ -257,7 +264,8 @@ class ZipBrowserViewModelTest {
             whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testZipFileEntity)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenThrow(NullPointerException())
+            whenever(monitorUnzipFileUseCase(anyOrNull(), anyOrNull()))
+                .thenThrow(NullPointerException())
 
             initUnderTest()
             underTest.itemClicked(testZipFileEntity)
@@ -281,7 +289,6 @@ class ZipBrowserViewModelTest {
             whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
             whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
             whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(fileEntry)
-            whenever(unzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(true)
 
             initUnderTest()
             underTest.itemClicked(fileEntry)
@@ -291,6 +298,39 @@ class ZipBrowserViewModelTest {
             }
         }
 
+    @Test
+    fun `test that the unzip progress is shown and the item is opened when the unzip completes`() =
+        runTest {
+            val zipFile = File(temporaryFolder, "archive.zip")
+            ZipOutputStream(zipFile.outputStream()).use {
+                it.putNextEntry(ZipEntry(subFilePath))
+                it.closeEntry()
+            }
+            val unzipRoot = File(temporaryFolder, "archive")
+            val progress = Progress(0.5F)
+            whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(zipFile.path)
+            whenever(getZipTreeMapUseCase(anyOrNull())).thenReturn(testZipNodeTree)
+            whenever(zipInfoUiEntityMapper(testSubFolderNode)).thenReturn(testZipFolderEntity)
+            whenever(zipInfoUiEntityMapper(testSubFileNode)).thenReturn(testFileEntity)
+            whenever(monitorUnzipFileUseCase(anyOrNull(), anyOrNull())).thenReturn(flow {
+                emit(progress)
+                assertThat(underTest.uiState.value.unzipProgress).isEqualTo(progress)
+                assertThat(underTest.uiState.value.showUnzipProgressBar).isTrue()
+                File(unzipRoot, subFilePath).apply { parentFile?.mkdirs() }.createNewFile()
+                emit(Progress(1F))
+            })
+
+            initUnderTest()
+            underTest.itemClicked(testFileEntity)
+
+            underTest.uiState.test {
+                val actual = awaitItem()
+                assertThat(actual.openedFile).isEqualTo(testFileEntity)
+                assertThat(actual.showUnzipProgressBar).isFalse()
+                assertThat(actual.unzipProgress).isNull()
+            }
+        }
+
     @Test
     fun `test that state is updated correctly when handleOnBackPressed is invoked`() = runTest {
         whenever(savedStateHandle.get<String>(EXTRA_PATH_ZIP)).thenReturn(testZipFullPath)
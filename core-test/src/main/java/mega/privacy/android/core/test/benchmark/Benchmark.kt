@@ -0,0 +1,80 @@
+package mega.privacy.android.core.test.benchmark
+
+import android.util.Log
+import java.util.Locale
+
+/**
+ * Timing of a measured block
+ *
+ * @property result result of the last timed run
+ * @property medianNanos median duration of the timed runs
+ */
+data class Measurement<T>(
+    val result: T,
+    val medianNanos: Long,
+)
+
+/**
+ * Measure a block for instrumented benchmarks, after running it untimed to warm it up
+ *
+ * The timings depend on the device and on what else runs on it, so benchmarks only log them with
+ * [logComparison] and assert that the measured implementations return the same results.
+ *
+ * @param rounds number of timed runs
+ * @param warmUpRounds number of untimed runs before the timed ones
+ * @param block the measured code
+ * @return the result of the last run and the median duration
+ */
+inline fun <T> measure(
+    rounds: Int = DEFAULT_ROUNDS,
+    warmUpRounds: Int = DEFAULT_WARM_UP_ROUNDS,
+    block: () -> T,
+): Measurement<T> {
+    require(rounds > 0) { "At least one timed round is needed" }
+    repeat(warmUpRounds) { block() }
+    val durations = LongArray(rounds)
+    var result: Any? = null
+    for (round in 0 until rounds) {
+        val start = System.nanoTime()
+        result = block()
+        durations[round] = System.nanoTime() - start
+    }
+    durations.sort()
+    @Suppress("UNCHECKED_CAST")
+    return Measurement(result as T, durations[rounds / 2])
+}
+
+/**
+ * Log the timings of the previous and the current implementation of an operation
+ *
+ * @param tag log tag
+ * @param name what was measured
+ * @param before timing of the previous implementation
+ * @param after timing of the current implementation
+ * @param operations number of operations of each run, to log the time of a single operation
+ */
+fun logComparison(
+    tag: String,
+    name: String,
+    before: Measurement<*>,
+    after: Measurement<*>,
+    operations: Long = 1,
+) {
+    val speedUp = before.medianNanos.toDouble() / after.medianNanos.coerceAtLeast(1)
+    Log.i(
+        tag,
+        "$name: before ${before.medianNanos / operations / 1_000} us, " +
+                "after ${after.medianNanos / operations / 1_000} us, " +
+                String.format(Locale.ROOT, "%.2fx", speedUp)
+    )
+}
+
+/**
+ * Default number of timed runs of [measure]
+ */
+const val DEFAULT_ROUNDS = 5
+
+/**
+ * Default number of warm up runs of [measure]
+ */
+const val DEFAULT_WARM_UP_ROUNDS = 1
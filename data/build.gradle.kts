@@ -42,11 +42,13 @@ dependencies {
 
     //Test Modules
     testImplementation(project(":core-test"))
+    androidTestImplementation(project(":core-test"))
 
     preBuiltSdkDependency(rootProject.extra)
 
     implementation(lib.coroutines.core)
     implementation(lib.kotlin.serialisation)
+    implementation(lib.kotlinx.collections.immutable)
     implementation(google.gson)
     implementation(google.zxing)
     implementation(androidx.java.core)
@@ -0,0 +1,80 @@
+package mega.privacy.android.data.cryptography
+
+import android.provider.Settings
+import android.util.Base64
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.core.test.benchmark.logComparison
+import mega.privacy.android.core.test.benchmark.measure
+import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import org.junit.Test
+import org.junit.runner.RunWith
+import javax.crypto.Cipher
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * Compares decrypting offline rows with a new cipher per field against [OfflineModelMapper]. The
+ * timings are logged, the test checks both decrypt the same values
+ */
+@RunWith(AndroidJUnit4::class)
+class OfflineDecryptionBenchmarkTest {
+    private val aesKey = provideAesKey()
+
+    @Test
+    fun `test_that_offline_rows_decrypt_the_same_with_reused_ciphers`() = runTest {
+        val encryptData = EncryptData(aesKey)
+        val entities = List(ROWS) { index ->
+            OfflineEntity(
+                id = index,
+                encryptedHandle = encryptData("$index"),
+                encryptedPath = encryptData("/Camera/$index/"),
+                encryptedName = encryptData("IMG_$index.jpg"),
+                parentId = -1,
+                encryptedType = encryptData("0"),
+                incoming = 0,
+                encryptedIncomingHandle = encryptData(""),
+                lastModifiedTime = 0L,
+            )
+        }
+        val mapper = OfflineModelMapper(DecryptData(aesKey))
+
+        val before = measure {
+            entities.map { entity ->
+                listOf(
+                    entity.encryptedHandle,
+                    entity.encryptedPath,
+                    entity.encryptedName,
+                    entity.encryptedType,
+                    entity.encryptedIncomingHandle,
+                ).map { decryptWithNewCipher(it) }[2]
+            }
+        }
+        val after = measure { entities.map { mapper(it).name } }
+
+        logComparison(TAG, "Offline decryption of a row", before, after, operations = ROWS.toLong())
+        Truth.assertThat(after.result).isEqualTo(before.result)
+    }
+
+    /**
+     * Previous implementation of [DecryptData], creating and initialising a cipher per field
+     */
+    @Suppress("GetInstance")
+    private fun decryptWithNewCipher(data: String?) = data?.let {
+        val encoded = Base64.decode(it, Base64.DEFAULT)
+        val cipher = Cipher.getInstance("AES")
+        cipher.init(Cipher.DECRYPT_MODE, SecretKeySpec(aesKey, "AES"))
+        String(cipher.doFinal(encoded))
+    }
+
+    private fun provideAesKey(): ByteArray {
+        val key = Settings.Secure.ANDROID_ID + "fkvn8 w4y*(NC\$G*(G($*GR*(#)*huio4h389\$G"
+        return key.toByteArray().copyOfRange(0, 32)
+    }
+
+    companion object {
+        private const val TAG = "OfflineDecryptionBenchmark"
+        private const val ROWS = 10_000
+    }
+}
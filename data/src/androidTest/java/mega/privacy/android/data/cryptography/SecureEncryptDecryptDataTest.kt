@@ -25,6 +25,43 @@ class SecureEncryptDecryptDataTest {
         }
     }
 
+    @Test
+    fun `test_that_batch_encrypt_and_decrypt_are_matching_single_values`() = runTest {
+        val aesKey = provideAesKey()
+        val encryptData = EncryptData(aesKey)
+        val decryptData = DecryptData(aesKey)
+        val data = List(100) { UUID.randomUUID().toString() } + null
+
+        val encrypted = encryptData.encryptAll(data)
+
+        Truth.assertThat(encrypted).isEqualTo(data.map { encryptData(it) })
+        Truth.assertThat(decryptData.decryptAll(encrypted)).isEqualTo(data)
+    }
+
+    @Test
+    fun `test_that_invalid_data_does_not_break_the_following_values`() = runTest {
+        val aesKey = provideAesKey()
+        val encryptData = EncryptData(aesKey)
+        val decryptData = DecryptData(aesKey)
+        val valid = encryptData("valid")
+
+        Truth.assertThat(decryptData.decryptAll(listOf("not encrypted", valid)))
+            .containsExactly(null, "valid")
+            .inOrder()
+    }
+
+    @Test
+    fun `test_that_memoized_constants_match_a_fresh_encryption`() = runTest {
+        val aesKey = provideAesKey()
+        val encryptData = EncryptData(aesKey)
+        val decryptData = DecryptData(aesKey)
+
+        repeat(2) {
+            Truth.assertThat(encryptData("true")).isEqualTo(EncryptData(aesKey)("true"))
+            Truth.assertThat(decryptData(encryptData("false"))).isEqualTo("false")
+        }
+    }
+
     private fun provideAesKey(): ByteArray {
         val key = Settings.Secure.ANDROID_ID + "fkvn8 w4y*(NC\$G*(G($*GR*(#)*huio4h389\$G"
         return key.toByteArray().copyOfRange(0, 32)
@@ -0,0 +1,163 @@
+package mega.privacy.android.data.database.chat
+
+import android.content.Context
+import android.util.Log
+import androidx.paging.PagingSource
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth
+import kotlinx.coroutines.runBlocking
+import mega.privacy.android.core.test.benchmark.logComparison
+import mega.privacy.android.core.test.benchmark.measure
+import mega.privacy.android.data.database.entity.chat.MetaTypedMessageEntity
+import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
+import mega.privacy.android.data.facade.chat.ChatStorageFacade
+import mega.privacy.android.domain.entity.ChatRoomPermission
+import mega.privacy.android.domain.entity.chat.ChatMessageChange
+import mega.privacy.android.domain.entity.chat.ChatMessageCode
+import mega.privacy.android.domain.entity.chat.ChatMessageStatus
+import mega.privacy.android.domain.entity.chat.ChatMessageTermCode
+import mega.privacy.android.domain.entity.chat.ChatMessageType
+import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Measures the latency of loading chat pages from [ChatDatabase] for chats of 10k and 100k
+ * messages, with the typed message indices and after dropping them as the previous schema had none.
+ * The timings are logged, the test checks both load the same messages
+ */
+@RunWith(AndroidJUnit4::class)
+class ChatPagingBenchmarkTest {
+    private val context = ApplicationProvider.getApplicationContext<Context>()
+    private lateinit var database: ChatDatabase
+    private lateinit var underTest: ChatStorageFacade
+
+    @Before
+    fun setUp() {
+        context.deleteDatabase(DATABASE_NAME)
+        database = Room.databaseBuilder(context, ChatDatabase::class.java, DATABASE_NAME).build()
+        underTest = ChatStorageFacade { database }
+    }
+
+    @After
+    fun tearDown() {
+        database.close()
+        context.deleteDatabase(DATABASE_NAME)
+    }
+
+    @Test
+    fun test_that_pages_of_a_10k_messages_chat_load_the_same_with_indices() =
+        benchmark(messages = 10_000)
+
+    @Test
+    fun test_that_pages_of_a_100k_messages_chat_load_the_same_with_indices() =
+        benchmark(messages = 100_000)
+
+    private fun benchmark(messages: Int) = runBlocking {
+        val store = measure(rounds = 1, warmUpRounds = 0) { storeMessages(messages) }
+        Log.i(TAG, "$messages messages: stored in ${store.medianNanos / 1_000_000} ms")
+
+        val after = measure { loadPages() }
+        database.openHelper.writableDatabase.apply {
+            execSQL("DROP INDEX IF EXISTS index_typed_messages_chatId_timestamp")
+            execSQL("DROP INDEX IF EXISTS index_typed_messages_tempId")
+        }
+        val before = measure { loadPages() }
+
+        logComparison(TAG, "$messages messages, a page", before, after, operations = PAGES.toLong())
+        Truth.assertThat(after.result).hasSize(PAGES * PAGE_SIZE)
+        Truth.assertThat(after.result).isEqualTo(before.result)
+    }
+
+    /**
+     * Store the messages of the benchmarked chat interleaved with the same number of messages of
+     * other chats, in batches like the ones received from the SDK
+     */
+    private suspend fun storeMessages(messages: Int) {
+        (0 until messages * 2).chunked(STORE_BATCH_SIZE).forEach { batch ->
+            val entities = batch.map { createMessage(index = it) }
+            underTest.storeMessages(
+                messages = entities,
+                richPreviews = emptyList(),
+                giphys = emptyList(),
+                geolocations = emptyList(),
+                chatNodes = emptyList(),
+            )
+        }
+    }
+
+    /**
+     * Load the first pages of the chat, the way the chat screen does when it is opened and scrolled
+     */
+    private suspend fun loadPages(): List<Long> {
+        val pagingSource = underTest.getTypedMessageRequestPagingSource(CHAT_ID)
+        val loaded = mutableListOf<Long>()
+        var key: Int? = null
+        repeat(PAGES) {
+            val params: PagingSource.LoadParams<Int> = if (key == null) {
+                PagingSource.LoadParams.Refresh(null, PAGE_SIZE, false)
+            } else {
+                PagingSource.LoadParams.Append(key!!, PAGE_SIZE, false)
+            }
+            val result = pagingSource.load(params)
+                    as PagingSource.LoadResult.Page<Int, MetaTypedMessageEntity>
+            loaded += result.data.map { it.typedMessageEntity.messageId }
+            key = result.nextKey
+        }
+        return loaded
+    }
+
+    private fun createMessage(index: Int) = TypedMessageEntity(
+        messageId = index.toLong(),
+        chatId = if (index % 2 == 0) CHAT_ID else OTHER_CHAT_ID + index % 7,
+        status = ChatMessageStatus.SEEN,
+        tempId = -1L,
+        msgIndex = index,
+        userHandle = index % 10L,
+        type = ChatMessageType.NORMAL,
+        hasConfirmedReactions = index % 5 == 0,
+        timestamp = 1_700_000_000L + index,
+        content = "Message $index",
+        isEdited = false,
+        isDeleted = false,
+        isEditable = true,
+        isDeletable = true,
+        isManagementMessage = false,
+        handleOfAction = -1L,
+        privilege = ChatRoomPermission.Standard,
+        code = ChatMessageCode.UNKNOWN,
+        usersCount = 0L,
+        userHandles = listOf(index % 10L),
+        userNames = emptyList(),
+        userEmails = emptyList(),
+        handleList = emptyList(),
+        duration = 0.seconds,
+        retentionTime = 0L,
+        termCode = ChatMessageTermCode.ENDED,
+        rowId = index.toLong(),
+        changes = listOf(ChatMessageChange.CONTENT),
+        isMine = index % 3 == 0,
+        textMessage = "Message $index",
+        reactions = if (index % 5 == 0) {
+            listOf(Reaction(reaction = "👍", count = 1, userHandles = listOf(1L), hasMe = false))
+        } else {
+            emptyList()
+        },
+        exists = true,
+    )
+
+    companion object {
+        private const val TAG = "ChatPagingBenchmark"
+        private const val DATABASE_NAME = "chat_paging_benchmark"
+        private const val CHAT_ID = 1L
+        private const val OTHER_CHAT_ID = 100L
+        private const val STORE_BATCH_SIZE = 500
+        private const val PAGE_SIZE = 32
+        private const val PAGES = 10
+    }
+}
@@ -190,7 +190,36 @@ class CompletedTransferDaoTest {
         assertThat(completedTransferDao.getCompletedTransfersCount()).isEqualTo(0)
     }
 
-    private fun createCompletedTransferEntity(fileName: String = "2023-03-24 00.13.20_1.jpg") =
+    @Test
+    fun test_that_monitorCompletedTransfersByTimestamp_returns_the_newest_items_first() = runTest {
+        val timestamps = listOf(3L, 1L, 5L, 2L, 4L)
+        completedTransferDao.insertOrUpdateCompletedTransfers(
+            timestamps.map { createCompletedTransferEntity(fileName = "$it.jpg", timestamp = it) }
+        )
+
+        val actual = completedTransferDao.monitorCompletedTransfersByTimestamp(3).first()
+
+        assertThat(actual.map { it.timestamp }).containsExactly(5L, 4L, 3L).inOrder()
+    }
+
+    @Test
+    fun test_that_deleteOldestCompletedTransfers_keeps_the_newest_items() = runTest {
+        completedTransferDao.insertOrUpdateCompletedTransfers(
+            (1..10).map {
+                createCompletedTransferEntity(fileName = "$it.jpg", timestamp = it.toLong())
+            }
+        )
+
+        completedTransferDao.deleteOldestCompletedTransfers(4)
+
+        assertThat(completedTransferDao.getAllCompletedTransfers().first().map { it.timestamp })
+            .containsExactly(7L, 8L, 9L, 10L)
+    }
+
+    private fun createCompletedTransferEntity(
+        fileName: String = "2023-03-24 00.13.20_1.jpg",
+        timestamp: Long = 1684228012974L,
+    ) =
         CompletedTransferEntity(
             fileName = fileName,
             type = 1,
@@ -199,7 +228,7 @@ class CompletedTransferDaoTest {
             handle = 27169983390750L,
             path = "Cloud drive/Camera uploads",
             isOffline = false,
-            timestamp = 1684228012974L,
+            timestamp = timestamp,
             error = "No error",
             originalPath = "/data/user/0/mega.privacy.android.app/cache/cu/53132573053997.2023-03-24 00.13.20_1.jpg",
             parentHandle = 11622336899311L,
@@ -0,0 +1,76 @@
+package mega.privacy.android.data.facade
+
+import android.content.Context
+import android.provider.DocumentsContract
+import androidx.documentfile.provider.DocumentFile
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth
+import mega.privacy.android.core.test.benchmark.logComparison
+import mega.privacy.android.core.test.benchmark.measure
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.File
+
+/**
+ * Measures listing a document folder of 10k files with [DocumentTreeReader] against listing it
+ * with [DocumentFile.listFiles] and reading the attributes of every child, as it was listed before.
+ * The timings are logged, the test checks both list the same children
+ */
+@RunWith(AndroidJUnit4::class)
+class DocumentTreeReaderBenchmarkTest {
+    private val context = ApplicationProvider.getApplicationContext<Context>()
+    private val baseFolder = TestDocumentsProvider.getBaseFolder(context.cacheDir)
+    private val treeUri = DocumentsContract.buildTreeDocumentUri(
+        TestDocumentsProvider.AUTHORITY,
+        TestDocumentsProvider.ROOT_ID
+    )
+    private val underTest = DocumentTreeReader(context)
+
+    @Before
+    fun setUp() {
+        baseFolder.deleteRecursively()
+        baseFolder.mkdirs()
+        repeat(FILES) { File(baseFolder, "file$it.txt").writeText("$it") }
+        repeat(FOLDERS) { File(baseFolder, "folder$it").mkdir() }
+    }
+
+    @After
+    fun tearDown() {
+        baseFolder.deleteRecursively()
+    }
+
+    @Test
+    fun test_that_a_10k_files_folder_is_listed_the_same_with_a_single_query() {
+        val before = measure { listWithDocumentFile() }
+        val after = measure {
+            underTest.listChildren(treeUri).orEmpty().mapTo(HashSet()) { it.name }
+        }
+
+        logComparison(TAG, "Listing ${FILES + FOLDERS} children", before, after)
+        Truth.assertThat(after.result).hasSize(FILES + FOLDERS)
+        Truth.assertThat(after.result).isEqualTo(before.result)
+    }
+
+    /**
+     * List the folder reading the same attributes [DocumentTreeReader] reads, a query per getter
+     */
+    private fun listWithDocumentFile(): Set<String> {
+        val folder = requireNotNull(DocumentFile.fromTreeUri(context, treeUri))
+        return folder.listFiles().mapTo(HashSet()) { file ->
+            file.isDirectory
+            file.length()
+            file.lastModified()
+            file.canRead()
+            file.name.orEmpty()
+        }
+    }
+
+    companion object {
+        private const val TAG = "DocumentTreeBenchmark"
+        private const val FILES = 10_000
+        private const val FOLDERS = 100
+    }
+}
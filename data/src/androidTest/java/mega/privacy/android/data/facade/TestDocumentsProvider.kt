@@ -0,0 +1,105 @@
+package mega.privacy.android.data.facade
+
+import android.database.Cursor
+import android.database.MatrixCursor
+import android.os.CancellationSignal
+import android.os.ParcelFileDescriptor
+import android.provider.DocumentsContract.Document
+import android.provider.DocumentsContract.Root
+import android.provider.DocumentsProvider
+import android.webkit.MimeTypeMap
+import java.io.File
+
+/**
+ * Documents provider serving the files of a folder of the cache, used to read document trees in
+ * tests without a removable storage
+ */
+class TestDocumentsProvider : DocumentsProvider() {
+
+    private val baseFolder by lazy { getBaseFolder(requireNotNull(context).cacheDir) }
+
+    override fun onCreate() = true
+
+    override fun queryRoots(projection: Array<out String>?): Cursor =
+        MatrixCursor(projection ?: DEFAULT_ROOT_PROJECTION).apply {
+            newRow()
+                .add(Root.COLUMN_ROOT_ID, ROOT_ID)
+                .add(Root.COLUMN_DOCUMENT_ID, ROOT_ID)
+                .add(Root.COLUMN_TITLE, ROOT_ID)
+                .add(Root.COLUMN_FLAGS, Root.FLAG_SUPPORTS_IS_CHILD)
+        }
+
+    override fun queryDocument(documentId: String, projection: Array<out String>?): Cursor =
+        MatrixCursor(projection ?: DEFAULT_DOCUMENT_PROJECTION).apply {
+            addDocument(documentId, getFile(documentId))
+        }
+
+    override fun queryChildDocuments(
+        parentDocumentId: String,
+        projection: Array<out String>?,
+        sortOrder: String?,
+    ): Cursor = MatrixCursor(projection ?: DEFAULT_DOCUMENT_PROJECTION).apply {
+        getFile(parentDocumentId).listFiles()?.forEach {
+            addDocument("$parentDocumentId/${it.name}", it)
+        }
+    }
+
+    override fun isChildDocument(parentDocumentId: String, documentId: String) =
+        documentId.startsWith("$parentDocumentId/")
+
+    override fun openDocument(
+        documentId: String,
+        mode: String,
+        signal: CancellationSignal?,
+    ): ParcelFileDescriptor = ParcelFileDescriptor.open(
+        getFile(documentId),
+        ParcelFileDescriptor.parseMode(mode)
+    )
+
+    private fun getFile(documentId: String) =
+        File(baseFolder, documentId.removePrefix(ROOT_ID).trimStart('/'))
+
+    private fun MatrixCursor.addDocument(documentId: String, file: File) {
+        val mimeType = if (file.isDirectory) {
+            Document.MIME_TYPE_DIR
+        } else {
+            MimeTypeMap.getSingleton().getMimeTypeFromExtension(file.extension)
+                ?: "application/octet-stream"
+        }
+        newRow()
+            .add(Document.COLUMN_DOCUMENT_ID, documentId)
+            .add(Document.COLUMN_DISPLAY_NAME, file.name)
+            .add(Document.COLUMN_MIME_TYPE, mimeType)
+            .add(Document.COLUMN_SIZE, file.length())
+            .add(Document.COLUMN_LAST_MODIFIED, file.lastModified())
+            .add(
+                Document.COLUMN_FLAGS,
+                if (file.isDirectory) Document.FLAG_DIR_SUPPORTS_CREATE else Document.FLAG_SUPPORTS_WRITE
+            )
+    }
+
+    companion object {
+        const val AUTHORITY = "mega.privacy.android.data.test.documents"
+        const val ROOT_ID = "root"
+
+        /**
+         * Folder of the cache served as the root of the provider
+         */
+        fun getBaseFolder(cacheDir: File) = File(cacheDir, "test_documents")
+
+        private val DEFAULT_ROOT_PROJECTION = arrayOf(
+            Root.COLUMN_ROOT_ID,
+            Root.COLUMN_DOCUMENT_ID,
+            Root.COLUMN_TITLE,
+            Root.COLUMN_FLAGS,
+        )
+        private val DEFAULT_DOCUMENT_PROJECTION = arrayOf(
+            Document.COLUMN_DOCUMENT_ID,
+            Document.COLUMN_DISPLAY_NAME,
+            Document.COLUMN_MIME_TYPE,
+            Document.COLUMN_SIZE,
+            Document.COLUMN_LAST_MODIFIED,
+            Document.COLUMN_FLAGS,
+        )
+    }
+}
@@ -0,0 +1,156 @@
+package mega.privacy.android.data.repository
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.google.common.truth.Truth
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
+import mega.privacy.android.core.test.benchmark.logComparison
+import mega.privacy.android.core.test.benchmark.measure
+import mega.privacy.android.data.mapper.zipbrowser.ZipTreeNodeMapper
+import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
+import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.File
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
+
+/**
+ * Compares building the zip tree and unzipping a 50k entries zip file with [ZipBrowserRepositoryImpl]
+ * against the previous implementation. The timings are logged, the tests check both give the same
+ * result
+ */
+@RunWith(AndroidJUnit4::class)
+class ZipBrowserRepositoryBenchmarkTest {
+    private val underTest = ZipBrowserRepositoryImpl(
+        zipTreeNodeMapper = ZipTreeNodeMapper(),
+        ioDispatcher = Dispatchers.IO,
+    )
+    private lateinit var folder: File
+    private lateinit var zipFile: ZipFile
+
+    @Before
+    fun setUp() {
+        folder = File(
+            InstrumentationRegistry.getInstrumentation().targetContext.cacheDir,
+            "ZipBrowserRepositoryBenchmark"
+        ).apply {
+            deleteRecursively()
+            mkdirs()
+        }
+        val file = File(folder, "benchmark.zip")
+        ZipOutputStream(file.outputStream().buffered()).use { outputStream ->
+            val content = ByteArray(ENTRY_SIZE) { it.toByte() }
+            repeat(ENTRIES) { index ->
+                outputStream.putNextEntry(ZipEntry("folder${index % FOLDERS}/file$index.txt"))
+                outputStream.write(content)
+                outputStream.closeEntry()
+            }
+        }
+        zipFile = ZipFile(file)
+    }
+
+    @After
+    fun tearDown() {
+        zipFile.close()
+        folder.deleteRecursively()
+    }
+
+    @Test
+    fun test_that_the_zip_tree_is_the_same_as_before() = runBlocking {
+        val before = measure(rounds = TREE_ROUNDS) { getZipNodeTreeBefore(zipFile) }
+        val after = measure(rounds = TREE_ROUNDS) { underTest.getZipNodeTree(zipFile) }
+
+        logComparison(TAG, "$ENTRIES entries tree", before, after)
+        Truth.assertThat(after.result.keys).containsExactlyElementsIn(before.result.keys).inOrder()
+        Truth.assertThat(after.result.getValue("folder0").children.map { it.path })
+            .containsExactlyElementsIn(before.result.getValue("folder0").children.map { it.path })
+            .inOrder()
+    }
+
+    @Test
+    fun test_that_the_zip_file_is_unzipped_as_before() = runBlocking {
+        val beforePath = File(folder, "before").canonicalPath + File.separator
+        val afterPath = File(folder, "after").canonicalPath + File.separator
+
+        // a single run each, every run writes the whole zip file content
+        val before = measure(rounds = 1, warmUpRounds = 0) {
+            unzipFileBefore(zipFile, beforePath)
+        }
+        val after = measure(rounds = 1, warmUpRounds = 0) {
+            underTest.unzipFile(zipFile, afterPath)
+        }
+
+        logComparison(TAG, "$ENTRIES entries unzip", before, after)
+        Truth.assertThat(after.result).isTrue()
+        Truth.assertThat(File(afterPath, "folder1/file1.txt").readBytes())
+            .isEqualTo(File(beforePath, "folder1/file1.txt").readBytes())
+    }
+
+    /**
+     * Previous implementation, splitting the path once per depth and copying the parent on each
+     * new child
+     */
+    private fun getZipNodeTreeBefore(zipFile: ZipFile): Map<String, ZipTreeNode> {
+        val zipNodeTree = mutableMapOf<String, ZipTreeNode>()
+        zipFile.entries().toList().forEach { zipEntry ->
+            val name = zipEntry.name
+            val parts = name.removeSuffix(File.separator).split(File.separator)
+            for (i in 1..parts.size) {
+                val subPath = name.removeSuffix(File.separator).split(File.separator).take(i)
+                    .joinToString(File.separator)
+                val subParentPath = if (i == 1) null else name.removeSuffix(File.separator)
+                    .split(File.separator).take(i - 1).joinToString(File.separator)
+                if (zipNodeTree[subPath] == null) {
+                    val node = ZipTreeNode(
+                        name = subPath.split(File.separator).last(),
+                        path = subPath,
+                        parentPath = subParentPath,
+                        size = zipEntry.size,
+                        zipEntryType = if (i == parts.size) ZipEntryType.File else ZipEntryType.Folder,
+                        children = emptyList(),
+                    )
+                    zipNodeTree[subPath] = node
+                    if (!subParentPath.isNullOrEmpty()) {
+                        zipNodeTree[subParentPath]?.let { parentNode ->
+                            zipNodeTree[subParentPath] =
+                                parentNode.copy(children = parentNode.children + node)
+                        }
+                    }
+                }
+            }
+        }
+        return zipNodeTree
+    }
+
+    /**
+     * Previous implementation, extracting one entry at a time through a 1 KiB buffer
+     */
+    private fun unzipFileBefore(zipFile: ZipFile, unzipRootPath: String) {
+        zipFile.entries().toList().forEach { zipEntry ->
+            val destination = File(unzipRootPath + zipEntry.name)
+            destination.parentFile?.mkdirs()
+            zipFile.getInputStream(zipEntry).use { inputStream ->
+                destination.outputStream().use { outputStream ->
+                    val buffer = ByteArray(1024)
+                    var count: Int
+                    while (inputStream.read(buffer).also { count = it } != -1) {
+                        outputStream.write(buffer.copyOf(count))
+                    }
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val TAG = "ZipBrowserBenchmark"
+        private const val ENTRIES = 50_000
+        private const val FOLDERS = 100
+        private const val ENTRY_SIZE = 4 * 1024
+        private const val TREE_ROUNDS = 3
+    }
+}
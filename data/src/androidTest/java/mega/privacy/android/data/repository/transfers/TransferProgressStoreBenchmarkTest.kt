@@ -0,0 +1,90 @@
+package mega.privacy.android.data.repository.transfers
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.update
+import mega.privacy.android.core.test.benchmark.logComparison
+import mega.privacy.android.core.test.benchmark.measure
+import mega.privacy.android.domain.entity.Progress
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.transfer.InProgressTransfer
+import mega.privacy.android.domain.entity.transfer.TransferState
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.math.BigInteger
+
+/**
+ * Compares updating in progress transfers in [TransferProgressStore] against copying a map in a
+ * state flow on each update, for different numbers of active transfers. Each update is read as an
+ * observer would. The timings are logged, the test checks both keep the same transfers
+ */
+@RunWith(AndroidJUnit4::class)
+class TransferProgressStoreBenchmarkTest {
+
+    @Test
+    fun test_that_the_progress_store_keeps_the_same_in_progress_transfers() {
+        ACTIVE_TAGS.forEach { activeTags ->
+            val updates = (0 until activeTags).chunked(UPDATE_SIZE).map { tags ->
+                tags.map { inProgressTransfer(it) }
+            }
+
+            val before = measure { updateMapCopies(updates) }
+            val after = measure { updateStore(updates) }
+
+            logComparison(
+                TAG,
+                "$activeTags active tags, update of a tag",
+                before,
+                after,
+                operations = ROUNDS * activeTags.toLong(),
+            )
+            Truth.assertThat(after.result).isEqualTo(before.result)
+        }
+    }
+
+    /**
+     * Previous implementation, copying the whole map on each update
+     */
+    private fun updateMapCopies(updates: List<List<InProgressTransfer>>): Map<Int, InProgressTransfer> {
+        val flow = MutableStateFlow<Map<Int, InProgressTransfer>>(emptyMap())
+        repeat(ROUNDS) {
+            updates.forEach { transfers ->
+                flow.update { map -> map.toMutableMap().apply { transfers.forEach { put(it.tag, it) } } }
+                flow.value.size
+            }
+        }
+        return flow.value
+    }
+
+    private fun updateStore(updates: List<List<InProgressTransfer>>): Map<Int, InProgressTransfer> {
+        val store = TransferProgressStore()
+        val flow = store.monitorInProgressTransfers()
+        repeat(ROUNDS) {
+            updates.forEach {
+                store.updateInProgressTransfers(it)
+                flow.value.size
+            }
+        }
+        return flow.value
+    }
+
+    private fun inProgressTransfer(tag: Int) = InProgressTransfer.Download(
+        tag = tag,
+        totalBytes = 1_000L,
+        isPaused = false,
+        fileName = "file$tag",
+        speed = 0L,
+        state = TransferState.STATE_ACTIVE,
+        priority = BigInteger.valueOf(tag.toLong()),
+        progress = Progress(0.5f),
+        nodeId = NodeId(tag.toLong()),
+    )
+
+    companion object {
+        private const val TAG = "TransferProgressBenchmark"
+        private val ACTIVE_TAGS = listOf(1_000, 10_000, 50_000)
+        private const val UPDATE_SIZE = 100
+        private const val ROUNDS = 3
+    }
+}
@@ -59,6 +59,18 @@ public class PdfDocument {
         long pageIdx;
         long mNativePtr;
 
+        public Bookmark() {
+        }
+
+        /**
+         * Bookmark not backed by a native one, e.g. restored from a cache
+         */
+        public Bookmark(String title, long pageIdx, List<Bookmark> children) {
+            this.title = title;
+            this.pageIdx = pageIdx;
+            this.children = children;
+        }
+
         public List<Bookmark> getChildren() {
             return children;
         }
@@ -75,7 +75,10 @@ public class PdfiumCore {
     private native Point nativePageCoordsToDevice(long pagePtr, int startX, int startY, int sizeX,
                                                   int sizeY, int rotate, double pageX, double pageY);
 
-    /* synchronize native methods */
+    /*
+     * synchronize native methods, PDFium keeps library wide state (fonts, page caches...) so calls
+     * for different documents can't run concurrently either
+     */
     private static final Object lock = new Object();
     private static Field mFdField = null;
     private final int mCurrentDpi;
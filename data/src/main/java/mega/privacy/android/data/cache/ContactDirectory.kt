@@ -0,0 +1,178 @@
+package mega.privacy.android.data.cache
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.filterIsInstance
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.data.model.GlobalUpdate
+import mega.privacy.android.domain.entity.Contact
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import nz.mega.sdk.MegaUser
+import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Process wide directory of the resolved attributes of the contacts: full name, alias and avatar
+ *
+ * Lists of contacts are built from the directory, so the attributes of a contact are resolved once
+ * instead of on every list. The contacts saved in the contacts table are read once and used for the
+ * names the chat cache doesn't know yet. Entries are dropped when the global user updates report a
+ * change of the user, and resolved again the next time they are needed.
+ */
+@Singleton
+internal class ContactDirectory @Inject constructor(
+    private val megaApiGateway: MegaApiGateway,
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
+    @ApplicationScope private val applicationScope: CoroutineScope,
+) {
+    private val entries = ConcurrentHashMap<Long, ContactDirectoryEntry>()
+    private val fetchedNames: MutableSet<Long> = ConcurrentHashMap.newKeySet()
+    private val mutex = Mutex()
+
+    @Volatile
+    private var savedContacts: Map<Long, Contact>? = null
+
+    @Volatile
+    private var monitorJob: Job? = null
+
+    /**
+     * Get the resolved attributes of a contact
+     *
+     * @param handle user handle
+     * @return the entry, or null if the contact has to be resolved
+     */
+    fun get(handle: Long): ContactDirectoryEntry? {
+        startMonitoring()
+        return entries[handle]
+    }
+
+    /**
+     * Save the resolved attributes of a contact
+     *
+     * @param handle user handle
+     * @param entry resolved attributes
+     */
+    fun put(handle: Long, entry: ContactDirectoryEntry) {
+        startMonitoring()
+        entries[handle] = entry
+    }
+
+    /**
+     * Get the contact saved in the contacts table, read the first time it is needed
+     *
+     * @param handle user handle
+     * @return the saved contact, or null if it is not saved
+     */
+    suspend fun getSavedContact(handle: Long): Contact? = mutex.withLock {
+        savedContacts ?: runCatching { megaLocalRoomGateway.getAllContacts() }
+            .onFailure { Timber.w(it, "Error reading the saved contacts") }
+            .getOrNull()
+            .orEmpty()
+            .associateBy { it.userId }
+            .also { savedContacts = it }
+    }[handle]
+
+    /**
+     * Check if the name of a contact should be fetched, marking it as fetched
+     *
+     * The name of a contact is only fetched once until the user changes, so contacts without a
+     * name are not fetched again on every list.
+     *
+     * @param handle user handle
+     * @return false if the name was already fetched or is being fetched
+     */
+    fun shouldFetchName(handle: Long) = fetchedNames.add(handle)
+
+    /**
+     * Allow fetching again the name of a contact after a failed fetch
+     *
+     * @param handle user handle
+     */
+    fun onNameFetchFailed(handle: Long) {
+        fetchedNames.remove(handle)
+    }
+
+    /**
+     * Drop the entry of a contact, resolved again the next time it is needed
+     *
+     * The row of the contact is read again from the contacts table, so the saved contacts keep
+     * the names and the alias updated there.
+     *
+     * @param handle user handle
+     */
+    suspend fun invalidate(handle: Long) {
+        entries.remove(handle)
+        reloadSavedContact(handle)
+    }
+
+    /**
+     * Drop the entry of a contact by its email, for changes only known by email as the avatar ones
+     *
+     * @param email user email
+     */
+    fun invalidate(email: String) {
+        entries.values.removeAll { it.email == email }
+    }
+
+    /**
+     * Drop every entry, the saved contacts are read again the next time they are needed
+     */
+    fun clear() {
+        entries.clear()
+        fetchedNames.clear()
+        savedContacts = null
+    }
+
+    private suspend fun reloadSavedContact(handle: Long) = mutex.withLock {
+        val saved = savedContacts ?: return@withLock
+        val contact = runCatching { megaLocalRoomGateway.getContactByHandle(handle) }
+            .onFailure { Timber.w(it, "Error reading the saved contact") }
+            .getOrNull()
+        savedContacts = if (contact != null) saved + (handle to contact) else saved - handle
+    }
+
+    private fun startMonitoring() {
+        if (monitorJob != null) return
+        synchronized(this) {
+            if (monitorJob != null) return
+            monitorJob = applicationScope.launch {
+                megaApiGateway.globalUpdates
+                    .filterIsInstance<GlobalUpdate.OnUsersUpdate>()
+                    .catch { Timber.e(it, "Error monitoring user updates") }
+                    .collect { update -> update.users?.forEach { onUserUpdate(it) } }
+            }
+        }
+    }
+
+    private suspend fun onUserUpdate(user: MegaUser) {
+        if (user.handle == megaApiGateway.myUserHandle) {
+            // aliases are attributes of the current user, a change may affect any contact
+            if (user.hasChanged(MegaUser.CHANGE_TYPE_ALIAS.toLong())) clear()
+        } else {
+            invalidate(user.handle)
+            fetchedNames.remove(user.handle)
+        }
+    }
+}
+
+/**
+ * Resolved attributes of a contact
+ *
+ * @property email email the avatar was resolved for
+ * @property fullName full name, null if unknown
+ * @property alias alias given by the current user, null if none
+ * @property avatarUri path of the avatar file, null if there is none
+ */
+internal data class ContactDirectoryEntry(
+    val email: String?,
+    val fullName: String?,
+    val alias: String?,
+    val avatarUri: String?,
+)
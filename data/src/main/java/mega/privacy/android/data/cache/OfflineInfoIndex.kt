@@ -0,0 +1,116 @@
+package mega.privacy.android.data.cache
+
+import dagger.Lazy
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.domain.entity.Offline
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Process wide index of the offline table by decrypted node handle
+ *
+ * The rows emitted by [OfflineDao.monitorOffline] when the table changes are applied to the index,
+ * so the table is only read again after [invalidate]. Only the rows that changed since the last
+ * read are decrypted.
+ */
+@Singleton
+internal class OfflineInfoIndex @Inject constructor(
+    private val offlineDao: Lazy<OfflineDao>,
+    private val offlineModelMapper: OfflineModelMapper,
+    @ApplicationScope private val applicationScope: CoroutineScope,
+) {
+    private val mutex = Mutex()
+    private var monitorJob: Job? = null
+
+    @Volatile
+    private var isStale = true
+    private var rowsById = emptyMap<Int, Pair<OfflineEntity, Offline>>()
+    private var offlineByHandle = emptyMap<String, Offline>()
+
+    /**
+     * Get every offline entry keyed by its node handle
+     */
+    suspend fun getAll(): Map<String, Offline> = mutex.withLock {
+        startMonitoring()
+        if (isStale) {
+            // cleared before reading so a change while reading marks the index stale again
+            isStale = false
+            runCatching { refresh(offlineDao.get().getOfflineFiles().orEmpty()) }
+                .onFailure {
+                    isStale = true
+                    throw it
+                }
+        }
+        offlineByHandle
+    }
+
+    /**
+     * Get the offline entry of a node handle
+     *
+     * @param handle node handle
+     * @return the offline entry, or null if the node is not available offline
+     */
+    suspend fun get(handle: String): Offline? = getAll()[handle]
+
+    /**
+     * Mark the index as out of date, the table is read again on the next query
+     */
+    fun invalidate() {
+        isStale = true
+    }
+
+    /**
+     * Forget every entry, used when the offline table is cleared
+     */
+    suspend fun clear() = mutex.withLock {
+        rowsById = emptyMap()
+        offlineByHandle = emptyMap()
+        isStale = true
+    }
+
+    private fun startMonitoring() {
+        if (monitorJob != null) return
+        monitorJob = applicationScope.launch {
+            offlineDao.get().monitorOffline()
+                .catch { Timber.e(it, "Error monitoring offline table") }
+                .collect { rows ->
+                    mutex.withLock {
+                        runCatching { refresh(rows) }
+                            .onFailure {
+                                Timber.e(it, "Error refreshing the offline index")
+                                invalidate()
+                            }
+                    }
+                }
+        }
+    }
+
+    private suspend fun refresh(entities: List<OfflineEntity>) {
+        val previous = rowsById
+        val rows = HashMap<Int, Pair<OfflineEntity, Offline>>(entities.size)
+        var decrypted = 0
+        entities.forEach { entity ->
+            val id = entity.id ?: return@forEach
+            val cached = previous[id]
+            rows[id] = if (cached?.first == entity) {
+                cached
+            } else {
+                decrypted++
+                entity to offlineModelMapper(entity)
+            }
+        }
+        rowsById = rows
+        offlineByHandle = rows.values.associate { (_, offline) -> offline.handle to offline }
+        Timber.d("Offline index refreshed: ${rows.size} rows, $decrypted decrypted")
+    }
+}
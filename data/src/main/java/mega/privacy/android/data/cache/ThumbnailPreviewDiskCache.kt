@@ -0,0 +1,257 @@
+package mega.privacy.android.data.cache
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.gateway.CacheGateway
+import mega.privacy.android.data.qualifier.ThumbnailPreviewCacheMaxSizes
+import timber.log.Timber
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.coroutines.cancellation.CancellationException
+
+/**
+ * Size bounded disk cache for the thumbnail and preview cache folders
+ *
+ * Files are tracked in an in-memory LRU index per folder, built from the folder content the first
+ * time it is used. Once a folder goes over its budget the least recently used files are deleted.
+ * Each folder has its own lock, and cache hits only queue the access, which is applied to the index
+ * by the next write, so reads never wait on a lock. Concurrent downloads of the same file are
+ * coalesced into a single request.
+ *
+ * @property maxSizes byte budget of each cache folder, folders without one are not trimmed
+ */
+@Singleton
+internal class ThumbnailPreviewDiskCache @Inject constructor(
+    private val cacheGateway: CacheGateway,
+    @ThumbnailPreviewCacheMaxSizes private val maxSizes: Map<String, Long>,
+) {
+    private val folders = ConcurrentHashMap<String, CacheFolder>()
+    private val inFlight = ConcurrentHashMap<String, CompletableDeferred<File?>>()
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val evictions = AtomicLong()
+    private val coalescedRequests = AtomicLong()
+
+    /**
+     * Get a cached file, marking it as recently used
+     *
+     * @param folderName cache folder of the file
+     * @param file expected cache file
+     * @return the file if it exists, null otherwise
+     */
+    fun get(folderName: String, file: File?): File? {
+        val cached = file?.takeIf { it.exists() }
+        if (cached != null) {
+            hits.incrementAndGet()
+            getFolder(folderName).recordAccess(cached.name, cached.length())
+        } else {
+            misses.incrementAndGet()
+        }
+        return cached
+    }
+
+    /**
+     * Download a file into the cache, sharing the download with any other caller requesting the
+     * same file at the same time
+     *
+     * @param folderName cache folder of the file
+     * @param file destination cache file
+     * @param download downloads the file into its destination and returns it, or null if not available
+     * @return the downloaded file, or null if not available
+     */
+    suspend fun fetch(
+        folderName: String,
+        file: File,
+        download: suspend (File) -> File?,
+    ): File? {
+        val key = file.absolutePath
+        while (true) {
+            val deferred = CompletableDeferred<File?>()
+            val existing = inFlight.putIfAbsent(key, deferred)
+            if (existing != null) {
+                coalescedRequests.incrementAndGet()
+                try {
+                    return existing.await()
+                } catch (e: CancellationException) {
+                    // the caller that started the download was cancelled, try again unless this one was too
+                    currentCoroutineContext().ensureActive()
+                    continue
+                }
+            }
+            try {
+                val result = download(file)
+                result?.let { put(folderName, it) }
+                deferred.complete(result)
+                return result
+            } catch (e: Throwable) {
+                deferred.completeExceptionally(e)
+                throw e
+            } finally {
+                inFlight.remove(key, deferred)
+            }
+        }
+    }
+
+    /**
+     * Track a file written into a cache folder and evict older files if the folder is over budget
+     *
+     * @param folderName cache folder of the file
+     * @param file cached file
+     */
+    suspend fun put(folderName: String, file: File) {
+        val evicted = getFolder(folderName).withIndex { index ->
+            index.put(file.name, file.length())
+            trim(folderName, index, keep = file.name)
+        }
+        if (evicted > 0) {
+            Timber.d("$folderName cache: evicted $evicted files, ${getMetrics()}")
+        }
+    }
+
+    /**
+     * Stop tracking a file, deleting it if it exists
+     *
+     * @param folderName cache folder of the file
+     * @param file cached file
+     * @return true if the file was deleted
+     */
+    suspend fun remove(folderName: String, file: File?): Boolean {
+        file ?: return false
+        getFolder(folderName).withIndex { it.remove(file.name) }
+        return file.exists() && file.delete()
+    }
+
+    /**
+     * Current cache metrics
+     */
+    fun getMetrics() = ThumbnailPreviewCacheMetrics(
+        hits = hits.get(),
+        misses = misses.get(),
+        evictions = evictions.get(),
+        coalescedRequests = coalescedRequests.get(),
+        sizeInBytes = folders.values.sumOf { it.size },
+    )
+
+    private fun getFolder(folderName: String) =
+        folders.getOrPut(folderName) { CacheFolder(folderName) }
+
+    private fun trim(folderName: String, index: FolderIndex, keep: String): Int {
+        val maxSize = maxSizes[folderName] ?: return 0
+        var evicted = 0
+        val iterator = index.entries.iterator()
+        while (index.size > maxSize && iterator.hasNext()) {
+            val (name, size) = iterator.next()
+            if (name == keep) continue
+            iterator.remove()
+            index.size -= size
+            index.folder?.let { File(it, name).delete() }
+            evicted++
+        }
+        evictions.addAndGet(evicted.toLong())
+        return evicted
+    }
+
+    private inner class CacheFolder(private val folderName: String) {
+        private val mutex = Mutex()
+        private val accesses = ConcurrentLinkedQueue<Access>()
+        private val pendingAccesses = AtomicInteger()
+        private var index: FolderIndex? = null
+
+        /**
+         * Size of the tracked files, as of the last write
+         */
+        @Volatile
+        var size = 0L
+            private set
+
+        /**
+         * Queue an access to a cached file, applying the queue right away only if it grows too
+         * large and the folder is not locked
+         */
+        fun recordAccess(name: String, fileSize: Long) {
+            accesses.add(Access(name, fileSize))
+            if (pendingAccesses.incrementAndGet() >= MAX_PENDING_ACCESSES && mutex.tryLock()) {
+                try {
+                    drainAccesses(index)
+                } finally {
+                    mutex.unlock()
+                }
+            }
+        }
+
+        suspend fun <T> withIndex(block: (FolderIndex) -> T): T = mutex.withLock {
+            val folderIndex = index
+                ?: FolderIndex(cacheGateway.getOrCreateCacheFolder(folderName))
+                    .also { index = it }
+            drainAccesses(folderIndex)
+            block(folderIndex).also { size = folderIndex.size }
+        }
+
+        /**
+         * Apply the queued accesses, they are dropped if the index is not built yet as it is
+         * built from the folder content
+         */
+        private fun drainAccesses(index: FolderIndex?) {
+            while (true) {
+                val access = accesses.poll() ?: break
+                pendingAccesses.decrementAndGet()
+                index?.put(access.name, access.size)
+            }
+        }
+    }
+
+    private class Access(val name: String, val size: Long)
+
+    private class FolderIndex(val folder: File?) {
+        /**
+         * File name to size, iterated from least to most recently used
+         */
+        val entries = LinkedHashMap<String, Long>(16, 0.75f, true)
+        var size = 0L
+
+        init {
+            folder?.listFiles()
+                ?.filter { it.isFile }
+                ?.sortedBy { it.lastModified() }
+                ?.forEach { put(it.name, it.length()) }
+        }
+
+        fun put(name: String, fileSize: Long) {
+            size += fileSize - (entries.put(name, fileSize) ?: 0L)
+        }
+
+        fun remove(name: String) {
+            entries.remove(name)?.let { size -= it }
+        }
+    }
+
+    companion object {
+        private const val MAX_PENDING_ACCESSES = 256
+    }
+}
+
+/**
+ * Thumbnail and preview cache metrics
+ *
+ * @property hits files found in the cache
+ * @property misses files not found in the cache
+ * @property evictions files deleted to keep the cache within budget
+ * @property coalescedRequests downloads served by a download already in progress
+ * @property sizeInBytes current size of the tracked files
+ */
+internal data class ThumbnailPreviewCacheMetrics(
+    val hits: Long,
+    val misses: Long,
+    val evictions: Long,
+    val coalescedRequests: Long,
+    val sizeInBytes: Long,
+)
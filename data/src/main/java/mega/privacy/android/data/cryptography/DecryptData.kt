@@ -10,27 +10,46 @@ import javax.inject.Singleton
 
 /**
  * Decrypt the data encrypted by EncryptData
+ *
+ * A cipher is initialised once per thread and reused, as creating and initialising one costs more
+ * than decrypting a database field.
  */
 @Suppress("RedundantSuspendModifier", "GetInstance")
 @Singleton
 class DecryptData @Inject constructor(
     @Named("aes_key") private val aesKey: ByteArray,
 ) {
+    private val secretKeySpec by lazy { SecretKeySpec(aesKey, "AES") }
+
+    private val cipher = object : ThreadLocal<Cipher>() {
+        override fun initialValue(): Cipher = Cipher.getInstance("AES").apply {
+            init(Cipher.DECRYPT_MODE, secretKeySpec)
+        }
+    }
+
     /**
      * Invoke
      * @param data encrypted String
      * @return decrypted data
      */
-    suspend operator fun invoke(data: String?) = data?.let {
-        runCatching {
-            val encoded = Base64.decode(data, Base64.DEFAULT)
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.DECRYPT_MODE, skeySpec)
-            val original = cipher.doFinal(encoded)
-            String(original)
-        }.onFailure {
-            Timber.e(it, "Error decrypting DB field")
-        }.getOrNull()
-    }
-}
\ No newline at end of file
+    suspend operator fun invoke(data: String?) = data?.let { decrypt(it) }
+
+    /**
+     * Decrypt several values with the cipher of the current thread
+     *
+     * @param data encrypted strings
+     * @return decrypted values in the same order, null for null or failed values
+     */
+    suspend fun decryptAll(data: List<String?>): List<String?> =
+        data.map { value -> value?.let { decrypt(it) } }
+
+    private fun decrypt(data: String) = runCatching {
+        val encoded = Base64.decode(data, Base64.DEFAULT)
+        val original = cipher.get().doFinal(encoded)
+        String(original)
+    }.onFailure {
+        // a cipher that failed may be left in an unusable state
+        cipher.remove()
+        Timber.e(it, "Error decrypting DB field")
+    }.getOrNull()
+}
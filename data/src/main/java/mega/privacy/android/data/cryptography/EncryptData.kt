@@ -2,6 +2,7 @@ package mega.privacy.android.data.cryptography
 
 import android.util.Base64
 import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
 import javax.crypto.Cipher
 import javax.crypto.spec.SecretKeySpec
 import javax.inject.Inject
@@ -10,26 +11,58 @@ import javax.inject.Singleton
 
 /**
  * Class to encrypt given value
+ *
+ * A cipher is initialised once per thread and reused, as creating and initialising one costs more
+ * than encrypting a database field. The cipher is deterministic, so encrypted constants such as
+ * "true" and "false" are computed only once.
  */
 @Suppress("RedundantSuspendModifier", "GetInstance")
 @Singleton
 class EncryptData @Inject constructor(
     @Named("aes_key") private val aesKey: ByteArray,
 ) {
+    private val secretKeySpec by lazy { SecretKeySpec(aesKey, "AES") }
+
+    private val cipher = object : ThreadLocal<Cipher>() {
+        override fun initialValue(): Cipher = Cipher.getInstance("AES").apply {
+            init(Cipher.ENCRYPT_MODE, secretKeySpec)
+        }
+    }
+
+    private val memo = ConcurrentHashMap<String, String>()
+
     /**
      * Invoke
      * @param data string to be encrypted
      * @return encrypted value
      */
     suspend operator fun invoke(data: String?) = data?.let {
-        runCatching {
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.ENCRYPT_MODE, skeySpec)
-            val encrypted = cipher.doFinal(it.toByteArray())
-            Base64.encodeToString(encrypted, Base64.DEFAULT)
-        }.onFailure {
-            Timber.e(it, "Error encrypting DB field")
-        }.getOrNull()
+        if (it in MEMO_VALUES) {
+            memo[it] ?: encrypt(it)?.also { encrypted -> memo[it] = encrypted }
+        } else {
+            encrypt(it)
+        }
+    }
+
+    /**
+     * Encrypt several values with the cipher of the current thread
+     *
+     * @param data strings to be encrypted
+     * @return encrypted values in the same order, null for null or failed values
+     */
+    suspend fun encryptAll(data: List<String?>): List<String?> =
+        data.map { value -> value?.let { encrypt(it) } }
+
+    private fun encrypt(data: String) = runCatching {
+        val encrypted = cipher.get().doFinal(data.toByteArray())
+        Base64.encodeToString(encrypted, Base64.DEFAULT)
+    }.onFailure {
+        // a cipher that failed may be left in an unusable state
+        cipher.remove()
+        Timber.e(it, "Error encrypting DB field")
+    }.getOrNull()
+
+    companion object {
+        private val MEMO_VALUES = setOf(true.toString(), false.toString())
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package mega.privacy.android.data.database
+
+import android.content.Context
+import androidx.sqlite.db.SupportSQLiteOpenHelper
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory
+import dagger.hilt.android.qualifiers.ApplicationContext
+import mega.privacy.android.data.database.chat.ChatDatabase
+import net.sqlcipher.database.SupportFactory
+import javax.inject.Inject
+
+/**
+ * Creates the local Room databases and the open helper factories they use
+ */
+internal class LocalDatabaseFactory @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val legacyDatabaseMigration: LegacyDatabaseMigration,
+) {
+
+    /**
+     * Get the factory of an encrypted database
+     *
+     * @param passphrase
+     */
+    fun getSecureFactory(passphrase: ByteArray): SupportSQLiteOpenHelper.Factory =
+        SupportFactory(passphrase, null, false)
+
+    /**
+     * Get the factory of an unencrypted database
+     */
+    fun getUnencryptedFactory(): SupportSQLiteOpenHelper.Factory =
+        FrameworkSQLiteOpenHelperFactory()
+
+    /**
+     * Create [MegaDatabase]
+     *
+     * @param factory
+     */
+    fun createMegaDatabase(factory: SupportSQLiteOpenHelper.Factory): MegaDatabase =
+        MegaDatabase.init(context, factory, legacyDatabaseMigration)
+
+    /**
+     * Create [ChatDatabase]
+     *
+     * @param factory
+     */
+    fun createChatDatabase(factory: SupportSQLiteOpenHelper.Factory): ChatDatabase =
+        ChatDatabase.init(context, factory)
+}
@@ -17,6 +17,7 @@ import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
+import mega.privacy.android.data.database.dao.PhotoTimelineIndexDao
 import mega.privacy.android.data.database.dao.SyncShownNotificationDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
 import mega.privacy.android.data.database.dao.UserPausedSyncsDao
@@ -25,12 +26,14 @@ import mega.privacy.android.data.database.entity.ActiveTransferEntity
 import mega.privacy.android.data.database.entity.ActiveTransferGroupEntity
 import mega.privacy.android.data.database.entity.BackupEntity
 import mega.privacy.android.data.database.entity.CameraUploadsRecordEntity
+import mega.privacy.android.data.database.entity.CameraUploadsScanWatermarkEntity
 import mega.privacy.android.data.database.entity.ChatPendingChangesEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntityLegacy
 import mega.privacy.android.data.database.entity.ContactEntity
 import mega.privacy.android.data.database.entity.OfflineEntity
 import mega.privacy.android.data.database.entity.PendingTransferEntity
+import mega.privacy.android.data.database.entity.PhotoTimelineIndexEntity
 import mega.privacy.android.data.database.entity.SyncShownNotificationEntity
 import mega.privacy.android.data.database.entity.SyncSolvedIssueEntity
 import mega.privacy.android.data.database.entity.UserPausedSyncEntity
@@ -52,10 +55,12 @@ import timber.log.Timber
         SyncSolvedIssueEntity::class,
         UserPausedSyncEntity::class,
         CameraUploadsRecordEntity::class,
+        CameraUploadsScanWatermarkEntity::class,
         ChatPendingChangesEntity::class,
         VideoRecentlyWatchedEntity::class,
         PendingTransferEntity::class,
         SyncShownNotificationEntity::class,
+        PhotoTimelineIndexEntity::class,
     ],
     version = MegaDatabaseConstant.DATABASE_VERSION,
     exportSchema = true,
@@ -84,6 +89,9 @@ import timber.log.Timber
         AutoMigration(97, 98),
         AutoMigration(98, 99),
         AutoMigration(99, 100),
+        AutoMigration(100, 101),
+        AutoMigration(101, 102),
+        AutoMigration(102, 103),
     ],
 )
 internal abstract class MegaDatabase : RoomDatabase() {
@@ -113,6 +121,8 @@ internal abstract class MegaDatabase : RoomDatabase() {
 
     abstract fun pendingTransferDao(): PendingTransferDao
 
+    abstract fun photoTimelineIndexDao(): PhotoTimelineIndexDao
+
     companion object {
 
         /**
@@ -8,7 +8,7 @@ object MegaDatabaseConstant {
     /**
      * Database Version
      */
-    const val DATABASE_VERSION = 100
+    const val DATABASE_VERSION = 103
 
     /**
      * Database Name
@@ -50,6 +50,16 @@ object MegaDatabaseConstant {
      */
     const val TABLE_CAMERA_UPLOADS_RECORDS = "camerauploadsrecords"
 
+    /**
+     * Table Camera Uploads Scan Watermarks
+     */
+    const val TABLE_CAMERA_UPLOADS_SCAN_WATERMARKS = "camerauploadsscanwatermarks"
+
+    /**
+     * Table Photo Timeline Index
+     */
+    const val TABLE_PHOTO_TIMELINE_INDEX = "phototimelineindex"
+
     /**
      * Table Offline
      */
@@ -10,6 +10,10 @@ import kotlin.time.Duration.Companion.seconds
 
 /**
  * Converters for the typed message entity.
+ *
+ * List columns are read for every message loaded in a chat page, so the conversions to lists walk
+ * the stored strings without building intermediate lists, look enum values up without exceptions
+ * and share a single [Gson] instance.
  */
 class TypedMessageEntityConverters @Inject constructor() {
 
@@ -20,7 +24,8 @@ class TypedMessageEntityConverters @Inject constructor() {
      * @return String.
      */
     @TypeConverter
-    fun convertFromLongList(list: List<Long>): String = list.joinToString(separator = ",")
+    fun convertFromLongList(list: List<Long>): String =
+        list.joinToString(separator = LIST_SEPARATOR.toString())
 
     /**
      * Convert a string to a list of longs.
@@ -29,8 +34,14 @@ class TypedMessageEntityConverters @Inject constructor() {
      * @return List of longs.
      */
     @TypeConverter
-    fun convertToLongList(string: String): List<Long> =
-        string.split(",").mapNotNull { it.toLongOrNull() }
+    fun convertToLongList(string: String): List<Long> {
+        if (string.isEmpty()) return emptyList()
+        val list = ArrayList<Long>()
+        forEachToken(string, LIST_SEPARATOR) { start, end ->
+            string.substring(start, end).toLongOrNull()?.let { list.add(it) }
+        }
+        return list
+    }
 
     /**
      * Convert a list of strings to a string.
@@ -39,7 +50,8 @@ class TypedMessageEntityConverters @Inject constructor() {
      * @return String.
      */
     @TypeConverter
-    fun convertFromStringList(list: List<String>): String = list.joinToString(separator = ",")
+    fun convertFromStringList(list: List<String>): String =
+        list.joinToString(separator = LIST_SEPARATOR.toString())
 
     /**
      * Convert a string to a list of strings.
@@ -48,8 +60,12 @@ class TypedMessageEntityConverters @Inject constructor() {
      * @return List of strings.
      */
     @TypeConverter
-    fun convertToStringList(string: String): List<String> =
-        string.takeUnless { it.isBlank() }?.split(",") ?: emptyList()
+    fun convertToStringList(string: String): List<String> {
+        if (string.isBlank()) return emptyList()
+        val list = ArrayList<String>()
+        forEachToken(string, LIST_SEPARATOR) { start, end -> list.add(string.substring(start, end)) }
+        return list
+    }
 
     /**
      * Convert a list of chat message changes to a string.
@@ -59,7 +75,7 @@ class TypedMessageEntityConverters @Inject constructor() {
      */
     @TypeConverter
     fun convertFromChatMessageChangeList(list: List<ChatMessageChange>): String =
-        list.joinToString(separator = ",")
+        list.joinToString(separator = LIST_SEPARATOR.toString())
 
 
     /**
@@ -69,8 +85,14 @@ class TypedMessageEntityConverters @Inject constructor() {
      * @return List of chat message changes.
      */
     @TypeConverter
-    fun convertToChatMessageChangeList(string: String): List<ChatMessageChange> =
-        string.split(",").mapNotNull { runCatching { ChatMessageChange.valueOf(it) }.getOrNull() }
+    fun convertToChatMessageChangeList(string: String): List<ChatMessageChange> {
+        if (string.isEmpty()) return emptyList()
+        val list = ArrayList<ChatMessageChange>()
+        forEachToken(string, LIST_SEPARATOR) { start, end ->
+            chatMessageChanges[string.substring(start, end)]?.let { list.add(it) }
+        }
+        return list
+    }
 
     /**
      * Convert a [Duration] to Long.
@@ -98,7 +120,7 @@ class TypedMessageEntityConverters @Inject constructor() {
      */
     @TypeConverter
     fun convertFromMessageReactionList(list: List<Reaction>): String =
-        list.joinToString(";") { Gson().toJson(it) }
+        list.joinToString(REACTION_SEPARATOR.toString()) { gson.toJson(it) }
 
     /**
      * Convert String to a list of [Reaction]
@@ -107,8 +129,35 @@ class TypedMessageEntityConverters @Inject constructor() {
      * @return list List of [Reaction].
      */
     @TypeConverter
-    fun convertToMessageReactionList(string: String): List<Reaction> =
-        string.split(";").mapNotNull {
-            Gson().fromJson(it, Reaction::class.java)
+    fun convertToMessageReactionList(string: String): List<Reaction> {
+        if (string.isEmpty()) return emptyList()
+        val list = ArrayList<Reaction>()
+        forEachToken(string, REACTION_SEPARATOR) { start, end ->
+            gson.fromJson(string.substring(start, end), Reaction::class.java)?.let { list.add(it) }
         }
+        return list
+    }
+
+    /**
+     * Call [action] with the bounds of each token of [string] delimited by [separator]
+     */
+    private inline fun forEachToken(
+        string: String,
+        separator: Char,
+        action: (start: Int, end: Int) -> Unit,
+    ) {
+        var start = 0
+        while (start <= string.length) {
+            val end = string.indexOf(separator, start).let { if (it < 0) string.length else it }
+            action(start, end)
+            start = end + 1
+        }
+    }
+
+    companion object {
+        private const val LIST_SEPARATOR = ','
+        private const val REACTION_SEPARATOR = ';'
+        private val gson = Gson()
+        private val chatMessageChanges = ChatMessageChange.values().associateBy { it.name }
+    }
 }
\ No newline at end of file
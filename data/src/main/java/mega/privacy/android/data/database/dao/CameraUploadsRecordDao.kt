@@ -6,6 +6,7 @@ import androidx.room.OnConflictStrategy
 import androidx.room.Query
 import mega.privacy.android.data.database.MegaDatabaseConstant
 import mega.privacy.android.data.database.entity.CameraUploadsRecordEntity
+import mega.privacy.android.data.database.entity.CameraUploadsScanWatermarkEntity
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
@@ -47,4 +48,18 @@ internal interface CameraUploadsRecordDao {
     suspend fun deleteCameraUploadsRecordsByFolderType(
         folderTypes: List<CameraUploadFolderType>,
     )
+
+    @Query("SELECT * FROM ${MegaDatabaseConstant.TABLE_CAMERA_UPLOADS_SCAN_WATERMARKS} WHERE folder_type = :folderType AND file_type = :fileType")
+    suspend fun getCameraUploadsScanWatermark(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ): CameraUploadsScanWatermarkEntity?
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertOrUpdateCameraUploadsScanWatermarks(entities: List<CameraUploadsScanWatermarkEntity>)
+
+    @Query("DELETE FROM ${MegaDatabaseConstant.TABLE_CAMERA_UPLOADS_SCAN_WATERMARKS} WHERE folder_type IN (:folderTypes)")
+    suspend fun deleteCameraUploadsScanWatermarksByFolderType(
+        folderTypes: List<CameraUploadFolderType>,
+    )
 }
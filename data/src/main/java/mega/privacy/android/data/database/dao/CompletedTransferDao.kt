@@ -16,6 +16,14 @@ internal interface CompletedTransferDao {
     @Query("SELECT * FROM $TABLE_COMPLETED_TRANSFERS")
     fun getAllCompletedTransfers(): Flow<List<CompletedTransferEntity>>
 
+    /**
+     * Completed transfers from newest to oldest
+     *
+     * @param limit maximum number of transfers, a negative value means no limit
+     */
+    @Query("SELECT * FROM $TABLE_COMPLETED_TRANSFERS ORDER BY transfertimestamp DESC, id DESC LIMIT :limit")
+    fun monitorCompletedTransfersByTimestamp(limit: Int): Flow<List<CompletedTransferEntity>>
+
     @Query("SELECT * FROM $TABLE_COMPLETED_TRANSFERS WHERE transferstate IN(:states)")
     fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransferEntity>
 
@@ -63,6 +71,17 @@ internal interface CompletedTransferDao {
         }
     }
 
+    /**
+     * Delete every completed transfer but the newest ones
+     *
+     * @param keep number of newest transfers to keep
+     */
+    @Query(
+        "DELETE FROM $TABLE_COMPLETED_TRANSFERS WHERE id NOT IN " +
+                "(SELECT id FROM $TABLE_COMPLETED_TRANSFERS ORDER BY transfertimestamp DESC, id DESC LIMIT :keep)"
+    )
+    suspend fun deleteOldestCompletedTransfers(keep: Int)
+
     @Query("SELECT COUNT(id) FROM $TABLE_COMPLETED_TRANSFERS")
     suspend fun getCompletedTransfersCount(): Int
 
@@ -0,0 +1,59 @@
+package mega.privacy.android.data.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import mega.privacy.android.data.database.MegaDatabaseConstant.TABLE_PHOTO_TIMELINE_INDEX
+import mega.privacy.android.data.database.entity.PhotoTimelineIndexEntity
+
+@Dao
+internal interface PhotoTimelineIndexDao {
+    @Query("SELECT * FROM $TABLE_PHOTO_TIMELINE_INDEX ORDER BY modification_time DESC")
+    suspend fun getAllPhotoTimelineIndexEntities(): List<PhotoTimelineIndexEntity>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertOrUpdatePhotoTimelineIndexEntities(entities: List<PhotoTimelineIndexEntity>)
+
+    /**
+     * Transaction to insert a list of entities but splitting the insert to avoid SQLiteException too many SQL variables
+     */
+    @Transaction
+    suspend fun insertOrUpdatePhotoTimelineIndexEntities(
+        entities: List<PhotoTimelineIndexEntity>,
+        chunkSize: Int,
+    ) {
+        entities.chunked(chunkSize).forEach {
+            insertOrUpdatePhotoTimelineIndexEntities(it)
+        }
+    }
+
+    @Query("DELETE FROM $TABLE_PHOTO_TIMELINE_INDEX WHERE handle IN(:handles)")
+    suspend fun deletePhotoTimelineIndexEntitiesByHandles(handles: List<Long>)
+
+    /**
+     * Transaction to delete a list of entities with their handles but splitting the delete to avoid SQLiteException too many SQL variables
+     */
+    @Transaction
+    suspend fun deletePhotoTimelineIndexEntitiesByHandles(handles: List<Long>, chunkSize: Int) {
+        handles.chunked(chunkSize).forEach {
+            deletePhotoTimelineIndexEntitiesByHandles(it)
+        }
+    }
+
+    @Query("DELETE FROM $TABLE_PHOTO_TIMELINE_INDEX")
+    suspend fun deleteAllPhotoTimelineIndexEntities()
+
+    /**
+     * Transaction to replace the whole index with the given entities
+     */
+    @Transaction
+    suspend fun replaceAllPhotoTimelineIndexEntities(
+        entities: List<PhotoTimelineIndexEntity>,
+        chunkSize: Int,
+    ) {
+        deleteAllPhotoTimelineIndexEntities()
+        insertOrUpdatePhotoTimelineIndexEntities(entities, chunkSize)
+    }
+}
@@ -0,0 +1,28 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import mega.privacy.android.data.database.MegaDatabaseConstant
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+
+/**
+ * CameraUploadsScanWatermark entity
+ *
+ * @property folderType camera uploads folder type (Primary or Secondary),
+ *                      also serve as the primary key in the table
+ * @property fileType camera uploads record type (Photo or Video),
+ *                    also serve as the primary key in the table
+ * @property parentPath local folder path that has been scanned
+ * @property timestamp time in milliseconds when the last successful scan started
+ */
+@Entity(
+    tableName = MegaDatabaseConstant.TABLE_CAMERA_UPLOADS_SCAN_WATERMARKS,
+    primaryKeys = ["folder_type", "file_type"]
+)
+internal data class CameraUploadsScanWatermarkEntity(
+    @ColumnInfo(name = "folder_type") val folderType: CameraUploadFolderType,
+    @ColumnInfo(name = "file_type") val fileType: CameraUploadsRecordType,
+    @ColumnInfo(name = "parent_path") val parentPath: String,
+    @ColumnInfo(name = "timestamp") val timestamp: Long,
+)
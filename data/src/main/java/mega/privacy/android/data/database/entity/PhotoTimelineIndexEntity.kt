@@ -0,0 +1,49 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import mega.privacy.android.data.database.MegaDatabaseConstant
+
+/**
+ * Photo timeline index entity
+ *
+ * Holds the node attributes needed to build the Photos timeline without querying the SDK
+ *
+ * @property handle node handle, also serve as the primary key in the table
+ * @property base64Handle node handle in base64, used to resolve the thumbnail and preview cache files
+ * @property parentHandle parent node handle
+ * @property name node name
+ * @property duration media duration in seconds, used to resolve the file type
+ * @property isVideo true if the node is a video, false if it is an image
+ * @property isFavourite true if the node is marked as favourite
+ * @property creationTime node creation time in seconds since epoch
+ * @property modificationTime node modification time in seconds since epoch
+ * @property size node size in bytes
+ * @property isTakenDown true if the node is taken down
+ * @property isSensitive true if the node is marked as sensitive
+ * @property isSensitiveInherited true if the node inherits sensitivity from an ancestor
+ * @property hasThumbnail true if the node has a thumbnail
+ */
+@Entity(
+    tableName = MegaDatabaseConstant.TABLE_PHOTO_TIMELINE_INDEX,
+    indices = [Index(value = ["modification_time"])]
+)
+internal data class PhotoTimelineIndexEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "handle") val handle: Long,
+    @ColumnInfo(name = "base64_handle") val base64Handle: String,
+    @ColumnInfo(name = "parent_handle") val parentHandle: Long,
+    @ColumnInfo(name = "name") val name: String,
+    @ColumnInfo(name = "duration") val duration: Int,
+    @ColumnInfo(name = "is_video") val isVideo: Boolean,
+    @ColumnInfo(name = "is_favourite") val isFavourite: Boolean,
+    @ColumnInfo(name = "creation_time") val creationTime: Long,
+    @ColumnInfo(name = "modification_time") val modificationTime: Long,
+    @ColumnInfo(name = "size") val size: Long,
+    @ColumnInfo(name = "is_taken_down") val isTakenDown: Boolean,
+    @ColumnInfo(name = "is_sensitive") val isSensitive: Boolean,
+    @ColumnInfo(name = "is_sensitive_inherited") val isSensitiveInherited: Boolean,
+    @ColumnInfo(name = "has_thumbnail") val hasThumbnail: Boolean,
+)
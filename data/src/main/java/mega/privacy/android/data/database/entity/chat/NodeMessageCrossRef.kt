@@ -1,6 +1,7 @@
 package mega.privacy.android.data.database.entity.chat
 
 import androidx.room.Entity
+import androidx.room.Index
 import mega.privacy.android.domain.entity.node.NodeId
 
 /**
@@ -12,6 +13,7 @@ import mega.privacy.android.domain.entity.node.NodeId
 @Entity(
     tableName = "node_message_cross_ref",
     primaryKeys = ["messageId", "id"],
+    indices = [Index(value = ["id"])],
 )
 data class NodeMessageCrossRef(
     val messageId: Long,
@@ -9,6 +9,7 @@ import mega.privacy.android.data.facade.AppEventFacade
 import mega.privacy.android.data.facade.AssetsFacade
 import mega.privacy.android.data.facade.BillingFacade
 import mega.privacy.android.data.facade.CacheFolderFacade
+import mega.privacy.android.data.facade.DatabaseBootstrapFacade
 import mega.privacy.android.data.facade.CameraUploadsMediaFacade
 import mega.privacy.android.data.facade.ClipboardFacade
 import mega.privacy.android.data.facade.FileAttributeFacade
@@ -40,6 +41,7 @@ import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.CacheGatewayImpl
 import mega.privacy.android.data.gateway.CameraUploadsMediaGateway
 import mega.privacy.android.data.gateway.ClipboardGateway
+import mega.privacy.android.data.gateway.DatabaseBootstrapGateway
 import mega.privacy.android.data.gateway.DefaultStreamingGateway
 import mega.privacy.android.data.gateway.DeviceGateway
 import mega.privacy.android.data.gateway.FileAttributeGateway
@@ -81,6 +83,7 @@ import mega.privacy.android.data.gateway.preferences.RequestPhoneNumberPreferenc
 import mega.privacy.android.data.gateway.preferences.SlideshowPreferencesGateway
 import mega.privacy.android.data.gateway.preferences.StatisticsPreferencesGateway
 import mega.privacy.android.data.gateway.preferences.UIPreferencesGateway
+import mega.privacy.android.data.gateway.preferences.UserJourneyEventPreferencesGateway
 import mega.privacy.android.data.gateway.psa.PsaPreferenceGateway
 import mega.privacy.android.data.gateway.security.PasscodeStoreGateway
 import mega.privacy.android.data.preferences.AccountPreferencesDataStore
@@ -96,6 +99,7 @@ import mega.privacy.android.data.preferences.MediaPlayerPreferencesDatastore
 import mega.privacy.android.data.preferences.RequestPhoneNumberPreferencesDataStore
 import mega.privacy.android.data.preferences.SlideshowPreferencesDataStore
 import mega.privacy.android.data.preferences.StatisticsPreferencesDataStore
+import mega.privacy.android.data.preferences.UserJourneyEventPreferencesDataStore
 import mega.privacy.android.data.preferences.TransfersPreferencesDataStore
 import mega.privacy.android.data.preferences.UIPreferencesDatastore
 import mega.privacy.android.data.preferences.psa.PsaPreferenceDataStore
@@ -151,6 +155,9 @@ internal abstract class GatewayModule {
     @Binds
     abstract fun bindStatisticsPreferencesGateway(implementation: StatisticsPreferencesDataStore): StatisticsPreferencesGateway
 
+    @Binds
+    abstract fun bindUserJourneyEventPreferencesGateway(implementation: UserJourneyEventPreferencesDataStore): UserJourneyEventPreferencesGateway
+
     /**
      * Provide ui preferences gateway implementation
      */
@@ -246,6 +253,13 @@ internal abstract class GatewayModule {
     @Singleton
     abstract fun bindMegaLocalRoomGateway(implementation: MegaLocalRoomFacade): MegaLocalRoomGateway
 
+    /**
+     * Provides [DatabaseBootstrapGateway] implementation
+     */
+    @Binds
+    @Singleton
+    abstract fun bindDatabaseBootstrapGateway(implementation: DatabaseBootstrapFacade): DatabaseBootstrapGateway
+
     @Binds
     @Singleton
     abstract fun bindWorkManagerGateway(implementation: WorkManagerGatewayImpl): WorkManagerGateway
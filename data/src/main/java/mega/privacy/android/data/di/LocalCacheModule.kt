@@ -8,10 +8,12 @@ import dagger.hilt.components.SingletonComponent
 import mega.privacy.android.data.cache.Cache
 import mega.privacy.android.data.cache.ExpiringCache
 import mega.privacy.android.data.cache.PermanentCache
+import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.gateway.DeviceGateway
 import mega.privacy.android.data.qualifier.FileVersionsOption
 import mega.privacy.android.data.qualifier.OriginalPathForNodeCache
 import mega.privacy.android.data.qualifier.OriginalPathForPendingMessageCache
+import mega.privacy.android.data.qualifier.ThumbnailPreviewCacheMaxSizes
 import mega.privacy.android.domain.entity.account.MegaSku
 import mega.privacy.android.domain.entity.billing.MegaPurchase
 import mega.privacy.android.domain.entity.billing.PaymentMethodFlags
@@ -26,6 +28,8 @@ import javax.inject.Singleton
 internal object LocalCacheModule {
     private val PAYMENT_METHODS_CACHE_TIMEOUT_MILLISECONDS = TimeUnit.MINUTES.toMillis(720)
     private val PRICING_CACHE_TIMEOUT_MILLISECONDS = TimeUnit.MINUTES.toMillis(720)
+    private const val THUMBNAIL_CACHE_MAX_SIZE_BYTES = 100L * 1024 * 1024
+    private const val PREVIEW_CACHE_MAX_SIZE_BYTES = 300L * 1024 * 1024
 
     @Provides
     @Singleton
@@ -76,4 +80,11 @@ internal object LocalCacheModule {
     @Provides
     @Singleton
     fun provideChatOriginalPathForPendingMessageCache(): Cache<Map<Long, String>> = PermanentCache()
-}
\ No newline at end of file
+
+    @ThumbnailPreviewCacheMaxSizes
+    @Provides
+    fun provideThumbnailPreviewCacheMaxSizes(): Map<String, Long> = mapOf(
+        CacheFolderConstant.THUMBNAIL_FOLDER to THUMBNAIL_CACHE_MAX_SIZE_BYTES,
+        CacheFolderConstant.PREVIEW_FOLDER to PREVIEW_CACHE_MAX_SIZE_BYTES,
+    )
+}
@@ -56,7 +56,10 @@ internal abstract class LoggingModule {
         @SdkLogger
         @Provides
         fun provideSdkFileLogger(): LogWriterGateway =
-            FileLogWriter(LoggerFactory.getLogger(TimberMegaLogger::class.java))
+            FileLogWriter(
+                logger = LoggerFactory.getLogger(TimberMegaLogger::class.java),
+                linePrefix = FileLogWriter.timestampLinePrefix(),
+            )
 
         @Singleton
         @ChatLogger
@@ -5,17 +5,13 @@ import android.provider.Settings
 import androidx.security.crypto.EncryptedFile
 import androidx.security.crypto.MasterKey
 import androidx.sqlite.db.SupportSQLiteOpenHelper
-import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
-import mega.privacy.android.data.database.LegacyDatabaseMigration
 import mega.privacy.android.data.database.MegaDatabase
 import mega.privacy.android.data.database.MegaDatabaseConstant
-import mega.privacy.android.data.database.SQLCipherManager
-import mega.privacy.android.data.database.chat.CHAT_DATABASE_NAME
 import mega.privacy.android.data.database.chat.ChatDatabase
 import mega.privacy.android.data.database.dao.ActiveTransferDao
 import mega.privacy.android.data.database.dao.ActiveTransferGroupDao
@@ -26,12 +22,13 @@ import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
+import mega.privacy.android.data.database.dao.PhotoTimelineIndexDao
 import mega.privacy.android.data.database.dao.SyncShownNotificationDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
 import mega.privacy.android.data.database.dao.TypedMessageDao
 import mega.privacy.android.data.database.dao.UserPausedSyncsDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
-import net.sqlcipher.database.SupportFactory
+import mega.privacy.android.data.facade.DatabaseBootstrapFacade
 import timber.log.Timber
 import java.io.File
 import javax.inject.Named
@@ -41,68 +38,17 @@ import javax.inject.Singleton
 @InstallIn(SingletonComponent::class)
 internal object RoomDatabaseModule {
 
-    @Provides
-    @Singleton
-    @Named("database_passphrase")
-    fun provideDatabasePassphrase(
-        sqlCipherManager: SQLCipherManager,
-    ): ByteArray? {
-        return try {
-            sqlCipherManager.getPassphrase()
-        } catch (e: Exception) {
-            Timber.e(e, "Failed to migrate database to secure database")
-            null
-        }
-    }
-
     @Provides
     @Singleton
     internal fun provideMegaDatabase(
-        @ApplicationContext applicationContext: Context,
-        legacyDatabaseMigration: LegacyDatabaseMigration,
-        sqlCipherManager: SQLCipherManager,
-        @Named("database_passphrase") passphrase: ByteArray?,
-    ): MegaDatabase {
-        return try {
-            if (passphrase == null) throw NullPointerException("Passphrase is null")
-            sqlCipherManager.migrateToSecureDatabase(MegaDatabaseConstant.DATABASE_NAME, passphrase)
-            MegaDatabase.init(
-                applicationContext,
-                SupportFactory(passphrase, null, false),
-                legacyDatabaseMigration
-            )
-        } catch (e: Exception) {
-            sqlCipherManager.destructSecureDatabase(MegaDatabaseConstant.DATABASE_NAME)
-            MegaDatabase.init(
-                applicationContext,
-                FrameworkSQLiteOpenHelperFactory(),
-                legacyDatabaseMigration
-            )
-        }
-    }
+        databaseBootstrapFacade: DatabaseBootstrapFacade,
+    ): MegaDatabase = databaseBootstrapFacade.getMegaDatabase()
 
     @Provides
     @Singleton
     internal fun provideChatDatabase(
-        @ApplicationContext applicationContext: Context,
-        @Named("database_passphrase") passphrase: ByteArray?,
-        sqlCipherManager: SQLCipherManager,
-    ): ChatDatabase {
-        return try {
-            if (passphrase == null) throw NullPointerException("Passphrase is null")
-            sqlCipherManager.migrateToSecureDatabase(CHAT_DATABASE_NAME, passphrase)
-            ChatDatabase.init(
-                applicationContext,
-                SupportFactory(passphrase, null, false),
-            )
-        } catch (e: Exception) {
-            sqlCipherManager.destructSecureDatabase(CHAT_DATABASE_NAME)
-            ChatDatabase.init(
-                applicationContext,
-                FrameworkSQLiteOpenHelperFactory(),
-            )
-        }
-    }
+        databaseBootstrapFacade: DatabaseBootstrapFacade,
+    ): ChatDatabase = databaseBootstrapFacade.getChatDatabase()
 
     @Provides
     @Singleton
@@ -226,4 +172,9 @@ internal object RoomDatabaseModule {
     internal fun providePendingTransferDao(database: MegaDatabase): PendingTransferDao =
         database.pendingTransferDao()
 
+    @Provides
+    @Singleton
+    internal fun providePhotoTimelineIndexDao(database: MegaDatabase): PhotoTimelineIndexDao =
+        database.photoTimelineIndexDao()
+
 }
@@ -5,7 +5,6 @@ import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.constant.CacheFolderConstant.CHAT_TEMPORARY_FOLDER
 import mega.privacy.android.data.gateway.CacheFolderGateway
@@ -32,13 +31,20 @@ internal class CacheFolderFacade @Inject constructor(
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : CacheFolderGateway {
 
-    override fun getCacheFolder(folderName: String): File? =
-        runBlocking { getCacheFolderAsync(folderName) }
+    /**
+     * Checks the folder on the calling thread, a single file check doesn't need to block it
+     * waiting for the IO dispatcher
+     */
+    override fun getCacheFolder(folderName: String): File? = getOrCreateCacheFolder(folderName)
 
     override suspend fun getCacheFolderAsync(folderName: String) = withContext(ioDispatcher) {
+        getOrCreateCacheFolder(folderName)
+    }
+
+    private fun getOrCreateCacheFolder(folderName: String): File? {
         val cache =
             if (folderName == CHAT_TEMPORARY_FOLDER) context.filesDir else context.cacheDir
-        File(cache, folderName).takeIf { it.exists() || it.mkdir() }
+        return File(cache, folderName).takeIf { it.exists() || it.mkdir() }
     }
 
     override fun clearPublicCache() {
@@ -46,6 +46,16 @@ internal class CameraUploadsMediaFacade @Inject constructor(
     override fun getMediaSelectionQuery(parentPath: String): String =
         "${MediaStore.MediaColumns.DATA} LIKE '${parentPath}%'"
 
+    override fun getIncrementalMediaSelectionQuery(
+        parentPath: String,
+        addedOrModifiedSince: Long,
+    ): String {
+        // DATE_ADDED and DATE_MODIFIED are stored in seconds
+        val since = addedOrModifiedSince / 1000
+        return "${getMediaSelectionQuery(parentPath)} AND " +
+                "(${MediaStore.MediaColumns.DATE_ADDED} >= $since OR ${MediaStore.MediaColumns.DATE_MODIFIED} >= $since)"
+    }
+
     /**
      *  Return the column of the media store to retrieve data from
      *
@@ -0,0 +1,139 @@
+package mega.privacy.android.data.facade
+
+import androidx.room.RoomDatabase
+import androidx.sqlite.db.SupportSQLiteOpenHelper
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import mega.privacy.android.data.database.LocalDatabaseFactory
+import mega.privacy.android.data.database.MegaDatabase
+import mega.privacy.android.data.database.MegaDatabaseConstant
+import mega.privacy.android.data.database.SQLCipherManager
+import mega.privacy.android.data.database.chat.CHAT_DATABASE_NAME
+import mega.privacy.android.data.database.chat.ChatDatabase
+import mega.privacy.android.data.gateway.DatabaseBootstrapGateway
+import mega.privacy.android.data.model.database.DatabaseStartupTiming
+import mega.privacy.android.domain.monitoring.CrashReporter
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.system.measureTimeMillis
+
+/**
+ * Opens the local databases in the background
+ *
+ * Getting the passphrase, encrypting the databases that are not encrypted yet and the key
+ * derivation of the first open are done on the IO dispatcher when the bootstrap is started at
+ * startup, instead of on the thread that first needs a DAO. If the secure database can't be opened
+ * it is destroyed and an unencrypted one is created instead. The time spent opening each database is
+ * added to the crash reports.
+ *
+ * The databases are opened concurrently, but [SQLCipherManager.migrateToSecureDatabase] uses the
+ * same temporary and backup files for every database, so only one of them is migrated at a time.
+ */
+@Singleton
+internal class DatabaseBootstrapFacade @Inject constructor(
+    private val localDatabaseFactory: LocalDatabaseFactory,
+    private val sqlCipherManager: SQLCipherManager,
+    @ApplicationScope private val applicationScope: CoroutineScope,
+    private val crashReporter: CrashReporter,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) : DatabaseBootstrapGateway {
+
+    private val migrationLock = Any()
+
+    private val passphrase: ByteArray? by lazy {
+        runCatching { sqlCipherManager.getPassphrase() }
+            .onFailure { Timber.e(it, "Failed to get the database passphrase") }
+            .getOrNull()
+    }
+
+    private val megaDatabase: MegaDatabase by lazy {
+        openDatabase(MegaDatabaseConstant.DATABASE_NAME, localDatabaseFactory::createMegaDatabase)
+    }
+
+    private val chatDatabase: ChatDatabase by lazy {
+        openDatabase(CHAT_DATABASE_NAME, localDatabaseFactory::createChatDatabase)
+    }
+
+    private val megaDatabaseOpened: Deferred<MegaDatabase> = openInBackground { megaDatabase }
+
+    private val chatDatabaseOpened: Deferred<ChatDatabase> = openInBackground { chatDatabase }
+
+    override fun start() {
+        megaDatabaseOpened.start()
+        chatDatabaseOpened.start()
+    }
+
+    /**
+     * Suspend until [MegaDatabase] is open, opening it in the background if not started yet
+     */
+    suspend fun awaitMegaDatabase(): MegaDatabase = megaDatabaseOpened.await()
+
+    /**
+     * Suspend until [ChatDatabase] is open, opening it in the background if not started yet
+     */
+    suspend fun awaitChatDatabase(): ChatDatabase = chatDatabaseOpened.await()
+
+    /**
+     * Get [MegaDatabase] for the DAO providers
+     *
+     * Returns at once if the database is open. If it is being opened in the background the caller
+     * waits for it, and if it was not started yet it is opened on the calling thread.
+     */
+    fun getMegaDatabase(): MegaDatabase = megaDatabase
+
+    /**
+     * Get [ChatDatabase] for the DAO providers
+     *
+     * Returns at once if the database is open. If it is being opened in the background the caller
+     * waits for it, and if it was not started yet it is opened on the calling thread.
+     */
+    fun getChatDatabase(): ChatDatabase = chatDatabase
+
+    private fun <T> openInBackground(block: () -> T): Deferred<T> =
+        applicationScope.async(ioDispatcher, start = CoroutineStart.LAZY) { block() }
+
+    private fun <T : RoomDatabase> openDatabase(
+        name: String,
+        init: (SupportSQLiteOpenHelper.Factory) -> T,
+    ): T {
+        val startTime = System.currentTimeMillis()
+        val passphrase = passphrase
+        var migrationMillis = 0L
+        var isEncrypted = true
+        val database = try {
+            if (passphrase == null) throw NullPointerException("Passphrase is null")
+            synchronized(migrationLock) {
+                migrationMillis = measureTimeMillis {
+                    sqlCipherManager.migrateToSecureDatabase(name, passphrase)
+                }
+            }
+            init(localDatabaseFactory.getSecureFactory(passphrase))
+        } catch (e: Exception) {
+            Timber.e(e, "Failed to open secure database $name")
+            isEncrypted = false
+            sqlCipherManager.destructSecureDatabase(name)
+            init(localDatabaseFactory.getUnencryptedFactory())
+        }
+        // open it now, so the first query doesn't pay the key derivation and the migrations
+        val openMillis = measureTimeMillis {
+            runCatching { database.openHelper.writableDatabase }
+                .onFailure { Timber.e(it, "Failed to open database $name") }
+        }
+        val timing = DatabaseStartupTiming(
+            databaseName = name,
+            migrationMillis = migrationMillis,
+            openMillis = openMillis,
+            totalMillis = System.currentTimeMillis() - startTime,
+            isEncrypted = isEncrypted,
+        )
+        Timber.d("Database opened: $timing")
+        crashReporter.log("Database opened: $timing")
+        return database
+    }
+}
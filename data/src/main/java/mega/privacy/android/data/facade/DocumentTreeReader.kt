@@ -0,0 +1,124 @@
+package mega.privacy.android.data.facade
+
+import android.content.ContentResolver
+import android.content.Context
+import android.content.Intent
+import android.content.pm.PackageManager
+import android.database.Cursor
+import android.net.Uri
+import android.provider.DocumentsContract
+import android.provider.DocumentsContract.Document
+import androidx.documentfile.provider.DocumentFile
+import dagger.hilt.android.qualifiers.ApplicationContext
+import mega.privacy.android.data.model.document.DocumentTreeEntry
+import timber.log.Timber
+import java.io.File
+import javax.inject.Inject
+
+/**
+ * Reads the children of document folders with a single query per folder
+ *
+ * [DocumentFile.listFiles] only queries the ids of the children and every getter of the returned
+ * documents is a query of its own, so listing a folder and reading the name, type, size and date
+ * of its children takes several queries per child. Here the children of a folder are read with one
+ * query of [DocumentsContract.buildChildDocumentsUriUsingTree] with all the needed columns. Folders
+ * of file uris are listed with [File.listFiles].
+ */
+internal class DocumentTreeReader @Inject constructor(
+    @ApplicationContext private val context: Context,
+) {
+
+    /**
+     * List the children of a folder
+     *
+     * @param folder tree uri, document uri inside a tree or file uri of the folder
+     * @return the children, or null if the folder can't be listed
+     */
+    fun listChildren(folder: Uri): List<DocumentTreeEntry>? =
+        if (folder.scheme == ContentResolver.SCHEME_FILE) {
+            folder.path?.let { listChildren(File(it)) }
+        } else {
+            getDocumentId(folder)?.let { listTreeChildren(folder, it) }
+        }
+
+    /**
+     * Get the names of the children of a folder, to check name collisions without listing the
+     * folder again for each new child
+     *
+     * @param folder tree uri, document uri inside a tree or file uri of the folder
+     * @return the names of the children, empty if the folder can't be listed
+     */
+    fun getChildNames(folder: Uri): MutableSet<String> =
+        listChildren(folder)?.mapTo(HashSet()) { it.name } ?: HashSet()
+
+    private fun listChildren(folder: File): List<DocumentTreeEntry>? =
+        folder.listFiles()?.map { file ->
+            DocumentTreeEntry(
+                uri = Uri.fromFile(file),
+                name = file.name,
+                isFolder = file.isDirectory,
+                size = file.length(),
+                lastModified = file.lastModified(),
+                canRead = file.canRead(),
+            )
+        }
+
+    /**
+     * Same document id [DocumentFile.fromTreeUri] uses: the document of a document uri, or the
+     * root of a tree uri
+     */
+    private fun getDocumentId(uri: Uri): String? = runCatching {
+        if (DocumentsContract.isDocumentUri(context, uri)) {
+            DocumentsContract.getDocumentId(uri)
+        } else {
+            DocumentsContract.getTreeDocumentId(uri)
+        }
+    }.onFailure { Timber.w(it, "Not a document tree uri") }.getOrNull()
+
+    private fun listTreeChildren(treeUri: Uri, documentId: String): List<DocumentTreeEntry>? {
+        val childrenUri = DocumentsContract.buildChildDocumentsUriUsingTree(treeUri, documentId)
+        // the permission is granted for the whole tree, so it is checked once for all the children
+        val hasReadPermission = context.checkCallingOrSelfUriPermission(
+            treeUri,
+            Intent.FLAG_GRANT_READ_URI_PERMISSION
+        ) == PackageManager.PERMISSION_GRANTED
+        return runCatching {
+            context.contentResolver.query(childrenUri, PROJECTION, null, null, null)?.use { cursor ->
+                val entries = ArrayList<DocumentTreeEntry>(cursor.count)
+                while (cursor.moveToNext()) {
+                    val childId = cursor.getString(COLUMN_DOCUMENT_ID) ?: continue
+                    val mimeType = cursor.getString(COLUMN_MIME_TYPE)
+                    entries.add(
+                        DocumentTreeEntry(
+                            uri = DocumentsContract.buildDocumentUriUsingTree(treeUri, childId),
+                            name = cursor.getString(COLUMN_DISPLAY_NAME).orEmpty(),
+                            isFolder = mimeType == Document.MIME_TYPE_DIR,
+                            size = cursor.getLongOrZero(COLUMN_SIZE),
+                            lastModified = cursor.getLongOrZero(COLUMN_LAST_MODIFIED),
+                            canRead = hasReadPermission && !mimeType.isNullOrEmpty(),
+                        )
+                    )
+                }
+                entries
+            }
+        }.onFailure { Timber.w(it, "Error listing document folder") }.getOrNull()
+    }
+
+    private fun Cursor.getLongOrZero(column: Int) =
+        if (isNull(column)) 0L else getLong(column)
+
+    companion object {
+        private val PROJECTION = arrayOf(
+            Document.COLUMN_DOCUMENT_ID,
+            Document.COLUMN_DISPLAY_NAME,
+            Document.COLUMN_MIME_TYPE,
+            Document.COLUMN_SIZE,
+            Document.COLUMN_LAST_MODIFIED,
+        )
+        private const val COLUMN_DOCUMENT_ID = 0
+        private const val COLUMN_DISPLAY_NAME = 1
+        private const val COLUMN_MIME_TYPE = 2
+        private const val COLUMN_SIZE = 3
+        private const val COLUMN_LAST_MODIFIED = 4
+    }
+}
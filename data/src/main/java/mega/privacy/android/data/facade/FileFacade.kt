@@ -49,6 +49,7 @@ import mega.privacy.android.data.extensions.toUri
 import mega.privacy.android.data.gateway.DeviceGateway
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.data.mapper.file.DocumentFileMapper
+import mega.privacy.android.data.model.document.DocumentTreeEntry
 import mega.privacy.android.data.wrapper.DocumentFileWrapper
 import mega.privacy.android.domain.entity.document.DocumentEntity
 import mega.privacy.android.domain.entity.document.DocumentFolder
@@ -84,6 +85,7 @@ internal class FileFacade @Inject constructor(
     private val documentFileMapper: DocumentFileMapper,
     private val deviceGateway: DeviceGateway,
     private val documentFileWrapper: DocumentFileWrapper,
+    private val documentTreeReader: DocumentTreeReader,
 ) : FileGateway {
 
     override val localDCIMFolderPath: String
@@ -574,46 +576,29 @@ internal class FileFacade @Inject constructor(
         context.contentResolver.delete(uri, null, null) > 0
 
     override suspend fun getFilesInDocumentFolder(folder: UriPath): DocumentFolder {
-        val uri = folder.toUri()
+        val entries = documentTreeReader.listChildren(folder.toUri())
+            ?: throw FileNotFoundException()
         val semaphore = Semaphore(10)
-        val document = if (isFileUri(uri)) {
-            DocumentFile.fromFile(uri.toFile())
-        } else {
-            DocumentFile.fromTreeUri(context, uri)
-        } ?: throw FileNotFoundException()
-        val files = document.listFiles()
-        val folders = files.filter { it.isDirectory }
+        // a query per sub folder to count its children, so they are done in parallel
         val countMap = coroutineScope {
-            folders.map {
+            entries.filter { it.isFolder }.map { entry ->
                 async {
                     semaphore.withPermit {
-                        val childFiles = it.listFiles()
-                        val totalDirectory = childFiles.count { it.isDirectory }
+                        val childFiles = documentTreeReader.listChildren(entry.uri).orEmpty()
+                        val totalDirectory = childFiles.count { it.isFolder }
                         val totalFiles = childFiles.size - totalDirectory
-                        totalFiles to totalDirectory
-                    }
-                }
-            }
-        }.awaitAll()
-            .mapIndexed { index, pair ->
-                val file = folders[index]
-                file.uri to pair
-            }.toMap()
-
-        // length, lastModified is heavy operation, so we do it in parallel
-        val entities = coroutineScope {
-            files.mapNotNull { file ->
-                async {
-                    semaphore.withPermit {
-                        val documentUri = file.uri
-                        documentFileMapper(
-                            file = file,
-                            numFiles = countMap[documentUri]?.first ?: 0,
-                            numFolders = countMap[documentUri]?.second ?: 0
-                        )
+                        entry.uri to (totalFiles to totalDirectory)
                     }
                 }
             }.awaitAll()
+        }.toMap()
+
+        val entities = entries.map { entry ->
+            documentFileMapper(
+                entry = entry,
+                numFiles = countMap[entry.uri]?.first ?: 0,
+                numFolders = countMap[entry.uri]?.second ?: 0
+            )
         }
         return DocumentFolder(entities)
     }
@@ -623,31 +608,30 @@ internal class FileFacade @Inject constructor(
         query: String,
     ): Flow<DocumentFolder> = flow {
         // using stack to avoid recursive call and optimize memory usage
-        val stack = Stack<DocumentFile>()
-        val uri = Uri.parse(folder.value)
-        val document = if (isFileUri(folder.value)) {
-            DocumentFile.fromFile(Uri.parse(folder.value).toFile())
-        } else {
-            DocumentFile.fromTreeUri(context, uri)
-        } ?: throw FileNotFoundException()
-        stack.addAll(document.listFiles())
+        val stack = Stack<DocumentTreeEntry>()
+        stack.addAll(
+            documentTreeReader.listChildren(folder.toUri()) ?: throw FileNotFoundException()
+        )
         val result = mutableListOf<DocumentEntity>()
         while (stack.isNotEmpty() && coroutineContext.isActive) {
-            val file = stack.pop()
-            val childFiles = if (file.isDirectory) file.listFiles().toList() else emptyList()
-            if (file.name.orEmpty().contains(other = query, ignoreCase = true)) {
+            val entry = stack.pop()
+            val childFiles = if (entry.isFolder) {
+                documentTreeReader.listChildren(entry.uri).orEmpty()
+            } else {
+                emptyList()
+            }
+            if (entry.name.contains(other = query, ignoreCase = true)) {
+                val numFolders = childFiles.count { it.isFolder }
                 result.add(
                     documentFileMapper(
-                        file = file,
-                        numFiles = childFiles.count { it.isFile },
-                        numFolders = childFiles.count { it.isDirectory },
+                        entry = entry,
+                        numFiles = childFiles.size - numFolders,
+                        numFolders = numFolders,
                     )
                 )
                 emit(DocumentFolder(result))
             }
-            if (file.isDirectory) {
-                stack.addAll(childFiles)
-            }
+            stack.addAll(childFiles)
         }
         emit(DocumentFolder(result))
     }
@@ -667,19 +651,38 @@ internal class FileFacade @Inject constructor(
         destination: DocumentFile,
     ): Int {
         if (!destination.isDirectory) throw IllegalArgumentException("Destination is not a directory")
+        return copyFilesToDocumentFolder(
+            source = source,
+            destination = destination,
+            destinationNames = documentTreeReader.getChildNames(destination.uri),
+        )
+    }
+
+    /**
+     * Copy a file or folder keeping the names of the children of each destination folder, read
+     * once per folder, to resolve name collisions
+     */
+    private fun copyFilesToDocumentFolder(
+        source: File,
+        destination: DocumentFile,
+        destinationNames: MutableSet<String>,
+    ): Int {
         var totalFile = 0
         if (source.isDirectory) {
             val files = source.listFiles()
             val newFolder = destination.createDirectory(source.name) ?: return 0
+            destinationNames.add(source.name)
+            val newFolderNames = documentTreeReader.getChildNames(newFolder.uri)
             files?.forEach {
-                totalFile += copyFilesToDocumentFolder(it, newFolder)
+                totalFile += copyFilesToDocumentFolder(it, newFolder, newFolderNames)
             }
         } else {
-            val fileName = getFileNameIfHasNameCollision(destination, source.name)
+            val fileName = getFileNameIfHasNameCollision(destinationNames, source.name)
             val fileNameWithoutExtension = fileName.substringBeforeLast(".")
             val mimeType = getMimeTypeFromExtension(source.extension)
             val newFile = destination.createFile(mimeType, fileNameWithoutExtension)
             newFile?.uri?.let { newUri ->
+                destinationNames.add(fileName)
                 context.contentResolver.openOutputStream(newUri)?.use { output ->
                     source.inputStream().use { input ->
                         input.copyTo(output)
@@ -696,7 +699,10 @@ internal class FileFacade @Inject constructor(
         source: Uri,
         destination: DocumentFile,
     ) {
-        val fileName = getFileNameIfHasNameCollision(destination, name)
+        val fileName = getFileNameIfHasNameCollision(
+            documentTreeReader.getChildNames(destination.uri),
+            name
+        )
         val fileNameWithoutExtension = fileName.substringBeforeLast(".")
         val mimeType = context.contentResolver.getType(source)
             ?: getMimeTypeFromFileName(fileName)
@@ -710,9 +716,8 @@ internal class FileFacade @Inject constructor(
         }
     }
 
-    private fun getFileNameIfHasNameCollision(folder: DocumentFile, fileName: String): String {
-        val files = folder.listFiles()
-        if (files.find { it.name == fileName } == null) return fileName
+    private fun getFileNameIfHasNameCollision(existingNames: Set<String>, fileName: String): String {
+        if (fileName !in existingNames) return fileName
         val fileNameWithoutExtension = fileName.substringBeforeLast(".")
         val extension = fileName.substringAfterLast(".", "")
         for (i in 1..Int.MAX_VALUE) {
@@ -721,13 +726,15 @@ internal class FileFacade @Inject constructor(
             } else {
                 "$fileNameWithoutExtension ($i)"
             }
-            if (files.find { it.name == newFileName } == null) return newFileName
+            if (newFileName !in existingNames) return newFileName
         }
         return fileName
     }
 
     override suspend fun findFileInDirectory(directoryPath: String, fileNameToFind: String): File? =
-        File(directoryPath).listFiles()?.toList()?.find { it.name == fileNameToFind }
+        fileNameToFind.takeUnless { it.isEmpty() || it.contains(File.separatorChar) }
+            ?.let { File(directoryPath, it) }
+            ?.takeIf { it.exists() }
 
     override fun isPathInsecure(path: String): Boolean = path.contains("../")
             || path.contains(APP_PRIVATE_DIR1)
@@ -1,14 +1,16 @@
 package mega.privacy.android.data.facade
 
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.channels.awaitClose
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.SharingStarted
-import kotlinx.coroutines.flow.buffer
 import kotlinx.coroutines.flow.callbackFlow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.flow.transform
 import kotlinx.coroutines.launch
+import mega.privacy.android.data.facade.transfer.TransferEventBus
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.listener.IgnoredRequestListener
 import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
@@ -40,6 +42,7 @@ import nz.mega.sdk.MegaRecentActionBucketListAndroid
 import nz.mega.sdk.MegaRequest
 import nz.mega.sdk.MegaRequestListenerInterface
 import nz.mega.sdk.MegaSearchFilter
+import nz.mega.sdk.MegaSearchPage
 import nz.mega.sdk.MegaSet
 import nz.mega.sdk.MegaSetElement
 import nz.mega.sdk.MegaSetElementList
@@ -68,6 +71,7 @@ import javax.inject.Singleton
 internal class MegaApiFacade @Inject constructor(
     @MegaApi private val megaApi: MegaApiAndroid,
     @ApplicationScope private val sharingScope: CoroutineScope,
+    private val transferEventBus: TransferEventBus,
 ) : MegaApiGateway {
 
     override fun getWaitingReason() = megaApi.isWaiting
@@ -286,22 +290,22 @@ internal class MegaApiFacade @Inject constructor(
         SharingStarted.WhileSubscribed()
     )
 
-    override val globalTransfer: Flow<GlobalTransfer> = callbackFlow {
+    override val globalTransferBatches: Flow<List<GlobalTransfer>> = flow {
         val listener = OptionalMegaTransferListenerInterface(
             onTransferStart = { transfer ->
-                trySend(GlobalTransfer.OnTransferStart(transfer))
+                transferEventBus.send(GlobalTransfer.OnTransferStart(transfer))
             },
             onTransferFinish = { transfer, error ->
-                trySend(GlobalTransfer.OnTransferFinish(transfer, error))
+                transferEventBus.send(GlobalTransfer.OnTransferFinish(transfer, error))
             },
             onTransferUpdate = { transfer ->
-                trySend(GlobalTransfer.OnTransferUpdate(transfer))
+                transferEventBus.send(GlobalTransfer.OnTransferUpdate(transfer))
             },
             onTransferTemporaryError = { transfer, error ->
-                trySend(GlobalTransfer.OnTransferTemporaryError(transfer, error))
+                transferEventBus.send(GlobalTransfer.OnTransferTemporaryError(transfer, error))
             },
             onTransferData = { transfer, buffer ->
-                trySend(GlobalTransfer.OnTransferData(transfer, buffer))
+                transferEventBus.send(GlobalTransfer.OnTransferData(transfer, buffer))
             },
             onFolderTransferUpdate = {
                     transfer,
@@ -312,7 +316,7 @@ internal class MegaApiFacade @Inject constructor(
                     currentFolder,
                     currentFileLeafName,
                 ->
-                trySend(
+                transferEventBus.send(
                     GlobalTransfer.OnFolderTransferUpdate(
                         transfer,
                         stage,
@@ -328,10 +332,19 @@ internal class MegaApiFacade @Inject constructor(
 
         addTransferListener(listener)
 
-        awaitClose {
+        try {
+            emitAll(transferEventBus.batches)
+        } finally {
             removeTransferListener(listener)
+            transferEventBus.clear()
         }
-    }.buffer(Channel.Factory.UNLIMITED).shareIn(sharingScope, SharingStarted.WhileSubscribed())
+    }.shareIn(sharingScope, SharingStarted.WhileSubscribed())
+
+    override fun getTransferEventMetrics() = transferEventBus.getMetrics()
+
+    override val globalTransfer: Flow<GlobalTransfer> = globalTransferBatches.transform { events ->
+        events.forEach { emit(it) }
+    }
 
     override fun getFavourites(
         node: MegaNode?,
@@ -1119,17 +1132,20 @@ internal class MegaApiFacade @Inject constructor(
         filter: MegaSearchFilter,
         order: Int,
         megaCancelToken: MegaCancelToken,
+        megaSearchPage: MegaSearchPage?,
     ): List<MegaNode> = megaApi.search(
         filter,
         order,
-        megaCancelToken
+        megaCancelToken,
+        megaSearchPage
     )
 
     override suspend fun getChildren(
         filter: MegaSearchFilter,
         order: Int,
         megaCancelToken: MegaCancelToken,
-    ): List<MegaNode> = megaApi.getChildren(filter, order, megaCancelToken, null)
+        megaSearchPage: MegaSearchPage?,
+    ): List<MegaNode> = megaApi.getChildren(filter, order, megaCancelToken, megaSearchPage)
 
     override fun openShareDialog(
         megaNode: MegaNode,
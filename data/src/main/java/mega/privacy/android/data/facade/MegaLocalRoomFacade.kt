@@ -4,6 +4,7 @@ import dagger.Lazy
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.map
+import mega.privacy.android.data.cache.OfflineInfoIndex
 import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.dao.ActiveTransferDao
@@ -15,7 +16,9 @@ import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
+import mega.privacy.android.data.database.dao.PhotoTimelineIndexDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
+import mega.privacy.android.data.database.entity.CameraUploadsScanWatermarkEntity
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.mapper.backup.BackupEntityMapper
 import mega.privacy.android.data.mapper.backup.BackupInfoTypeIntMapper
@@ -28,6 +31,8 @@ import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.data.mapper.photos.PhotoTimelineIndexEntityMapper
+import mega.privacy.android.data.mapper.photos.PhotoTimelineIndexItemMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferGroupEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
@@ -37,6 +42,7 @@ import mega.privacy.android.data.mapper.transfer.pending.InsertPendingTransferRe
 import mega.privacy.android.data.mapper.transfer.pending.PendingTransferModelMapper
 import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedEntityMapper
 import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedItemMapper
+import mega.privacy.android.data.model.PhotoTimelineIndexItem
 import mega.privacy.android.data.model.VideoRecentlyWatchedItem
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.Contact
@@ -46,6 +52,7 @@ import mega.privacy.android.domain.entity.backup.BackupInfoType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
 import mega.privacy.android.domain.entity.chat.ChatPendingChanges
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
 import mega.privacy.android.domain.entity.transfer.ActiveTransferGroup
@@ -93,82 +100,82 @@ internal class MegaLocalRoomFacade @Inject constructor(
     private val insertPendingTransferRequestMapper: InsertPendingTransferRequestMapper,
     private val activeTransferGroupDao: Lazy<ActiveTransferGroupDao>,
     private val activeTransferGroupEntityMapper: ActiveTransferGroupEntityMapper,
+    private val photoTimelineIndexDao: Lazy<PhotoTimelineIndexDao>,
+    private val photoTimelineIndexEntityMapper: PhotoTimelineIndexEntityMapper,
+    private val photoTimelineIndexItemMapper: PhotoTimelineIndexItemMapper,
+    private val offlineInfoIndex: OfflineInfoIndex,
+    private val databaseBootstrapFacade: DatabaseBootstrapFacade,
 ) : MegaLocalRoomGateway {
     override suspend fun insertContact(contact: Contact) {
-        contactDao.get().insertOrUpdateContact(contactEntityMapper(contact))
+        contactDao.await().insertOrUpdateContact(contactEntityMapper(contact))
     }
 
     override suspend fun updateContactNameByEmail(firstName: String?, email: String?) {
         if (email.isNullOrBlank()) return
-        contactDao.get().getContactByEmail(encryptData(email))?.let { entity ->
-            contactDao.get().insertOrUpdateContact(entity.copy(firstName = encryptData(firstName)))
+        contactDao.await().getContactByEmail(encryptData(email))?.let { entity ->
+            contactDao.await().insertOrUpdateContact(entity.copy(firstName = encryptData(firstName)))
         }
     }
 
     override suspend fun updateContactLastNameByEmail(lastName: String?, email: String?) {
         if (email.isNullOrBlank()) return
-        contactDao.get().getContactByEmail(encryptData(email))?.let { entity ->
-            contactDao.get().insertOrUpdateContact(entity.copy(lastName = encryptData(lastName)))
+        contactDao.await().getContactByEmail(encryptData(email))?.let { entity ->
+            contactDao.await().insertOrUpdateContact(entity.copy(lastName = encryptData(lastName)))
         }
     }
 
     override suspend fun updateContactMailByHandle(handle: Long, email: String?) {
-        contactDao.get().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
-            contactDao.get().insertOrUpdateContact(entity.copy(mail = encryptData(email)))
+        contactDao.await().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
+            contactDao.await().insertOrUpdateContact(entity.copy(mail = encryptData(email)))
         }
     }
 
     override suspend fun updateContactFistNameByHandle(handle: Long, firstName: String?) {
-        contactDao.get().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
-            contactDao.get().insertOrUpdateContact(entity.copy(firstName = encryptData(firstName)))
+        contactDao.await().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
+            contactDao.await().insertOrUpdateContact(entity.copy(firstName = encryptData(firstName)))
         }
     }
 
     override suspend fun updateContactLastNameByHandle(handle: Long, lastName: String?) {
-        contactDao.get().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
-            contactDao.get().insertOrUpdateContact(entity.copy(lastName = encryptData(lastName)))
+        contactDao.await().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
+            contactDao.await().insertOrUpdateContact(entity.copy(lastName = encryptData(lastName)))
         }
     }
 
     override suspend fun updateContactNicknameByHandle(handle: Long, nickname: String?) {
-        contactDao.get().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
-            contactDao.get().insertOrUpdateContact(entity.copy(nickName = encryptData(nickname)))
+        contactDao.await().getContactByHandle(encryptData(handle.toString()))?.let { entity ->
+            contactDao.await().insertOrUpdateContact(entity.copy(nickName = encryptData(nickname)))
         }
     }
 
     override suspend fun getContactByHandle(handle: Long): Contact? =
-        contactDao.get().getContactByHandle(encryptData(handle.toString()))
+        contactDao.await().getContactByHandle(encryptData(handle.toString()))
             ?.let { contactModelMapper(it) }
 
     override suspend fun getContactByEmail(email: String?): Contact? =
-        contactDao.get().getContactByEmail(encryptData(email))?.let { contactModelMapper(it) }
+        contactDao.await().getContactByEmail(encryptData(email))?.let { contactModelMapper(it) }
 
-    override suspend fun deleteAllContacts() = contactDao.get().deleteAllContact()
+    override suspend fun deleteAllContacts() = contactDao.await().deleteAllContact()
 
-    override suspend fun getContactCount() = contactDao.get().getContactCount()
+    override suspend fun getContactCount() = contactDao.await().getContactCount()
 
     override suspend fun getAllContacts(): List<Contact> {
-        val entities = contactDao.get().getAllContact().first()
+        val entities = contactDao.await().getAllContact().first()
         return entities.map { contactModelMapper(it) }
     }
 
     override fun getCompletedTransfers(size: Int?) =
-        completedTransferDao.get().getAllCompletedTransfers()
-            .map { list ->
-                list.map { completedTransferModelMapper(it) }
-                    .toMutableList()
-                    .apply { sortWith(compareByDescending { it.timestamp }) }
-                    .let { if (size != null) it.take(size) else it }
-            }
+        completedTransferDao.get().monitorCompletedTransfersByTimestamp(size ?: NO_LIMIT)
+            .map { list -> list.map { completedTransferModelMapper(it) } }
 
     override suspend fun addCompletedTransfer(transfer: CompletedTransfer) {
-        completedTransferDao.get()
+        completedTransferDao.await()
             .insertOrUpdateCompletedTransfer(completedTransferEntityMapper(transfer))
     }
 
     override suspend fun addCompletedTransfers(transfers: List<CompletedTransfer>) {
         transfers.map { completedTransferEntityMapper(it) }.let { mappedTransfers ->
-            completedTransferDao.get().insertOrUpdateCompletedTransfers(
+            completedTransferDao.await().insertOrUpdateCompletedTransfers(
                 mappedTransfers,
                 MAX_INSERT_LIST_SIZE
             )
@@ -176,111 +183,102 @@ internal class MegaLocalRoomFacade @Inject constructor(
     }
 
     override suspend fun getCompletedTransfersCount() =
-        completedTransferDao.get().getCompletedTransfersCount()
+        completedTransferDao.await().getCompletedTransfersCount()
 
     override suspend fun deleteAllCompletedTransfers() =
-        completedTransferDao.get().deleteAllCompletedTransfers()
+        completedTransferDao.await().deleteAllCompletedTransfers()
 
     override suspend fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
-        return completedTransferDao.get().getCompletedTransfersByState(states)
+        return completedTransferDao.await().getCompletedTransfersByState(states)
             .map { entity -> completedTransferModelMapper(entity) }
     }
 
     override suspend fun deleteCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
-        val entities = completedTransferDao.get().getCompletedTransfersByState(states)
+        val entities = completedTransferDao.await().getCompletedTransfersByState(states)
         deleteCompletedTransferBatch(entities.mapNotNull { it.id })
         return entities.map { entity -> completedTransferModelMapper(entity) }
     }
 
     override suspend fun deleteCompletedTransfer(completedTransfer: CompletedTransfer) {
-        completedTransferDao.get().deleteCompletedTransferByIds(
+        completedTransferDao.await().deleteCompletedTransferByIds(
             listOf(completedTransfer.id ?: return)
         )
     }
 
     override suspend fun deleteOldestCompletedTransfers() {
-        val count = completedTransferDao.get().getCompletedTransfersCount()
+        val count = completedTransferDao.await().getCompletedTransfersCount()
         if (count > MAX_COMPLETED_TRANSFER_ROWS) {
-            val transfers = completedTransferDao.get().getAllCompletedTransfers().first()
-                .map { completedTransferModelMapper(it) }
-            val deletedTransfers =
-                transfers.sortedWith(compareByDescending { it.timestamp })
-                    .drop(MAX_COMPLETED_TRANSFER_ROWS)
-                    .mapNotNull { it.id }
-
-            if (deletedTransfers.isNotEmpty()) {
-                deleteCompletedTransferBatch(deletedTransfers)
-            }
+            completedTransferDao.await().deleteOldestCompletedTransfers(MAX_COMPLETED_TRANSFER_ROWS)
         }
     }
 
     override suspend fun migrateLegacyCompletedTransfers() {
-        completedTransferDao.get().getAllLegacyCompletedTransfers()
+        completedTransferDao.await().getAllLegacyCompletedTransfers()
             .takeIf { it.isNotEmpty() }
             ?.let { legacyEntities ->
                 val firstHundred = legacyEntities
                     .sortedWith(compareByDescending { it.timestamp })
                     .take(100)
                 addCompletedTransfers(firstHundred.map { completedTransferLegacyModelMapper(it) })
-                completedTransferDao.get().deleteAllLegacyCompletedTransfers()
+                completedTransferDao.await().deleteAllLegacyCompletedTransfers()
             }
     }
 
     override suspend fun getActiveTransferByTag(tag: Int) =
-        activeTransferDao.get().getActiveTransferByTag(tag)
+        activeTransferDao.await().getActiveTransferByTag(tag)
 
     override fun getActiveTransfersByType(transferType: TransferType) =
         activeTransferDao.get().getActiveTransfersByType(transferType)
 
 
     override suspend fun getCurrentActiveTransfersByType(transferType: TransferType) =
-        activeTransferDao.get().getCurrentActiveTransfersByType(transferType)
+        activeTransferDao.await().getCurrentActiveTransfersByType(transferType)
 
     override suspend fun getCurrentActiveTransfers(): List<ActiveTransfer> =
-        activeTransferDao.get().getCurrentActiveTransfers()
+        activeTransferDao.await().getCurrentActiveTransfers()
 
     override suspend fun insertOrUpdateActiveTransfer(activeTransfer: ActiveTransfer) =
-        activeTransferDao.get()
+        activeTransferDao.await()
             .insertOrUpdateActiveTransfer(activeTransferEntityMapper(activeTransfer))
 
     override suspend fun insertOrUpdateActiveTransfers(activeTransfers: List<ActiveTransfer>) =
         activeTransfers.map { activeTransferEntityMapper(it) }.let { mappedActiveTransfers ->
-            activeTransferDao.get().insertOrUpdateActiveTransfers(
+            activeTransferDao.await().insertOrUpdateActiveTransfers(
                 mappedActiveTransfers,
                 MAX_INSERT_LIST_SIZE
             )
         }
 
     override suspend fun deleteAllActiveTransfersByType(transferType: TransferType) =
-        activeTransferDao.get().deleteAllActiveTransfersByType(transferType)
+        activeTransferDao.await().deleteAllActiveTransfersByType(transferType)
 
     override suspend fun deleteAllActiveTransfers() =
-        activeTransferDao.get().deleteAllActiveTransfers()
+        activeTransferDao.await().deleteAllActiveTransfers()
 
     override suspend fun setActiveTransferAsCancelledByTag(tags: List<Int>) =
-        activeTransferDao.get().setActiveTransferAsCancelledByTag(tags)
+        activeTransferDao.await().setActiveTransferAsCancelledByTag(tags)
 
     override suspend fun insertActiveTransferGroup(activeTransferGroup: ActiveTransferGroup) =
-        activeTransferGroupDao.get()
+        activeTransferGroupDao.await()
             .insertActiveTransferGroup(activeTransferGroupEntityMapper(activeTransferGroup))
 
     override suspend fun getActiveTransferGroup(groupId: Int): ActiveTransferGroup? =
-        activeTransferGroupDao.get().getActiveTransferGroupById(groupId)
+        activeTransferGroupDao.await().getActiveTransferGroupById(groupId)
 
     override suspend fun deleteActiveTransferGroup(groupId: Int) {
-        activeTransferGroupDao.get().deleteActiveTransfersGroupById(groupId)
+        activeTransferGroupDao.await().deleteActiveTransfersGroupById(groupId)
     }
 
-    override suspend fun getCompletedTransferById(id: Int) = completedTransferDao.get()
+    override suspend fun getCompletedTransferById(id: Int) = completedTransferDao.await()
         .getCompletedTransferById(id)?.let { completedTransferModelMapper(it) }
 
     override suspend fun insertOrUpdateCameraUploadsRecords(records: List<CameraUploadsRecord>) =
-        cameraUploadsRecordDao.get().insertOrUpdateCameraUploadsRecords(
+        cameraUploadsRecordDao.await().insertOrUpdateCameraUploadsRecords(
             records.map { cameraUploadsRecordEntityMapper(it) }
         )
 
     override suspend fun getAllCameraUploadsRecords(): List<CameraUploadsRecord> =
-        cameraUploadsRecordDao.get().getAllCameraUploadsRecords().map {
+        cameraUploadsRecordDao.await().getAllCameraUploadsRecords().map {
             cameraUploadsRecordModelMapper(it)
         }
 
@@ -289,7 +287,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
         types: List<CameraUploadsRecordType>,
         folderTypes: List<CameraUploadFolderType>,
     ): List<CameraUploadsRecord> =
-        cameraUploadsRecordDao.get().getCameraUploadsRecordsBy(
+        cameraUploadsRecordDao.await().getCameraUploadsRecordsBy(
             uploadStatus,
             types,
             folderTypes,
@@ -303,7 +301,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
         folderType: CameraUploadFolderType,
         uploadStatus: CameraUploadsRecordUploadStatus,
     ) {
-        cameraUploadsRecordDao.get().updateCameraUploadsRecordUploadStatus(
+        cameraUploadsRecordDao.await().updateCameraUploadsRecordUploadStatus(
             mediaId,
             timestamp,
             folderType,
@@ -317,7 +315,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
         folderType: CameraUploadFolderType,
         generatedFingerprint: String,
     ) {
-        cameraUploadsRecordDao.get().updateCameraUploadsRecordGeneratedFingerprint(
+        cameraUploadsRecordDao.await().updateCameraUploadsRecordGeneratedFingerprint(
             mediaId,
             timestamp,
             folderType,
@@ -325,19 +323,48 @@ internal class MegaLocalRoomFacade @Inject constructor(
         )
     }
 
-    override suspend fun deleteCameraUploadsRecords(folderTypes: List<CameraUploadFolderType>) =
-        cameraUploadsRecordDao.get().deleteCameraUploadsRecordsByFolderType(folderTypes)
+    override suspend fun deleteCameraUploadsRecords(folderTypes: List<CameraUploadFolderType>) {
+        cameraUploadsRecordDao.await().deleteCameraUploadsRecordsByFolderType(folderTypes)
+        // Without records, the next scan needs to retrieve all the media again
+        cameraUploadsRecordDao.await().deleteCameraUploadsScanWatermarksByFolderType(folderTypes)
+    }
+
+    override suspend fun getCameraUploadsScanWatermark(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ): CameraUploadsScanWatermark? =
+        cameraUploadsRecordDao.await().getCameraUploadsScanWatermark(folderType, fileType)?.let {
+            CameraUploadsScanWatermark(
+                folderType = it.folderType,
+                fileType = it.fileType,
+                parentPath = it.parentPath,
+                timestamp = it.timestamp,
+            )
+        }
+
+    override suspend fun insertOrUpdateCameraUploadsScanWatermarks(
+        watermarks: List<CameraUploadsScanWatermark>,
+    ) = cameraUploadsRecordDao.await().insertOrUpdateCameraUploadsScanWatermarks(
+        watermarks.map {
+            CameraUploadsScanWatermarkEntity(
+                folderType = it.folderType,
+                fileType = it.fileType,
+                parentPath = it.parentPath,
+                timestamp = it.timestamp,
+            )
+        }
+    )
 
     override suspend fun deleteBackupById(backupId: Long) {
         encryptData(backupId.toString())?.let {
-            backupDao.get().deleteBackupByBackupId(it)
+            backupDao.await().deleteBackupByBackupId(it)
         }
     }
 
     override suspend fun setBackupAsOutdated(backupId: Long) {
         encryptData(backupId.toString())?.let { encryptedBackupId ->
             encryptData("true")?.let { encryptedTrue ->
-                backupDao.get().updateBackupAsOutdated(
+                backupDao.await().updateBackupAsOutdated(
                     encryptedBackupId = encryptedBackupId,
                     encryptedIsOutdated = encryptedTrue
                 )
@@ -347,13 +374,13 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
     override suspend fun saveBackup(backup: Backup) {
         backupEntityMapper(backup)?.let {
-            backupDao.get().insertOrUpdateBackup(it)
+            backupDao.await().insertOrUpdateBackup(it)
         }
     }
 
     override suspend fun getCuBackUp(): Backup? {
         return encryptData("false")?.let { encryptedFalse ->
-            backupDao.get().getBackupByType(
+            backupDao.await().getBackupByType(
                 backupType = backupInfoTypeIntMapper(BackupInfoType.CAMERA_UPLOADS),
                 encryptedIsOutdated = encryptedFalse
             ).lastOrNull()
@@ -362,7 +389,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
     override suspend fun getMuBackUp(): Backup? {
         return encryptData("false")?.let { encryptedFalse ->
-            backupDao.get().getBackupByType(
+            backupDao.await().getBackupByType(
                 backupInfoTypeIntMapper(BackupInfoType.MEDIA_UPLOADS),
                 encryptedFalse
             ).lastOrNull()
@@ -371,7 +398,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
     override suspend fun getCuBackUpId(): Long? {
         return encryptData("false")?.let { encryptedFalse ->
-            backupDao.get().getBackupIdByType(
+            backupDao.await().getBackupIdByType(
                 backupInfoTypeIntMapper(BackupInfoType.CAMERA_UPLOADS),
                 encryptedFalse
             ).lastOrNull()
@@ -380,7 +407,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
     override suspend fun getMuBackUpId(): Long? {
         return encryptData("false")?.let { encryptedFalse ->
-            backupDao.get().getBackupIdByType(
+            backupDao.await().getBackupIdByType(
                 backupInfoTypeIntMapper(BackupInfoType.MEDIA_UPLOADS),
                 encryptedFalse
             ).lastOrNull()
@@ -389,82 +416,88 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
     override suspend fun getBackupById(id: Long): Backup? {
         return encryptData(id.toString())?.let { encryptedBackupId ->
-            backupDao.get().getBackupById(encryptedBackupId)
+            backupDao.await().getBackupById(encryptedBackupId)
         }?.let { backupModelMapper(it) }
     }
 
     override suspend fun updateBackup(backup: Backup) {
         backupEntityMapper(backup)?.let {
-            backupDao.get().insertOrUpdateBackup(it)
+            backupDao.await().insertOrUpdateBackup(it)
         }
     }
 
     override suspend fun deleteAllBackups() {
-        backupDao.get().deleteAllBackups()
+        backupDao.await().deleteAllBackups()
     }
 
     override suspend fun isOfflineInformationAvailable(nodeHandle: Long) =
-        offlineDao.get().getOfflineByHandle("${encryptData("$nodeHandle")}") != null
+        offlineInfoIndex.get("$nodeHandle") != null
 
     override suspend fun getOfflineInformation(nodeHandle: Long) =
-        offlineDao.get().getOfflineByHandle("${encryptData("$nodeHandle")}")?.let {
-            offlineModelMapper(it)
-        }
+        offlineInfoIndex.get("$nodeHandle")
 
     override suspend fun saveOfflineInformation(offline: Offline) =
         offlineEntityMapper(offline).let {
-            offlineDao.get().insertOrUpdateOffline(it)
-        }
+            offlineDao.await().insertOrUpdateOffline(it)
+        }.also { offlineInfoIndex.invalidate() }
 
-    override suspend fun clearOffline() = offlineDao.get().deleteAllOffline()
+    override suspend fun clearOffline() {
+        offlineDao.await().deleteAllOffline()
+        offlineInfoIndex.clear()
+    }
 
     override fun monitorOfflineUpdates() = offlineDao.get().monitorOffline()
         .map { it.map { offlineEntity -> offlineModelMapper(offlineEntity) } }
 
 
     override suspend fun getAllOfflineInfo() =
-        offlineDao.get().getOfflineFiles()?.map { offlineModelMapper(it) } ?: emptyList()
+        offlineDao.await().getOfflineFiles()?.map { offlineModelMapper(it) } ?: emptyList()
+
+    override suspend fun getAllOfflineInfoByHandle() = offlineInfoIndex.getAll()
 
     override suspend fun removeOfflineInformation(nodeId: String) {
         encryptData(nodeId)?.let {
-            offlineDao.get().deleteOfflineByHandle(it)
+            offlineDao.await().deleteOfflineByHandle(it)
+            offlineInfoIndex.invalidate()
         }
     }
 
     override suspend fun getOfflineInfoByParentId(parentId: Int): List<Offline> =
-        offlineDao.get().getOfflineByParentId(parentId)?.map {
+        offlineDao.await().getOfflineByParentId(parentId)?.map {
             offlineModelMapper(it)
         } ?: emptyList()
 
     override suspend fun getOfflineLineById(id: Int): Offline? =
-        offlineDao.get().getOfflineById(id)?.let {
+        offlineDao.await().getOfflineById(id)?.let {
             offlineModelMapper(it)
         }
 
     override suspend fun removeOfflineInformationById(id: Int) {
-        offlineDao.get().deleteOfflineById(id)
+        offlineDao.await().deleteOfflineById(id)
+        offlineInfoIndex.invalidate()
     }
 
     override suspend fun removeOfflineInformationByIds(ids: List<Int>) {
-        offlineDao.get().deleteOfflineByIds(ids)
+        offlineDao.await().deleteOfflineByIds(ids)
+        offlineInfoIndex.invalidate()
     }
 
     private suspend fun deleteCompletedTransferBatch(ids: List<Int>) {
-        completedTransferDao.get().deleteCompletedTransferByIds(
+        completedTransferDao.await().deleteCompletedTransferByIds(
             ids,
             MAX_INSERT_LIST_SIZE
         )
     }
 
     override suspend fun setChatPendingChanges(chatPendingChanges: ChatPendingChanges) {
-        chatPendingChangesDao.get().upsertChatPendingChanges(
+        chatPendingChangesDao.await().upsertChatPendingChanges(
             chatRoomPendingChangesEntityMapper(chatPendingChanges)
         )
     }
 
     override suspend fun getAllRecentlyWatchedVideos(): Flow<List<VideoRecentlyWatchedItem>> {
-        videoRecentlyWatchedDao.get().deleteExcessVideos()
-        return videoRecentlyWatchedDao.get().getAllRecentlyWatchedVideos().map { entities ->
+        videoRecentlyWatchedDao.await().deleteExcessVideos()
+        return videoRecentlyWatchedDao.await().getAllRecentlyWatchedVideos().map { entities ->
             entities.map { entity ->
                 videoRecentlyWatchedItemMapper(
                     entity.videoHandle,
@@ -477,19 +510,19 @@ internal class MegaLocalRoomFacade @Inject constructor(
     }
 
     override suspend fun removeRecentlyWatchedVideo(handle: Long) =
-        videoRecentlyWatchedDao.get().removeRecentlyWatchedVideo(handle)
+        videoRecentlyWatchedDao.await().removeRecentlyWatchedVideo(handle)
 
     override suspend fun clearRecentlyWatchedVideos() =
-        videoRecentlyWatchedDao.get().clearRecentlyWatchedVideos()
+        videoRecentlyWatchedDao.await().clearRecentlyWatchedVideos()
 
     override suspend fun saveRecentlyWatchedVideo(item: VideoRecentlyWatchedItem) {
         val entity = videoRecentlyWatchedEntityMapper(item)
-        videoRecentlyWatchedDao.get().insertVideo(entity)
+        videoRecentlyWatchedDao.await().insertVideo(entity)
     }
 
     override suspend fun saveRecentlyWatchedVideos(items: List<VideoRecentlyWatchedItem>) {
         val entities = items.map { videoRecentlyWatchedEntityMapper(it) }
-        videoRecentlyWatchedDao.get().insertOrUpdateRecentlyWatchedVideos(entities)
+        videoRecentlyWatchedDao.await().insertOrUpdateRecentlyWatchedVideos(entities)
     }
 
     override fun monitorChatPendingChanges(chatId: Long): Flow<ChatPendingChanges?> =
@@ -497,7 +530,7 @@ internal class MegaLocalRoomFacade @Inject constructor(
             .map { entity -> entity?.let { chatRoomPendingChangesModelMapper(it) } }
 
     override suspend fun insertPendingTransfers(pendingTransfers: List<InsertPendingTransferRequest>) {
-        pendingTransferDao.get()
+        pendingTransferDao.await()
             .insertOrUpdatePendingTransfers(
                 pendingTransfers.map { insertPendingTransferRequestMapper(it) },
                 MAX_INSERT_LIST_SIZE
@@ -509,11 +542,11 @@ internal class MegaLocalRoomFacade @Inject constructor(
             .map { it.map { pendingTransferModelMapper(it) } }
 
     override suspend fun getPendingTransfersByType(transferType: TransferType) =
-        pendingTransferDao.get().getPendingTransfersByType(transferType)
+        pendingTransferDao.await().getPendingTransfersByType(transferType)
             .map { pendingTransferModelMapper(it) }
 
     override suspend fun getPendingTransfersByState(pendingTransferState: PendingTransferState) =
-        pendingTransferDao.get().getPendingTransfersByState(pendingTransferState)
+        pendingTransferDao.await().getPendingTransfersByState(pendingTransferState)
             .map { pendingTransferModelMapper(it) }
 
     override fun monitorPendingTransfersByTypeAndState(
@@ -526,39 +559,78 @@ internal class MegaLocalRoomFacade @Inject constructor(
     override suspend fun getPendingTransfersByTypeAndState(
         transferType: TransferType,
         pendingTransferState: PendingTransferState,
-    ) = pendingTransferDao.get()
+    ) = pendingTransferDao.await()
         .getPendingTransfersByTypeAndState(transferType, pendingTransferState)
         .map { pendingTransferModelMapper(it) }
 
     override suspend fun getPendingTransfersByTag(tag: Int): PendingTransfer? =
-        pendingTransferDao.get().getPendingTransferByTag(tag)
+        pendingTransferDao.await().getPendingTransferByTag(tag)
             ?.let { pendingTransferModelMapper(it) }
 
     override suspend fun updatePendingTransfers(vararg updatePendingTransferRequests: UpdatePendingTransferRequest) {
         updatePendingTransferRequests.singleOrNull()?.let { request ->
             when (request) {
-                is UpdateAlreadyTransferredFilesCount -> pendingTransferDao.get().update(request)
-                is UpdatePendingTransferState -> pendingTransferDao.get().update(request)
-                is UpdateScanningFoldersData -> pendingTransferDao.get().update(request)
+                is UpdateAlreadyTransferredFilesCount -> pendingTransferDao.await().update(request)
+                is UpdatePendingTransferState -> pendingTransferDao.await().update(request)
+                is UpdateScanningFoldersData -> pendingTransferDao.await().update(request)
             }
         } ?: run {
-            pendingTransferDao.get().updateMultiple(updatePendingTransferRequests.toList())
+            pendingTransferDao.await().updateMultiple(updatePendingTransferRequests.toList())
         }
     }
 
     override suspend fun deletePendingTransferByTag(tag: Int) {
-        pendingTransferDao.get().deletePendingTransferByTag(tag)
+        pendingTransferDao.await().deletePendingTransferByTag(tag)
     }
 
     override suspend fun deleteAllPendingTransfers() {
-        pendingTransferDao.get().deleteAllPendingTransfers()
+        pendingTransferDao.await().deleteAllPendingTransfers()
     }
 
-    override suspend fun deleteCompletedTransfersByPath(path: String) = completedTransferDao.get()
+    override suspend fun deleteCompletedTransfersByPath(path: String) = completedTransferDao.await()
         .deleteCompletedTransfersByPath(path)
 
+    override suspend fun getAllPhotoTimelineIndexItems() =
+        photoTimelineIndexDao.await().getAllPhotoTimelineIndexEntities()
+            .map { photoTimelineIndexItemMapper(it) }
+
+    override suspend fun insertOrUpdatePhotoTimelineIndexItems(items: List<PhotoTimelineIndexItem>) {
+        photoTimelineIndexDao.await().insertOrUpdatePhotoTimelineIndexEntities(
+            items.map { photoTimelineIndexEntityMapper(it) },
+            MAX_INSERT_LIST_SIZE
+        )
+    }
+
+    override suspend fun deletePhotoTimelineIndexItems(handles: List<Long>) {
+        photoTimelineIndexDao.await().deletePhotoTimelineIndexEntitiesByHandles(
+            handles,
+            MAX_INSERT_LIST_SIZE
+        )
+    }
+
+    override suspend fun replacePhotoTimelineIndexItems(items: List<PhotoTimelineIndexItem>) {
+        photoTimelineIndexDao.await().replaceAllPhotoTimelineIndexEntities(
+            items.map { photoTimelineIndexEntityMapper(it) },
+            MAX_INSERT_LIST_SIZE
+        )
+    }
+
+    override suspend fun deleteAllPhotoTimelineIndexItems() {
+        photoTimelineIndexDao.await().deleteAllPhotoTimelineIndexEntities()
+    }
+
+    /**
+     * Get the DAO once the database is open, suspending instead of blocking if it is still being
+     * opened in the background
+     */
+    private suspend fun <T> Lazy<T>.await(): T {
+        databaseBootstrapFacade.awaitMegaDatabase()
+        return get()
+    }
+
     companion object {
         private const val MAX_COMPLETED_TRANSFER_ROWS = 100
+        private const val NO_LIMIT = -1
         internal const val MAX_INSERT_LIST_SIZE = 200
     }
 }
@@ -13,6 +13,7 @@ import mega.privacy.android.data.database.entity.chat.NodeMessageCrossRef
 import mega.privacy.android.data.database.entity.chat.PendingMessageEntity
 import mega.privacy.android.data.database.entity.chat.RichPreviewEntity
 import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
+import mega.privacy.android.data.facade.DatabaseBootstrapFacade
 import mega.privacy.android.data.gateway.chat.ChatStorageGateway
 import mega.privacy.android.domain.entity.chat.ChatMessageType
 import mega.privacy.android.domain.entity.chat.PendingMessageState
@@ -29,9 +30,11 @@ import javax.inject.Inject
  * Facade to encapsulate chat storage implementation
  *
  * @property database In memory chat database
+ * @property databaseBootstrapFacade Facade opening the chat database in the background
  */
 internal class ChatStorageFacade @Inject constructor(
     private val database: Lazy<ChatDatabase>,
+    private val databaseBootstrapFacade: DatabaseBootstrapFacade,
 ) : ChatStorageGateway {
 
     /**
@@ -55,13 +58,15 @@ internal class ChatStorageFacade @Inject constructor(
         geolocations: List<ChatGeolocationEntity>,
         chatNodes: List<ChatNodeEntity>,
     ) {
-        with(database.get()) {
+        with(awaitDatabase()) {
             val chatNodeDao = chatNodeDao()
             val typedMessageDao = typedMessageDao()
             val metaDao = chatMessageMetaDao()
             withTransaction {
-                typedMessageDao.deleteStaleMessagesByTempIds(messages.map { it.tempId }
-                    .filterNot { it == -1L })
+                messages.map { it.tempId }
+                    .filterNot { it == -1L }
+                    .takeUnless { it.isEmpty() }
+                    ?.let { typedMessageDao.deleteStaleMessagesByTempIds(it) }
                 typedMessageDao.insertAll(messages)
                 richPreviews.takeUnless { it.isEmpty() }
                     ?.let { metaDao.insertRichPreviews(it) }
@@ -70,16 +75,15 @@ internal class ChatStorageFacade @Inject constructor(
                     ?.let { metaDao.insertGeolocations(it) }
                 chatNodes.takeUnless { it.isEmpty() }?.let { nodes ->
                     chatNodeDao.insertChatNodes(nodes)
-                    nodes.forEach {
+                    nodes.mapNotNull {
                         it.messageId?.let { messageId ->
-                            chatNodeDao.insertNodeMessageCrossRef(
-                                NodeMessageCrossRef(
-                                    messageId = messageId,
-                                    id = it.id
-                                )
+                            NodeMessageCrossRef(
+                                messageId = messageId,
+                                id = it.id
                             )
                         }
-                    }
+                    }.takeUnless { it.isEmpty() }
+                        ?.let { chatNodeDao.insertNodeMessageCrossRefs(it) }
                 }
             }
         }
@@ -91,7 +95,7 @@ internal class ChatStorageFacade @Inject constructor(
      * @param chatId Chat ID
      */
     override suspend fun clearChatMessages(chatId: Long) {
-        with(database.get()) {
+        with(awaitDatabase()) {
             val chatNodeDao = chatNodeDao()
             val metaDao = chatMessageMetaDao()
             val typedMessageDao = typedMessageDao()
@@ -111,39 +115,39 @@ internal class ChatStorageFacade @Inject constructor(
      * @return next message
      */
     override suspend fun getNextMessage(chatId: Long, timestamp: Long) =
-        database.get().typedMessageDao().getMessageWithNextGreatestTimestamp(chatId, timestamp)
+        awaitDatabase().typedMessageDao().getMessageWithNextGreatestTimestamp(chatId, timestamp)
 
 
     override suspend fun storePendingMessage(
         pendingMessageEntity: PendingMessageEntity,
-    ) = database.get().pendingMessageDao().insert(pendingMessageEntity)
+    ) = awaitDatabase().pendingMessageDao().insert(pendingMessageEntity)
 
     override suspend fun storePendingMessages(
         pendingMessageEntities: List<PendingMessageEntity>,
-    ) = database.get().pendingMessageDao().insert(pendingMessageEntities)
+    ) = awaitDatabase().pendingMessageDao().insert(pendingMessageEntities)
 
     override suspend fun updatePendingMessage(vararg updatePendingMessageRequests: UpdatePendingMessageRequest) {
         updatePendingMessageRequests.singleOrNull()?.let { updatePendingMessageRequest ->
             when (updatePendingMessageRequest) {
                 is UpdatePendingMessageStateRequest ->
-                    database.get().pendingMessageDao().update(updatePendingMessageRequest)
+                    awaitDatabase().pendingMessageDao().update(updatePendingMessageRequest)
 
                 is UpdatePendingMessageStateAndNodeHandleRequest ->
-                    database.get().pendingMessageDao().update(updatePendingMessageRequest)
+                    awaitDatabase().pendingMessageDao().update(updatePendingMessageRequest)
 
                 is UpdatePendingMessageTransferTagRequest ->
-                    database.get().pendingMessageDao().update(updatePendingMessageRequest)
+                    awaitDatabase().pendingMessageDao().update(updatePendingMessageRequest)
 
                 is UpdatePendingMessageStateAndPathRequest ->
-                    database.get().pendingMessageDao().update(updatePendingMessageRequest)
+                    awaitDatabase().pendingMessageDao().update(updatePendingMessageRequest)
             }
         } ?: run {
-            database.get().pendingMessageDao().updateMultiple(updatePendingMessageRequests.toList())
+            awaitDatabase().pendingMessageDao().updateMultiple(updatePendingMessageRequests.toList())
         }
     }
 
     override suspend fun deletePendingMessage(pendingMessageId: Long) {
-        database.get().pendingMessageDao().delete(pendingMessageId)
+        awaitDatabase().pendingMessageDao().delete(pendingMessageId)
     }
 
     override fun fetchPendingMessages(chatId: Long): Flow<List<PendingMessageEntity>> =
@@ -153,27 +157,27 @@ internal class ChatStorageFacade @Inject constructor(
         database.get().pendingMessageDao().fetchPendingMessagesByState(states.toList())
 
     override suspend fun getPendingMessage(pendingMessageId: Long): PendingMessageEntity? =
-        database.get().pendingMessageDao().get(pendingMessageId)
+        awaitDatabase().pendingMessageDao().get(pendingMessageId)
 
     override suspend fun getPendingMessagesByState(state: PendingMessageState): List<PendingMessageEntity> =
-        database.get().pendingMessageDao().getByState(state)
+        awaitDatabase().pendingMessageDao().getByState(state)
 
     override suspend fun getMessageIdsByType(chatId: Long, type: ChatMessageType): List<Long> =
-        database.get().typedMessageDao().getMessageIdsByType(chatId, type)
+        awaitDatabase().typedMessageDao().getMessageIdsByType(chatId, type)
 
     override suspend fun getMessageReactions(chatId: Long, msgId: Long): String? =
-        database.get().typedMessageDao().getMessageReactions(chatId, msgId)
+        awaitDatabase().typedMessageDao().getMessageReactions(chatId, msgId)
 
     override suspend fun updateMessageReactions(
         chatId: Long,
         msgId: Long,
         reactions: String,
     ) {
-        database.get().typedMessageDao().updateMessageReactions(chatId, msgId, reactions)
+        awaitDatabase().typedMessageDao().updateMessageReactions(chatId, msgId, reactions)
     }
 
     override suspend fun truncateMessages(chatId: Long, truncateTimestamp: Long) {
-        with(database.get()) {
+        with(awaitDatabase()) {
             val chatNodeDao = chatNodeDao()
             val metaDao = chatMessageMetaDao()
             val typedMessageDao = typedMessageDao()
@@ -199,17 +203,19 @@ internal class ChatStorageFacade @Inject constructor(
     }
 
     override suspend fun clearChatPendingMessages(chatId: Long) {
-        database.get().pendingMessageDao().deleteAllForChat(chatId)
+        awaitDatabase().pendingMessageDao().deleteAllForChat(chatId)
     }
 
     override suspend fun updateExistsInMessage(chatId: Long, msgId: Long, exists: Boolean) {
-        database.get().typedMessageDao().updateExists(chatId, msgId, exists)
+        awaitDatabase().typedMessageDao().updateExists(chatId, msgId, exists)
     }
 
     override suspend fun getExistsInMessage(chatId: Long, msgId: Long) =
-        database.get().typedMessageDao().getExists(chatId, msgId)
+        awaitDatabase().typedMessageDao().getExists(chatId, msgId)
 
     override suspend fun clearAllData() {
-        database.get().clearAllTables()
+        awaitDatabase().clearAllTables()
     }
-}
\ No newline at end of file
+
+    private suspend fun awaitDatabase(): ChatDatabase = databaseBootstrapFacade.awaitChatDatabase()
+}
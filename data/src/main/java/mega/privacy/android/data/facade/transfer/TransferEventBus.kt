@@ -0,0 +1,147 @@
+package mega.privacy.android.data.facade.transfer
+
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import mega.privacy.android.data.model.GlobalTransfer
+import mega.privacy.android.domain.entity.transfer.TransferEventMetrics
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Queue between the SDK transfer listener and the collectors of [GlobalTransfer] events
+ *
+ * Progress events (transfer updates, transfer data and folder transfer updates of the same stage)
+ * are conflated per transfer tag: if the last queued event of a transfer is a progress event of
+ * the same kind it is replaced in place by the new one, so only the latest progress is delivered
+ * and the order with the start, finish and error events of the transfer is kept. Start, finish and
+ * error events are never conflated nor dropped. If the queue reaches [MAX_QUEUE_DEPTH] new progress
+ * events that can't be conflated are dropped, as any later event carries the up to date progress.
+ */
+@Singleton
+internal class TransferEventBus @Inject constructor() {
+
+    private val queue = ArrayDeque<Slot>()
+
+    /**
+     * Last queued slot of each transfer tag, only while it contains a progress event
+     */
+    private val progressSlots = HashMap<Int, Slot>()
+    private val signal = Channel<Unit>(Channel.CONFLATED)
+
+    private var maxQueueDepth = 0
+    private var coalescedEvents = 0L
+    private var droppedEvents = 0L
+    private var overflowing = false
+
+    /**
+     * Batches of queued events, in the order they were sent
+     */
+    val batches: Flow<List<GlobalTransfer>> = flow {
+        while (true) {
+            signal.receive()
+            while (true) {
+                val batch = drain(MAX_BATCH_SIZE)
+                if (batch.isEmpty()) break
+                emit(batch)
+            }
+        }
+    }
+
+    /**
+     * Queue an event, conflating it with the last queued event of its transfer if possible
+     *
+     * @param event
+     */
+    fun send(event: GlobalTransfer) {
+        synchronized(queue) {
+            val tag = event.transfer.tag
+            val progressSlot = progressSlots[tag]
+            if (progressSlot != null && progressSlot.event.isReplaceableBy(event)) {
+                progressSlot.event = event
+                coalescedEvents++
+                return
+            }
+            if (event.isProgress() && queue.size >= MAX_QUEUE_DEPTH) {
+                droppedEvents++
+                if (!overflowing) {
+                    overflowing = true
+                    Timber.w("Transfer event queue full, dropping progress events")
+                }
+                return
+            }
+            val slot = Slot(event)
+            queue.addLast(slot)
+            if (event.isProgress()) progressSlots[tag] = slot else progressSlots.remove(tag)
+            if (queue.size > maxQueueDepth) maxQueueDepth = queue.size
+        }
+        signal.trySend(Unit)
+    }
+
+    /**
+     * Remove the oldest queued events
+     *
+     * @param maxSize maximum number of events to remove
+     * @return removed events, empty if there are no queued events
+     */
+    fun drain(maxSize: Int): List<GlobalTransfer> = synchronized(queue) {
+        val batch = ArrayList<GlobalTransfer>(minOf(queue.size, maxSize))
+        while (batch.size < maxSize) {
+            val slot = queue.removeFirstOrNull() ?: break
+            progressSlots.remove(slot.event.transfer.tag, slot)
+            batch.add(slot.event)
+        }
+        if (queue.isEmpty()) overflowing = false
+        batch
+    }
+
+    /**
+     * Discard all queued events, to be called when nobody is listening to them anymore
+     */
+    fun clear() = synchronized(queue) {
+        Timber.d("Transfer event bus cleared: ${getMetricsLocked()}")
+        queue.clear()
+        progressSlots.clear()
+        overflowing = false
+    }
+
+    /**
+     * Current bus metrics
+     */
+    fun getMetrics() = synchronized(queue) { getMetricsLocked() }
+
+    private fun getMetricsLocked() = TransferEventMetrics(
+        queueDepth = queue.size,
+        maxQueueDepth = maxQueueDepth,
+        coalescedEvents = coalescedEvents,
+        droppedEvents = droppedEvents,
+    )
+
+    private fun GlobalTransfer.isProgress() = this is GlobalTransfer.OnTransferUpdate
+            || this is GlobalTransfer.OnTransferData
+            || this is GlobalTransfer.OnFolderTransferUpdate
+
+    private fun GlobalTransfer.isReplaceableBy(event: GlobalTransfer) = when (this) {
+        is GlobalTransfer.OnTransferUpdate -> event is GlobalTransfer.OnTransferUpdate
+        is GlobalTransfer.OnTransferData -> event is GlobalTransfer.OnTransferData
+        is GlobalTransfer.OnFolderTransferUpdate ->
+            event is GlobalTransfer.OnFolderTransferUpdate && event.stage == stage
+
+        else -> false
+    }
+
+    private class Slot(var event: GlobalTransfer)
+
+    companion object {
+        /**
+         * Maximum number of events emitted in a batch
+         */
+        const val MAX_BATCH_SIZE = 256
+
+        /**
+         * Queue depth from which progress events that can't be conflated are dropped
+         */
+        const val MAX_QUEUE_DEPTH = 10_000
+    }
+}
@@ -27,4 +27,13 @@ interface CameraUploadsMediaGateway {
      * @param parentPath path that contains the media
      */
     fun getMediaSelectionQuery(parentPath: String): String
+
+    /**
+     * Get the selection query to filter the media based on the parent path, only keeping the media
+     * added or modified since the given time
+     *
+     * @param parentPath path that contains the media
+     * @param addedOrModifiedSince time in milliseconds
+     */
+    fun getIncrementalMediaSelectionQuery(parentPath: String, addedOrModifiedSince: Long): String
 }
@@ -0,0 +1,12 @@
+package mega.privacy.android.data.gateway
+
+/**
+ * Gateway to open the local databases in the background
+ */
+interface DatabaseBootstrapGateway {
+
+    /**
+     * Start opening and migrating the databases in the background, if not started yet
+     */
+    fun start()
+}
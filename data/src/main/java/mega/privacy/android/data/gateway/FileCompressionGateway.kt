@@ -1,5 +1,6 @@
 package mega.privacy.android.data.gateway
 
+import mega.privacy.android.domain.entity.Progress
 import java.io.File
 
 /**
@@ -14,4 +15,23 @@ interface FileCompressionGateway {
      * @param zipFile
      */
     suspend fun zipFolder(sourceFolder: File, zipFile: File)
+
+    /**
+     * Zip a log folder, compressing its files in parallel
+     *
+     * Files are added from the most to the least recently modified until [maxSizeInBytes] of
+     * uncompressed content is reached. The file reaching the budget keeps only its last bytes,
+     * older files are skipped.
+     *
+     * @param sourceFolder
+     * @param zipFile
+     * @param maxSizeInBytes maximum uncompressed size of the archived content
+     * @param onProgress called with the progress of the compressed content
+     */
+    suspend fun zipLogFolder(
+        sourceFolder: File,
+        zipFile: File,
+        maxSizeInBytes: Long,
+        onProgress: (Progress) -> Unit,
+    )
 }
\ No newline at end of file
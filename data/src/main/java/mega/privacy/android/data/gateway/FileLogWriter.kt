@@ -3,6 +3,9 @@ package mega.privacy.android.data.gateway
 import android.util.Log
 import mega.privacy.android.domain.entity.logging.LogEntry
 import org.slf4j.Logger
+import java.time.Clock
+import java.time.ZoneOffset
+import java.time.format.DateTimeFormatter
 
 /**
  * File logger
@@ -10,9 +13,13 @@ import org.slf4j.Logger
  * Writes log messages to file
  *
  * @property logger
+ * @property linePrefix prefix the appender pattern adds before the message of a log event, for the
+ * given level name. Batches are written as a single event, so it is added to every entry after the
+ * first one, and each entry ends as the pattern does, with a space and a line separator.
  */
 internal class FileLogWriter(
     private val logger: Logger,
+    private val linePrefix: (level: String) -> String = { "" },
 ) : LogWriterGateway {
     /**
      * Log to file
@@ -22,23 +29,75 @@ internal class FileLogWriter(
     override fun writeLogEntry(
         logEntry: LogEntry,
     ) {
-        val logMessage = logEntry.toString()
+        write(logEntry.priority, logEntry.toString(), logEntry.throwable)
+    }
+
+    /**
+     * Log a batch of entries to file
+     *
+     * Consecutive entries without a throwable are joined into a single message and appended in one
+     * write, entries with a throwable are written on their own so the appender prints the stack.
+     *
+     * @param logEntries
+     */
+    override fun writeLogEntries(logEntries: List<LogEntry>) {
+        val batch = StringBuilder()
+        var batchPriority = 0
+        logEntries.forEach { logEntry ->
+            val level = getLevel(logEntry.priority) ?: return@forEach
+            if (logEntry.throwable != null) {
+                if (batch.isNotEmpty()) write(batchPriority, batch.toString(), null)
+                batch.clear()
+                writeLogEntry(logEntry)
+            } else if (batch.isEmpty()) {
+                batchPriority = logEntry.priority
+                batch.append(logEntry)
+            } else {
+                batch.append(LINE_END).append(linePrefix(level)).append(logEntry)
+            }
+        }
+        if (batch.isNotEmpty()) write(batchPriority, batch.toString(), null)
+    }
+
+    private fun write(priority: Int, logMessage: String, throwable: Throwable?) {
         with(logger) {
-            when (logEntry.priority) {
+            when (priority) {
                 Log.VERBOSE -> trace(logMessage)
                 Log.DEBUG -> debug(logMessage)
                 Log.INFO -> info(logMessage)
                 Log.ASSERT -> info(logMessage)
                 Log.WARN -> warn(logMessage)
                 Log.ERROR -> {
-                    if (logEntry.throwable != null) {
-                        error(logMessage, logEntry.throwable)
+                    if (throwable != null) {
+                        error(logMessage, throwable)
                     } else {
                         error(logMessage)
                     }
                 }
             }
         }
+    }
 
+    private fun getLevel(priority: Int) = when (priority) {
+        Log.VERBOSE -> "TRACE"
+        Log.DEBUG -> "DEBUG"
+        Log.INFO, Log.ASSERT -> "INFO"
+        Log.WARN -> "WARN"
+        Log.ERROR -> "ERROR"
+        else -> null
+    }
+
+    companion object {
+        private val LINE_END = " ${System.lineSeparator()}"
+
+        /**
+         * Line prefix of the SDK log file pattern, `[dd-MM HH:mm:ss][LEVEL] ` in UTC
+         *
+         * @param clock
+         */
+        fun timestampLinePrefix(clock: Clock = Clock.systemUTC()): (String) -> String {
+            val formatter = DateTimeFormatter.ofPattern("dd-MM HH:mm:ss").withZone(ZoneOffset.UTC)
+            return { level -> "[${formatter.format(clock.instant())}][${level.padEnd(5)}] " }
+        }
     }
-}
\ No newline at end of file
+}
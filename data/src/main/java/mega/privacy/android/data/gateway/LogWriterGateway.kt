@@ -11,4 +11,13 @@ interface LogWriterGateway {
     fun writeLogEntry(
         logEntry: LogEntry,
     )
+
+    /**
+     * Log a batch of entries to file, in order
+     *
+     * @param logEntries
+     */
+    fun writeLogEntries(
+        logEntries: List<LogEntry>,
+    )
 }
\ No newline at end of file
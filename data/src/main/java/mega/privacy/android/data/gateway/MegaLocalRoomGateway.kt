@@ -1,6 +1,7 @@
 package mega.privacy.android.data.gateway
 
 import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.data.model.PhotoTimelineIndexItem
 import mega.privacy.android.data.model.VideoRecentlyWatchedItem
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.Contact
@@ -9,6 +10,7 @@ import mega.privacy.android.domain.entity.backup.Backup
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
 import mega.privacy.android.domain.entity.chat.ChatPendingChanges
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
 import mega.privacy.android.domain.entity.transfer.ActiveTransferGroup
@@ -314,6 +316,25 @@ interface MegaLocalRoomGateway {
      */
     suspend fun deleteCameraUploadsRecords(folderTypes: List<CameraUploadFolderType>)
 
+    /**
+     * Get the watermark of the last successful Media Store scan
+     *
+     * @param folderType the folder type (Primary or Secondary) scanned
+     * @param fileType the type of media (Photo or Video) scanned
+     * @return the [CameraUploadsScanWatermark] or null if no scan has been completed yet
+     */
+    suspend fun getCameraUploadsScanWatermark(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ): CameraUploadsScanWatermark?
+
+    /**
+     * Insert a list of [CameraUploadsScanWatermark] or replace the watermark if already exists
+     *
+     * @param watermarks the list to save in the database
+     */
+    suspend fun insertOrUpdateCameraUploadsScanWatermarks(watermarks: List<CameraUploadsScanWatermark>)
+
     /**
      * Remove back up folder
      *
@@ -415,6 +436,15 @@ interface MegaLocalRoomGateway {
      */
     suspend fun getAllOfflineInfo(): List<Offline>
 
+    /**
+     * Get all offline information keyed by node handle
+     *
+     * Served from an in-memory index that is only refreshed after the offline table changes
+     *
+     * @return map of node handle to [Offline]
+     */
+    suspend fun getAllOfflineInfoByHandle(): Map<String, Offline>
+
     /**
      * Remove offline node
      */
@@ -556,4 +586,37 @@ interface MegaLocalRoomGateway {
      * @param path to search for
      */
     suspend fun deleteCompletedTransfersByPath(path: String)
+
+    /**
+     * Get all the entries of the Photos timeline index
+     *
+     * @return [PhotoTimelineIndexItem] list, most recently modified first
+     */
+    suspend fun getAllPhotoTimelineIndexItems(): List<PhotoTimelineIndexItem>
+
+    /**
+     * Insert or update entries of the Photos timeline index
+     *
+     * @param items [PhotoTimelineIndexItem] list
+     */
+    suspend fun insertOrUpdatePhotoTimelineIndexItems(items: List<PhotoTimelineIndexItem>)
+
+    /**
+     * Delete entries of the Photos timeline index
+     *
+     * @param handles handles of the nodes to remove from the index
+     */
+    suspend fun deletePhotoTimelineIndexItems(handles: List<Long>)
+
+    /**
+     * Replace the whole Photos timeline index
+     *
+     * @param items [PhotoTimelineIndexItem] list
+     */
+    suspend fun replacePhotoTimelineIndexItems(items: List<PhotoTimelineIndexItem>)
+
+    /**
+     * Delete all the entries of the Photos timeline index
+     */
+    suspend fun deleteAllPhotoTimelineIndexItems()
 }
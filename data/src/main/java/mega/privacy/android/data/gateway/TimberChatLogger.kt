@@ -15,6 +15,7 @@ import javax.inject.Inject
 internal class TimberChatLogger @Inject constructor() : MegaChatLoggerInterface {
     @Synchronized
     override fun log(loglevel: Int, message: String?) {
+        Timber.tag(TAG)
         when (loglevel) {
             MegaChatApi.LOG_LEVEL_MAX -> Timber.v(message)
             MegaChatApi.LOG_LEVEL_DEBUG -> Timber.d(message)
@@ -24,4 +25,12 @@ internal class TimberChatLogger @Inject constructor() : MegaChatLoggerInterface
             else -> Timber.i(message)
         }
     }
+
+    companion object {
+        /**
+         * Tag of the chat SDK log lines, so the log trees don't need their call site to tell them
+         * apart from the app logs
+         */
+        const val TAG = "[chat_sdk]"
+    }
 }
\ No newline at end of file
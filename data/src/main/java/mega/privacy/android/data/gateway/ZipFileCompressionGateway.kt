@@ -1,10 +1,26 @@
 package mega.privacy.android.data.gateway
 
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import mega.privacy.android.domain.entity.Progress
 import java.io.BufferedInputStream
 import java.io.BufferedOutputStream
+import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.FileInputStream
 import java.io.FileOutputStream
+import java.io.OutputStream
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.time.Instant
+import java.time.ZoneId
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.CRC32
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
 import java.util.zip.ZipEntry
 import java.util.zip.ZipOutputStream
 import javax.inject.Inject
@@ -90,4 +106,234 @@ internal class ZipFileCompressionGateway @Inject constructor() : FileCompression
         entry.size = file.length()
         zipOutputStream.putNextEntry(entry)
     }
-}
\ No newline at end of file
+
+    /**
+     * Each file is deflated on its own into a temporary file, so files are compressed in parallel,
+     * and the archive is then assembled writing the zip headers around the compressed data.
+     */
+    override suspend fun zipLogFolder(
+        sourceFolder: File,
+        zipFile: File,
+        maxSizeInBytes: Long,
+        onProgress: (Progress) -> Unit,
+    ) = coroutineScope {
+        assert(sourceFolder.isDirectory) { "Only pass directories as the source folder" }
+
+        val parts = getLogArchiveParts(sourceFolder, zipFile, maxSizeInBytes)
+        val totalBytes = parts.sumOf { it.length }
+        val compressedBytes = AtomicLong()
+        val semaphore = Semaphore(PARALLEL_COMPRESSIONS)
+        val tempFolder = File(zipFile.parentFile, "${zipFile.name}.parts").apply { mkdirs() }
+        try {
+            val compressedParts = parts.mapIndexed { index, part ->
+                async {
+                    semaphore.withPermit {
+                        compress(part, File(tempFolder, index.toString())) { bytes ->
+                            onProgress(Progress(compressedBytes.addAndGet(bytes), totalBytes))
+                        }
+                    }
+                }
+            }
+            BufferedOutputStream(FileOutputStream(zipFile), BUFFER_SIZE).use { outputStream ->
+                LogArchiveWriter(outputStream).run {
+                    compressedParts.forEach { writeEntry(it.await()) }
+                    finish()
+                }
+            }
+        } finally {
+            tempFolder.deleteRecursively()
+        }
+    }
+
+    private fun getLogArchiveParts(
+        sourceFolder: File,
+        zipFile: File,
+        maxSizeInBytes: Long,
+    ): List<LogArchivePart> {
+        var remainingBytes = maxSizeInBytes
+        return sourceFolder.walkTopDown()
+            .filter { it.isFile && it != zipFile }
+            .sortedByDescending { it.lastModified() }
+            .mapNotNull { file ->
+                val length = file.length()
+                val keptBytes = minOf(length, remainingBytes)
+                if (keptBytes <= 0 && length > 0) return@mapNotNull null
+                remainingBytes -= keptBytes
+                LogArchivePart(
+                    file = file,
+                    path = file.relativeTo(sourceFolder).invariantSeparatorsPath,
+                    offset = length - keptBytes,
+                    length = keptBytes,
+                )
+            }
+            .toList()
+    }
+
+    private fun compress(
+        part: LogArchivePart,
+        destination: File,
+        onCompressed: (Long) -> Unit,
+    ): CompressedLogArchivePart {
+        val crc = CRC32()
+        val deflater = Deflater(Deflater.BEST_SPEED, true)
+        try {
+            RandomAccessFile(part.file, "r").use { inputFile ->
+                inputFile.seek(part.offset)
+                DeflaterOutputStream(FileOutputStream(destination), deflater, BUFFER_SIZE)
+                    .use { outputStream ->
+                        val buffer = ByteArray(BUFFER_SIZE)
+                        var remaining = part.length
+                        while (remaining > 0) {
+                            val read = inputFile.read(
+                                buffer,
+                                0,
+                                minOf(remaining, BUFFER_SIZE.toLong()).toInt()
+                            )
+                            if (read == -1) break
+                            crc.update(buffer, 0, read)
+                            outputStream.write(buffer, 0, read)
+                            remaining -= read
+                            onCompressed(read.toLong())
+                        }
+                    }
+            }
+            return CompressedLogArchivePart(
+                part = part,
+                data = destination,
+                crc = crc.value,
+                size = deflater.bytesRead,
+                compressedSize = deflater.bytesWritten,
+            )
+        } finally {
+            deflater.end()
+        }
+    }
+
+    /**
+     * File, or last bytes of it, to add to a log archive
+     */
+    private class LogArchivePart(
+        val file: File,
+        val path: String,
+        val offset: Long,
+        val length: Long,
+    )
+
+    private class CompressedLogArchivePart(
+        val part: LogArchivePart,
+        val data: File,
+        val crc: Long,
+        val size: Long,
+        val compressedSize: Long,
+    )
+
+    /**
+     * Writes already deflated entries in the zip format
+     */
+    private class LogArchiveWriter(private val outputStream: OutputStream) {
+        private val centralDirectory = ByteArrayOutputStream()
+        private var offset = 0L
+        private var entries = 0
+
+        fun writeEntry(entry: CompressedLogArchivePart) {
+            val name = entry.part.path.toByteArray(Charsets.UTF_8)
+            val comment = entry.part.takeIf { it.offset > 0 }
+                ?.let { "Truncated, last ${it.length} of ${it.offset + it.length} bytes" }
+                ?.toByteArray(Charsets.UTF_8)
+                ?: ByteArray(0)
+            val dosTime = entry.part.file.lastModified().toDosTime()
+            val localHeaderOffset = offset
+
+            val localHeader = header(LOCAL_HEADER_SIZE + name.size)
+                .putInt(LOCAL_HEADER_SIGNATURE)
+                .putShort(VERSION)
+                .putEntryFields(entry, dosTime, name.size)
+                .putShort(0) // extra field length
+                .put(name)
+            write(localHeader.array())
+            entry.data.inputStream().use { offset += it.copyTo(outputStream, BUFFER_SIZE) }
+
+            val centralHeader = header(CENTRAL_HEADER_SIZE + name.size + comment.size)
+                .putInt(CENTRAL_HEADER_SIGNATURE)
+                .putShort(VERSION) // version made by
+                .putShort(VERSION)
+                .putEntryFields(entry, dosTime, name.size)
+                .putShort(0) // extra field length
+                .putShort(comment.size.toShort())
+                .putShort(0) // disk number
+                .putShort(0) // internal attributes
+                .putInt(0) // external attributes
+                .putInt(localHeaderOffset.toInt())
+                .put(name)
+                .put(comment)
+            centralDirectory.write(centralHeader.array())
+            entries++
+        }
+
+        fun finish() {
+            val centralDirectoryOffset = offset
+            write(centralDirectory.toByteArray())
+            val end = header(END_OF_CENTRAL_DIRECTORY_SIZE)
+                .putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                .putShort(0) // disk number
+                .putShort(0) // disk with the central directory
+                .putShort(entries.toShort())
+                .putShort(entries.toShort())
+                .putInt(centralDirectory.size())
+                .putInt(centralDirectoryOffset.toInt())
+                .putShort(0) // comment length
+            write(end.array())
+            outputStream.flush()
+        }
+
+        private fun write(bytes: ByteArray) {
+            outputStream.write(bytes)
+            offset += bytes.size
+        }
+
+        private fun header(size: Int) = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN)
+
+        private fun ByteBuffer.putShort(value: Int) = putShort(value.toShort())
+
+        private fun ByteBuffer.putEntryFields(
+            entry: CompressedLogArchivePart,
+            dosTime: Int,
+            nameLength: Int,
+        ) = putShort(UTF8_FLAG)
+            .putShort(DEFLATED)
+            .putInt(dosTime)
+            .putInt(entry.crc.toInt())
+            .putInt(entry.compressedSize.toInt())
+            .putInt(entry.size.toInt())
+            .putShort(nameLength)
+
+        private fun Long.toDosTime(): Int {
+            val dateTime =
+                Instant.ofEpochMilli(this).atZone(ZoneId.systemDefault()).toLocalDateTime()
+            if (dateTime.year < 1980) return DOS_TIME_MIN
+            return ((dateTime.year - 1980) shl 25) or
+                    (dateTime.monthValue shl 21) or
+                    (dateTime.dayOfMonth shl 16) or
+                    (dateTime.hour shl 11) or
+                    (dateTime.minute shl 5) or
+                    (dateTime.second shr 1)
+        }
+    }
+
+    companion object {
+        private const val BUFFER_SIZE = 64 * 1024
+        private val PARALLEL_COMPRESSIONS =
+            Runtime.getRuntime().availableProcessors().coerceIn(2, 4)
+
+        private const val LOCAL_HEADER_SIGNATURE = 0x04034b50
+        private const val CENTRAL_HEADER_SIGNATURE = 0x02014b50
+        private const val END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50
+        private const val LOCAL_HEADER_SIZE = 30
+        private const val CENTRAL_HEADER_SIZE = 46
+        private const val END_OF_CENTRAL_DIRECTORY_SIZE = 22
+        private const val VERSION = 20
+        private const val UTF8_FLAG = 0x0800
+        private const val DEFLATED = 8
+        private const val DOS_TIME_MIN = (1 shl 21) or (1 shl 16)
+    }
+}
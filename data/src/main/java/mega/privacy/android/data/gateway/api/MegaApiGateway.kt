@@ -7,6 +7,7 @@ import mega.privacy.android.data.model.GlobalUpdate
 import mega.privacy.android.data.model.RequestEvent
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.transfer.TransferEventMetrics
 import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaContactRequest
 import nz.mega.sdk.MegaError
@@ -20,6 +21,7 @@ import nz.mega.sdk.MegaRecentActionBucket
 import nz.mega.sdk.MegaRecentActionBucketList
 import nz.mega.sdk.MegaRequestListenerInterface
 import nz.mega.sdk.MegaSearchFilter
+import nz.mega.sdk.MegaSearchPage
 import nz.mega.sdk.MegaSet
 import nz.mega.sdk.MegaSetElementList
 import nz.mega.sdk.MegaSetList
@@ -308,6 +310,17 @@ interface MegaApiGateway {
      */
     val globalTransfer: Flow<GlobalTransfer>
 
+    /**
+     * Global transfer events in batches, progress events of the same transfer are conflated while
+     * waiting to be collected
+     */
+    val globalTransferBatches: Flow<List<GlobalTransfer>>
+
+    /**
+     * Get the metrics of the queue of global transfer events
+     */
+    fun getTransferEventMetrics(): TransferEventMetrics
+
     /**
      * Global [RequestEvent] for all requests processed within this gateway.
      */
@@ -2258,11 +2271,13 @@ interface MegaApiGateway {
      * @param filter filter to apply [MegaSearchFilter]
      * @param order [SortOrder]
      * @param megaCancelToken [MegaCancelToken]
+     * @param megaSearchPage [MegaSearchPage] to only get a page of the results, all of them if null
      */
     suspend fun searchWithFilter(
         filter: MegaSearchFilter,
         order: Int,
         megaCancelToken: MegaCancelToken,
+        megaSearchPage: MegaSearchPage? = null,
     ): List<MegaNode>
 
     /**
@@ -2270,11 +2285,13 @@ interface MegaApiGateway {
      * @param filter filter to apply [MegaSearchFilter]
      * @param order [SortOrder]
      * @param megaCancelToken [MegaCancelToken]
+     * @param megaSearchPage [MegaSearchPage] to only get a page of the children, all of them if null
      */
     suspend fun getChildren(
         filter: MegaSearchFilter,
         order: Int,
         megaCancelToken: MegaCancelToken,
+        megaSearchPage: MegaSearchPage? = null,
     ): List<MegaNode>
 
     /**
@@ -0,0 +1,22 @@
+package mega.privacy.android.data.gateway.preferences
+
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+
+/**
+ * User journey event preferences gateway
+ */
+interface UserJourneyEventPreferencesGateway {
+    /**
+     * Get the user journey events not sent yet
+     *
+     * @return the pending events, oldest first
+     */
+    suspend fun getPendingUserJourneyEvents(): List<UserJourneyEvent>
+
+    /**
+     * Set the user journey events not sent yet
+     *
+     * @param events pending events, oldest first
+     */
+    suspend fun setPendingUserJourneyEvents(events: List<UserJourneyEvent>)
+}
@@ -2,8 +2,9 @@ package mega.privacy.android.data.logging
 
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.launch
@@ -14,28 +15,48 @@ import mega.privacy.android.domain.entity.logging.LogEntry
 import mega.privacy.android.domain.entity.logging.LogPriority
 import mega.privacy.android.domain.usecase.CreateLogEntry
 import timber.log.Timber
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.coroutines.cancellation.CancellationException
 
 /**
  * Sdk log flow tree
  *
  * Implementation of [Timber.Tree] that converts logging events from the sdk listener to a flow
  *
- * @property logFlow a flow where all sdk log messages are emitted
+ * Logging only queues the event in a bounded buffer, a single coroutine drains it and emits the
+ * entries in batches. When the buffer is full the oldest events are dropped and counted, and the
+ * next batch starts with an entry reporting how many were lost. The caller stack trace is only
+ * captured for untagged events, as the SDK loggers tag their lines, and it is only resolved if the
+ * entry needs it. Chat SDK lines are passed on untagged with [TimberChatLogger] as their trace,
+ * which is how the log entry use cases tell them apart from the app logs.
+ *
+ * @property logFlow a flow where all sdk log messages are emitted, in batches
  */
 internal class LogFlowTree(
     dispatcher: CoroutineDispatcher,
     private val createLogEntry: CreateLogEntry,
+    bufferCapacity: Int = BUFFER_CAPACITY,
 ) : Timber.Tree() {
 
-    private val scope = CoroutineScope(Job() + dispatcher)
+    private val scope = CoroutineScope(SupervisorJob() + dispatcher)
 
-    private val _logFlow =
-        MutableSharedFlow<LogEntry>(
-            replay = 0,
-            extraBufferCapacity = 1,
-            onBufferOverflow = BufferOverflow.DROP_OLDEST
-        )
-    val logFlow: SharedFlow<LogEntry> = _logFlow
+    private val droppedEntries = AtomicLong()
+    private val reportedDroppedEntries = AtomicLong()
+
+    private val pendingEvents = Channel<LogEvent>(
+        capacity = bufferCapacity,
+        onBufferOverflow = BufferOverflow.DROP_OLDEST,
+        onUndeliveredElement = { droppedEntries.incrementAndGet() },
+    )
+
+    private val _logFlow = MutableSharedFlow<List<LogEntry>>(replay = 0)
+    val logFlow: SharedFlow<List<LogEntry>> = _logFlow
+
+    /**
+     * Number of log events dropped because the buffer was full
+     */
+    val droppedEntryCount: Long
+        get() = droppedEntries.get()
 
     private val ignoredClasses = listOf(
         Timber::class.java.name,
@@ -50,20 +71,94 @@ internal class LogFlowTree(
         TimberMegaLogger::class.java.name
     )
 
+    private val chatLoggerTrace = listOf(
+        StackTraceElement(TimberChatLogger::class.java.name, "log", null, -1)
+    )
+
+    init {
+        scope.launch { drain() }
+    }
+
     override fun log(priority: Int, tag: String?, message: String, t: Throwable?) {
-        val trace = Throwable().stackTrace
-        scope.launch {
-            createLogEntry(
-                CreateLogEntryRequest(
-                    tag = tag,
-                    message = message,
-                    priority = LogPriority.fromInt(priority),
-                    throwable = t,
-                    trace = trace.asList(),
-                    loggingClasses = ignoredClasses,
-                    sdkLoggers = sdkLoggers)
-            )?.let { _logFlow.emit(it) }
+        // the throwable only records the call site, its elements are resolved when needed
+        val callSite = if (tag == null) Throwable() else null
+        pendingEvents.trySend(LogEvent(priority, tag, message, t, callSite))
+    }
+
+    private suspend fun drain() {
+        val batch = ArrayList<LogEntry>(MAX_BATCH_SIZE)
+        for (first in pendingEvents) {
+            reportDroppedEntries(batch)
+            createEntry(first)?.let { batch.add(it) }
+            while (batch.size < MAX_BATCH_SIZE) {
+                val next = pendingEvents.tryReceive().getOrNull() ?: break
+                createEntry(next)?.let { batch.add(it) }
+            }
+            if (batch.isNotEmpty()) {
+                _logFlow.emit(batch.toList())
+                batch.clear()
+            }
         }
     }
 
-}
\ No newline at end of file
+    private fun reportDroppedEntries(batch: MutableList<LogEntry>) {
+        val dropped = droppedEntries.get()
+        val unreported = dropped - reportedDroppedEntries.getAndSet(dropped)
+        if (unreported > 0) {
+            batch.add(
+                LogEntry(
+                    message = "$unreported log entries dropped ($dropped in total)",
+                    priority = LogPriority.WARN.intValue,
+                )
+            )
+        }
+    }
+
+    private suspend fun createEntry(event: LogEvent) = try {
+        createLogEntry(
+            CreateLogEntryRequest(
+                tag = event.tag.takeUnless { it == TimberChatLogger.TAG },
+                message = event.message,
+                priority = LogPriority.fromInt(event.priority),
+                throwable = event.throwable,
+                trace = when {
+                    event.tag == TimberChatLogger.TAG -> chatLoggerTrace
+                    event.callSite != null -> LazyStackTrace(event.callSite)
+                    else -> emptyList()
+                },
+                loggingClasses = ignoredClasses,
+                sdkLoggers = sdkLoggers
+            )
+        )
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: Exception) {
+        // logging the failure through Timber would loop back into this tree
+        null
+    }
+
+    private class LogEvent(
+        val priority: Int,
+        val tag: String?,
+        val message: String,
+        val throwable: Throwable?,
+        val callSite: Throwable?,
+    )
+
+    /**
+     * Stack trace of the logging call, only built from the call site the first time it is read
+     */
+    private class LazyStackTrace(callSite: Throwable) : AbstractList<StackTraceElement>() {
+        private val elements by lazy(LazyThreadSafetyMode.NONE) { callSite.stackTrace.asList() }
+
+        override val size: Int
+            get() = elements.size
+
+        override fun get(index: Int) = elements[index]
+    }
+
+    companion object {
+        private const val BUFFER_CAPACITY = 4096
+        private const val MAX_BATCH_SIZE = 256
+    }
+}
@@ -1,6 +1,7 @@
 package mega.privacy.android.data.mapper.file
 
 import androidx.documentfile.provider.DocumentFile
+import mega.privacy.android.data.model.document.DocumentTreeEntry
 import mega.privacy.android.domain.entity.document.DocumentEntity
 import mega.privacy.android.domain.entity.uri.UriPath
 import javax.inject.Inject
@@ -20,4 +21,15 @@ internal class DocumentFileMapper @Inject constructor() {
         numFolders = numFolders,
         canRead = file.canRead(),
     )
-}
\ No newline at end of file
+
+    operator fun invoke(entry: DocumentTreeEntry, numFiles: Int, numFolders: Int) = DocumentEntity(
+        name = entry.name,
+        size = entry.size,
+        lastModified = entry.lastModified,
+        uri = UriPath(entry.uri.toString()),
+        isFolder = entry.isFolder,
+        numFiles = numFiles,
+        numFolders = numFolders,
+        canRead = entry.canRead,
+    )
+}
@@ -8,15 +8,26 @@ import javax.inject.Inject
 internal class OfflineModelMapper @Inject constructor(
     private val decryptData: DecryptData,
 ) {
-    suspend operator fun invoke(offlineEntity: OfflineEntity) = Offline(
-        id = offlineEntity.id ?: -1,
-        handle = decryptData(offlineEntity.encryptedHandle).orEmpty(),
-        path = decryptData(offlineEntity.encryptedPath).orEmpty(),
-        name = decryptData(offlineEntity.encryptedName).orEmpty(),
-        parentId = offlineEntity.parentId ?: -1,
-        type = decryptData(offlineEntity.encryptedType).orEmpty(),
-        origin = offlineEntity.incoming ?: -1,
-        handleIncoming = decryptData(offlineEntity.encryptedIncomingHandle).orEmpty(),
-        lastModifiedTime = offlineEntity.lastModifiedTime ?: 0
-    )
+    suspend operator fun invoke(offlineEntity: OfflineEntity): Offline {
+        val (handle, path, name, type, handleIncoming) = decryptData.decryptAll(
+            listOf(
+                offlineEntity.encryptedHandle,
+                offlineEntity.encryptedPath,
+                offlineEntity.encryptedName,
+                offlineEntity.encryptedType,
+                offlineEntity.encryptedIncomingHandle,
+            )
+        )
+        return Offline(
+            id = offlineEntity.id ?: -1,
+            handle = handle.orEmpty(),
+            path = path.orEmpty(),
+            name = name.orEmpty(),
+            parentId = offlineEntity.parentId ?: -1,
+            type = type.orEmpty(),
+            origin = offlineEntity.incoming ?: -1,
+            handleIncoming = handleIncoming.orEmpty(),
+            lastModifiedTime = offlineEntity.lastModifiedTime ?: 0
+        )
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package mega.privacy.android.data.mapper.photos
+
+import mega.privacy.android.data.database.entity.PhotoTimelineIndexEntity
+import mega.privacy.android.data.model.PhotoTimelineIndexItem
+import javax.inject.Inject
+
+/**
+ * Mapper to convert [PhotoTimelineIndexItem] to [PhotoTimelineIndexEntity]
+ */
+internal class PhotoTimelineIndexEntityMapper @Inject constructor() {
+
+    operator fun invoke(item: PhotoTimelineIndexItem) = with(item) {
+        PhotoTimelineIndexEntity(
+            handle = handle,
+            base64Handle = base64Handle,
+            parentHandle = parentHandle,
+            name = name,
+            duration = duration,
+            isVideo = isVideo,
+            isFavourite = isFavourite,
+            creationTime = creationTime,
+            modificationTime = modificationTime,
+            size = size,
+            isTakenDown = isTakenDown,
+            isSensitive = isSensitive,
+            isSensitiveInherited = isSensitiveInherited,
+            hasThumbnail = hasThumbnail,
+        )
+    }
+}
@@ -0,0 +1,18 @@
+package mega.privacy.android.data.mapper.search
+
+import nz.mega.sdk.MegaSearchPage
+import javax.inject.Inject
+
+/**
+ * Mapper create MegaSearchPage
+ */
+class MegaSearchPageMapper @Inject constructor() {
+
+    /**
+     * invoke
+     * @param startingOffset index of the first result of the page
+     * @param size maximum number of results of the page
+     */
+    operator fun invoke(startingOffset: Long, size: Long): MegaSearchPage =
+        MegaSearchPage.createInstance(startingOffset, size)
+}
@@ -0,0 +1,36 @@
+package mega.privacy.android.data.model
+
+/**
+ * Data class for an entry of the persisted Photos timeline index
+ *
+ * @property handle node handle
+ * @property base64Handle node handle in base64
+ * @property parentHandle parent node handle
+ * @property name node name
+ * @property duration media duration in seconds
+ * @property isVideo true if the node is a video, false if it is an image
+ * @property isFavourite true if the node is marked as favourite
+ * @property creationTime node creation time in seconds since epoch
+ * @property modificationTime node modification time in seconds since epoch
+ * @property size node size in bytes
+ * @property isTakenDown true if the node is taken down
+ * @property isSensitive true if the node is marked as sensitive
+ * @property isSensitiveInherited true if the node inherits sensitivity from an ancestor
+ * @property hasThumbnail true if the node has a thumbnail
+ */
+data class PhotoTimelineIndexItem(
+    val handle: Long,
+    val base64Handle: String,
+    val parentHandle: Long,
+    val name: String,
+    val duration: Int,
+    val isVideo: Boolean,
+    val isFavourite: Boolean,
+    val creationTime: Long,
+    val modificationTime: Long,
+    val size: Long,
+    val isTakenDown: Boolean,
+    val isSensitive: Boolean,
+    val isSensitiveInherited: Boolean,
+    val hasThumbnail: Boolean,
+)
@@ -0,0 +1,20 @@
+package mega.privacy.android.data.model.database
+
+/**
+ * Time spent opening a database at startup
+ *
+ * @property databaseName name of the database file
+ * @property migrationMillis time checking the database and encrypting it if it was not encrypted
+ * @property openMillis time opening the database, including the key derivation and the Room
+ * migrations
+ * @property totalMillis time since the database started to be opened, including waiting for the
+ * passphrase
+ * @property isEncrypted false if the secure database failed and an unencrypted one was created
+ */
+data class DatabaseStartupTiming(
+    val databaseName: String,
+    val migrationMillis: Long,
+    val openMillis: Long,
+    val totalMillis: Long,
+    val isEncrypted: Boolean,
+)
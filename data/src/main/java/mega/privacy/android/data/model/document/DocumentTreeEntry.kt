@@ -0,0 +1,22 @@
+package mega.privacy.android.data.model.document
+
+import android.net.Uri
+
+/**
+ * Child of a document folder, with the columns read in the same query that listed it
+ *
+ * @property uri document uri, or file uri for folders of file uris
+ * @property name display name
+ * @property isFolder true if the document is a folder
+ * @property size size in bytes, 0 if unknown
+ * @property lastModified last modification time in milliseconds, 0 if unknown
+ * @property canRead true if the document can be read
+ */
+internal data class DocumentTreeEntry(
+    val uri: Uri,
+    val name: String,
+    val isFolder: Boolean,
+    val size: Long,
+    val lastModified: Long,
+    val canRead: Boolean,
+)
@@ -0,0 +1,80 @@
+package mega.privacy.android.data.preferences
+
+import android.content.Context
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import androidx.datastore.preferences.core.emptyPreferences
+import androidx.datastore.preferences.core.stringPreferencesKey
+import androidx.datastore.preferences.preferencesDataStore
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+import mega.privacy.android.data.gateway.preferences.UserJourneyEventPreferencesGateway
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import timber.log.Timber
+import java.io.IOException
+import javax.inject.Inject
+
+private const val userJourneyEventPreferenceName = "USER_JOURNEY_EVENTS"
+private val Context.userJourneyEventDataStore: DataStore<Preferences> by preferencesDataStore(
+    name = userJourneyEventPreferenceName,
+)
+
+/**
+ * User journey event preferences data store implementation of the [UserJourneyEventPreferencesGateway]
+ *
+ * The pending events have a file of their own, as the queue saves them often and other
+ * preferences shouldn't be rewritten, or their observers notified, every time it does.
+ *
+ * @property context
+ * @property ioDispatcher
+ */
+internal class UserJourneyEventPreferencesDataStore @Inject constructor(
+    @ApplicationContext private val context: Context,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) : UserJourneyEventPreferencesGateway {
+
+    companion object {
+        private const val PENDING_USER_JOURNEY_EVENTS = "PendingUserJourneyEvents"
+    }
+
+    private val pendingUserJourneyEventsPreferenceKey =
+        stringPreferencesKey(PENDING_USER_JOURNEY_EVENTS)
+
+    override suspend fun getPendingUserJourneyEvents(): List<UserJourneyEvent> =
+        withContext(ioDispatcher) {
+            val json = context.userJourneyEventDataStore.data
+                .catch { exception ->
+                    if (exception is IOException) {
+                        emit(emptyPreferences())
+                    } else {
+                        throw exception
+                    }
+                }.first()[pendingUserJourneyEventsPreferenceKey]
+            try {
+                json?.let { Json.decodeFromString<List<UserJourneyEvent>>(it) }.orEmpty()
+            } catch (e: SerializationException) {
+                Timber.w(e, "Discarding unreadable pending user journey events")
+                emptyList()
+            }
+        }
+
+    override suspend fun setPendingUserJourneyEvents(events: List<UserJourneyEvent>) {
+        withContext(ioDispatcher) {
+            context.userJourneyEventDataStore.edit {
+                if (events.isEmpty()) {
+                    it.remove(pendingUserJourneyEventsPreferenceKey)
+                } else {
+                    it[pendingUserJourneyEventsPreferenceKey] = Json.encodeToString(events)
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package mega.privacy.android.data.qualifier
+
+import javax.inject.Qualifier
+
+/**
+ * Byte budget of each thumbnail and preview cache folder, keyed by folder name
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+internal annotation class ThumbnailPreviewCacheMaxSizes
@@ -44,6 +44,7 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsSettingsAction
 import mega.privacy.android.domain.entity.camerauploads.HeartbeatStatus
 import mega.privacy.android.domain.entity.node.NodeId
@@ -539,6 +540,14 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
     override fun getMediaSelectionQuery(parentPath: String): String =
         cameraUploadsMediaGateway.getMediaSelectionQuery(parentPath)
 
+    override fun getIncrementalMediaSelectionQuery(
+        parentPath: String,
+        addedOrModifiedSince: Long,
+    ): String = cameraUploadsMediaGateway.getIncrementalMediaSelectionQuery(
+        parentPath,
+        addedOrModifiedSince,
+    )
+
     override suspend fun insertOrUpdateCameraUploadsRecords(records: List<CameraUploadsRecord>) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.insertOrUpdateCameraUploadsRecords(records)
@@ -592,6 +601,19 @@ internal class CameraUploadsRepositoryImpl @Inject constructor(
         megaLocalRoomGateway.deleteCameraUploadsRecords(folderTypes)
     }
 
+    override suspend fun getCameraUploadsScanWatermark(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ) = withContext(ioDispatcher) {
+        megaLocalRoomGateway.getCameraUploadsScanWatermark(folderType, fileType)
+    }
+
+    override suspend fun setCameraUploadsScanWatermarks(
+        watermarks: List<CameraUploadsScanWatermark>,
+    ) = withContext(ioDispatcher) {
+        megaLocalRoomGateway.insertOrUpdateCameraUploadsScanWatermarks(watermarks)
+    }
+
     override fun monitorIsChargingRequiredToUploadContent(): Flow<Boolean?> =
         cameraUploadsSettingsPreferenceGateway.monitorIsChargingRequiredToUploadContent()
             .flowOn(ioDispatcher)
@@ -15,6 +15,7 @@ import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.ContactDirectory
 import mega.privacy.android.data.constant.FileConstant
 import mega.privacy.android.data.extensions.failWithError
 import mega.privacy.android.data.extensions.getRequestListener
@@ -42,6 +43,7 @@ import kotlin.coroutines.resume
  *
  * @param megaApiGateway
  * @param cacheGateway
+ * @param contactDirectory drops the contacts whose avatar file is written or deleted
  * @param sharingScope scope for share flow
  * @param ioDispatcher coroutine dispatcher to execute
  * @param bitmapFactoryWrapper
@@ -51,6 +53,7 @@ internal class DefaultAvatarRepository @Inject constructor(
     private val cacheGateway: CacheGateway,
     private val avatarWrapper: AvatarWrapper,
     private val bitmapFactoryWrapper: BitmapFactoryWrapper,
+    private val contactDirectory: ContactDirectory,
     @ApplicationScope private val sharingScope: CoroutineScope,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : AvatarRepository {
@@ -83,6 +86,7 @@ internal class DefaultAvatarRepository @Inject constructor(
             cacheGateway.buildAvatarFile(user.email + FileConstant.JPG_EXTENSION) ?: return
         if (oldFile.exists()) {
             oldFile.delete()
+            onAvatarFileChanged(user.email)
         }
     }
 
@@ -100,7 +104,11 @@ internal class DefaultAvatarRepository @Inject constructor(
                 avatarFile.absolutePath,
                 listener
             )
-        }
+        }.also { onAvatarFileChanged(user.email) }
+    }
+
+    private fun onAvatarFileChanged(email: String?) {
+        email?.let { contactDirectory.invalidate(it) }
     }
 
     override suspend fun getMyAvatarColor(): Int = withContext(ioDispatcher) {
@@ -151,10 +159,12 @@ internal class DefaultAvatarRepository @Inject constructor(
             val listener = OptionalMegaRequestListenerInterface(
                 onRequestFinish = { _: MegaRequest, error: MegaError ->
                     if (error.errorCode == MegaError.API_OK) {
+                        onAvatarFileChanged(userEmailOrUserHandleBase64)
                         continuation.resume(file)
                     } else {
                         if (error.errorCode == MegaError.API_ENOENT && file.exists()) {
                             file.delete()
+                            onAvatarFileChanged(userEmailOrUserHandleBase64)
                         }
                         continuation.failWithError(error, "getAvatarFile")
                     }
@@ -186,7 +196,10 @@ internal class DefaultAvatarRepository @Inject constructor(
                 val newFile =
                     cacheGateway.buildAvatarFile(newEmail + FileConstant.JPG_EXTENSION)
                         ?: return@withContext false
-                return@withContext oldFile.renameTo(newFile)
+                return@withContext oldFile.renameTo(newFile).also {
+                    onAvatarFileChanged(oldEmail)
+                    onAvatarFileChanged(newEmail)
+                }
 
             }
             return@withContext false
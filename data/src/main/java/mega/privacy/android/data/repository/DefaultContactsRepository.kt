@@ -17,8 +17,11 @@ import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.ContactDirectory
+import mega.privacy.android.data.cache.ContactDirectoryEntry
 import mega.privacy.android.data.constant.FileConstant
 import mega.privacy.android.data.database.DatabaseHandler
 import mega.privacy.android.data.extensions.failWithError
@@ -94,6 +97,7 @@ import kotlin.coroutines.suspendCoroutine
  * @property inviteContactRequestMapper [InviteContactRequestMapper]
  * @property contactRequestActionMapper [ContactRequestActionMapper]
  * @property contactGateway           [ContactGateway]
+ * @property contactDirectory         [ContactDirectory]
  */
 internal class DefaultContactsRepository @Inject constructor(
     private val megaApiGateway: MegaApiGateway,
@@ -119,6 +123,7 @@ internal class DefaultContactsRepository @Inject constructor(
     private val userMapper: UserMapper,
     @ApplicationScope private val sharingScope: CoroutineScope,
     private val contactGateway: ContactGateway,
+    private val contactDirectory: ContactDirectory,
 ) : ContactsRepository {
 
     override fun monitorContactRequestUpdates(): Flow<List<ContactRequest>> =
@@ -183,10 +188,36 @@ internal class DefaultContactsRepository @Inject constructor(
                         user.hasChanged(MegaUser.CHANGE_TYPE_AUTHRING.toLong())))
 
     override suspend fun getVisibleContacts(): List<ContactItem> = withContext(ioDispatcher) {
-        megaApiGateway.getContacts()
+        val contacts = megaApiGateway.getContacts()
             .filter { contact -> contact.visibility == MegaUser.VISIBILITY_VISIBLE }
-            .map { getContactItem(it, false) }
-            .sortList()
+        val missingNames = mutableListOf<Long>()
+        val contactItems = contacts.map { megaUser ->
+            val entry = getCachedContactEntry(megaUser)
+            if (entry.fullName == null) missingNames.add(megaUser.handle)
+            getContactItem(megaUser, entry)
+        }
+        fetchMissingNames(missingNames)
+        contactItems.sortList()
+    }
+
+    /**
+     * Fetch in the background the names not found in any cache, a few contacts at a time, so they
+     * are in the directory the next time the contacts are listed.
+     *
+     * @param handles User handles.
+     */
+    private fun fetchMissingNames(handles: List<Long>) {
+        val toFetch = handles.filter { contactDirectory.shouldFetchName(it) }
+        if (toFetch.isEmpty()) return
+        sharingScope.launch(ioDispatcher) {
+            toFetch.mapAsync(concurrencyLimit = MISSING_NAMES_CONCURRENCY) { handle ->
+                runCatching { getUserFullName(handle, skipCache = true) }
+                    .onFailure {
+                        Timber.w(it, "Error fetching the name of a contact")
+                        contactDirectory.onNameFetchFailed(handle)
+                    }
+            }
+        }
     }
 
     override suspend fun getAllContactsName() = withContext(ioDispatcher) {
@@ -254,6 +285,7 @@ internal class DefaultContactsRepository @Inject constructor(
                 cacheGateway.buildAvatarFile(email + FileConstant.JPG_EXTENSION)
 
             getContactAvatar(email, avatarFile?.absolutePath ?: return@runCatching null)
+                .also { contactDirectory.invalidate(email) }
         }.fold(
             onSuccess = { avatar -> avatar },
             onFailure = { null }
@@ -266,6 +298,7 @@ internal class DefaultContactsRepository @Inject constructor(
                     email + FileConstant.JPG_EXTENSION
                 )
             avatarFile?.delete()
+            contactDirectory.invalidate(email)
         }
     }
 
@@ -318,6 +351,7 @@ internal class DefaultContactsRepository @Inject constructor(
                 )
             }.also { request ->
                 megaLocalRoomGateway.updateContactFistNameByHandle(handle, request.text)
+                contactDirectory.invalidate(handle)
                 if (shouldNotify) {
                     contactWrapper.notifyFirstNameUpdate(context, handle)
                 }
@@ -345,6 +379,7 @@ internal class DefaultContactsRepository @Inject constructor(
                 )
             }.also { request ->
                 megaLocalRoomGateway.updateContactLastNameByHandle(handle, request.text)
+                contactDirectory.invalidate(handle)
                 if (shouldNotify) {
                     contactWrapper.notifyLastNameUpdate(context, handle)
                 }
@@ -430,31 +465,29 @@ internal class DefaultContactsRepository @Inject constructor(
         megaUser: MegaUser,
         skipCache: Boolean,
     ): ContactItem {
-        val fullName: String?
-        val alias: String?
-        if (skipCache) {
-            fullName = runCatching { getUserFullName(megaUser.handle) }.getOrNull()
-            alias = runCatching { getUserAlias(megaUser.handle) }.getOrNull()
+        val entry = if (skipCache) {
+            ContactDirectoryEntry(
+                email = megaUser.email,
+                fullName = runCatching { getUserFullName(megaUser.handle) }.getOrNull()
+                    ?.ifEmpty { null },
+                alias = runCatching { getUserAlias(megaUser.handle) }.getOrNull()?.ifEmpty { null },
+                avatarUri = getAvatarUri(megaUser.email),
+            ).also { contactDirectory.put(megaUser.handle, it) }
         } else {
-            fullName = megaChatApiGateway.getUserFullNameFromCache(megaUser.handle)
-            alias = megaChatApiGateway.getUserAliasFromCache(megaUser.handle)
+            getCachedContactEntry(megaUser)
         }
+        return getContactItem(megaUser, entry)
+    }
+
+    private suspend fun getContactItem(
+        megaUser: MegaUser,
+        entry: ContactDirectoryEntry,
+    ): ContactItem {
         val status = megaChatApiGateway.getUserOnlineStatus(megaUser.handle)
-        val avatarUri = if (skipCache) {
-            getAvatarUri(megaUser.email)
-        } else {
-            cacheGateway.buildAvatarFile(
-                fileName = megaUser.email + FileConstant.JPG_EXTENSION
-            )?.takeIf { it.exists() }?.absolutePath
-        }
 
         checkLastGreen(status, megaUser.handle)
 
-        val contactData = contactDataMapper(
-            fullName?.ifEmpty { null },
-            alias?.ifEmpty { null },
-            avatarUri
-        )
+        val contactData = contactDataMapper(entry.fullName, entry.alias, entry.avatarUri)
 
         val chatRoom = megaChatApiGateway.getChatRoomByUser(megaUser.handle)
 
@@ -469,6 +502,37 @@ internal class DefaultContactsRepository @Inject constructor(
         )
     }
 
+    /**
+     * Get the attributes of a contact from the directory, or resolve them from the chat cache, the
+     * contacts table and the avatar file. They are only kept in the directory once the name is known.
+     *
+     * @param megaUser [MegaUser]
+     */
+    private suspend fun getCachedContactEntry(megaUser: MegaUser): ContactDirectoryEntry {
+        contactDirectory.get(megaUser.handle)
+            ?.takeIf { it.email == megaUser.email }
+            ?.let { return it }
+
+        val savedContact = contactDirectory.getSavedContact(megaUser.handle)
+        val fullName = megaChatApiGateway.getUserFullNameFromCache(megaUser.handle)?.ifEmpty { null }
+            ?: savedContact?.let { listOfNotNull(it.firstName, it.lastName) }
+                ?.filter { it.isNotEmpty() }
+                ?.joinToString(" ")
+                ?.ifEmpty { null }
+        val alias = megaChatApiGateway.getUserAliasFromCache(megaUser.handle)?.ifEmpty { null }
+            ?: savedContact?.nickname?.ifEmpty { null }
+        val avatarUri = cacheGateway.buildAvatarFile(
+            fileName = megaUser.email + FileConstant.JPG_EXTENSION
+        )?.takeIf { it.exists() }?.absolutePath
+
+        return ContactDirectoryEntry(
+            email = megaUser.email,
+            fullName = fullName,
+            alias = alias,
+            avatarUri = avatarUri,
+        ).also { if (fullName != null) contactDirectory.put(megaUser.handle, it) }
+    }
+
     override suspend fun getCurrentUserAliases(): Map<Long, String> = withContext(ioDispatcher) {
         suspendCancellableCoroutine { continuation ->
             val listener = continuation.getRequestListener("getCurrentUserAliases") {
@@ -691,6 +755,7 @@ internal class DefaultContactsRepository @Inject constructor(
     override suspend fun clearContactDatabase() = withContext(ioDispatcher) {
         Timber.d("clear Database")
         databaseHandler.get().clearContacts()
+        contactDirectory.clear()
     }
 
     override suspend fun createOrUpdateContact(
@@ -757,6 +822,7 @@ internal class DefaultContactsRepository @Inject constructor(
             )
         }.also {
             megaLocalRoomGateway.updateContactNicknameByHandle(userHandle, it)
+            contactDirectory.invalidate(userHandle)
         }
     }
 
@@ -1019,4 +1085,8 @@ internal class DefaultContactsRepository @Inject constructor(
         withContext(ioDispatcher) {
             megaLocalRoomGateway.getContactByHandle(contactId)
         }
+
+    companion object {
+        private const val MISSING_NAMES_CONCURRENCY = 10
+    }
 }
@@ -305,7 +305,7 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
     }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo()?.associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     override suspend fun getVideoNodeByHandle(handle: Long, attemptFromFolderApi: Boolean) =
         withContext(ioDispatcher) {
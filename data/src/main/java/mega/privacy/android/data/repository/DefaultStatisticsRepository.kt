@@ -5,6 +5,8 @@ import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.preferences.StatisticsPreferencesGateway
+import mega.privacy.android.data.gateway.preferences.UserJourneyEventPreferencesGateway
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.StatisticsRepository
 import javax.inject.Inject
@@ -16,6 +18,7 @@ internal class DefaultStatisticsRepository @Inject constructor(
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
     private val megaApiGateway: MegaApiGateway,
     private val statisticsPreferencesGateway: StatisticsPreferencesGateway,
+    private val userJourneyEventPreferencesGateway: UserJourneyEventPreferencesGateway,
 ) : StatisticsRepository {
 
     override suspend fun sendEvent(
@@ -31,6 +34,12 @@ internal class DefaultStatisticsRepository @Inject constructor(
         megaApiGateway.generateViewId()
     }
 
+    override suspend fun getPendingUserJourneyEvents() =
+        userJourneyEventPreferencesGateway.getPendingUserJourneyEvents()
+
+    override suspend fun setPendingUserJourneyEvents(events: List<UserJourneyEvent>) =
+        userJourneyEventPreferencesGateway.setPendingUserJourneyEvents(events)
+
     override suspend fun getMediaDiscoveryClickCount(): Int =
         statisticsPreferencesGateway.getClickCount().first()
 
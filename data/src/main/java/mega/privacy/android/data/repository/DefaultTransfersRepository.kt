@@ -5,30 +5,25 @@ import androidx.work.WorkInfo
 import dagger.Lazy
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.channels.SendChannel
 import kotlinx.coroutines.channels.awaitClose
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.asStateFlow
-import kotlinx.coroutines.flow.buffer
 import kotlinx.coroutines.flow.callbackFlow
 import kotlinx.coroutines.flow.cancellable
-import kotlinx.coroutines.flow.combine
 import kotlinx.coroutines.flow.emitAll
-import kotlinx.coroutines.flow.filterNotNull
 import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.merge
-import kotlinx.coroutines.flow.scan
-import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.flow.shareIn
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.extensions.failWithError
@@ -56,8 +51,9 @@ import mega.privacy.android.data.mapper.transfer.PausedTransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferAppDataStringMapper
 import mega.privacy.android.data.mapper.transfer.TransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferMapper
-import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
 import mega.privacy.android.data.model.GlobalTransfer
+import mega.privacy.android.data.repository.transfers.ActiveTransferTotalsAggregator
+import mega.privacy.android.data.repository.transfers.TransferProgressStore
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.node.ViewerNode
@@ -66,7 +62,6 @@ import mega.privacy.android.domain.entity.transfer.ActiveTransferGroup
 import mega.privacy.android.domain.entity.transfer.ActiveTransferTotals
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
 import mega.privacy.android.domain.entity.transfer.CompletedTransferState
-import mega.privacy.android.domain.entity.transfer.InProgressTransfer
 import mega.privacy.android.domain.entity.transfer.Transfer
 import mega.privacy.android.domain.entity.transfer.TransferAppData
 import mega.privacy.android.domain.entity.transfer.TransferEvent
@@ -90,6 +85,7 @@ import nz.mega.sdk.MegaTransfer.COLLISION_CHECK_FINGERPRINT
 import nz.mega.sdk.MegaTransfer.COLLISION_RESOLUTION_NEW_WITH_N
 import timber.log.Timber
 import java.io.File
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.time.Duration.Companion.seconds
@@ -115,7 +111,8 @@ internal class DefaultTransfersRepository @Inject constructor(
     private val pausedTransferEventMapper: PausedTransferEventMapper,
     private val transferMapper: TransferMapper,
     private val transferAppDataStringMapper: TransferAppDataStringMapper,
-    private val activeTransferTotalsMapper: ActiveTransferTotalsMapper,
+    private val activeTransferTotalsAggregator: ActiveTransferTotalsAggregator,
+    private val transferProgressStore: TransferProgressStore,
     private val appEventGateway: AppEventGateway,
     private val localStorageGateway: MegaLocalStorageGateway,
     private val workerManagerGateway: WorkManagerGateway,
@@ -137,15 +134,10 @@ internal class DefaultTransfersRepository @Inject constructor(
     private val monitorAskedResumeTransfers = MutableStateFlow(false)
 
     /**
-     * To store in progress transfers in memory instead of in database
+     * Active transfer totals by type, shared by all the collectors so each change is only aggregated once
      */
-    private val inProgressTransfersFlow = MutableStateFlow<Map<Int, InProgressTransfer>>(emptyMap())
-
-    /**
-     * to store current transferred bytes in memory instead of in database
-     */
-    private val transferredBytesFlows =
-        HashMap<TransferType, MutableStateFlow<Map<Int, Long>>>()
+    private val activeTransferTotalsFlows =
+        ConcurrentHashMap<TransferType, SharedFlow<ActiveTransferTotals>>()
 
     init {
         //pause transfers if db indicates it should be paused
@@ -345,14 +337,25 @@ internal class DefaultTransfersRepository @Inject constructor(
     override fun monitorTransferEvents(): Flow<TransferEvent> =
         merge(
             megaApiGateway.globalTransfer.map { event -> transferEventMapper(event) },
-            megaApiGateway.globalRequestEvents.mapNotNull { event ->
-                pausedTransferEventMapper(event) {
-                    getTransferByTag(event.request.transferTag)
-                }
+            monitorPausedTransferEvents(),
+        ).flowOn(ioDispatcher)
+
+    override fun getTransferEventMetrics() = megaApiGateway.getTransferEventMetrics()
+
+    override fun monitorTransferEventBatches(): Flow<List<TransferEvent>> =
+        merge(
+            megaApiGateway.globalTransferBatches.map { events ->
+                events.map { event -> transferEventMapper(event) }
             },
-        )
-            .buffer(capacity = Channel.UNLIMITED)
-            .flowOn(ioDispatcher)
+            monitorPausedTransferEvents().map { event -> listOf(event) },
+        ).flowOn(ioDispatcher)
+
+    private fun monitorPausedTransferEvents() =
+        megaApiGateway.globalRequestEvents.mapNotNull { event ->
+            pausedTransferEventMapper(event) {
+                getTransferByTag(event.request.transferTag)
+            }
+        }
 
     override suspend fun cancelTransferByTag(transferTag: Int) = withContext(ioDispatcher) {
         suspendCancellableCoroutine { continuation ->
@@ -572,69 +575,63 @@ internal class DefaultTransfersRepository @Inject constructor(
     override suspend fun insertOrUpdateActiveTransfer(activeTransfer: ActiveTransfer) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.insertOrUpdateActiveTransfer(activeTransfer)
+            activeTransferTotalsAggregator.insertOrUpdateActiveTransfers(listOf(activeTransfer))
         }
 
     override suspend fun insertOrUpdateActiveTransfers(activeTransfers: List<ActiveTransfer>) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.insertOrUpdateActiveTransfers(activeTransfers)
+            activeTransferTotalsAggregator.insertOrUpdateActiveTransfers(activeTransfers)
         }
 
     override suspend fun updateTransferredBytes(transfers: List<Transfer>) =
         withContext(ioDispatcher) {
             val grouped = transfers.groupBy { it.transferType }
             grouped.forEach { (transferType, transfersOfThisType) ->
-                val tagToBytes =
-                    transfersOfThisType.mapNotNull { if (it.transferredBytes == 0L) null else it.tag to it.transferredBytes }
-                transferredBytesFlow(transferType).update { map ->
-                    map + tagToBytes
-                }
+                val tagToBytes = transfersOfThisType
+                    .filter { it.transferredBytes != 0L }
+                    .associate { it.tag to it.transferredBytes }
+                activeTransferTotalsAggregator.updateTransferredBytes(transferType, tagToBytes)
             }
         }
 
     override suspend fun deleteAllActiveTransfersByType(transferType: TransferType) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.deleteAllActiveTransfersByType(transferType)
-            transferredBytesFlow(transferType).value = mapOf()
+            activeTransferTotalsAggregator.clearActiveTransfers(transferType)
         }
 
     override suspend fun deleteAllActiveTransfers() =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.deleteAllActiveTransfers()
             TransferType.entries.forEach {
-                transferredBytesFlow(it).value = mapOf()
+                activeTransferTotalsAggregator.clearActiveTransfers(it)
             }
         }
 
     override suspend fun setActiveTransferAsCancelledByTag(tags: List<Int>) =
         withContext(ioDispatcher) {
             megaLocalRoomGateway.setActiveTransferAsCancelledByTag(tags)
+            activeTransferTotalsAggregator.setActiveTransfersAsCancelled(tags)
         }
 
     override fun getActiveTransferTotalsByType(transferType: TransferType): Flow<ActiveTransferTotals> =
-        flow {
-            val transferredBytesFlow = transferredBytesFlow(transferType)
-            emitAll(
-                megaLocalRoomGateway.getActiveTransfersByType(transferType).flowOn(ioDispatcher)
-                    .combine(transferredBytesFlow) { activeTransfers, transferredBytes ->
-                        activeTransfers to transferredBytes
-                    }
-                    .scan(null as ActiveTransferTotals?) { previousTotals, (activeTransfers, transferredBytes) ->
-                        activeTransferTotalsMapper(
-                            type = transferType,
-                            list = activeTransfers,
-                            transferredBytes = transferredBytes,
-                            previousGroups = previousTotals?.groups
-                        )
-                    }.filterNotNull() //skip first null value
-            )
-        }.cancellable()
+        activeTransferTotalsFlows.getOrPut(transferType) {
+            //changes are applied to the aggregator as they are written, each one just needs a new snapshot
+            activeTransferTotalsAggregator.monitorTotalsVersion(transferType)
+                .map { activeTransferTotalsAggregator.getTotals(transferType) }
+                .flowOn(ioDispatcher).shareIn(
+                    scope = scope,
+                    started = SharingStarted.WhileSubscribed(replayExpirationMillis = 0),
+                    replay = 1,
+                )
+        }
 
     override suspend fun getCurrentActiveTransferTotalsByType(transferType: TransferType): ActiveTransferTotals =
         withContext(ioDispatcher) {
-            activeTransferTotalsMapper(
+            activeTransferTotalsAggregator.getTotals(
                 type = transferType,
-                list = megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType),
-                transferredBytes = transferredBytesFlow(transferType).value,
+                activeTransfers = megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType),
             )
         }
 
@@ -723,16 +720,6 @@ internal class DefaultTransfersRepository @Inject constructor(
             )
         }
 
-    private val transferredBytesFlowMutex = Mutex()
-    private suspend fun transferredBytesFlow(transferType: TransferType): MutableStateFlow<Map<Int, Long>> {
-        transferredBytesFlowMutex.withLock {
-            return transferredBytesFlows[transferType]
-                ?: MutableStateFlow<Map<Int, Long>>(mapOf()).also {
-                    transferredBytesFlows[transferType] = it
-                }
-        }
-    }
-
     companion object {
         internal const val TRANSFERS_SD_TEMPORARY_FOLDER = "transfersSdTempMEGA"
     }
@@ -753,40 +740,21 @@ internal class DefaultTransfersRepository @Inject constructor(
         }
 
     override suspend fun updateInProgressTransfer(transfer: Transfer) {
-        val inProgressTransfer = inProgressTransferMapper(transfer)
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it[transfer.tag] = inProgressTransfer
-            }
-        }
+        transferProgressStore.updateInProgressTransfers(listOf(inProgressTransferMapper(transfer)))
     }
 
     override suspend fun updateInProgressTransfers(transfers: List<Transfer>) {
-        val newInProgressTransfers =
-            transfers.map { inProgressTransferMapper(it) }.associateBy { it.tag }
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it.putAll(newInProgressTransfers)
-            }
-        }
+        transferProgressStore.updateInProgressTransfers(transfers.map { inProgressTransferMapper(it) })
     }
 
-    override fun monitorInProgressTransfers() = inProgressTransfersFlow
+    override fun monitorInProgressTransfers() = transferProgressStore.monitorInProgressTransfers()
 
     override suspend fun removeInProgressTransfer(tag: Int) {
-        if (!inProgressTransfersFlow.value.containsKey(tag)) return
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.toMutableMap().also {
-                it.remove(tag)
-            }
-        }
+        transferProgressStore.removeInProgressTransfers(listOf(tag))
     }
 
     override suspend fun removeInProgressTransfers(tags: Set<Int>) {
-        if (tags.isEmpty()) return
-        inProgressTransfersFlow.update { inProgressTransfers ->
-            inProgressTransfers.filterKeys { it !in tags }
-        }
+        transferProgressStore.removeInProgressTransfers(tags)
     }
 
     override fun monitorPendingTransfersByType(transferType: TransferType): Flow<List<PendingTransfer>> =
@@ -40,6 +40,7 @@ import mega.privacy.android.data.mapper.node.NodeMapper
 import mega.privacy.android.data.mapper.node.NodeShareKeyResultMapper
 import mega.privacy.android.data.mapper.node.label.NodeLabelIntMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
+import mega.privacy.android.data.mapper.search.MegaSearchPageMapper
 import mega.privacy.android.data.mapper.shares.AccessPermissionIntMapper
 import mega.privacy.android.data.mapper.shares.AccessPermissionMapper
 import mega.privacy.android.data.mapper.shares.ShareDataMapper
@@ -53,6 +54,7 @@ import mega.privacy.android.domain.entity.node.FileNode
 import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.Node
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.node.TypedFolderNode
 import mega.privacy.android.domain.entity.node.TypedNode
@@ -125,6 +127,7 @@ internal class NodeRepositoryImpl @Inject constructor(
     private val cancelTokenProvider: CancelTokenProvider,
     private val workManagerGateway: WorkManagerGateway,
     private val stringListMapper: StringListMapper,
+    private val megaSearchPageMapper: MegaSearchPageMapper,
 ) : NodeRepository {
 
     override suspend fun getNodeOutgoingShares(nodeId: NodeId) =
@@ -262,6 +265,7 @@ internal class NodeRepositoryImpl @Inject constructor(
     override suspend fun getNodeChildren(
         nodeId: NodeId,
         order: SortOrder?,
+        page: NodePage?,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
         val token = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
@@ -272,7 +276,8 @@ internal class NodeRepositoryImpl @Inject constructor(
             megaApiGateway.getChildren(
                 filter,
                 sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
-                token
+                token,
+                page?.let { megaSearchPageMapper(it.offset, it.size.toLong()) }
             )
         }
         mapMegaNodesToUnTypedNodes(childList.await(), offlineItems.await())
@@ -981,7 +986,7 @@ internal class NodeRepositoryImpl @Inject constructor(
         }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo().associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     private suspend fun getOfflineNode(handle: Long) =
         megaLocalRoomGateway.getOfflineInformation(handle)
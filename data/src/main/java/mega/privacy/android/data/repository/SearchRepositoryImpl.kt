@@ -12,9 +12,11 @@ import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.SortOrderIntMapper
 import mega.privacy.android.data.mapper.node.NodeMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
+import mega.privacy.android.data.mapper.search.MegaSearchPageMapper
 import mega.privacy.android.domain.entity.Offline
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.UnTypedNode
 import mega.privacy.android.domain.entity.search.SearchParameters
 import mega.privacy.android.domain.qualifier.IoDispatcher
@@ -22,6 +24,7 @@ import mega.privacy.android.domain.repository.SearchRepository
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.GetLinksSortOrder
 import nz.mega.sdk.MegaNode
+import nz.mega.sdk.MegaSearchFilter
 import javax.inject.Inject
 
 /**
@@ -39,31 +42,23 @@ internal class SearchRepositoryImpl @Inject constructor(
     private val getCloudSortOrder: GetCloudSortOrder,
     private val megaLocalRoomGateway: MegaLocalRoomGateway,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    private val megaSearchPageMapper: MegaSearchPageMapper,
 ) : SearchRepository {
     override suspend fun search(
         nodeId: NodeId?,
         order: SortOrder,
         parameters: SearchParameters,
+        page: NodePage?,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
         val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
-        val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
-        val queryFilter = megaSearchFilterMapper(
-            searchQuery = query,
-            parentHandle = nodeId ?: NodeId(-1L),
-            searchTarget = searchTarget,
-            searchCategory = searchCategory,
-            modificationDate = modificationDate,
-            creationDate = creationDate,
-            description = description,
-            tag = tag,
-            useAndForTextQuery = description == null && tag == null,
-        )
+        val queryFilter = getSearchFilter(nodeId, parameters)
         val offlineItems = async { getAllOfflineNodeHandle() }
         val searchList = async {
             megaApiGateway.searchWithFilter(
                 filter = queryFilter,
                 order = sortOrderIntMapper(order),
                 megaCancelToken = megaCancelToken,
+                megaSearchPage = page?.let { megaSearchPageMapper(it.offset, it.size.toLong()) },
             )
         }
         mapMegaNodesToUnTypedNodes(searchList.await(), offlineItems.await())
@@ -74,10 +69,40 @@ internal class SearchRepositoryImpl @Inject constructor(
         nodeId: NodeId?,
         order: SortOrder,
         parameters: SearchParameters,
+        page: NodePage?,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
         val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
+        val filter = getChildrenFilter(nodeId, parameters)
+        val offlineItems = async { getAllOfflineNodeHandle() }
+        val searchList = async {
+            megaApiGateway.getChildren(
+                filter = filter,
+                order = sortOrderIntMapper(order),
+                megaCancelToken = megaCancelToken,
+                megaSearchPage = page?.let { megaSearchPageMapper(it.offset, it.size.toLong()) },
+            )
+        }
+        mapMegaNodesToUnTypedNodes(searchList.await(), offlineItems.await())
+    }
+
+    private fun getSearchFilter(nodeId: NodeId?, parameters: SearchParameters): MegaSearchFilter {
         val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
-        val filter = megaSearchFilterMapper(
+        return megaSearchFilterMapper(
+            searchQuery = query,
+            parentHandle = nodeId ?: NodeId(-1L),
+            searchTarget = searchTarget,
+            searchCategory = searchCategory,
+            modificationDate = modificationDate,
+            creationDate = creationDate,
+            description = description,
+            tag = tag,
+            useAndForTextQuery = description == null && tag == null,
+        )
+    }
+
+    private fun getChildrenFilter(nodeId: NodeId?, parameters: SearchParameters): MegaSearchFilter {
+        val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = parameters
+        return megaSearchFilterMapper(
             searchQuery = query,
             parentHandle = nodeId ?: NodeId(-1),
             searchTarget = searchTarget,
@@ -87,19 +112,10 @@ internal class SearchRepositoryImpl @Inject constructor(
             description = description,
             tag = tag,
         )
-        val offlineItems = async { getAllOfflineNodeHandle() }
-        val searchList = async {
-            megaApiGateway.getChildren(
-                filter = filter,
-                order = sortOrderIntMapper(order),
-                megaCancelToken = megaCancelToken,
-            )
-        }
-        mapMegaNodesToUnTypedNodes(searchList.await(), offlineItems.await())
     }
 
     private suspend fun getAllOfflineNodeHandle() =
-        megaLocalRoomGateway.getAllOfflineInfo().associateBy { it.handle }
+        megaLocalRoomGateway.getAllOfflineInfoByHandle()
 
     private suspend fun mapMegaNodesToUnTypedNodes(
         childList: List<MegaNode>,
@@ -33,6 +33,7 @@ import java.time.Instant
 import java.time.ZoneId
 import java.time.ZoneOffset
 import java.time.format.DateTimeFormatter
+import java.util.concurrent.atomic.AtomicInteger
 import javax.inject.Inject
 
 /**
@@ -91,7 +92,7 @@ internal class TimberLoggingRepository @Inject constructor(
         MegaApiAndroid.addLoggerObject(megaSdkLogger)
     }
 
-    override fun getSdkLoggingFlow(): Flow<LogEntry> = sdkLogFlowTree
+    override fun getSdkLoggingFlow(): Flow<List<LogEntry>> = sdkLogFlowTree
         .logFlow
         .onSubscription {
             withContext(ioDispatcher) {
@@ -102,7 +103,7 @@ internal class TimberLoggingRepository @Inject constructor(
             MegaApiAndroid.setLogLevel(MegaApiAndroid.LOG_LEVEL_FATAL)
         }
 
-    override fun getChatLoggingFlow(): Flow<LogEntry> =
+    override fun getChatLoggingFlow(): Flow<List<LogEntry>> =
         chatLogFlowTree
             .logFlow
             .onSubscription {
@@ -111,22 +112,29 @@ internal class TimberLoggingRepository @Inject constructor(
                 }
             }
 
-    override suspend fun logToSdkFile(logMessage: LogEntry) =
-        withContext(ioDispatcher) { sdkLogger.writeLogEntry(logMessage) }
+    override suspend fun logToSdkFile(logMessages: List<LogEntry>) =
+        withContext(ioDispatcher) { sdkLogger.writeLogEntries(logMessages) }
 
-    override suspend fun logToChatFile(logMessage: LogEntry) =
-        withContext(ioDispatcher) { chatLogger.writeLogEntry(logMessage) }
+    override suspend fun logToChatFile(logMessages: List<LogEntry>) =
+        withContext(ioDispatcher) { chatLogger.writeLogEntries(logMessages) }
 
     override suspend fun compressLogs(): File = withContext(ioDispatcher) {
         Timber.d("LoggingRepository: compressLogs called")
         val loggingDirectoryPath = logFileDirectory.get().absolutePath
         val sourceFolder = File(loggingDirectoryPath).takeIf { it.exists() }
             ?: throw IllegalStateException("Logging directory not found")
+        val reportedStep = AtomicInteger(-1)
         createEmptyFile().apply {
-            fileCompressionGateway.zipFolder(
-                sourceFolder,
-                this
-            )
+            fileCompressionGateway.zipLogFolder(
+                sourceFolder = sourceFolder,
+                zipFile = this,
+                maxSizeInBytes = LOG_ARCHIVE_MAX_SIZE,
+            ) { progress ->
+                val step = progress.intValue / PROGRESS_LOG_STEP
+                if (reportedStep.getAndSet(step) != step) {
+                    Timber.d("LoggingRepository: compressLogs ${progress.intValue}%")
+                }
+            }
         }
     }
 
@@ -143,4 +151,13 @@ internal class TimberLoggingRepository @Inject constructor(
         DateTimeFormatter.ofPattern("dd_MM_yyyy__HH_mm_ss")
             .withZone(ZoneId.from(ZoneOffset.UTC))
             .format(Instant.now())
-}
\ No newline at end of file
+
+    companion object {
+        /**
+         * Maximum uncompressed size of the logs added to a log archive, the newest logs are kept
+         */
+        private const val LOG_ARCHIVE_MAX_SIZE = 200L * 1024 * 1024
+
+        private const val PROGRESS_LOG_STEP = 25
+    }
+}
@@ -1,16 +1,26 @@
 package mega.privacy.android.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.mapper.zipbrowser.ZipTreeNodeMapper
+import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.ZipBrowserRepository
 import timber.log.Timber
-import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.FileOutputStream
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.ZipEntry
 import java.util.zip.ZipFile
 import javax.inject.Inject
 
@@ -24,130 +34,69 @@ class ZipBrowserRepositoryImpl @Inject constructor(
 
     override suspend fun getZipNodeTree(zipFile: ZipFile?): Map<String, ZipTreeNode> =
         withContext(ioDispatcher) {
-            val zipNodeTree = mutableMapOf<String, ZipTreeNode>()
-            zipFile?.entries()?.toList()?.forEach { zipEntry ->
-                zipEntry.name.let { name ->
-                    val nodeDepth = name.getZipTreeNodeDepth()
-                    for (i in 1..nodeDepth) {
-                        //Get every sub path of current zip entry. For example, the path zip entry
-                        // path is 1/2/3.txt, the sub paths respectively are 1 1/2 1/2/3.txt
-                        val subPath = name.getSubPathByDepth(i)
-                        //Get name of current sub path
-                        val subName = subPath.getZipTreeNodeName()
-                        //Get parent path of current sub path. For example, if current sub path is 1/2/
-                        //its parent path is 1/
-                        val subParentPath = if (i == 1) {
-                            null
-                        } else {
-                            name.getSubPathByDepth(i - 1)
-                        }
-                        //Get current zip tree node using sub path
-                        var zipTreeNode = zipNodeTree[subPath]
-
-                        // If node doesn't exist, create one, otherwise ignore it
-                        if (zipTreeNode == null) {
-                            zipTreeNode = zipTreeNodeMapper(
-                                zipEntry = zipEntry,
-                                name = subName,
-                                path = subPath,
-                                parentPath = subParentPath,
-                                zipEntryType = if (i == nodeDepth) {
-                                    when {
-                                        zipEntry.isDirectory -> ZipEntryType.Folder
-                                        name.endsWith(SUFFIX_ZIP) -> ZipEntryType.Zip
-                                        else -> ZipEntryType.File
-                                    }
-                                } else {
-                                    ZipEntryType.Folder
-                                }
-                            )
-
-                            zipNodeTree[subPath] = zipTreeNode
-
-                            // If parent path is not empty add current path to map
-                            // Empty path represents root directory
-                            if (!subParentPath.isNullOrEmpty()) {
-                                zipNodeTree[subParentPath]?.let { parentNode ->
-                                    val updatedChildren =
-                                        parentNode.children.toMutableList().apply {
-                                            add(zipTreeNode)
-                                        }
-                                    val updatedParentNode =
-                                        parentNode.copy(children = updatedChildren)
-                                    zipNodeTree[subParentPath] = updatedParentNode
-                                }
+            val zipNodeTree = LinkedHashMap<String, ZipTreeNode>()
+            val childPaths = HashMap<String, MutableList<String>>()
+            zipFile?.entries()?.asSequence()?.forEach { zipEntry ->
+                val name = zipEntry.name
+                val entryPath = name.removeSuffix(File.separator)
+                //Walk every sub path of current zip entry only once. For example, if the zip entry
+                // path is 1/2/3.txt, the sub paths respectively are 1 1/2 1/2/3.txt
+                var parentPath: String? = null
+                var start = 0
+                while (start <= entryPath.length) {
+                    val end = entryPath.indexOf(File.separator, start)
+                        .takeIf { it >= 0 } ?: entryPath.length
+                    val subPath = entryPath.substring(0, end)
+                    // If node doesn't exist, create one, otherwise ignore it
+                    if (subPath !in zipNodeTree) {
+                        val isEntry = end == entryPath.length
+                        zipNodeTree[subPath] = zipTreeNodeMapper(
+                            zipEntry = zipEntry,
+                            name = entryPath.substring(start, end),
+                            path = subPath,
+                            parentPath = parentPath,
+                            zipEntryType = when {
+                                !isEntry || zipEntry.isDirectory -> ZipEntryType.Folder
+                                name.endsWith(SUFFIX_ZIP) -> ZipEntryType.Zip
+                                else -> ZipEntryType.File
                             }
+                        )
+                        // Empty path represents root directory
+                        if (!parentPath.isNullOrEmpty()) {
+                            childPaths.getOrPut(parentPath) { mutableListOf() }.add(subPath)
                         }
                     }
+                    parentPath = subPath
+                    start = end + File.separator.length
+                }
+            }
+            // Children are resolved from the tree when a folder is listed, so listings of folders
+            // never opened are not built
+            childPaths.forEach { (path, children) ->
+                zipNodeTree[path]?.let { parentNode ->
+                    zipNodeTree[path] =
+                        parentNode.copy(children = ZipTreeNodeChildren(children, zipNodeTree))
                 }
             }
             zipNodeTree
         }
 
     /**
-     * Get zip tree node name for init zip tree map
-     * @return zip tree name
-     */
-    private fun String.getZipTreeNodeName() =
-        removeSuffix(File.separator).split(File.separator).last()
-
-    /**
-     * Get sub path for init zip tree map
-     * @param depth depth of sub path
-     * @return sub path
+     * Children of a zip tree node, resolved by path from the complete zip tree on access
      */
-    private fun String.getSubPathByDepth(depth: Int) =
-        removeSuffix(File.separator).split(File.separator).take(depth).joinToString(File.separator)
+    private class ZipTreeNodeChildren(
+        private val paths: List<String>,
+        private val zipNodeTree: Map<String, ZipTreeNode>,
+    ) : AbstractList<ZipTreeNode>() {
+        override val size: Int get() = paths.size
 
-    /**
-     * Get current zip tree node depth for init zip tree map
-     * @return zip tree node depth
-     */
-    private fun String.getZipTreeNodeDepth() =
-        removeSuffix(File.separator).split(File.separator).size
+        override fun get(index: Int) = zipNodeTree.getValue(paths[index])
+    }
 
     override suspend fun unzipFile(zipFile: ZipFile, unzipRootPath: String): Boolean =
         withContext(ioDispatcher) {
             runCatching {
-                val zipEntries = zipFile.entries()
-                zipEntries.toList().forEach { zipEntry ->
-                    val zipDestination = File(unzipRootPath + zipEntry.name)
-                    val canonicalPath = zipDestination.canonicalPath
-                    if (canonicalPath.startsWith(unzipRootPath)) {
-                        if (zipEntry.isDirectory) {
-                            if (!zipDestination.exists()) {
-                                zipDestination.mkdirs()
-                            }
-                        } else {
-                            val inputStream = zipFile.getInputStream(zipEntry)
-                            //Get the parent file. If it is null or
-                            // doesn't exist, created the parent folder.
-                            val parentFile = zipDestination.parentFile
-                            if (parentFile != null) {
-                                if (!parentFile.exists()) {
-                                    parentFile.mkdirs()
-                                }
-                                val byteArrayOutputStream = ByteArrayOutputStream()
-                                val buffer = ByteArray(1024)
-                                var count: Int
-                                FileOutputStream(zipDestination).use { outputStream ->
-                                    //Write the file.
-                                    while (inputStream.read(buffer)
-                                            .also { readCount -> count = readCount } != -1
-                                    ) {
-                                        byteArrayOutputStream.write(buffer, 0, count)
-                                        val bytes = byteArrayOutputStream.toByteArray()
-                                        outputStream.write(bytes)
-                                        byteArrayOutputStream.reset()
-                                    }
-                                }
-                                inputStream.close()
-                            }
-                        }
-                    } else {
-                        throw SecurityException()
-                    }
-                }
+                extract(zipFile, unzipRootPath) {}
                 true
             }.recover { e ->
                 Timber.e(e)
@@ -155,7 +104,71 @@ class ZipBrowserRepositoryImpl @Inject constructor(
             }.getOrNull() ?: false
         }
 
+    override fun monitorUnzipFile(zipFile: ZipFile, unzipRootPath: String): Flow<Progress> =
+        channelFlow {
+            extract(zipFile, unzipRootPath) { trySend(it) }
+        }.conflate().flowOn(ioDispatcher)
+
+    /**
+     * Extract all the entries of a zip file
+     *
+     * Every entry is validated and all the folders are created before extracting any file. Files
+     * are then extracted by [PARALLEL_EXTRACTIONS] workers, each one reusing its own buffer.
+     */
+    private suspend fun extract(
+        zipFile: ZipFile,
+        unzipRootPath: String,
+        onProgress: (Progress) -> Unit,
+    ) = coroutineScope {
+        val folders = LinkedHashSet<File>()
+        val files = mutableListOf<Pair<ZipEntry, File>>()
+        zipFile.entries().asSequence().forEach { zipEntry ->
+            val zipDestination = File(unzipRootPath + zipEntry.name)
+            if (!zipDestination.canonicalPath.startsWith(unzipRootPath)) {
+                throw SecurityException()
+            }
+            if (zipEntry.isDirectory) {
+                folders.add(zipDestination)
+            } else {
+                //Files without a parent folder can't be written
+                zipDestination.parentFile?.let { parentFile ->
+                    folders.add(parentFile)
+                    files.add(zipEntry to zipDestination)
+                }
+            }
+        }
+        folders.forEach { if (!it.exists()) it.mkdirs() }
+
+        val totalBytes = files.sumOf { (zipEntry, _) -> zipEntry.size.coerceAtLeast(0) }
+        val extractedBytes = AtomicLong()
+        val nextFile = AtomicInteger()
+        repeat(PARALLEL_EXTRACTIONS.coerceAtMost(files.size)) {
+            launch {
+                val buffer = ByteArray(BUFFER_SIZE)
+                while (true) {
+                    val (zipEntry, zipDestination) =
+                        files.getOrNull(nextFile.getAndIncrement()) ?: break
+                    ensureActive()
+                    zipFile.getInputStream(zipEntry).use { inputStream ->
+                        FileOutputStream(zipDestination).use { outputStream ->
+                            while (true) {
+                                val count = inputStream.read(buffer)
+                                if (count == -1) break
+                                outputStream.write(buffer, 0, count)
+                                onProgress(
+                                    Progress(extractedBytes.addAndGet(count.toLong()), totalBytes)
+                                )
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     companion object {
         private const val SUFFIX_ZIP = ".zip"
+        private const val BUFFER_SIZE = 64 * 1024
+        private const val PARALLEL_EXTRACTIONS = 4
     }
 }
\ No newline at end of file
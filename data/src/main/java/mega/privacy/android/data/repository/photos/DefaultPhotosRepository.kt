@@ -1,5 +1,9 @@
 package mega.privacy.android.data.repository.photos
 
+import kotlinx.collections.immutable.PersistentList
+import kotlinx.collections.immutable.PersistentMap
+import kotlinx.collections.immutable.persistentHashMapOf
+import kotlinx.collections.immutable.persistentListOf
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
@@ -18,6 +22,7 @@ import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.constant.CacheFolderConstant
+import mega.privacy.android.data.constant.FileConstant.JPG_EXTENSION
 import mega.privacy.android.data.extensions.decodeBase64
 import mega.privacy.android.data.extensions.failWithError
 import mega.privacy.android.data.extensions.failWithException
@@ -28,6 +33,7 @@ import mega.privacy.android.data.extensions.getValueFor
 import mega.privacy.android.data.extensions.toException
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.FileGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -46,6 +52,7 @@ import mega.privacy.android.data.mapper.photos.MegaStringMapSensitivesMapper
 import mega.privacy.android.data.mapper.photos.MegaStringMapSensitivesRetriever
 import mega.privacy.android.data.mapper.photos.TimelineFilterPreferencesJSONMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
+import mega.privacy.android.data.model.PhotoTimelineIndexItem
 import mega.privacy.android.data.repository.CancelTokenProvider
 import mega.privacy.android.data.wrapper.DateUtilWrapper
 import mega.privacy.android.domain.entity.ImageFileTypeInfo
@@ -113,6 +120,7 @@ internal class DefaultPhotosRepository @Inject constructor(
     private val cancelTokenProvider: CancelTokenProvider,
     private val monitorFetchNodesFinishUseCase: MonitorFetchNodesFinishUseCase,
     private val uiPreferencesGateway: UIPreferencesGateway,
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
 ) : PhotosRepository {
     @Volatile
     private var isInitialized: Boolean = false
@@ -121,11 +129,29 @@ internal class DefaultPhotosRepository @Inject constructor(
 
     private var previewFolderPath: String? = null
 
-    private val photosFlow: MutableStateFlow<List<Photo>?> = MutableStateFlow(null)
+    /**
+     * Timeline emitted to the collectors. It is a persistent list, so applying a change doesn't copy
+     * the whole timeline and the emitted lists are never modified
+     */
+    private val photosFlow: MutableStateFlow<PersistentList<Photo>?> = MutableStateFlow(null)
 
     private val imageNodesFlow: MutableStateFlow<List<ImageNode>?> = MutableStateFlow(null)
 
-    private val photosCache: MutableMap<NodeId, Photo> = mutableMapOf()
+    /**
+     * Photos of the timeline by node, replaced on [photosDispatcher] and read from any thread
+     */
+    @Volatile
+    private var photosCache: PersistentMap<NodeId, Photo> = persistentHashMapOf()
+
+    /**
+     * Position of each photo in [photosFlow], guarded by [photosDispatcher]
+     */
+    private val photoPositions: MutableMap<NodeId, Int> = mutableMapOf()
+
+    /**
+     * Mirror of the persisted Photos timeline index, guarded by [photosDispatcher]
+     */
+    private val photoIndexCache: MutableMap<NodeId, PhotoTimelineIndexItem> = mutableMapOf()
 
     private val imageNodesCache: MutableMap<NodeId, ImageNode> = mutableMapOf()
 
@@ -187,6 +213,8 @@ internal class DefaultPhotosRepository @Inject constructor(
     private fun populateNodes() {
         populateNodesJob?.cancel()
         populateNodesJob = appScope.launch {
+            loadPhotoIndex()
+
             val (imageNodes, videoNodes) = fetchNodes()
 
             updatePhotos(imageNodes, videoNodes)
@@ -234,24 +262,138 @@ internal class DefaultPhotosRepository @Inject constructor(
                 && node.hasThumbnail()
     }
 
+    /**
+     * Emit the timeline from the persisted index so that it is available before the SDK search completes
+     */
+    private suspend fun loadPhotoIndex() {
+        val items = runCatching { megaLocalRoomGateway.getAllPhotoTimelineIndexItems() }
+            .onFailure { Timber.e(it, "Failed to load the Photos timeline index") }
+            .getOrNull()
+            .orEmpty()
+        if (items.isEmpty()) return
+
+        val photos = items.mapNotNull { mapPhotoIndexItemToPhoto(it) }
+        withContext(photosDispatcher) {
+            if (photoIndexCache.isNotEmpty()) return@withContext
+
+            photoIndexCache.putAll(items.associateBy { NodeId(it.handle) })
+            applyPhotoChanges(photos.associateBy { NodeId(it.id) })
+        }
+    }
+
+    /**
+     * Reconcile the timeline index with the search results. Only the nodes that are not indexed yet
+     * or were modified since they were indexed are mapped again, the other changes of the indexed
+     * nodes are applied from the node updates
+     */
     private fun updatePhotos(
         imageNodes: List<MegaNode>,
         videoNodes: List<MegaNode>,
     ) = appScope.launch {
-        val photos = awaitAll(
-            async { imageNodes.map { mapMegaNodeToImage(it) } },
-            async { videoNodes.map { mapMegaNodeToVideo(it) } },
-        ).flatten()
+        val nodes = imageNodes.map { it to false } + videoNodes.map { it to true }
+        val (foundIds, changedNodes) = withContext(photosDispatcher) {
+            val foundIds = HashSet<NodeId>(nodes.size)
+            val changedNodes = nodes.filter { (node, isVideo) ->
+                val nodeId = NodeId(node.handle)
+                foundIds.add(nodeId)
+                val indexedItem = photoIndexCache[nodeId]
+                indexedItem == null || indexedItem.isVideo != isVideo
+                        || indexedItem.modificationTime != node.modificationTime
+            }
+            foundIds to changedNodes
+        }
+        val items = changedNodes.map { (node, isVideo) -> mapMegaNodeToPhotoIndexItem(node, isVideo) }
 
         withContext(photosDispatcher) {
-            photosCache.clear()
-            photosCache.putAll(photos.associateBy { NodeId(it.id) })
+            val removedIds = photoIndexCache.keys - foundIds
+            val changes: Map<NodeId, PhotoTimelineIndexItem?> =
+                items.associateBy { NodeId(it.handle) }
+                    .filter { (nodeId, item) -> photoIndexCache[nodeId] != item } +
+                        removedIds.associateWith { null }
+
+            updatePhotoIndex(changes)
+        }
+    }
+
+    /**
+     * Apply the changes to the in-memory and the persisted timeline index and emit the new timeline
+     * if anything changed. Must be called from [photosDispatcher]
+     *
+     * @param changes the new index entry for each changed node, null if the node was removed
+     */
+    private suspend fun updatePhotoIndex(changes: Map<NodeId, PhotoTimelineIndexItem?>) {
+        val upsertedItems = mutableListOf<PhotoTimelineIndexItem>()
+        val removedHandles = mutableListOf<Long>()
+        val photoChanges = mutableMapOf<NodeId, Photo?>()
+
+        for ((nodeId, item) in changes) {
+            val photo = item?.let { mapPhotoIndexItemToPhoto(it) }
+            if (item == null || photo == null) {
+                if (nodeId in photosCache) photoChanges[nodeId] = null
+                if (photoIndexCache.remove(nodeId) != null) removedHandles.add(nodeId.longValue)
+            } else if (photoIndexCache[nodeId] != item || nodeId !in photosCache) {
+                photoIndexCache[nodeId] = item
+                photoChanges[nodeId] = photo
+                upsertedItems.add(item)
+            }
+        }
+
+        if (photoChanges.isNotEmpty() || photosFlow.value == null) applyPhotoChanges(photoChanges)
+        if (upsertedItems.isNotEmpty() || removedHandles.isNotEmpty()) {
+            persistPhotoIndexChanges(upsertedItems, removedHandles)
+        }
+    }
 
-            val newPhotos = photosCache.values.toList()
-            photosFlow.update { newPhotos }
+    /**
+     * Apply the changed photos to the timeline and emit it. Only the changed positions of the
+     * persistent list are copied. A removed photo is replaced by the last one, as the collectors
+     * sort the timeline. Must be called from [photosDispatcher]
+     *
+     * @param changes the new photo of each changed node, null if the node was removed
+     */
+    private fun applyPhotoChanges(changes: Map<NodeId, Photo?>) {
+        val photos = (photosFlow.value ?: persistentListOf()).builder()
+        val cache = photosCache.builder()
+        for ((nodeId, photo) in changes) {
+            val position = photoPositions[nodeId]
+            when {
+                photo != null && position != null -> photos[position] = photo
+                photo != null -> {
+                    photoPositions[nodeId] = photos.size
+                    photos.add(photo)
+                }
+
+                position != null -> {
+                    val last = photos.removeAt(photos.lastIndex)
+                    if (position < photos.size) {
+                        photos[position] = last
+                        photoPositions[NodeId(last.id)] = position
+                    }
+                    photoPositions.remove(nodeId)
+                }
+            }
+            if (photo != null) cache[nodeId] = photo else cache.remove(nodeId)
         }
+        photosCache = cache.build()
+        photosFlow.value = photos.build()
     }
 
+    private suspend fun persistPhotoIndexChanges(
+        upsertedItems: List<PhotoTimelineIndexItem>,
+        removedHandles: List<Long>,
+    ) = runCatching {
+        if (photoIndexCache.size == upsertedItems.size) {
+            megaLocalRoomGateway.replacePhotoTimelineIndexItems(upsertedItems)
+        } else {
+            if (removedHandles.isNotEmpty()) {
+                megaLocalRoomGateway.deletePhotoTimelineIndexItems(removedHandles)
+            }
+            if (upsertedItems.isNotEmpty()) {
+                megaLocalRoomGateway.insertOrUpdatePhotoTimelineIndexItems(upsertedItems)
+            }
+        }
+    }.onFailure { Timber.e(it, "Failed to update the Photos timeline index") }
+
     private fun updateImageNodes(
         imageNodes: List<MegaNode>,
         videoNodes: List<MegaNode>,
@@ -282,21 +424,21 @@ internal class DefaultPhotosRepository @Inject constructor(
     }
 
     private suspend fun handleNodeUpdate(nodeUpdate: NodeUpdate) {
+        val photoIndexChanges = mutableMapOf<NodeId, PhotoTimelineIndexItem?>()
         for ((node, changes) in nodeUpdate.changes) {
             if (node is FolderNode && changes.contains(NodeChanges.Sensitive)) {
-                refreshSensitivePhotos()
+                photoIndexChanges.putAll(getSensitivePhotoIndexChanges())
                 refreshSensitiveImageNodes()
             } else {
                 val isPotentialNode = constraints.all { it(node) }
 
-                refreshPhotos(node, isPotentialNode)
+                photoIndexChanges[node.id] = getPhotoIndexChange(node, isPotentialNode)
                 refreshImageNodes(node, isPotentialNode)
             }
         }
 
         withContext(photosDispatcher) {
-            val newPhotos = photosCache.values.toList()
-            photosFlow.update { newPhotos }
+            updatePhotoIndex(photoIndexChanges)
         }
 
         withContext(imageNodesDispatcher) {
@@ -305,49 +447,27 @@ internal class DefaultPhotosRepository @Inject constructor(
         }
     }
 
-    private suspend fun refreshPhotos(
+    private suspend fun getPhotoIndexChange(
         node: Node,
         isPotentialNode: Boolean,
-    ) = withContext(photosDispatcher) {
-        if (!isPotentialNode) {
-            photosCache.remove(node.id)
-            return@withContext
-        }
+    ): PhotoTimelineIndexItem? = if (isPotentialNode) fetchPhotoIndexItem(node.id) else null
 
-        val photo = getMegaNode(nodeId = node.id)?.let { megaNode ->
+    private suspend fun getSensitivePhotoIndexChanges(): Map<NodeId, PhotoTimelineIndexItem?> {
+        val nodeIds = withContext(photosDispatcher) { photoIndexCache.keys.toList() }
+        return nodeIds.associateWith { fetchPhotoIndexItem(it) }
+    }
+
+    private suspend fun fetchPhotoIndexItem(nodeId: NodeId): PhotoTimelineIndexItem? =
+        getMegaNode(nodeId)?.let { megaNode ->
             if (isImageNodeValid(megaNode)) {
-                mapMegaNodeToImage(megaNode)
+                mapMegaNodeToPhotoIndexItem(megaNode, isVideo = false)
             } else if (isVideoNodeValid(megaNode)) {
-                mapMegaNodeToVideo(megaNode)
+                mapMegaNodeToPhotoIndexItem(megaNode, isVideo = true)
             } else {
                 null
             }
         }
 
-        if (photo == null) {
-            photosCache.remove(node.id)
-        } else {
-            photosCache[NodeId(photo.id)] = photo
-        }
-    }
-
-    private suspend fun refreshSensitivePhotos() = withContext(photosDispatcher) {
-        val photos = photosCache.mapNotNull { (nodeId, _) ->
-            getMegaNode(nodeId)?.let { megaNode ->
-                if (isImageNodeValid(megaNode)) {
-                    mapMegaNodeToImage(megaNode)
-                } else if (isVideoNodeValid(megaNode)) {
-                    mapMegaNodeToVideo(megaNode)
-                } else {
-                    null
-                }
-            }
-        }
-
-        photosCache.clear()
-        photosCache.putAll(photos.associateBy { NodeId(it.id) })
-    }
-
     private suspend fun refreshImageNodes(
         node: Node,
         isPotentialNode: Boolean,
@@ -637,23 +757,84 @@ internal class DefaultPhotosRepository @Inject constructor(
             megaApiFacade.isSensitiveInherited(megaNode),
         )
 
-    private suspend fun getThumbnailCacheFilePath(megaNode: MegaNode): String? {
+    /**
+     * Convert the MegaNode to a Photos timeline index entry, reading every attribute only once
+     * @param megaNode MegaNode
+     * @param isVideo true if the node is a video, false if it is an image
+     * @return PhotoTimelineIndexItem
+     */
+    private suspend fun mapMegaNodeToPhotoIndexItem(megaNode: MegaNode, isVideo: Boolean) =
+        PhotoTimelineIndexItem(
+            handle = megaNode.handle,
+            base64Handle = megaNode.base64Handle,
+            parentHandle = megaNode.parentHandle,
+            name = megaNode.name,
+            duration = megaNode.duration,
+            isVideo = isVideo,
+            isFavourite = megaNode.isFavourite,
+            creationTime = megaNode.creationTime,
+            modificationTime = megaNode.modificationTime,
+            size = megaNode.size,
+            isTakenDown = megaNode.isTakenDown,
+            isSensitive = megaNode.isMarkedSensitive,
+            isSensitiveInherited = megaApiFacade.isSensitiveInherited(megaNode),
+            hasThumbnail = megaNode.hasThumbnail(),
+        )
+
+    /**
+     * Convert a Photos timeline index entry to Photo without querying the SDK
+     * @param item PhotoTimelineIndexItem
+     * @return Photo / Image or Video, null if the entry no longer matches its file type
+     */
+    private suspend fun mapPhotoIndexItemToPhoto(item: PhotoTimelineIndexItem): Photo? {
+        val fileTypeInfo = fileTypeInfoMapper(item.name, item.duration)
+        val mapper = when {
+            item.isVideo && fileTypeInfo is VideoFileTypeInfo -> videoMapper
+            !item.isVideo && fileTypeInfo is ImageFileTypeInfo -> imageMapper
+            else -> return null
+        }
+        val cacheFileName = "${item.base64Handle}$JPG_EXTENSION"
+        return mapper(
+            item.handle,
+            null,
+            item.parentHandle,
+            item.name,
+            item.isFavourite,
+            dateUtilFacade.fromEpoch(item.creationTime),
+            dateUtilFacade.fromEpoch(item.modificationTime),
+            getThumbnailCacheFilePath(cacheFileName),
+            getPreviewCacheFilePath(cacheFileName),
+            fileTypeInfo,
+            item.size,
+            item.isTakenDown,
+            item.isSensitive,
+            item.isSensitiveInherited,
+        )
+    }
+
+    private suspend fun getThumbnailCacheFilePath(megaNode: MegaNode): String? =
+        getThumbnailCacheFilePath(megaNode.getThumbnailFileName())
+
+    private suspend fun getThumbnailCacheFilePath(fileName: String): String? {
         if (thumbnailFolderPath == null) {
             thumbnailFolderPath =
                 cacheGateway.getOrCreateCacheFolder(CacheFolderConstant.THUMBNAIL_FOLDER)?.path
         }
         return thumbnailFolderPath?.let {
-            "$it${File.separator}${megaNode.getThumbnailFileName()}"
+            "$it${File.separator}$fileName"
         }
     }
 
-    private suspend fun getPreviewCacheFilePath(megaNode: MegaNode): String? {
+    private suspend fun getPreviewCacheFilePath(megaNode: MegaNode): String? =
+        getPreviewCacheFilePath(megaNode.getPreviewFileName())
+
+    private suspend fun getPreviewCacheFilePath(fileName: String): String? {
         if (previewFolderPath == null) {
             previewFolderPath =
                 cacheGateway.getOrCreateCacheFolder(CacheFolderConstant.PREVIEW_FOLDER)?.path
         }
         return previewFolderPath?.let {
-            "$it${File.separator}${megaNode.getPreviewFileName()}"
+            "$it${File.separator}$fileName"
         }
     }
 
@@ -1026,7 +1207,9 @@ internal class DefaultPhotosRepository @Inject constructor(
         monitorNodeUpdatesJob = null
 
         offlineNodesCache = mapOf()
-        photosCache.clear()
+        photosCache = persistentHashMapOf()
+        photoPositions.clear()
+        photoIndexCache.clear()
         imageNodesCache.clear()
         imageResultCache.clear()
 
@@ -1034,5 +1217,9 @@ internal class DefaultPhotosRepository @Inject constructor(
         imageNodesFlow.value = null
 
         appScope.launch { uiPreferencesGateway.setPhotosRecentQueries(listOf()) }
+        appScope.launch {
+            runCatching { megaLocalRoomGateway.deleteAllPhotoTimelineIndexItems() }
+                .onFailure { Timber.e(it, "Failed to clear the Photos timeline index") }
+        }
     }
 }
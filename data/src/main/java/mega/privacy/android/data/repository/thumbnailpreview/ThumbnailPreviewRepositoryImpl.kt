@@ -1,8 +1,12 @@
 package mega.privacy.android.data.repository.thumbnailpreview
 
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.ThumbnailPreviewDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.constant.FileConstant
 import mega.privacy.android.data.extensions.getPreviewFileName
@@ -11,14 +15,14 @@ import mega.privacy.android.data.extensions.getThumbnailFileName
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
-import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
 import mega.privacy.android.data.mapper.node.MegaNodeMapper
 import mega.privacy.android.data.wrapper.StringWrapper
 import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.thumbnailpreview.ThumbnailPreviewRepository
-import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaNode
+import nz.mega.sdk.MegaRequestListenerInterface
 import timber.log.Timber
 import java.io.File
 import javax.inject.Inject
@@ -30,22 +34,28 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
     private val cacheGateway: CacheGateway,
     private val stringWrapper: StringWrapper,
     private val megaNodeMapper: MegaNodeMapper,
+    private val thumbnailPreviewDiskCache: ThumbnailPreviewDiskCache,
+    @ApplicationScope private val applicationScope: CoroutineScope,
 ) : ThumbnailPreviewRepository {
 
     override suspend fun getThumbnailFromLocal(handle: Long): File? =
         withContext(ioDispatcher) {
-            cacheGateway.getCacheFile(
+            thumbnailPreviewDiskCache.get(
                 CacheFolderConstant.THUMBNAIL_FOLDER,
-                getThumbnailOrPreviewFileName(handle)
-            )?.takeIf { it.exists() }
+                cacheGateway.getCacheFile(
+                    CacheFolderConstant.THUMBNAIL_FOLDER,
+                    getThumbnailOrPreviewFileName(handle)
+                )
+            )
         }
 
     override suspend fun getPublicNodeThumbnailFromLocal(handle: Long): File? =
         withContext(ioDispatcher) {
-            megaApiFolder.getMegaNodeByHandle(handle)?.run {
-                getThumbnailFile(this).takeIf {
-                    it?.exists() ?: false
-                }
+            megaApiFolder.getMegaNodeByHandle(handle)?.let {
+                thumbnailPreviewDiskCache.get(
+                    CacheFolderConstant.THUMBNAIL_FOLDER,
+                    getThumbnailFile(it)
+                )
             }
         }
 
@@ -60,11 +70,17 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
             megaApi.getMegaNodeByHandle(handle)?.let { node ->
                 if (!node.hasThumbnail()) return@withContext null
                 getThumbnailFile(node)?.let { thumbnail ->
-                    suspendCancellableCoroutine { continuation ->
-                        val listener = continuation.getRequestListener("getThumbnailFromServer") {
-                            thumbnail
+                    thumbnailPreviewDiskCache.fetch(
+                        CacheFolderConstant.THUMBNAIL_FOLDER,
+                        thumbnail
+                    ) {
+                        suspendCancellableCoroutine { continuation ->
+                            val listener =
+                                continuation.getRequestListener("getThumbnailFromServer") {
+                                    thumbnail
+                                }
+                            megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
                         }
-                        megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
                     }
                 }
             }
@@ -74,12 +90,17 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         withContext(ioDispatcher) {
             megaApiFolder.getMegaNodeByHandle(handle)?.let { node ->
                 getThumbnailFile(node)?.let { thumbnail ->
-                    suspendCancellableCoroutine { continuation ->
-                        val listener =
-                            continuation.getRequestListener("getPublicNodeThumbnailFromServer") {
-                                thumbnail
-                            }
-                        megaApiFolder.getThumbnail(node, thumbnail.absolutePath, listener)
+                    thumbnailPreviewDiskCache.fetch(
+                        CacheFolderConstant.THUMBNAIL_FOLDER,
+                        thumbnail
+                    ) {
+                        suspendCancellableCoroutine { continuation ->
+                            val listener =
+                                continuation.getRequestListener("getPublicNodeThumbnailFromServer") {
+                                    thumbnail
+                                }
+                            megaApiFolder.getThumbnail(node, thumbnail.absolutePath, listener)
+                        }
                     }
                 }
             }
@@ -95,10 +116,11 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
     override suspend fun getPreviewFromLocal(typedNode: TypedNode): File? =
         withContext(ioDispatcher) {
             runCatching {
-                megaNodeMapper(typedNode)?.run {
-                    getPreviewFile(this).takeIf {
-                        it?.exists() ?: false
-                    }
+                megaNodeMapper(typedNode)?.let {
+                    thumbnailPreviewDiskCache.get(
+                        CacheFolderConstant.PREVIEW_FOLDER,
+                        getPreviewFile(it)
+                    )
                 }
             }.onFailure {
                 Timber.e(it)
@@ -110,11 +132,17 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
             runCatching {
                 megaNodeMapper(typedNode)?.let { node ->
                     getPreviewFile(node)?.let { preview ->
-                        suspendCancellableCoroutine { continuation ->
-                            val listener = continuation.getRequestListener("getPreviewFromServer") {
-                                preview
+                        thumbnailPreviewDiskCache.fetch(
+                            CacheFolderConstant.PREVIEW_FOLDER,
+                            preview
+                        ) {
+                            suspendCancellableCoroutine { continuation ->
+                                val listener =
+                                    continuation.getRequestListener("getPreviewFromServer") {
+                                        preview
+                                    }
+                                megaApi.getPreview(node, preview.absolutePath, listener)
                             }
-                            megaApi.getPreview(node, preview.absolutePath, listener)
                         }
                     }
                 }
@@ -134,15 +162,11 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || thumbnailFolderPath == null || !node.hasThumbnail()) {
             callback(false)
         } else {
-            megaApi.getThumbnail(
-                node,
-                getThumbnailPath(thumbnailFolderPath, node),
-                OptionalMegaRequestListenerInterface(
-                    onRequestFinish = { _, error ->
-                        callback(error.errorCode == MegaError.API_OK)
-                    }
-                )
-            )
+            fetchInBackground(
+                folderName = CacheFolderConstant.THUMBNAIL_FOLDER,
+                file = File(getThumbnailPath(thumbnailFolderPath, node)),
+                callback = callback,
+            ) { path, listener -> megaApi.getThumbnail(node, path, listener) }
         }
     }
 
@@ -157,15 +181,40 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || previewFolderPath == null || !node.hasPreview()) {
             callback(false)
         } else {
-            megaApi.getPreview(
-                node,
-                getPreviewPath(previewFolderPath, node),
-                OptionalMegaRequestListenerInterface(
-                    onRequestFinish = { _, error ->
-                        callback(error.errorCode == MegaError.API_OK)
+            fetchInBackground(
+                folderName = CacheFolderConstant.PREVIEW_FOLDER,
+                file = File(getPreviewPath(previewFolderPath, node)),
+                callback = callback,
+            ) { path, listener -> megaApi.getPreview(node, path, listener) }
+        }
+    }
+
+    /**
+     * Download into the cache without waiting for the result, which is reported to [callback]
+     */
+    private fun fetchInBackground(
+        folderName: String,
+        file: File,
+        callback: (success: Boolean) -> Unit,
+        request: (path: String, listener: MegaRequestListenerInterface) -> Unit,
+    ) {
+        applicationScope.launch(ioDispatcher) {
+            val success = try {
+                thumbnailPreviewDiskCache.fetch(folderName, file) {
+                    suspendCancellableCoroutine { continuation ->
+                        val listener = continuation.getRequestListener("fetchInBackground") {
+                            file
+                        }
+                        request(file.absolutePath, listener)
                     }
-                )
-            )
+                } != null
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Timber.e(e)
+                false
+            }
+            callback(success)
         }
     }
 
@@ -179,16 +228,18 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || thumbnailFolderPath == null || !node.hasThumbnail()) {
             return@withContext false
         } else {
-            return@withContext suspendCancellableCoroutine { continuation ->
-                val listener = continuation.getRequestListener("getThumbnail") {
-                    true
+            val thumbnail = File(getThumbnailPath(thumbnailFolderPath, node))
+            return@withContext thumbnailPreviewDiskCache.fetch(
+                CacheFolderConstant.THUMBNAIL_FOLDER,
+                thumbnail
+            ) {
+                suspendCancellableCoroutine { continuation ->
+                    val listener = continuation.getRequestListener("getThumbnail") {
+                        thumbnail
+                    }
+                    megaApi.getThumbnail(node, thumbnail.absolutePath, listener)
                 }
-                megaApi.getThumbnail(
-                    node,
-                    getThumbnailPath(thumbnailFolderPath, node),
-                    listener
-                )
-            }
+            } != null
         }
     }
 
@@ -202,17 +253,18 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
         if (node == null || previewFolderPath == null || !node.hasPreview()) {
             return@withContext false
         } else {
-            return@withContext suspendCancellableCoroutine { continuation ->
-                val listener = continuation.getRequestListener("getThumbnail") {
-                    true
+            val preview = File(getPreviewPath(previewFolderPath, node))
+            return@withContext thumbnailPreviewDiskCache.fetch(
+                CacheFolderConstant.PREVIEW_FOLDER,
+                preview
+            ) {
+                suspendCancellableCoroutine { continuation ->
+                    val listener = continuation.getRequestListener("getThumbnail") {
+                        preview
+                    }
+                    megaApi.getPreview(node, preview.absolutePath, listener)
                 }
-                megaApi.getPreview(
-                    node,
-                    getPreviewPath(previewFolderPath, node),
-                    listener
-                )
-
-            }
+            } != null
         }
     }
 
@@ -267,12 +319,18 @@ internal class ThumbnailPreviewRepositoryImpl @Inject constructor(
 
     override suspend fun deleteThumbnail(handle: Long) = withContext(ioDispatcher) {
         val thumbnailFileName = getThumbnailOrPreviewFileName(handle)
-        getThumbnailFile(thumbnailFileName)?.takeIf { it.exists() }?.delete()
+        thumbnailPreviewDiskCache.remove(
+            CacheFolderConstant.THUMBNAIL_FOLDER,
+            getThumbnailFile(thumbnailFileName)
+        )
     }
 
     override suspend fun deletePreview(handle: Long) = withContext(ioDispatcher) {
         val previewFileName = getThumbnailOrPreviewFileName(handle)
-        getPreviewFile(previewFileName)?.takeIf { it.exists() }?.delete()
+        thumbnailPreviewDiskCache.remove(
+            CacheFolderConstant.PREVIEW_FOLDER,
+            getPreviewFile(previewFileName)
+        )
     }
 
     override suspend fun getThumbnailOrPreviewFileName(nodeHandle: Long) =
@@ -0,0 +1,418 @@
+package mega.privacy.android.data.repository.transfers
+
+import dagger.Lazy
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
+import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
+import mega.privacy.android.domain.entity.transfer.ActiveTransfer
+import mega.privacy.android.domain.entity.transfer.ActiveTransferGroup
+import mega.privacy.android.domain.entity.transfer.ActiveTransferTotals
+import mega.privacy.android.domain.entity.transfer.TransferAppData
+import mega.privacy.android.domain.entity.transfer.TransferType
+import mega.privacy.android.domain.entity.transfer.getTransferGroup
+import mega.privacy.android.domain.repository.TransferRepository
+import timber.log.Timber
+import java.util.EnumMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Keeps running [ActiveTransferTotals] for each transfer type
+ *
+ * The changes of the active transfers (start, transferred bytes, pause, finish and cancel) are
+ * applied as they are written, and the contribution of each transfer to the type and group totals
+ * is kept, so a change in a transfer only subtracts its previous contribution and adds the new one.
+ * Changes are applied as the active transfers database does: a finished transfer is not updated
+ * anymore.
+ *
+ * The first snapshot of a type, and then every [CONSISTENCY_CHECK_INTERVAL] snapshots, the
+ * transfers are compared with the ones in the database and the totals with a full aggregation done
+ * by [ActiveTransferTotalsMapper], and rebuilt from them if they differ.
+ *
+ * It is the only holder of the transferred bytes of the active transfers.
+ */
+@Singleton
+internal class ActiveTransferTotalsAggregator @Inject constructor(
+    private val transferRepository: Lazy<TransferRepository>,
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
+    private val activeTransferTotalsMapper: ActiveTransferTotalsMapper,
+    private val activeTransferEntityMapper: ActiveTransferEntityMapper,
+) {
+    private val mutex = Mutex()
+    private val aggregations = EnumMap<TransferType, Aggregation>(TransferType::class.java)
+    private val versions =
+        EnumMap<TransferType, MutableStateFlow<Long>>(TransferType::class.java).apply {
+            TransferType.entries.forEach { put(it, MutableStateFlow(0L)) }
+        }
+
+    /**
+     * Add new active transfers or update the existing ones
+     *
+     * @param activeTransfers
+     */
+    suspend fun insertOrUpdateActiveTransfers(activeTransfers: List<ActiveTransfer>) {
+        val changedTypes = mutex.withLock {
+            activeTransfers.filter { aggregation(it.transferType).insertOrUpdate(it) }
+                .mapTo(HashSet()) { it.transferType }
+        }
+        changedTypes.forEach { increaseVersion(it) }
+    }
+
+    /**
+     * Set active transfers as finished and cancelled
+     *
+     * @param tags tags of the cancelled transfers
+     */
+    suspend fun setActiveTransfersAsCancelled(tags: List<Int>) {
+        val changedTypes = mutex.withLock {
+            aggregations.filterValues { it.setAsCancelled(tags) }.keys.toList()
+        }
+        changedTypes.forEach { increaseVersion(it) }
+    }
+
+    /**
+     * Update the transferred bytes of some transfers
+     *
+     * @param type
+     * @param transferredBytes map of transfer tag to transferred bytes
+     */
+    suspend fun updateTransferredBytes(type: TransferType, transferredBytes: Map<Int, Long>) {
+        if (transferredBytes.isEmpty()) return
+        mutex.withLock {
+            aggregation(type).updateTransferredBytes(transferredBytes)
+        }
+        increaseVersion(type)
+    }
+
+    /**
+     * Remove all the active transfers of a type, with their transferred bytes
+     *
+     * @param type
+     */
+    suspend fun clearActiveTransfers(type: TransferType) {
+        mutex.withLock {
+            aggregation(type).clear()
+        }
+        increaseVersion(type)
+    }
+
+    /**
+     * Version of the totals of a type, increased on each change
+     *
+     * @param type
+     */
+    fun monitorTotalsVersion(type: TransferType): StateFlow<Long> =
+        versions.getValue(type).asStateFlow()
+
+    /**
+     * Full aggregation of a list of active transfers with the current transferred bytes
+     *
+     * @param type
+     * @param activeTransfers
+     */
+    suspend fun getTotals(
+        type: TransferType,
+        activeTransfers: List<ActiveTransfer>,
+    ): ActiveTransferTotals = mutex.withLock {
+        activeTransferTotalsMapper(
+            type = type,
+            list = activeTransfers,
+            transferredBytes = aggregation(type).transferredBytes.asMap(),
+        )
+    }
+
+    /**
+     * Get the current totals of a type
+     *
+     * @param type
+     */
+    suspend fun getTotals(type: TransferType): ActiveTransferTotals = mutex.withLock {
+        val aggregation = aggregation(type)
+        if (aggregation.snapshotsUntilCheck-- > 0) return@withLock aggregation.toActiveTransferTotals()
+        aggregation.snapshotsUntilCheck = CONSISTENCY_CHECK_INTERVAL - 1
+        val activeTransfers = megaLocalRoomGateway.getCurrentActiveTransfersByType(type)
+        val changed = aggregation.setActiveTransfers(activeTransfers)
+        if (changed > 0 && aggregation.isSynced) {
+            Timber.w("$changed active transfers of $type out of sync with the database")
+        }
+        aggregation.isSynced = true
+        val totals = aggregation.toActiveTransferTotals()
+        val expected = activeTransferTotalsMapper(
+            type = type,
+            list = activeTransfers,
+            transferredBytes = aggregation.transferredBytes.asMap(),
+            previousGroups = totals.groups,
+        )
+        if (expected.withSortedGroups() == totals.withSortedGroups()) {
+            totals
+        } else {
+            Timber.w("Active transfer totals of $type out of sync, rebuilding them")
+            aggregation.rebuild()
+            expected
+        }
+    }
+
+    private fun aggregation(type: TransferType) = aggregations.getOrPut(type) { Aggregation(type) }
+
+    private fun increaseVersion(type: TransferType) = versions.getValue(type).update { it + 1 }
+
+    private fun ActiveTransferTotals.withSortedGroups() = copy(groups = groups.sortedBy { it.groupId })
+
+    /**
+     * Running totals of a transfer type
+     */
+    private inner class Aggregation(private val type: TransferType) {
+        private val transfers = LinkedHashMap<Int, ActiveTransfer>()
+        val transferredBytes = IntLongHashMap()
+        private val totals = Totals()
+        private val groups = LinkedHashMap<Int, GroupTotals>()
+        var snapshotsUntilCheck = 0
+        var isSynced = false
+
+        /**
+         * Add a transfer or update the state of an existing one, unless it is already finished
+         *
+         * @return true if the transfer changed
+         */
+        fun insertOrUpdate(transfer: ActiveTransfer): Boolean {
+            val previous = transfers[transfer.tag]
+            val updated = when {
+                previous == null -> activeTransferEntityMapper(transfer)
+                previous.isFinished -> return false
+                else -> activeTransferEntityMapper(previous).copy(
+                    isFinished = transfer.isFinished,
+                    isPaused = transfer.isPaused,
+                    isAlreadyTransferred = transfer.isAlreadyTransferred,
+                    totalBytes = transfer.totalBytes,
+                    isCancelled = transfer.isCancelled,
+                )
+            }
+            return replace(previous, updated)
+        }
+
+        /**
+         * Set the transfers with these tags as finished and cancelled
+         *
+         * @return true if any transfer changed
+         */
+        fun setAsCancelled(tags: List<Int>): Boolean {
+            var changed = false
+            tags.forEach { tag ->
+                val previous = transfers[tag] ?: return@forEach
+                val updated = activeTransferEntityMapper(previous)
+                    .copy(isFinished = true, isCancelled = true)
+                if (replace(previous, updated)) changed = true
+            }
+            return changed
+        }
+
+        /**
+         * Set all the active transfers of this type, only the transfers that changed are aggregated again
+         *
+         * @return the number of added, changed or removed transfers
+         */
+        fun setActiveTransfers(activeTransfers: List<ActiveTransfer>): Int {
+            var changed = 0
+            val tags = HashSet<Int>(activeTransfers.size * 2)
+            activeTransfers.forEach { transfer ->
+                tags.add(transfer.tag)
+                if (replace(transfers[transfer.tag], transfer)) changed++
+            }
+            if (tags.size < transfers.size) {
+                val iterator = transfers.values.iterator()
+                while (iterator.hasNext()) {
+                    val transfer = iterator.next()
+                    if (transfer.tag !in tags) {
+                        account(transfer, -1)
+                        iterator.remove()
+                        transferredBytes.remove(transfer.tag)
+                        changed++
+                    }
+                }
+            }
+            return changed
+        }
+
+        private fun replace(previous: ActiveTransfer?, updated: ActiveTransfer): Boolean {
+            if (previous == updated) return false
+            previous?.let { account(it, -1) }
+            transfers[updated.tag] = updated
+            account(updated, 1)
+            return true
+        }
+
+        fun updateTransferredBytes(bytes: Map<Int, Long>) {
+            bytes.forEach { (tag, value) ->
+                val transfer = transfers[tag]
+                transfer?.let { account(it, -1) }
+                transferredBytes[tag] = value
+                transfer?.let { account(it, 1) }
+            }
+        }
+
+        fun clear() {
+            transfers.clear()
+            transferredBytes.clear()
+            totals.reset()
+            groups.clear()
+        }
+
+        fun rebuild() {
+            totals.reset()
+            groups.clear()
+            transfers.values.forEach { account(it, 1) }
+        }
+
+        /**
+         * Add ([sign] = 1) or subtract ([sign] = -1) the contribution of a transfer
+         */
+        private fun account(transfer: ActiveTransfer, sign: Int) {
+            totals.totalTransfers += sign
+            if (transfer.isFinished) totals.finishedTransfers += sign
+            if (transfer.isCancelled) totals.cancelled += sign
+            if (transfer.isFolderTransfer) return
+            val bytes = transferredBytes.getOrDefault(transfer.tag, NO_BYTES)
+            totals.files.account(transfer, bytes, sign)
+            val groupId = transfer.getTransferGroup()?.groupId?.toInt() ?: return
+            val group = groups.getOrPut(groupId) { GroupTotals() }
+            group.files.account(transfer, bytes, sign)
+            if (sign > 0) group.tags.add(transfer.tag) else group.tags.remove(transfer.tag)
+            if (group.tags.isEmpty()) {
+                groups.remove(groupId)
+                return
+            }
+            transfer.appData
+                .filterNot { it is TransferAppData.TransferGroup } //group would be redundant
+                .forEach { appData -> group.accountAppData(appData, sign) }
+        }
+
+        suspend fun toActiveTransferTotals(): ActiveTransferTotals {
+            val files = totals.files
+            return ActiveTransferTotals(
+                transfersType = type,
+                totalTransfers = totals.totalTransfers,
+                totalFileTransfers = files.total,
+                pausedFileTransfers = files.paused,
+                totalFinishedTransfers = totals.finishedTransfers,
+                totalFinishedFileTransfers = files.finished,
+                totalCompletedFileTransfers = files.completed,
+                totalBytes = files.totalBytes,
+                transferredBytes = files.transferredBytes,
+                totalAlreadyTransferredFiles = files.alreadyTransferred,
+                totalCancelled = totals.cancelled,
+                groups = groups.mapNotNull { (groupId, group) -> group.toGroup(groupId) },
+            )
+        }
+    }
+
+    private class Totals {
+        var totalTransfers = 0
+        var finishedTransfers = 0
+        var cancelled = 0
+        val files = FileTotals()
+
+        fun reset() {
+            totalTransfers = 0
+            finishedTransfers = 0
+            cancelled = 0
+            files.reset()
+        }
+    }
+
+    private class FileTotals {
+        var total = 0
+        var paused = 0
+        var finished = 0
+        var completed = 0
+        var alreadyTransferred = 0
+        var totalBytes = 0L
+        var transferredBytes = 0L
+
+        fun account(transfer: ActiveTransfer, bytes: Long, sign: Int) {
+            total += sign
+            if (transfer.isPaused) paused += sign
+            if (transfer.isFinished) finished += sign
+            if (transfer.isFinished && bytes == transfer.totalBytes) completed += sign
+            if (transfer.isAlreadyTransferred) alreadyTransferred += sign
+            totalBytes += sign * transfer.totalBytes
+            //if it's finished always totalBytes as it can be cancelled or failed
+            transferredBytes += sign * when {
+                transfer.isFinished -> transfer.totalBytes
+                bytes == NO_BYTES -> 0L
+                else -> bytes
+            }
+        }
+
+        fun reset() {
+            total = 0
+            paused = 0
+            finished = 0
+            completed = 0
+            alreadyTransferred = 0
+            totalBytes = 0L
+            transferredBytes = 0L
+        }
+    }
+
+    private inner class GroupTotals {
+        val files = FileTotals()
+        val tags = LinkedHashSet<Int>()
+
+        /**
+         * Number of transfers of the group with each app data, by app data type. Only the first app
+         * data of each type represents the group, and it is dropped once no transfer has it
+         */
+        private val appData = LinkedHashMap<Any, LinkedHashMap<TransferAppData, Int>>()
+
+        fun accountAppData(data: TransferAppData, sign: Int) {
+            val counts = appData.getOrPut(data::class) { LinkedHashMap() }
+            val count = counts.getOrDefault(data, 0) + sign
+            if (count > 0) counts[data] = count else counts.remove(data)
+            if (counts.isEmpty()) appData.remove(data::class)
+        }
+
+        /**
+         * Group details can't change, so they are only fetched until found
+         */
+        private var details: ActiveTransferGroup? = null
+
+        suspend fun toGroup(groupId: Int): ActiveTransferTotals.Group? {
+            val group = details
+                ?: transferRepository.get().getActiveTransferGroupById(groupId)?.also { details = it }
+                ?: return null
+            return ActiveTransferTotals.Group(
+                groupId = groupId,
+                totalFiles = files.total,
+                finishedFiles = files.finished,
+                completedFiles = files.completed,
+                alreadyTransferred = files.alreadyTransferred,
+                destination = group.destination,
+                singleFileName = group.singleFileName,
+                singleTransferTag = tags.singleOrNull(),
+                startTime = group.startTime ?: 0,
+                pausedFiles = files.paused,
+                totalBytes = files.totalBytes,
+                transferredBytes = files.transferredBytes,
+                appData = appData.values.map { it.keys.first() },
+            )
+        }
+    }
+
+    companion object {
+        /**
+         * Number of snapshots between two full aggregations
+         */
+        const val CONSISTENCY_CHECK_INTERVAL = 500
+
+        /**
+         * Transferred bytes of a transfer without any update yet
+         */
+        private const val NO_BYTES = -1L
+    }
+}
@@ -0,0 +1,186 @@
+package mega.privacy.android.data.repository.transfers
+
+import java.util.AbstractMap.SimpleImmutableEntry
+
+/**
+ * Hash map of int keys to long values stored in primitive arrays
+ *
+ * Uses open addressing with linear probing, so updating an existing key doesn't allocate and
+ * neither keys nor values are boxed. Not thread safe.
+ */
+internal class IntLongHashMap(initialCapacity: Int = DEFAULT_CAPACITY) {
+    private var keys = IntArray(0)
+    private var values = LongArray(0)
+    private var used = BooleanArray(0)
+    private var mask = 0
+
+    /**
+     * Number of entries
+     */
+    var size = 0
+        private set
+
+    init {
+        allocate(tableSizeFor(initialCapacity))
+    }
+
+    /**
+     * True if the key has a value
+     */
+    fun containsKey(key: Int) = indexOf(key) >= 0
+
+    /**
+     * Value of the key, or [defaultValue] if the key has no value
+     */
+    fun getOrDefault(key: Int, defaultValue: Long): Long {
+        val index = indexOf(key)
+        return if (index >= 0) values[index] else defaultValue
+    }
+
+    /**
+     * Value of the key, or null if the key has no value
+     */
+    operator fun get(key: Int): Long? {
+        val index = indexOf(key)
+        return if (index >= 0) values[index] else null
+    }
+
+    /**
+     * Set the value of a key
+     */
+    operator fun set(key: Int, value: Long) {
+        var index = slot(key)
+        while (used[index]) {
+            if (keys[index] == key) {
+                values[index] = value
+                return
+            }
+            index = (index + 1) and mask
+        }
+        used[index] = true
+        keys[index] = key
+        values[index] = value
+        if (++size * 2 > keys.size) allocate(keys.size * 2)
+    }
+
+    /**
+     * Remove the value of a key
+     *
+     * @return true if the key had a value
+     */
+    fun remove(key: Int): Boolean {
+        var hole = indexOf(key)
+        if (hole < 0) return false
+        // shift back the following entries of the probe sequence so lookups don't need tombstones
+        var index = hole
+        while (true) {
+            index = (index + 1) and mask
+            if (!used[index]) break
+            val home = slot(keys[index])
+            val canMove = if (index > hole) home <= hole || home > index else home in (index + 1)..hole
+            if (canMove) {
+                keys[hole] = keys[index]
+                values[hole] = values[index]
+                hole = index
+            }
+        }
+        used[hole] = false
+        size--
+        return true
+    }
+
+    /**
+     * Remove all the entries, keeping the allocated capacity
+     */
+    fun clear() {
+        used.fill(false)
+        size = 0
+    }
+
+    /**
+     * Perform an action on each entry
+     */
+    inline fun forEach(action: (key: Int, value: Long) -> Unit) {
+        for (index in 0 until capacity) {
+            if (isUsed(index)) action(keyAt(index), valueAt(index))
+        }
+    }
+
+    /**
+     * Read only [Map] view of the entries, reflecting later changes. Values are only boxed when read
+     */
+    fun asMap(): Map<Int, Long> = object : AbstractMap<Int, Long>() {
+        override val size get() = this@IntLongHashMap.size
+
+        override fun containsKey(key: Int) = this@IntLongHashMap.containsKey(key)
+
+        override fun get(key: Int) = this@IntLongHashMap[key]
+
+        override val entries = object : AbstractSet<Map.Entry<Int, Long>>() {
+            override val size get() = this@IntLongHashMap.size
+
+            override fun iterator() = iterator<Map.Entry<Int, Long>> {
+                for (index in 0 until capacity) {
+                    if (isUsed(index)) yield(SimpleImmutableEntry(keyAt(index), valueAt(index)))
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy of the entries as a [Map]
+     */
+    fun toMap(): Map<Int, Long> = HashMap<Int, Long>(size * 2).also { map ->
+        forEach { key, value -> map[key] = value }
+    }
+
+    @PublishedApi
+    internal val capacity
+        get() = keys.size
+
+    @PublishedApi
+    internal fun isUsed(index: Int) = used[index]
+
+    @PublishedApi
+    internal fun keyAt(index: Int) = keys[index]
+
+    @PublishedApi
+    internal fun valueAt(index: Int) = values[index]
+
+    private fun indexOf(key: Int): Int {
+        var index = slot(key)
+        while (used[index]) {
+            if (keys[index] == key) return index
+            index = (index + 1) and mask
+        }
+        return -1
+    }
+
+    private fun slot(key: Int) = (key * HASH_MULTIPLIER).let { it xor (it ushr 16) } and mask
+
+    private fun allocate(capacity: Int) {
+        val oldKeys = keys
+        val oldValues = values
+        val oldUsed = used
+        keys = IntArray(capacity)
+        values = LongArray(capacity)
+        used = BooleanArray(capacity)
+        mask = capacity - 1
+        size = 0
+        for (index in oldKeys.indices) {
+            if (oldUsed[index]) set(oldKeys[index], oldValues[index])
+        }
+    }
+
+    private fun tableSizeFor(expectedSize: Int): Int {
+        var capacity = MIN_CAPACITY
+        while (capacity < expectedSize * 2) capacity = capacity shl 1
+        return capacity
+    }
+
+    private companion object {
+        const val DEFAULT_CAPACITY = 16
+        const val MIN_CAPACITY = 4
+        const val HASH_MULTIPLIER = -0x61c88647 // golden ratio, spreads sequential tags
+    }
+}
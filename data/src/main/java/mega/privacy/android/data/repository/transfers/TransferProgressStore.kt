@@ -0,0 +1,54 @@
+package mega.privacy.android.data.repository.transfers
+
+import kotlinx.collections.immutable.PersistentMap
+import kotlinx.collections.immutable.minus
+import kotlinx.collections.immutable.mutate
+import kotlinx.collections.immutable.persistentHashMapOf
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import mega.privacy.android.domain.entity.transfer.InProgressTransfer
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * In memory progress of the ongoing transfers
+ *
+ * The transfers are kept in a persistent map, so each update only copies the path to the updated
+ * entries and observers get an immutable snapshot without any copy. The transferred bytes of the
+ * active transfers are kept by [ActiveTransferTotalsAggregator].
+ */
+@Singleton
+internal class TransferProgressStore @Inject constructor() {
+
+    private val inProgressTransfers =
+        MutableStateFlow<PersistentMap<Int, InProgressTransfer>>(persistentHashMapOf())
+
+    /**
+     * Add or replace in progress transfers
+     *
+     * @param transfers
+     */
+    fun updateInProgressTransfers(transfers: Collection<InProgressTransfer>) {
+        if (transfers.isEmpty()) return
+        inProgressTransfers.update { map ->
+            map.mutate { builder -> transfers.forEach { builder[it.tag] = it } }
+        }
+    }
+
+    /**
+     * Remove in progress transfers
+     *
+     * @param tags tags of the transfers to remove
+     */
+    fun removeInProgressTransfers(tags: Collection<Int>) {
+        inProgressTransfers.update { it - tags }
+    }
+
+    /**
+     * Monitor in progress transfers by tag
+     */
+    fun monitorInProgressTransfers(): StateFlow<Map<Int, InProgressTransfer>> =
+        inProgressTransfers.asStateFlow()
+}
@@ -17,8 +17,8 @@ import kotlinx.coroutines.NonCancellable
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.filter
-import kotlinx.coroutines.flow.filterNot
 import kotlinx.coroutines.flow.lastOrNull
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.onCompletion
 import kotlinx.coroutines.flow.transformWhile
 import kotlinx.coroutines.launch
@@ -36,7 +36,8 @@ import mega.privacy.android.domain.entity.transfer.TransferType
 import mega.privacy.android.domain.entity.transfer.isBackgroundTransfer
 import mega.privacy.android.domain.entity.transfer.isVoiceClip
 import mega.privacy.android.domain.monitoring.CrashReporter
-import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventsUseCase
+import mega.privacy.android.domain.usecase.transfers.GetTransferEventMetricsUseCase
+import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventBatchesUseCase
 import mega.privacy.android.domain.usecase.transfers.active.ClearActiveTransfersIfFinishedUseCase
 import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
@@ -49,6 +50,7 @@ import kotlin.time.Duration.Companion.milliseconds
  * Abstract CoroutineWorker to share common implementation of transfers workers
  * @param foregroundSetter to inject the set foreground method, used for testing
  * @param type Transfer type that this worker will manage
+ * @param getTransferEventMetricsUseCase to log the transfer event metrics when the work finishes
  * @param crashReporter CrashReporter to log information and errors
  */
 abstract class AbstractTransfersWorker(
@@ -56,7 +58,7 @@ abstract class AbstractTransfersWorker(
     workerParams: WorkerParameters,
     protected val type: TransferType,
     private val ioDispatcher: CoroutineDispatcher,
-    private val monitorTransferEventsUseCase: MonitorTransferEventsUseCase,
+    private val monitorTransferEventBatchesUseCase: MonitorTransferEventBatchesUseCase,
     private val handleTransferEventUseCase: HandleTransferEventUseCase,
     private val areTransfersPausedUseCase: AreTransfersPausedUseCase,
     private val getActiveTransferTotalsUseCase: GetActiveTransferTotalsUseCase,
@@ -65,6 +67,7 @@ abstract class AbstractTransfersWorker(
     private val areNotificationsEnabledUseCase: AreNotificationsEnabledUseCase,
     private val correctActiveTransfersUseCase: CorrectActiveTransfersUseCase,
     private val clearActiveTransfersIfFinishedUseCase: ClearActiveTransfersIfFinishedUseCase,
+    private val getTransferEventMetricsUseCase: GetTransferEventMetricsUseCase,
     protected val crashReporter: CrashReporter,
     private val foregroundSetter: ForegroundSetter?,
     private val notificationSamplePeriod: Long?,
@@ -223,8 +226,9 @@ abstract class AbstractTransfersWorker(
         }
         return@withContext Result.success() // If there are no ongoing transfers it means no more work needed
     }.also {
-        crashReporter.log("${this@AbstractTransfersWorker::class.java.simpleName} Finished")
-        Timber.d("${this@AbstractTransfersWorker::class.java.simpleName} Finished")
+        val transferEventMetrics = getTransferEventMetricsUseCase()
+        crashReporter.log("${this@AbstractTransfersWorker::class.java.simpleName} Finished, $transferEventMetrics")
+        Timber.d("${this@AbstractTransfersWorker::class.java.simpleName} Finished, $transferEventMetrics")
     }
 
     private fun hasAnyPausedChange(
@@ -264,19 +268,23 @@ abstract class AbstractTransfersWorker(
      * Monitors transfer events and update the related active transfers
      */
     internal open suspend fun doWorkInternal(scope: CoroutineScope) {
-        monitorTransferEventsUseCase()
-            .filterNot { event ->
-                event.transfer.isVoiceClip()
-                        || event.transfer.isBackgroundTransfer()
-                        || event.transfer.isStreamingTransfer
-                        || event.transfer.isBackupTransfer
-                        || event.transfer.isSyncTransfer
+        monitorTransferEventBatchesUseCase()
+            .map { events ->
+                events.filter { event ->
+                    event.transfer.transferType == type
+                            && !event.transfer.isVoiceClip()
+                            && !event.transfer.isBackgroundTransfer()
+                            && !event.transfer.isStreamingTransfer
+                            && !event.transfer.isBackupTransfer
+                            && !event.transfer.isSyncTransfer
+                }
             }
-            .filter { it.transfer.transferType == type }
+            .filter { it.isNotEmpty() }
             .collectChunked(
                 chunkDuration = eventsChunkDuration,
                 flushOnIdleDuration = 200.milliseconds
-            ) { transferEvents ->
+            ) { batches ->
+                val transferEvents = batches.flatten()
                 scope.launch {
                     transferEvents.forEach {
                         onTransferEventReceived(it)
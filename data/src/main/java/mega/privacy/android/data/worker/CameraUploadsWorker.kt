@@ -203,6 +203,7 @@ class CameraUploadsWorker @AssistedInject constructor(
     companion object {
         private const val LOW_BATTERY_LEVEL = 20
         private const val ON_TRANSFER_UPDATE_REFRESH_MILLIS = 1000
+        private const val STAGE_COMPLETED_LOG_INTERVAL = 100
     }
 
     /**
@@ -1006,6 +1007,22 @@ class CameraUploadsWorker @AssistedInject constructor(
 
             is CameraUploadsTransferProgress.Error,
             -> processError(progressEvent.error)
+
+            is CameraUploadsTransferProgress.StageCompleted,
+            -> processStageCompleted(progressEvent)
+        }
+    }
+
+    /**
+     * Process a progress event of type [CameraUploadsTransferProgress.StageCompleted]
+     *
+     * @param progressEvent
+     */
+    private fun processStageCompleted(
+        progressEvent: CameraUploadsTransferProgress.StageCompleted,
+    ) {
+        if (progressEvent.stageCompletedCount % STAGE_COMPLETED_LOG_INTERVAL == 0) {
+            Timber.d("${progressEvent.stageCompletedCount} records completed stage ${progressEvent.stage}")
         }
     }
 
@@ -34,7 +34,8 @@ import mega.privacy.android.domain.usecase.chat.message.CheckFinishedChatUploads
 import mega.privacy.android.domain.usecase.chat.message.MonitorPendingMessagesByStateUseCase
 import mega.privacy.android.domain.usecase.chat.message.UpdatePendingMessageUseCase
 import mega.privacy.android.domain.usecase.chat.message.pendingmessages.CompressPendingMessagesUseCase
-import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventsUseCase
+import mega.privacy.android.domain.usecase.transfers.GetTransferEventMetricsUseCase
+import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventBatchesUseCase
 import mega.privacy.android.domain.usecase.transfers.active.ClearActiveTransfersIfFinishedUseCase
 import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
@@ -55,7 +56,7 @@ class ChatUploadsWorker @AssistedInject constructor(
     @Assisted context: Context,
     @Assisted workerParams: WorkerParameters,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
-    monitorTransferEventsUseCase: MonitorTransferEventsUseCase,
+    monitorTransferEventBatchesUseCase: MonitorTransferEventBatchesUseCase,
     handleTransferEventUseCase: HandleTransferEventUseCase,
     areTransfersPausedUseCase: AreTransfersPausedUseCase,
     getActiveTransferTotalsUseCase: GetActiveTransferTotalsUseCase,
@@ -64,6 +65,7 @@ class ChatUploadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase: AreNotificationsEnabledUseCase,
     correctActiveTransfersUseCase: CorrectActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase: ClearActiveTransfersIfFinishedUseCase,
+    getTransferEventMetricsUseCase: GetTransferEventMetricsUseCase,
     private val chatUploadNotificationMapper: ChatUploadNotificationMapper,
     private val attachNodeWithPendingMessageUseCase: AttachNodeWithPendingMessageUseCase,
     private val updatePendingMessageUseCase: UpdatePendingMessageUseCase,
@@ -82,7 +84,7 @@ class ChatUploadsWorker @AssistedInject constructor(
     workerParams = workerParams,
     type = TransferType.CHAT_UPLOAD,
     ioDispatcher = ioDispatcher,
-    monitorTransferEventsUseCase = monitorTransferEventsUseCase,
+    monitorTransferEventBatchesUseCase = monitorTransferEventBatchesUseCase,
     handleTransferEventUseCase = handleTransferEventUseCase,
     areTransfersPausedUseCase = areTransfersPausedUseCase,
     getActiveTransferTotalsUseCase = getActiveTransferTotalsUseCase,
@@ -91,6 +93,7 @@ class ChatUploadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase = areNotificationsEnabledUseCase,
     correctActiveTransfersUseCase = correctActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+    getTransferEventMetricsUseCase = getTransferEventMetricsUseCase,
     crashReporter = crashReporter,
     foregroundSetter = foregroundSetter,
     notificationSamplePeriod = notificationSamplePeriod,
@@ -29,8 +29,9 @@ import mega.privacy.android.domain.monitoring.CrashReporter
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
 import mega.privacy.android.domain.usecase.qrcode.ScanMediaFileUseCase
+import mega.privacy.android.domain.usecase.transfers.GetTransferEventMetricsUseCase
 import mega.privacy.android.domain.usecase.transfers.MonitorActiveAndPendingTransfersUseCase
-import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventsUseCase
+import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventBatchesUseCase
 import mega.privacy.android.domain.usecase.transfers.active.ClearActiveTransfersIfFinishedUseCase
 import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
@@ -48,7 +49,7 @@ class DownloadsWorker @AssistedInject constructor(
     @Assisted context: Context,
     @Assisted workerParams: WorkerParameters,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
-    monitorTransferEventsUseCase: MonitorTransferEventsUseCase,
+    monitorTransferEventBatchesUseCase: MonitorTransferEventBatchesUseCase,
     handleTransferEventUseCase: HandleTransferEventUseCase,
     areTransfersPausedUseCase: AreTransfersPausedUseCase,
     getActiveTransferTotalsUseCase: GetActiveTransferTotalsUseCase,
@@ -57,6 +58,7 @@ class DownloadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase: AreNotificationsEnabledUseCase,
     correctActiveTransfersUseCase: CorrectActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase: ClearActiveTransfersIfFinishedUseCase,
+    getTransferEventMetricsUseCase: GetTransferEventMetricsUseCase,
     private val transfersNotificationMapper: TransfersNotificationMapper,
     private val transfersFinishedNotificationMapper: TransfersFinishedNotificationMapper,
     private val transfersFinishNotificationSummaryBuilder: TransfersFinishNotificationSummaryBuilder,
@@ -75,7 +77,7 @@ class DownloadsWorker @AssistedInject constructor(
     workerParams = workerParams,
     type = TransferType.DOWNLOAD,
     ioDispatcher = ioDispatcher,
-    monitorTransferEventsUseCase = monitorTransferEventsUseCase,
+    monitorTransferEventBatchesUseCase = monitorTransferEventBatchesUseCase,
     handleTransferEventUseCase = handleTransferEventUseCase,
     areTransfersPausedUseCase = areTransfersPausedUseCase,
     getActiveTransferTotalsUseCase = getActiveTransferTotalsUseCase,
@@ -84,6 +86,7 @@ class DownloadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase = areNotificationsEnabledUseCase,
     correctActiveTransfersUseCase = correctActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+    getTransferEventMetricsUseCase = getTransferEventMetricsUseCase,
     crashReporter = crashReporter,
     foregroundSetter = foregroundSetter,
     notificationSamplePeriod = notificationSamplePeriod,
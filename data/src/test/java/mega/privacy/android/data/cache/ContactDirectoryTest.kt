@@ -0,0 +1,153 @@
+package mega.privacy.android.data.cache
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.data.model.GlobalUpdate
+import mega.privacy.android.domain.entity.Contact
+import nz.mega.sdk.MegaUser
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class ContactDirectoryTest {
+    private val megaApiGateway = mock<MegaApiGateway>()
+    private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
+    private val globalUpdates = MutableSharedFlow<GlobalUpdate>()
+
+    private val myUserHandle = 1L
+    private val contactHandle = 2L
+    private val entry = ContactDirectoryEntry(
+        email = "contact@mega.nz",
+        fullName = "Contact Name",
+        alias = null,
+        avatarUri = null,
+    )
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(megaApiGateway, megaLocalRoomGateway)
+        whenever(megaApiGateway.globalUpdates).thenReturn(globalUpdates)
+        whenever(megaApiGateway.myUserHandle).thenReturn(myUserHandle)
+    }
+
+    private fun TestScope.createDirectory() = ContactDirectory(
+        megaApiGateway = megaApiGateway,
+        megaLocalRoomGateway = megaLocalRoomGateway,
+        applicationScope = backgroundScope,
+    )
+
+    @Test
+    fun `test that saved entries are returned`() = runTest(UnconfinedTestDispatcher()) {
+        val underTest = createDirectory()
+
+        underTest.put(contactHandle, entry)
+
+        assertThat(underTest.get(contactHandle)).isEqualTo(entry)
+        assertThat(underTest.get(3L)).isNull()
+    }
+
+    @Test
+    fun `test that the entry of a contact is dropped when the contact changes`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val underTest = createDirectory()
+            underTest.put(contactHandle, entry)
+            underTest.put(3L, entry.copy(email = "other@mega.nz"))
+
+            globalUpdates.emit(GlobalUpdate.OnUsersUpdate(arrayListOf(user(contactHandle))))
+
+            assertThat(underTest.get(contactHandle)).isNull()
+            assertThat(underTest.get(3L)).isNotNull()
+        }
+
+    @Test
+    fun `test that every entry is dropped when the aliases of the current user change`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val underTest = createDirectory()
+            underTest.put(contactHandle, entry)
+            underTest.put(3L, entry.copy(email = "other@mega.nz"))
+            val currentUser = user(myUserHandle).also {
+                whenever(it.hasChanged(MegaUser.CHANGE_TYPE_ALIAS.toLong())).thenReturn(true)
+            }
+
+            globalUpdates.emit(GlobalUpdate.OnUsersUpdate(arrayListOf(currentUser)))
+
+            assertThat(underTest.get(contactHandle)).isNull()
+            assertThat(underTest.get(3L)).isNull()
+        }
+
+    @Test
+    fun `test that entries are dropped by email`() = runTest(UnconfinedTestDispatcher()) {
+        val underTest = createDirectory()
+        underTest.put(contactHandle, entry)
+
+        underTest.invalidate(entry.email.orEmpty())
+
+        assertThat(underTest.get(contactHandle)).isNull()
+    }
+
+    @Test
+    fun `test that the saved contacts are read once`() = runTest(UnconfinedTestDispatcher()) {
+        val contact = Contact(userId = contactHandle, email = "contact@mega.nz", firstName = "Name")
+        whenever(megaLocalRoomGateway.getAllContacts()).thenReturn(listOf(contact))
+        val underTest = createDirectory()
+
+        repeat(3) { assertThat(underTest.getSavedContact(contactHandle)).isEqualTo(contact) }
+        assertThat(underTest.getSavedContact(3L)).isNull()
+
+        verify(megaLocalRoomGateway, times(1)).getAllContacts()
+    }
+
+    @Test
+    fun `test that the saved contact is read again when the contact is invalidated`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val contact = Contact(userId = contactHandle, email = "contact@mega.nz", firstName = "Name")
+            val updatedContact = contact.copy(firstName = "New name")
+            whenever(megaLocalRoomGateway.getAllContacts()).thenReturn(listOf(contact))
+            whenever(megaLocalRoomGateway.getContactByHandle(contactHandle))
+                .thenReturn(updatedContact)
+            val underTest = createDirectory()
+            underTest.getSavedContact(contactHandle)
+            underTest.put(contactHandle, entry)
+
+            underTest.invalidate(contactHandle)
+
+            assertThat(underTest.get(contactHandle)).isNull()
+            assertThat(underTest.getSavedContact(contactHandle)).isEqualTo(updatedContact)
+            verify(megaLocalRoomGateway, times(1)).getAllContacts()
+        }
+
+    @Test
+    fun `test that a name is only fetched again after a failure or a change of the contact`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val underTest = createDirectory()
+            underTest.get(contactHandle)
+
+            assertThat(underTest.shouldFetchName(contactHandle)).isTrue()
+            assertThat(underTest.shouldFetchName(contactHandle)).isFalse()
+
+            underTest.onNameFetchFailed(contactHandle)
+            assertThat(underTest.shouldFetchName(contactHandle)).isTrue()
+
+            globalUpdates.emit(GlobalUpdate.OnUsersUpdate(arrayListOf(user(contactHandle))))
+            assertThat(underTest.shouldFetchName(contactHandle)).isTrue()
+        }
+
+    private fun user(handle: Long) = mock<MegaUser> {
+        on { this.handle }.thenReturn(handle)
+        on { hasChanged(any()) }.thenReturn(false)
+    }
+}
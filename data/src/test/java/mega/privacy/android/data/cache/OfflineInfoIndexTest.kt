@@ -0,0 +1,146 @@
+package mega.privacy.android.data.cache
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.domain.entity.Offline
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class OfflineInfoIndexTest {
+    private val offlineDao = mock<OfflineDao>()
+    private val offlineModelMapper = mock<OfflineModelMapper>()
+    private val offlineChanges = MutableSharedFlow<List<OfflineEntity>>()
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(offlineDao, offlineModelMapper)
+        whenever(offlineDao.monitorOffline()).thenReturn(offlineChanges)
+    }
+
+    private fun TestScope.createIndex() = OfflineInfoIndex(
+        offlineDao = { offlineDao },
+        offlineModelMapper = offlineModelMapper,
+        applicationScope = backgroundScope,
+    )
+
+    @Test
+    fun `test that entries are keyed by node handle`() = runTest(UnconfinedTestDispatcher()) {
+        val entity = offlineEntity(1, "encrypted1")
+        val offline = offline(1, "100")
+        whenever(offlineDao.getOfflineFiles()).thenReturn(listOf(entity))
+        whenever(offlineModelMapper(entity)).thenReturn(offline)
+        val underTest = createIndex()
+
+        assertThat(underTest.getAll()).containsExactly("100", offline)
+        assertThat(underTest.get("100")).isEqualTo(offline)
+        assertThat(underTest.get("200")).isNull()
+    }
+
+    @Test
+    fun `test that the table is not read again until it changes`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val entity = offlineEntity(1, "encrypted1")
+            whenever(offlineDao.getOfflineFiles()).thenReturn(listOf(entity))
+            whenever(offlineModelMapper(entity)).thenReturn(offline(1, "100"))
+            val underTest = createIndex()
+
+            repeat(5) { underTest.getAll() }
+
+            verify(offlineDao, times(1)).getOfflineFiles()
+            verify(offlineModelMapper, times(1)).invoke(any())
+        }
+
+    @Test
+    fun `test that only changed rows are decrypted after the table changes`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val first = offlineEntity(1, "encrypted1")
+            val second = offlineEntity(2, "encrypted2")
+            val firstOffline = offline(1, "100")
+            val secondOffline = offline(2, "200")
+            whenever(offlineDao.getOfflineFiles()).thenReturn(listOf(first))
+            whenever(offlineModelMapper(first)).thenReturn(firstOffline)
+            whenever(offlineModelMapper(second)).thenReturn(secondOffline)
+            val underTest = createIndex()
+            underTest.getAll()
+
+            offlineChanges.emit(listOf(first, second))
+
+            assertThat(underTest.getAll()).containsExactly(
+                "100", firstOffline,
+                "200", secondOffline,
+            )
+            verify(offlineDao, times(1)).getOfflineFiles()
+            verify(offlineModelMapper, times(1)).invoke(first)
+            verify(offlineModelMapper, times(1)).invoke(second)
+        }
+
+    @Test
+    fun `test that removed rows are dropped when the table changes`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val entity = offlineEntity(1, "encrypted1")
+            whenever(offlineDao.getOfflineFiles()).thenReturn(listOf(entity))
+            whenever(offlineModelMapper(entity)).thenReturn(offline(1, "100"))
+            val underTest = createIndex()
+            underTest.getAll()
+
+            offlineChanges.emit(emptyList())
+
+            assertThat(underTest.getAll()).isEmpty()
+            verify(offlineDao, times(1)).getOfflineFiles()
+        }
+
+    @Test
+    fun `test that removed rows are dropped after invalidate`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val entity = offlineEntity(1, "encrypted1")
+            whenever(offlineDao.getOfflineFiles()).thenReturn(listOf(entity))
+            whenever(offlineModelMapper(entity)).thenReturn(offline(1, "100"))
+            val underTest = createIndex()
+            underTest.getAll()
+
+            whenever(offlineDao.getOfflineFiles()).thenReturn(emptyList())
+            underTest.invalidate()
+
+            assertThat(underTest.getAll()).isEmpty()
+        }
+
+    private fun offlineEntity(id: Int, encryptedHandle: String) = OfflineEntity(
+        id = id,
+        encryptedHandle = encryptedHandle,
+        encryptedPath = "path",
+        encryptedName = "name",
+        parentId = -1,
+        encryptedType = "file",
+        incoming = 0,
+        encryptedIncomingHandle = "",
+        lastModifiedTime = 0L,
+    )
+
+    private fun offline(id: Int, handle: String) = Offline(
+        id = id,
+        handle = handle,
+        path = "path",
+        name = "name",
+        parentId = -1,
+        type = "file",
+        origin = 0,
+        handleIncoming = "",
+        lastModifiedTime = 0L,
+    )
+}
@@ -0,0 +1,133 @@
+package mega.privacy.android.data.cache
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.constant.CacheFolderConstant
+import mega.privacy.android.data.gateway.CacheGateway
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+import java.io.File
+
+internal class ThumbnailPreviewDiskCacheTest {
+    private val folderName = CacheFolderConstant.THUMBNAIL_FOLDER
+    private val cacheGateway = mock<CacheGateway>()
+    private lateinit var underTest: ThumbnailPreviewDiskCache
+
+    @TempDir
+    lateinit var folder: File
+
+    @BeforeEach
+    fun setUp() = runTest {
+        whenever(cacheGateway.getOrCreateCacheFolder(folderName)).thenReturn(folder)
+        underTest = ThumbnailPreviewDiskCache(cacheGateway, mapOf(folderName to 100L))
+    }
+
+    @Test
+    fun `test that the least recently used files are evicted when over budget`() = runTest {
+        val first = createFile("first.jpg", 40)
+        val second = createFile("second.jpg", 40)
+        underTest.put(folderName, first)
+        underTest.put(folderName, second)
+        underTest.get(folderName, first)
+
+        underTest.put(folderName, createFile("third.jpg", 40))
+
+        assertThat(first.exists()).isTrue()
+        assertThat(second.exists()).isFalse()
+        assertThat(underTest.getMetrics().evictions).isEqualTo(1)
+        assertThat(underTest.getMetrics().sizeInBytes).isEqualTo(80)
+    }
+
+    @Test
+    fun `test that existing files are tracked when the folder is first used`() = runTest {
+        createFile("old.jpg", 60)
+
+        underTest.put(folderName, createFile("new.jpg", 60))
+
+        assertThat(File(folder, "old.jpg").exists()).isFalse()
+        assertThat(File(folder, "new.jpg").exists()).isTrue()
+    }
+
+    @Test
+    fun `test that hits and misses are counted`() = runTest {
+        val cached = createFile("cached.jpg", 10)
+
+        underTest.get(folderName, cached)
+        underTest.get(folderName, File(folder, "missing.jpg"))
+
+        val metrics = underTest.getMetrics()
+        assertThat(metrics.hits).isEqualTo(1)
+        assertThat(metrics.misses).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that repeated hits do not change the tracked size`() = runTest {
+        val first = createFile("first.jpg", 40)
+        underTest.put(folderName, first)
+        repeat(3) { underTest.get(folderName, first) }
+
+        underTest.put(folderName, createFile("second.jpg", 40))
+
+        assertThat(first.exists()).isTrue()
+        assertThat(underTest.getMetrics().sizeInBytes).isEqualTo(80)
+    }
+
+    @Test
+    fun `test that concurrent fetches of the same file download it once`() = runTest {
+        val file = File(folder, "shared.jpg")
+        val downloaded = CompletableDeferred<Unit>()
+        var downloads = 0
+        val download: suspend (File) -> File? = {
+            downloads++
+            downloaded.await()
+            it.apply { writeBytes(ByteArray(10)) }
+        }
+
+        val first = async { underTest.fetch(folderName, file, download) }
+        val second = async { underTest.fetch(folderName, file, download) }
+        advanceUntilIdle()
+        downloaded.complete(Unit)
+
+        assertThat(first.await()).isEqualTo(file)
+        assertThat(second.await()).isEqualTo(file)
+        assertThat(downloads).isEqualTo(1)
+        assertThat(underTest.getMetrics().coalescedRequests).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a fetch is retried when the shared download is cancelled`() = runTest {
+        val file = File(folder, "retried.jpg")
+        val firstDownload = CompletableDeferred<Unit>()
+        var downloads = 0
+
+        val first = async {
+            underTest.fetch(folderName, file) {
+                downloads++
+                firstDownload.await()
+                it
+            }
+        }
+        advanceUntilIdle()
+        val second = async {
+            underTest.fetch(folderName, file) {
+                downloads++
+                it.apply { writeBytes(ByteArray(10)) }
+            }
+        }
+        advanceUntilIdle()
+        first.cancel()
+        advanceUntilIdle()
+
+        assertThat(second.await()).isEqualTo(file)
+        assertThat(downloads).isEqualTo(2)
+    }
+
+    private fun createFile(name: String, size: Int) =
+        File(folder, name).apply { writeBytes(ByteArray(size)) }
+}
@@ -2,6 +2,7 @@ package mega.privacy.android.data.database.converter
 
 import com.google.common.truth.Truth.assertThat
 import mega.privacy.android.domain.entity.chat.ChatMessageChange
+import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
 import org.junit.jupiter.api.Test
 
 class TypedMessageEntityConvertersTest {
@@ -95,4 +96,46 @@ class TypedMessageEntityConvertersTest {
         assertThat(actual).isEmpty()
     }
 
-}
\ No newline at end of file
+    @Test
+    internal fun `test that invalid values are skipped when calling convertToLongList`() {
+        val string = "1,,a,-2,"
+        val expected = listOf(1L, -2L)
+
+        val actual = underTest.convertToLongList(string)
+
+        assertThat(actual).isEqualTo(expected)
+    }
+
+    @Test
+    internal fun `test that unknown changes are skipped when calling convertToChatMessageChangeList`() {
+        val string = "CONTENT,UNKNOWN,ACCESS"
+        val expected = listOf(ChatMessageChange.CONTENT, ChatMessageChange.ACCESS)
+
+        val actual = underTest.convertToChatMessageChangeList(string)
+
+        assertThat(actual).isEqualTo(expected)
+    }
+
+    @Test
+    internal fun `test that reactions are converted back to the same list`() {
+        val list = listOf(
+            Reaction(reaction = "👍", count = 2, userHandles = listOf(1L, 2L), hasMe = true),
+            Reaction(reaction = "🎉", count = 1, userHandles = listOf(3L), hasMe = false),
+        )
+
+        val actual = underTest.convertToMessageReactionList(
+            underTest.convertFromMessageReactionList(list)
+        )
+
+        assertThat(actual).isEqualTo(list)
+    }
+
+    @Test
+    internal fun `test that empty strings return an empty list when calling convertToMessageReactionList`() {
+        val string = ""
+
+        val actual = underTest.convertToMessageReactionList(string)
+
+        assertThat(actual).isEmpty()
+    }
+}
@@ -12,7 +12,9 @@ import mega.privacy.android.data.constant.CacheFolderConstant.CHAT_TEMPORARY_FOL
 import mega.privacy.android.data.gateway.FileGateway
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.doReturn
@@ -48,6 +50,29 @@ class CacheFolderFacadeTest {
         reset(context, fileGateway)
     }
 
+    @TempDir
+    lateinit var temporaryFolder: File
+
+    @Test
+    fun `test that getCacheFolder creates the folder in the cache dir`() {
+        whenever(context.cacheDir) doReturn temporaryFolder
+
+        val actual = underTest.getCacheFolder("folder")
+
+        assertThat(actual).isEqualTo(File(temporaryFolder, "folder"))
+        assertThat(actual?.isDirectory).isTrue()
+    }
+
+    @Test
+    fun `test that getCacheFolder creates the chat temporary folder in the files dir`() {
+        whenever(context.filesDir) doReturn temporaryFolder
+
+        val actual = underTest.getCacheFolder(CHAT_TEMPORARY_FOLDER)
+
+        assertThat(actual).isEqualTo(File(temporaryFolder, CHAT_TEMPORARY_FOLDER))
+        assertThat(actual?.isDirectory).isTrue()
+    }
+
     @ParameterizedTest
     @MethodSource("provideFilesInCache")
     fun `test that isFileInCacheDirectory check the correct cache folders`(
@@ -122,5 +122,19 @@ class CameraUploadsMediaFacadeTest {
             assertThat(underTest.getMediaSelectionQuery(parentPath)).isEqualTo(expected)
         }
 
+    @Test
+    fun test_that_getIncrementalMediaSelectionQuery_returns_the_correct_selection_query() =
+        runTest {
+            val parentPath = "parentPath"
+            val addedOrModifiedSince = 1_700_000_000_000L
+            val expected = "${MediaStore.MediaColumns.DATA} LIKE '$parentPath%' AND " +
+                    "(${MediaStore.MediaColumns.DATE_ADDED} >= 1700000000 OR " +
+                    "${MediaStore.MediaColumns.DATE_MODIFIED} >= 1700000000)"
+
+            assertThat(
+                underTest.getIncrementalMediaSelectionQuery(parentPath, addedOrModifiedSince)
+            ).isEqualTo(expected)
+        }
+
 
 }
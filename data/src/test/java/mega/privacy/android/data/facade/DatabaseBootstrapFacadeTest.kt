@@ -0,0 +1,171 @@
+package mega.privacy.android.data.facade
+
+import androidx.sqlite.db.SupportSQLiteOpenHelper
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.LocalDatabaseFactory
+import mega.privacy.android.data.database.MegaDatabase
+import mega.privacy.android.data.database.MegaDatabaseConstant
+import mega.privacy.android.data.database.SQLCipherManager
+import mega.privacy.android.data.database.chat.CHAT_DATABASE_NAME
+import mega.privacy.android.data.database.chat.ChatDatabase
+import mega.privacy.android.domain.monitoring.CrashReporter
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argThat
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.doThrow
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DatabaseBootstrapFacadeTest {
+    private lateinit var underTest: DatabaseBootstrapFacade
+
+    private val localDatabaseFactory = mock<LocalDatabaseFactory>()
+    private val sqlCipherManager = mock<SQLCipherManager>()
+    private val crashReporter = mock<CrashReporter>()
+    private val secureFactory = mock<SupportSQLiteOpenHelper.Factory>()
+    private val unencryptedFactory = mock<SupportSQLiteOpenHelper.Factory>()
+    private val megaDatabase = mock<MegaDatabase>()
+    private val chatDatabase = mock<ChatDatabase>()
+    private val passphrase = byteArrayOf(1, 2, 3)
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(localDatabaseFactory, sqlCipherManager, crashReporter, megaDatabase, chatDatabase)
+        whenever(sqlCipherManager.getPassphrase()) doReturn passphrase
+        whenever(localDatabaseFactory.getSecureFactory(passphrase)) doReturn secureFactory
+        whenever(localDatabaseFactory.getUnencryptedFactory()) doReturn unencryptedFactory
+        whenever(localDatabaseFactory.createMegaDatabase(any())) doReturn megaDatabase
+        whenever(localDatabaseFactory.createChatDatabase(any())) doReturn chatDatabase
+        whenever(megaDatabase.openHelper) doReturn mock<SupportSQLiteOpenHelper>()
+        whenever(chatDatabase.openHelper) doReturn mock<SupportSQLiteOpenHelper>()
+        initUnderTest()
+    }
+
+    private fun initUnderTest(
+        dispatcher: CoroutineDispatcher = UnconfinedTestDispatcher(),
+    ) {
+        underTest = DatabaseBootstrapFacade(
+            localDatabaseFactory = localDatabaseFactory,
+            sqlCipherManager = sqlCipherManager,
+            applicationScope = CoroutineScope(dispatcher),
+            crashReporter = crashReporter,
+            ioDispatcher = dispatcher,
+        )
+    }
+
+    @Test
+    fun `test that the databases are not opened until the bootstrap is started`() {
+        verify(localDatabaseFactory, never()).createMegaDatabase(any())
+        verify(localDatabaseFactory, never()).createChatDatabase(any())
+
+        underTest.start()
+
+        verify(localDatabaseFactory).createMegaDatabase(secureFactory)
+        verify(localDatabaseFactory).createChatDatabase(secureFactory)
+    }
+
+    @Test
+    fun `test that the secure databases are migrated and returned once open`() = runTest {
+        assertThat(underTest.awaitMegaDatabase()).isEqualTo(megaDatabase)
+        assertThat(underTest.awaitChatDatabase()).isEqualTo(chatDatabase)
+
+        verify(sqlCipherManager).migrateToSecureDatabase(
+            MegaDatabaseConstant.DATABASE_NAME,
+            passphrase
+        )
+        verify(sqlCipherManager).migrateToSecureDatabase(CHAT_DATABASE_NAME, passphrase)
+        verify(megaDatabase.openHelper).writableDatabase
+        verify(chatDatabase.openHelper).writableDatabase
+    }
+
+    @Test
+    fun `test that the providers get the database opened in the background`() = runTest {
+        underTest.start()
+
+        assertThat(underTest.getMegaDatabase()).isEqualTo(underTest.awaitMegaDatabase())
+        assertThat(underTest.getChatDatabase()).isEqualTo(underTest.awaitChatDatabase())
+        verify(localDatabaseFactory, times(1)).createMegaDatabase(any())
+        verify(localDatabaseFactory, times(1)).createChatDatabase(any())
+        verify(sqlCipherManager, times(1)).getPassphrase()
+    }
+
+    @Test
+    fun `test that an unencrypted database is created when the migration fails`() = runTest {
+        doThrow(RuntimeException()).whenever(sqlCipherManager)
+            .migrateToSecureDatabase(CHAT_DATABASE_NAME, passphrase)
+
+        assertThat(underTest.awaitChatDatabase()).isEqualTo(chatDatabase)
+
+        verify(sqlCipherManager).destructSecureDatabase(CHAT_DATABASE_NAME)
+        verify(localDatabaseFactory).createChatDatabase(unencryptedFactory)
+        verify(localDatabaseFactory, never()).createChatDatabase(secureFactory)
+    }
+
+    @Test
+    fun `test that unencrypted databases are created when the passphrase is not available`() =
+        runTest {
+            whenever(sqlCipherManager.getPassphrase()) doThrow RuntimeException()
+
+            underTest.awaitMegaDatabase()
+
+            verify(sqlCipherManager, never()).migrateToSecureDatabase(any(), any())
+            verify(sqlCipherManager).destructSecureDatabase(MegaDatabaseConstant.DATABASE_NAME)
+            verify(localDatabaseFactory).createMegaDatabase(unencryptedFactory)
+        }
+
+    @Test
+    fun `test that the startup timing of each database is reported`() = runTest {
+        doThrow(RuntimeException()).whenever(sqlCipherManager)
+            .migrateToSecureDatabase(CHAT_DATABASE_NAME, passphrase)
+
+        underTest.awaitMegaDatabase()
+        underTest.awaitChatDatabase()
+
+        verify(crashReporter).log(argThat {
+            contains("databaseName=${MegaDatabaseConstant.DATABASE_NAME}")
+                    && contains("isEncrypted=true")
+        })
+        verify(crashReporter).log(argThat {
+            contains("databaseName=$CHAT_DATABASE_NAME") && contains("isEncrypted=false")
+        })
+    }
+
+    @Test
+    fun `test that only one database is migrated at a time`() = runTest {
+        val running = AtomicInteger()
+        val maxRunning = AtomicInteger()
+        doAnswer {
+            maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+            Thread.sleep(50)
+            running.decrementAndGet()
+        }.whenever(sqlCipherManager).migrateToSecureDatabase(any(), any())
+        val executor = Executors.newFixedThreadPool(2)
+        initUnderTest(executor.asCoroutineDispatcher())
+
+        underTest.start()
+        underTest.awaitMegaDatabase()
+        underTest.awaitChatDatabase()
+        executor.shutdown()
+
+        verify(sqlCipherManager, times(2)).migrateToSecureDatabase(any(), any())
+        assertThat(maxRunning.get()).isEqualTo(1)
+    }
+}
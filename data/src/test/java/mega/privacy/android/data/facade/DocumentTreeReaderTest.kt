@@ -0,0 +1,118 @@
+package mega.privacy.android.data.facade
+
+import android.content.ContentResolver
+import android.content.Context
+import android.content.pm.PackageManager
+import android.database.Cursor
+import android.net.Uri
+import android.provider.DocumentsContract
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
+import org.mockito.Mockito.mockStatic
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.io.File
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class DocumentTreeReaderTest {
+    private val contentResolver = mock<ContentResolver>()
+    private val context = mock<Context>()
+
+    private val underTest = DocumentTreeReader(context)
+
+    @TempDir
+    lateinit var temporaryFolder: File
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(context, contentResolver)
+        whenever(context.contentResolver) doReturn contentResolver
+        whenever(context.checkCallingOrSelfUriPermission(any(), any())) doReturn
+                PackageManager.PERMISSION_GRANTED
+    }
+
+    @Test
+    fun `test that the children of a tree are read with a single query`() {
+        mockStatic(DocumentsContract::class.java).use {
+            val treeUri = mock<Uri> { on { scheme } doReturn "content" }
+            val childrenUri = mock<Uri>()
+            val folderUri = mock<Uri>()
+            val fileUri = mock<Uri>()
+            whenever(DocumentsContract.isDocumentUri(context, treeUri)) doReturn false
+            whenever(DocumentsContract.getTreeDocumentId(treeUri)) doReturn "root"
+            whenever(DocumentsContract.buildChildDocumentsUriUsingTree(treeUri, "root")) doReturn
+                    childrenUri
+            whenever(DocumentsContract.buildDocumentUriUsingTree(treeUri, "folder")) doReturn
+                    folderUri
+            whenever(DocumentsContract.buildDocumentUriUsingTree(treeUri, "file")) doReturn fileUri
+            val cursor = mock<Cursor> {
+                on { moveToNext() }.thenReturn(true, true, false)
+                on { getString(0) }.thenReturn("folder", "file")
+                on { getString(1) }.thenReturn("Folder", "file.txt")
+                on { getString(2) }.thenReturn(
+                    DocumentsContract.Document.MIME_TYPE_DIR,
+                    "text/plain"
+                )
+                on { isNull(any()) } doReturn false
+                on { getLong(3) }.thenReturn(0L, 10L)
+                on { getLong(4) }.thenReturn(1L, 2L)
+            }
+            whenever(
+                contentResolver.query(eq(childrenUri), any(), anyOrNull(), anyOrNull(), anyOrNull())
+            ) doReturn cursor
+
+            val actual = underTest.listChildren(treeUri)
+
+            assertThat(actual).isNotNull()
+            assertThat(actual?.map { it.uri }).containsExactly(folderUri, fileUri).inOrder()
+            assertThat(actual?.map { it.name }).containsExactly("Folder", "file.txt").inOrder()
+            assertThat(actual?.map { it.isFolder }).containsExactly(true, false).inOrder()
+            assertThat(actual?.map { it.size }).containsExactly(0L, 10L).inOrder()
+            assertThat(actual?.all { it.canRead }).isTrue()
+            verify(contentResolver, times(1))
+                .query(any(), any(), anyOrNull(), anyOrNull(), anyOrNull())
+            verify(cursor).close()
+        }
+    }
+
+    @Test
+    fun `test that the children of a folder of file uris are listed`() {
+        mockStatic(Uri::class.java).use {
+            File(temporaryFolder, "folder").mkdir()
+            File(temporaryFolder, "file.txt").writeText("content")
+            val folderUri = mock<Uri> {
+                on { scheme } doReturn "file"
+                on { path } doReturn temporaryFolder.path
+            }
+            whenever(Uri.fromFile(any())).thenAnswer { mock<Uri>() }
+
+            val actual = underTest.listChildren(folderUri)
+
+            assertThat(actual?.associate { it.name to it.isFolder })
+                .containsExactly("folder", true, "file.txt", false)
+            assertThat(actual?.single { !it.isFolder }?.size).isEqualTo(7L)
+        }
+    }
+
+    @Test
+    fun `test that child names are empty when the folder can't be listed`() {
+        mockStatic(DocumentsContract::class.java).use {
+            val treeUri = mock<Uri> { on { scheme } doReturn "content" }
+            whenever(DocumentsContract.isDocumentUri(context, treeUri)) doReturn false
+            whenever(DocumentsContract.getTreeDocumentId(treeUri))
+                .thenThrow(IllegalArgumentException())
+
+            assertThat(underTest.getChildNames(treeUri)).isEmpty()
+        }
+    }
+}
@@ -21,6 +21,7 @@ import kotlinx.coroutines.test.setMain
 import mega.privacy.android.data.extensions.toUri
 import mega.privacy.android.data.gateway.DeviceGateway
 import mega.privacy.android.data.mapper.file.DocumentFileMapper
+import mega.privacy.android.data.model.document.DocumentTreeEntry
 import mega.privacy.android.data.wrapper.DocumentFileWrapper
 import mega.privacy.android.domain.entity.document.DocumentEntity
 import mega.privacy.android.domain.entity.document.DocumentMetadata
@@ -38,6 +39,7 @@ import org.mockito.Mockito.mockStatic
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.doThrow
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import org.robolectric.annotation.Config
@@ -53,6 +55,7 @@ internal class FileFacadeTest {
     private val environmentMock = mockStatic(Environment::class.java)
     private val deviceGateway = mock<DeviceGateway>()
     private val documentFileWrapper = mock<DocumentFileWrapper>()
+    private val documentTreeReader = mock<DocumentTreeReader>()
 
     @TempDir
     lateinit var temporaryFolder: File
@@ -65,6 +68,7 @@ internal class FileFacadeTest {
             documentFileMapper = documentFileMapper,
             deviceGateway = deviceGateway,
             documentFileWrapper = documentFileWrapper,
+            documentTreeReader = documentTreeReader,
         )
     }
 
@@ -780,4 +784,68 @@ internal class FileFacadeTest {
         whenever(documentFileWrapper.fromUri(uri)) doReturn documentFile
         return uri
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that getFilesInDocumentFolder maps the children with the counts of their children`() =
+        runTest {
+            mockStatic(Uri::class.java).use {
+                val folderUri = mock<Uri> { on { scheme } doReturn "content" }
+                val folderPath = UriPath("content://folder")
+                whenever(Uri.parse(folderPath.value)) doReturn folderUri
+                val subFolder = treeEntry(name = "subFolder", isFolder = true)
+                val file = treeEntry(name = "file.txt", isFolder = false)
+                whenever(documentTreeReader.listChildren(folderUri)) doReturn listOf(subFolder, file)
+                whenever(documentTreeReader.listChildren(subFolder.uri)) doReturn listOf(
+                    treeEntry(name = "child1.txt", isFolder = false),
+                    treeEntry(name = "child2.txt", isFolder = false),
+                    treeEntry(name = "childFolder", isFolder = true),
+                )
+                val subFolderEntity = mock<DocumentEntity>()
+                val fileEntity = mock<DocumentEntity>()
+                whenever(documentFileMapper(subFolder, 2, 1)) doReturn subFolderEntity
+                whenever(documentFileMapper(file, 0, 0)) doReturn fileEntity
+
+                val actual = underTest.getFilesInDocumentFolder(folderPath)
+
+                assertThat(actual.files).containsExactly(subFolderEntity, fileEntity).inOrder()
+                verify(documentTreeReader, never()).listChildren(file.uri)
+            }
+        }
+
+    @Test
+    fun `test that copyUriToDocumentFolder renames the file when the name is taken`() = runTest {
+        val contentResolver = mock<ContentResolver>()
+        val source = mock<Uri>()
+        val destinationUri = mock<Uri>()
+        val destination = mock<DocumentFile> {
+            on { uri } doReturn destinationUri
+        }
+        whenever(context.contentResolver) doReturn contentResolver
+        whenever(contentResolver.getType(source)) doReturn "text/plain"
+        whenever(documentTreeReader.getChildNames(destinationUri)) doReturn
+                mutableSetOf("file.txt", "file (1).txt")
+
+        underTest.copyUriToDocumentFolder("file.txt", source, destination)
+
+        verify(destination).createFile("text/plain", "file (2)")
+    }
+
+    @Test
+    fun `test that findFileInDirectory returns the file if it exists`() = runTest {
+        val file = File(temporaryFolder, "found.txt").apply { createNewFile() }
+
+        assertThat(underTest.findFileInDirectory(temporaryFolder.path, "found.txt"))
+            .isEqualTo(file)
+        assertThat(underTest.findFileInDirectory(temporaryFolder.path, "missing.txt")).isNull()
+        assertThat(underTest.findFileInDirectory(temporaryFolder.path, "")).isNull()
+    }
+
+    private fun treeEntry(name: String, isFolder: Boolean) = DocumentTreeEntry(
+        uri = mock<Uri>(),
+        name = name,
+        isFolder = isFolder,
+        size = 0L,
+        lastModified = 0L,
+        canRead = true,
+    )
+}
@@ -5,8 +5,10 @@ import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.single
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.OfflineInfoIndex
 import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
+import mega.privacy.android.data.database.MegaDatabase
 import mega.privacy.android.data.database.dao.ActiveTransferDao
 import mega.privacy.android.data.database.dao.ActiveTransferGroupDao
 import mega.privacy.android.data.database.dao.BackupDao
@@ -16,6 +18,7 @@ import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
 import mega.privacy.android.data.database.dao.PendingTransferDao
+import mega.privacy.android.data.database.dao.PhotoTimelineIndexDao
 import mega.privacy.android.data.database.dao.VideoRecentlyWatchedDao
 import mega.privacy.android.data.database.entity.ActiveTransferEntity
 import mega.privacy.android.data.database.entity.ActiveTransferGroupEntity
@@ -24,7 +27,9 @@ import mega.privacy.android.data.database.entity.CameraUploadsRecordEntity
 import mega.privacy.android.data.database.entity.ChatPendingChangesEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntityLegacy
+import mega.privacy.android.data.database.entity.OfflineEntity
 import mega.privacy.android.data.database.entity.PendingTransferEntity
+import mega.privacy.android.data.database.entity.PhotoTimelineIndexEntity
 import mega.privacy.android.data.database.entity.VideoRecentlyWatchedEntity
 import mega.privacy.android.data.facade.MegaLocalRoomFacade.Companion.MAX_INSERT_LIST_SIZE
 import mega.privacy.android.data.mapper.backup.BackupEntityMapper
@@ -38,6 +43,8 @@ import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineModelMapper
+import mega.privacy.android.data.mapper.photos.PhotoTimelineIndexEntityMapper
+import mega.privacy.android.data.mapper.photos.PhotoTimelineIndexItemMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferGroupEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
@@ -47,8 +54,10 @@ import mega.privacy.android.data.mapper.transfer.pending.InsertPendingTransferRe
 import mega.privacy.android.data.mapper.transfer.pending.PendingTransferModelMapper
 import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedEntityMapper
 import mega.privacy.android.data.mapper.videosection.VideoRecentlyWatchedItemMapper
+import mega.privacy.android.data.model.PhotoTimelineIndexItem
 import mega.privacy.android.data.model.VideoRecentlyWatchedItem
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.Offline
 import mega.privacy.android.domain.entity.backup.Backup
 import mega.privacy.android.domain.entity.backup.BackupInfoType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
@@ -77,6 +86,7 @@ import org.mockito.kotlin.mock
 import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -116,6 +126,14 @@ internal class MegaLocalRoomFacadeTest {
     private val insertPendingTransferRequestMapper = mock<InsertPendingTransferRequestMapper>()
     private val activeTransferGroupDao = mock<ActiveTransferGroupDao>()
     private val activeTransferGroupEntityMapper = mock<ActiveTransferGroupEntityMapper>()
+    private val photoTimelineIndexDao = mock<PhotoTimelineIndexDao>()
+    private val photoTimelineIndexEntityMapper = mock<PhotoTimelineIndexEntityMapper>()
+    private val photoTimelineIndexItemMapper = mock<PhotoTimelineIndexItemMapper>()
+    private val offlineInfoIndex = mock<OfflineInfoIndex>()
+    private val megaDatabase = mock<MegaDatabase>()
+    private val databaseBootstrapFacade = mock<DatabaseBootstrapFacade> {
+        onBlocking { awaitMegaDatabase() } doReturn megaDatabase
+    }
 
     @BeforeAll
     fun setUp() {
@@ -153,6 +171,11 @@ internal class MegaLocalRoomFacadeTest {
             insertPendingTransferRequestMapper = insertPendingTransferRequestMapper,
             activeTransferGroupDao = { activeTransferGroupDao },
             activeTransferGroupEntityMapper = activeTransferGroupEntityMapper,
+            photoTimelineIndexDao = { photoTimelineIndexDao },
+            photoTimelineIndexEntityMapper = photoTimelineIndexEntityMapper,
+            photoTimelineIndexItemMapper = photoTimelineIndexItemMapper,
+            offlineInfoIndex = offlineInfoIndex,
+            databaseBootstrapFacade = databaseBootstrapFacade,
         )
     }
 
@@ -186,22 +209,22 @@ internal class MegaLocalRoomFacadeTest {
             insertPendingTransferRequestMapper,
             activeTransferGroupDao,
             activeTransferGroupEntityMapper,
+            photoTimelineIndexDao,
+            offlineInfoIndex,
+            photoTimelineIndexEntityMapper,
+            photoTimelineIndexItemMapper,
         )
     }
 
     @Test
-    fun `test that getAllCompletedTransfers returns a list of completed transfers ordered by timestamp descendant`() =
+    fun `test that getCompletedTransfers returns the completed transfers in the order of the database query`() =
         runTest {
             val completedTransferEntities = listOf<CompletedTransferEntity>(
                 mock(), mock(), mock(),
             )
-            val completedTransfers = listOf<CompletedTransfer>(
-                mock { on { timestamp }.thenReturn(1684228012974) },
-                mock { on { timestamp }.thenReturn(1684228012975) },
-                mock { on { timestamp }.thenReturn(1684228012973) },
-            )
+            val completedTransfers = listOf<CompletedTransfer>(mock(), mock(), mock())
 
-            whenever(completedTransferDao.getAllCompletedTransfers())
+            whenever(completedTransferDao.monitorCompletedTransfersByTimestamp(-1))
                 .thenReturn(flowOf(completedTransferEntities))
             completedTransferEntities.forEachIndexed { index, completedTransferEntity ->
                 whenever(completedTransferModelMapper(completedTransferEntity)).thenReturn(
@@ -209,29 +232,20 @@ internal class MegaLocalRoomFacadeTest {
                 )
             }
 
-            val expected =
-                listOf(completedTransfers[1], completedTransfers[0], completedTransfers[2])
-
-            assertThat(underTest.getCompletedTransfers().single()).isEqualTo(expected)
+            assertThat(underTest.getCompletedTransfers().single()).isEqualTo(completedTransfers)
         }
 
 
     @Test
-    fun `test that getAllCompletedTransfers returns a list of completed transfers with size max elements`() =
+    fun `test that getCompletedTransfers limits the database query to size elements`() =
         runTest {
             val expectedSize = 2
-            val completedTransferEntities = listOf<CompletedTransferEntity>(
-                mock(), mock(), mock(), mock()
-            )
+            val completedTransferEntities = listOf<CompletedTransferEntity>(mock(), mock())
 
-            whenever(completedTransferDao.getAllCompletedTransfers()).thenReturn(
-                flowOf(completedTransferEntities)
-            )
+            whenever(completedTransferDao.monitorCompletedTransfersByTimestamp(expectedSize))
+                .thenReturn(flowOf(completedTransferEntities))
             completedTransferEntities.forEach { entity ->
-                val completedTransfer = mock<CompletedTransfer> {
-                    on { timestamp }.thenReturn(1684228012974)
-                }
-                whenever(completedTransferModelMapper(entity)).thenReturn(completedTransfer)
+                whenever(completedTransferModelMapper(entity)).thenReturn(mock())
             }
 
             assertThat(underTest.getCompletedTransfers(expectedSize).single().size)
@@ -239,20 +253,16 @@ internal class MegaLocalRoomFacadeTest {
         }
 
     @Test
-    fun `test that getAllCompletedTransfers returns all completed transfers if the size parameter is null`() =
+    fun `test that getCompletedTransfers does not limit the database query if the size parameter is null`() =
         runTest {
             val completedTransferEntities = listOf<CompletedTransferEntity>(
                 mock(), mock(), mock(), mock()
             )
 
-            whenever(completedTransferDao.getAllCompletedTransfers()).thenReturn(
-                flowOf(completedTransferEntities)
-            )
+            whenever(completedTransferDao.monitorCompletedTransfersByTimestamp(-1))
+                .thenReturn(flowOf(completedTransferEntities))
             completedTransferEntities.forEach { entity ->
-                val completedTransfer = mock<CompletedTransfer> {
-                    on { timestamp }.thenReturn(1684228012974)
-                }
-                whenever(completedTransferModelMapper(entity)).thenReturn(completedTransfer)
+                whenever(completedTransferModelMapper(entity)).thenReturn(mock())
             }
 
             assertThat(underTest.getCompletedTransfers().single().size)
@@ -419,52 +429,19 @@ internal class MegaLocalRoomFacadeTest {
         }
 
     @Test
-    fun `test that delete entities correctly when deleteOldestCompletedTransfers is called`() =
-        runTest {
-            val completedTransfers = (1..110).map { id ->
-                CompletedTransferEntity(
-                    id = id,
-                    fileName = "2023-03-24 00.13.20_1.jpg",
-                    type = 1,
-                    state = 6,
-                    size = "3.57 MB",
-                    handle = 27169983390750L,
-                    path = "Cloud drive/Camera uploads",
-                    isOffline = false,
-                    timestamp = System.nanoTime(),
-                    error = "No error",
-                    originalPath = "/data/user/0/mega.privacy.android.app/cache/cu/53132573053997.2023-03-24 00.13.20_1.jpg",
-                    parentHandle = 11622336899311L,
-                    appData = "appData",
-                )
-            }
-            completedTransfers.forEach { entity ->
-                whenever(completedTransferModelMapper(entity)).thenReturn(
-                    CompletedTransfer(
-                        id = entity.id,
-                        fileName = entity.fileName,
-                        type = entity.type,
-                        state = entity.state,
-                        size = entity.size,
-                        handle = entity.handle,
-                        path = entity.path,
-                        isOffline = entity.isOffline,
-                        timestamp = entity.timestamp,
-                        error = entity.error,
-                        originalPath = entity.originalPath,
-                        parentHandle = entity.parentHandle,
-                        appData = entity.appData,
-                    )
-                )
-            }
-            val deletedTransfers = completedTransfers.take(10)
-            whenever(completedTransferDao.getCompletedTransfersCount()) doReturn completedTransfers.size
-            whenever(completedTransferDao.getAllCompletedTransfers()) doReturn flowOf(
-                completedTransfers
-            )
+    fun `test that the oldest completed transfers are deleted in the database when deleteOldestCompletedTransfers is called`() =
+        runTest {
+            whenever(completedTransferDao.getCompletedTransfersCount()) doReturn 110
+            underTest.deleteOldestCompletedTransfers()
+            verify(completedTransferDao).deleteOldestCompletedTransfers(100)
+        }
+
+    @Test
+    fun `test that nothing is deleted when deleteOldestCompletedTransfers is called below the limit`() =
+        runTest {
+            whenever(completedTransferDao.getCompletedTransfersCount()) doReturn 100
             underTest.deleteOldestCompletedTransfers()
-            verify(completedTransferDao).deleteCompletedTransferByIds(deletedTransfers.mapNotNull { it.id }
-                .sortedDescending(), MAX_INSERT_LIST_SIZE)
+            verify(completedTransferDao, never()).deleteOldestCompletedTransfers(any())
         }
 
     @Test
@@ -553,6 +530,7 @@ internal class MegaLocalRoomFacadeTest {
             underTest.deleteCameraUploadsRecords(folderType)
 
             verify(cameraUploadsRecordDao).deleteCameraUploadsRecordsByFolderType(folderType)
+            verify(cameraUploadsRecordDao).deleteCameraUploadsScanWatermarksByFolderType(folderType)
         }
 
     @Test
@@ -972,4 +950,89 @@ internal class MegaLocalRoomFacadeTest {
 
         assertThat(actual).isEqualTo(expected)
     }
+
+    @Test
+    fun `test that getAllPhotoTimelineIndexItems returns the mapped entities`() = runTest {
+        val entities = listOf<PhotoTimelineIndexEntity>(mock(), mock())
+        val items = listOf<PhotoTimelineIndexItem>(mock(), mock())
+        whenever(photoTimelineIndexDao.getAllPhotoTimelineIndexEntities()) doReturn entities
+        entities.forEachIndexed { index, entity ->
+            whenever(photoTimelineIndexItemMapper(entity)) doReturn items[index]
+        }
+
+        assertThat(underTest.getAllPhotoTimelineIndexItems()).isEqualTo(items)
+    }
+
+    @Test
+    fun `test that insertOrUpdatePhotoTimelineIndexItems inserts the mapped items in chunks`() =
+        runTest {
+            val items = listOf<PhotoTimelineIndexItem>(mock(), mock())
+            val entities = listOf<PhotoTimelineIndexEntity>(mock(), mock())
+            items.forEachIndexed { index, item ->
+                whenever(photoTimelineIndexEntityMapper(item)) doReturn entities[index]
+            }
+
+            underTest.insertOrUpdatePhotoTimelineIndexItems(items)
+
+            verify(photoTimelineIndexDao).insertOrUpdatePhotoTimelineIndexEntities(
+                entities,
+                MAX_INSERT_LIST_SIZE
+            )
+        }
+
+    @Test
+    fun `test that deletePhotoTimelineIndexItems deletes the entities by handle in chunks`() =
+        runTest {
+            val handles = listOf(1L, 2L)
+
+            underTest.deletePhotoTimelineIndexItems(handles)
+
+            verify(photoTimelineIndexDao).deletePhotoTimelineIndexEntitiesByHandles(
+                handles,
+                MAX_INSERT_LIST_SIZE
+            )
+        }
+
+    @Test
+    fun `test that replacePhotoTimelineIndexItems replaces the whole index`() = runTest {
+        val item = mock<PhotoTimelineIndexItem>()
+        val entity = mock<PhotoTimelineIndexEntity>()
+        whenever(photoTimelineIndexEntityMapper(item)) doReturn entity
+
+        underTest.replacePhotoTimelineIndexItems(listOf(item))
+
+        verify(photoTimelineIndexDao).replaceAllPhotoTimelineIndexEntities(
+            listOf(entity),
+            MAX_INSERT_LIST_SIZE
+        )
+    }
+
+    @Test
+    fun `test that getOfflineInformation is served from the offline index`() = runTest {
+        val offline = mock<Offline>()
+        whenever(offlineInfoIndex.get("123")).thenReturn(offline)
+
+        assertThat(underTest.getOfflineInformation(123L)).isEqualTo(offline)
+        verifyNoInteractions(offlineDao)
+    }
+
+    @Test
+    fun `test that saveOfflineInformation invalidates the offline index`() = runTest {
+        val offline = mock<Offline>()
+        val entity = mock<OfflineEntity>()
+        whenever(offlineEntityMapper(offline)).thenReturn(entity)
+
+        underTest.saveOfflineInformation(offline)
+
+        verify(offlineDao).insertOrUpdateOffline(entity)
+        verify(offlineInfoIndex).invalidate()
+    }
+
+    @Test
+    fun `test that clearOffline clears the offline index`() = runTest {
+        underTest.clearOffline()
+
+        verify(offlineDao).deleteAllOffline()
+        verify(offlineInfoIndex).clear()
+    }
 }
@@ -6,6 +6,7 @@ import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.database.chat.ChatDatabase
 import mega.privacy.android.data.database.dao.PendingMessageDao
 import mega.privacy.android.data.database.entity.chat.PendingMessageEntity
+import mega.privacy.android.data.facade.DatabaseBootstrapFacade
 import mega.privacy.android.domain.entity.chat.PendingMessageState
 import mega.privacy.android.domain.entity.chat.messages.pending.UpdatePendingMessageRequest
 import mega.privacy.android.domain.entity.chat.messages.pending.UpdatePendingMessageStateAndNodeHandleRequest
@@ -28,10 +29,16 @@ class ChatStorageFacadeTest {
     private lateinit var underTest: ChatStorageFacade
 
     val database = mock<ChatDatabase>()
+    private val databaseBootstrapFacade = mock<DatabaseBootstrapFacade> {
+        onBlocking { awaitChatDatabase() } doReturn database
+    }
 
     @BeforeAll
     fun setUp() {
-        underTest = ChatStorageFacade { database }
+        underTest = ChatStorageFacade(
+            database = { database },
+            databaseBootstrapFacade = databaseBootstrapFacade,
+        )
     }
 
     @ParameterizedTest
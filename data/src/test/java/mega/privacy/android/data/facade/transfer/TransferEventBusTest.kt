@@ -0,0 +1,140 @@
+package mega.privacy.android.data.facade.transfer
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.model.GlobalTransfer
+import nz.mega.sdk.MegaError
+import nz.mega.sdk.MegaTransfer
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransferEventBusTest {
+
+    private lateinit var underTest: TransferEventBus
+
+    private val first = mock<MegaTransfer> { on { tag } doReturn 1 }
+    private val second = mock<MegaTransfer> { on { tag } doReturn 2 }
+    private val error = mock<MegaError>()
+
+    @BeforeEach
+    fun setUp() {
+        underTest = TransferEventBus()
+    }
+
+    @Test
+    fun `test that queued updates of the same transfer are conflated in place`() {
+        val start = GlobalTransfer.OnTransferStart(first)
+        val secondUpdate = GlobalTransfer.OnTransferUpdate(second)
+        val lastUpdate = GlobalTransfer.OnTransferUpdate(first)
+
+        underTest.send(start)
+        underTest.send(GlobalTransfer.OnTransferUpdate(first))
+        underTest.send(secondUpdate)
+        underTest.send(GlobalTransfer.OnTransferUpdate(first))
+        underTest.send(lastUpdate)
+
+        assertThat(underTest.drain(Int.MAX_VALUE))
+            .containsExactly(start, GlobalTransfer.OnTransferUpdate(first), secondUpdate)
+            .inOrder()
+        assertThat(underTest.getMetrics().coalescedEvents).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that updates sent after a finish event are not conflated with the previous ones`() {
+        val update = GlobalTransfer.OnTransferUpdate(first)
+        val finish = GlobalTransfer.OnTransferFinish(first, error)
+        val temporaryError = GlobalTransfer.OnTransferTemporaryError(first, error)
+
+        underTest.send(update)
+        underTest.send(temporaryError)
+        underTest.send(update)
+        underTest.send(finish)
+
+        assertThat(underTest.drain(Int.MAX_VALUE))
+            .containsExactly(update, temporaryError, update, finish)
+            .inOrder()
+        assertThat(underTest.getMetrics().coalescedEvents).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that updates are not conflated with an update already drained`() {
+        underTest.send(GlobalTransfer.OnTransferUpdate(first))
+        underTest.drain(Int.MAX_VALUE)
+
+        underTest.send(GlobalTransfer.OnTransferUpdate(first))
+
+        assertThat(underTest.drain(Int.MAX_VALUE)).hasSize(1)
+        assertThat(underTest.getMetrics().coalescedEvents).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that folder updates are only conflated within the same stage`() {
+        val scanning = createFolderUpdate(stage = 1, fileCount = 1)
+        val lastScanning = createFolderUpdate(stage = 1, fileCount = 2)
+        val creatingTree = createFolderUpdate(stage = 2, fileCount = 2)
+
+        underTest.send(scanning)
+        underTest.send(lastScanning)
+        underTest.send(creatingTree)
+
+        assertThat(underTest.drain(Int.MAX_VALUE))
+            .containsExactly(lastScanning, creatingTree)
+            .inOrder()
+    }
+
+    @Test
+    fun `test that drain returns at most the requested number of events`() {
+        repeat(5) { underTest.send(GlobalTransfer.OnTransferStart(first)) }
+
+        assertThat(underTest.drain(3)).hasSize(3)
+        assertThat(underTest.getMetrics().queueDepth).isEqualTo(2)
+        assertThat(underTest.getMetrics().maxQueueDepth).isEqualTo(5)
+    }
+
+    @Test
+    fun `test that only progress events are dropped when the queue is full`() {
+        repeat(TransferEventBus.MAX_QUEUE_DEPTH) {
+            underTest.send(GlobalTransfer.OnTransferStart(first))
+        }
+
+        underTest.send(GlobalTransfer.OnTransferUpdate(second))
+        underTest.send(GlobalTransfer.OnTransferFinish(second, error))
+
+        val metrics = underTest.getMetrics()
+        assertThat(metrics.droppedEvents).isEqualTo(1)
+        assertThat(metrics.queueDepth).isEqualTo(TransferEventBus.MAX_QUEUE_DEPTH + 1)
+    }
+
+    @Test
+    fun `test that clear discards the queued events`() {
+        underTest.send(GlobalTransfer.OnTransferStart(first))
+
+        underTest.clear()
+
+        assertThat(underTest.drain(Int.MAX_VALUE)).isEmpty()
+    }
+
+    @Test
+    fun `test that batches emits the queued events`() = runTest {
+        val start = GlobalTransfer.OnTransferStart(first)
+        val update = GlobalTransfer.OnTransferUpdate(first)
+        underTest.send(start)
+        underTest.send(update)
+
+        underTest.batches.test {
+            assertThat(awaitItem()).containsExactly(start, update).inOrder()
+            val finish = GlobalTransfer.OnTransferFinish(first, error)
+            underTest.send(finish)
+            assertThat(awaitItem()).containsExactly(finish)
+            cancelAndIgnoreRemainingEvents()
+        }
+    }
+
+    private fun createFolderUpdate(stage: Int, fileCount: Long) =
+        GlobalTransfer.OnFolderTransferUpdate(first, stage, 1, 1, fileCount, null, null)
+}
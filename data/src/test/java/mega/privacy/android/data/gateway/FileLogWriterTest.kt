@@ -0,0 +1,82 @@
+package mega.privacy.android.data.gateway
+
+import android.util.Log
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.logging.LogEntry
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoMoreInteractions
+import org.slf4j.Logger
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FileLogWriterTest {
+    private val logger = mock<Logger>()
+    private val lineEnd = " ${System.lineSeparator()}"
+
+    private val underTest = FileLogWriter(logger) { level -> "[$level] " }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(logger)
+    }
+
+    @Test
+    fun `test that a batch is written in a single event with the prefix of each later entry`() {
+        underTest.writeLogEntries(
+            listOf(
+                LogEntry(message = "first", priority = Log.DEBUG),
+                LogEntry(message = "second", priority = Log.WARN),
+                LogEntry(message = "third", priority = Log.INFO),
+            )
+        )
+
+        verify(logger).debug("first$lineEnd[WARN] second$lineEnd[INFO] third")
+        verifyNoMoreInteractions(logger)
+    }
+
+    @Test
+    fun `test that entries with a throwable are written on their own`() {
+        val throwable = RuntimeException()
+
+        underTest.writeLogEntries(
+            listOf(
+                LogEntry(message = "first", priority = Log.INFO),
+                LogEntry(message = "failure", priority = Log.ERROR, throwable = throwable),
+                LogEntry(message = "last", priority = Log.INFO),
+            )
+        )
+
+        verify(logger).info("first")
+        verify(logger).error("failure", throwable)
+        verify(logger).info("last")
+        verifyNoMoreInteractions(logger)
+    }
+
+    @Test
+    fun `test that entries of an unknown priority are skipped`() {
+        underTest.writeLogEntries(
+            listOf(
+                LogEntry(message = "unknown", priority = 0),
+                LogEntry(message = "known", priority = Log.INFO),
+            )
+        )
+
+        verify(logger).info("known")
+        verifyNoMoreInteractions(logger)
+    }
+
+    @Test
+    fun `test that the timestamp prefix matches the sdk log pattern`() {
+        val clock = Clock.fixed(Instant.parse("2024-03-05T07:08:09Z"), ZoneOffset.UTC)
+
+        assertThat(FileLogWriter.timestampLinePrefix(clock)("INFO"))
+            .isEqualTo("[05-03 07:08:09][INFO ] ")
+    }
+}
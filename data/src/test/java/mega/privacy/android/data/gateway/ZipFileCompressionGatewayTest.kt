@@ -0,0 +1,88 @@
+package mega.privacy.android.data.gateway
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.Progress
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.util.zip.ZipFile
+
+internal class ZipFileCompressionGatewayTest {
+    private val underTest = ZipFileCompressionGateway()
+
+    @TempDir
+    lateinit var temporaryFolder: File
+
+    private lateinit var logFolder: File
+    private lateinit var zipFile: File
+
+    @BeforeEach
+    fun setUp() {
+        logFolder = File(temporaryFolder, "logs").apply { mkdirs() }
+        zipFile = File(temporaryFolder, "logs.zip")
+    }
+
+    @Test
+    fun `test that every log file is archived when they fit in the budget`() = runTest {
+        val sdkLog = createLogFile("sdk.log", "sdk line\n".repeat(10_000), age = 2)
+        val chatLog = createLogFile("chat/chat.log", "chat line\n".repeat(10_000), age = 1)
+
+        underTest.zipLogFolder(logFolder, zipFile, Long.MAX_VALUE) {}
+
+        ZipFile(zipFile).use { archive ->
+            assertThat(archive.size()).isEqualTo(2)
+            assertThat(archive.readEntry("sdk.log")).isEqualTo(sdkLog.readText())
+            assertThat(archive.readEntry("chat/chat.log")).isEqualTo(chatLog.readText())
+        }
+    }
+
+    @Test
+    fun `test that the newest logs are kept when the budget is exceeded`() = runTest {
+        createLogFile("oldest.log", "a".repeat(100), age = 3)
+        createLogFile("older.log", "0123456789".repeat(10), age = 2)
+        val newest = createLogFile("newest.log", "b".repeat(100), age = 1)
+
+        underTest.zipLogFolder(logFolder, zipFile, 150) {}
+
+        ZipFile(zipFile).use { archive ->
+            assertThat(archive.getEntry("oldest.log")).isNull()
+            assertThat(archive.readEntry("older.log")).isEqualTo("0123456789".repeat(5))
+            assertThat(archive.getEntry("older.log").comment).contains("Truncated")
+            assertThat(archive.readEntry("newest.log")).isEqualTo(newest.readText())
+        }
+    }
+
+    @Test
+    fun `test that the progress is reported until all the content is compressed`() = runTest {
+        repeat(5) { createLogFile("$it.log", "line $it\n".repeat(20_000), age = it.toLong()) }
+        val progress = mutableListOf<Progress>()
+
+        underTest.zipLogFolder(logFolder, zipFile, Long.MAX_VALUE) {
+            synchronized(progress) { progress.add(it) }
+        }
+
+        assertThat(progress).isNotEmpty()
+        assertThat(progress.maxOf { it.floatValue }).isEqualTo(1f)
+    }
+
+    @Test
+    fun `test that temporary files are deleted`() = runTest {
+        createLogFile("sdk.log", "sdk line\n", age = 1)
+
+        underTest.zipLogFolder(logFolder, zipFile, Long.MAX_VALUE) {}
+
+        assertThat(temporaryFolder.list()).asList().containsExactly("logs", "logs.zip")
+    }
+
+    private fun createLogFile(path: String, content: String, age: Long) =
+        File(logFolder, path).apply {
+            parentFile?.mkdirs()
+            writeText(content)
+            setLastModified(System.currentTimeMillis() - age * 60_000)
+        }
+
+    private fun ZipFile.readEntry(name: String) =
+        getInputStream(getEntry(name)).use { it.readBytes().toString(Charsets.UTF_8) }
+}
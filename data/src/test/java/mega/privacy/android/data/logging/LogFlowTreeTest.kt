@@ -1,8 +1,14 @@
 package mega.privacy.android.data.logging
 
+import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.gateway.TimberChatLogger
+import mega.privacy.android.domain.entity.logging.CreateLogEntryRequest
 import mega.privacy.android.domain.entity.logging.LogEntry
 import mega.privacy.android.domain.usecase.CreateLogEntry
 import org.junit.Before
@@ -18,8 +24,9 @@ class LogFlowTreeTest {
     private lateinit var underTest: LogFlowTree
 
     private val createLogEntry = mock<CreateLogEntry> {
-        onBlocking { invoke(any()) }.thenReturn(
-            LogEntry(message = "", priority = 0))
+        onBlocking { invoke(any()) }.thenAnswer {
+            LogEntry(message = it.getArgument<CreateLogEntryRequest>(0).message, priority = 0)
+        }
     }
 
     @Before
@@ -44,4 +51,86 @@ class LogFlowTreeTest {
         verifyBlocking(createLogEntry) { invoke(argForWhich { loggingClasses.containsAll(expected) }) }
     }
 
-}
\ No newline at end of file
+    @Test
+    fun `test that the trace passed to create entry contains the logging call site`() = runTest {
+        underTest.d("Message")
+
+        verifyBlocking(createLogEntry) {
+            invoke(argForWhich { trace.any { it.className == LogFlowTreeTest::class.java.name } })
+        }
+    }
+
+    @Test
+    fun `test that the call site is not captured for tagged entries`() = runTest {
+        Timber.plant(underTest)
+        try {
+            Timber.tag("[sdk]").d("Message")
+        } finally {
+            Timber.uproot(underTest)
+        }
+
+        verifyBlocking(createLogEntry) { invoke(argForWhich { trace.isEmpty() }) }
+    }
+
+    @Test
+    fun `test that chat sdk entries are passed untagged with the chat logger as their trace`() =
+        runTest {
+            Timber.plant(underTest)
+            try {
+                Timber.tag(TimberChatLogger.TAG).d("Message")
+            } finally {
+                Timber.uproot(underTest)
+            }
+
+            verifyBlocking(createLogEntry) {
+                invoke(argForWhich {
+                    tag == null && trace.single().className == TimberChatLogger::class.java.name
+                })
+            }
+        }
+
+    @Test
+    fun `test that queued entries are emitted together in order`() = runTest {
+        underTest = LogFlowTree(
+            dispatcher = StandardTestDispatcher(testScheduler),
+            createLogEntry = createLogEntry
+        )
+        val batches = mutableListOf<List<LogEntry>>()
+        backgroundScope.launch(UnconfinedTestDispatcher(testScheduler)) {
+            underTest.logFlow.collect { batches.add(it) }
+        }
+
+        underTest.d("first")
+        underTest.d("second")
+        underTest.d("third")
+        advanceUntilIdle()
+
+        assertThat(batches.flatten().map { it.message })
+            .containsExactly("first", "second", "third").inOrder()
+        assertThat(batches).hasSize(1)
+    }
+
+    @Test
+    fun `test that the oldest entries are dropped and reported when the buffer is full`() =
+        runTest {
+            underTest = LogFlowTree(
+                dispatcher = StandardTestDispatcher(testScheduler),
+                createLogEntry = createLogEntry,
+                bufferCapacity = 2,
+            )
+            val batches = mutableListOf<List<LogEntry>>()
+            backgroundScope.launch(UnconfinedTestDispatcher(testScheduler)) {
+                underTest.logFlow.collect { batches.add(it) }
+            }
+
+            (1..5).forEach { underTest.d("message $it") }
+            advanceUntilIdle()
+
+            assertThat(underTest.droppedEntryCount).isEqualTo(3)
+            assertThat(batches.flatten().map { it.message }).containsExactly(
+                "3 log entries dropped (3 in total)",
+                "message 4",
+                "message 5",
+            ).inOrder()
+        }
+}
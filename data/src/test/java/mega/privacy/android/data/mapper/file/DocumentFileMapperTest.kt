@@ -3,6 +3,7 @@ package mega.privacy.android.data.mapper.file
 import android.net.Uri
 import androidx.documentfile.provider.DocumentFile
 import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.data.model.document.DocumentTreeEntry
 import mega.privacy.android.domain.entity.document.DocumentEntity
 import mega.privacy.android.domain.entity.uri.UriPath
 import org.junit.jupiter.api.Test
@@ -39,4 +40,31 @@ class DocumentFileMapperTest {
         val result = mapper(documentFile, 3, 4)
         assertThat(result).isEqualTo(expect)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that document tree entry is mapped`() {
+        val uri = mock<Uri> {
+            on { toString() }.thenReturn("content://com.android.externalstorage.documents/tree/primary%3A/document/primary%3Aname")
+        }
+        val entry = DocumentTreeEntry(
+            uri = uri,
+            name = "name",
+            isFolder = false,
+            size = 1,
+            lastModified = 2,
+            canRead = true,
+        )
+        val expect = DocumentEntity(
+            name = "name",
+            size = 1,
+            lastModified = 2,
+            uri = UriPath("content://com.android.externalstorage.documents/tree/primary%3A/document/primary%3Aname"),
+            isFolder = false,
+            numFiles = 3,
+            numFolders = 4,
+            canRead = true,
+        )
+        val result = mapper(entry, 3, 4)
+        assertThat(result).isEqualTo(expect)
+    }
+}
@@ -44,11 +44,19 @@ internal class OfflineModelMapperTest {
             handleIncoming = "NO",
         )
 
-        whenever(decryptData(model.encryptedName)).thenReturn(expected.name)
-        whenever(decryptData(model.encryptedHandle)).thenReturn(expected.handle)
-        whenever(decryptData(model.encryptedPath)).thenReturn(expected.path)
-        whenever(decryptData(model.encryptedType)).thenReturn(expected.type)
-        whenever(decryptData(model.encryptedIncomingHandle)).thenReturn(expected.handleIncoming)
+        whenever(
+            decryptData.decryptAll(
+                listOf(
+                    model.encryptedHandle,
+                    model.encryptedPath,
+                    model.encryptedName,
+                    model.encryptedType,
+                    model.encryptedIncomingHandle,
+                )
+            )
+        ).thenReturn(
+            listOf(expected.handle, expected.path, expected.name, expected.type, expected.handleIncoming)
+        )
         Truth.assertThat(underTest(model)).isEqualTo(expected)
     }
 }
\ No newline at end of file
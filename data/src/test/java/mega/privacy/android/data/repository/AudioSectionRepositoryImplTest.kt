@@ -108,7 +108,7 @@ class AudioSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(backupNode, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(
             fileNodeMapper(
                 megaNode = node,
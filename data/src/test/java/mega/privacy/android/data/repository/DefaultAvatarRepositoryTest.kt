@@ -15,6 +15,7 @@ import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.resetMain
 import kotlinx.coroutines.test.runTest
 import kotlinx.coroutines.test.setMain
+import mega.privacy.android.data.cache.ContactDirectory
 import mega.privacy.android.data.constant.FileConstant
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
@@ -61,6 +62,7 @@ internal class DefaultAvatarRepositoryTest {
     private val sharedFlow = MutableSharedFlow<GlobalUpdate>()
     private val avatarWrapper = mock<AvatarWrapper>()
     private val bitmapFactoryWrapper = mock<BitmapFactoryWrapper>()
+    private val contactDirectory = mock<ContactDirectory>()
 
     @Before
     fun setUp() {
@@ -71,6 +73,7 @@ internal class DefaultAvatarRepositoryTest {
             avatarWrapper = avatarWrapper,
             bitmapFactoryWrapper = bitmapFactoryWrapper,
             cacheGateway = cacheGateway,
+            contactDirectory = contactDirectory,
             sharingScope = TestScope(),
             ioDispatcher = UnconfinedTestDispatcher(),
         )
@@ -186,6 +189,8 @@ internal class DefaultAvatarRepositoryTest {
                 .thenReturn(newFile)
             whenever(oldFile.renameTo(newFile)).thenReturn(true)
             assertTrue(underTest.updateMyAvatarWithNewEmail(oldEmail, newEmail))
+            verify(contactDirectory).invalidate(oldEmail)
+            verify(contactDirectory).invalidate(newEmail)
         }
 
     @Test
@@ -235,6 +240,27 @@ internal class DefaultAvatarRepositoryTest {
             underTest.setAvatar(filePath = "")
         }
 
+    @Test
+    fun `test that the contact directory entry is dropped when the avatar of a contact is downloaded`() =
+        runTest {
+            val email = "contact@mega.nz"
+            val file = mock<File> {
+                on { absolutePath }.thenReturn("path")
+            }
+            whenever(cacheGateway.buildAvatarFile(email + FileConstant.JPG_EXTENSION))
+                .thenReturn(file)
+            whenever(megaApiGateway.getContactAvatar(any(), any(), any())).thenAnswer {
+                ((it.arguments[2]) as OptionalMegaRequestListenerInterface).onRequestFinish(
+                    mock(),
+                    mock(),
+                    mock { on { errorCode }.thenReturn(MegaError.API_OK) },
+                )
+            }
+
+            assertThat(underTest.getAvatarFile(email, skipCache = true)).isEqualTo(file)
+            verify(contactDirectory).invalidate(email)
+        }
+
     @Test
     fun `test that getMyAvatarFile from the cache when pass isForceRefresh as false`() = runTest {
         val email = "my_email"
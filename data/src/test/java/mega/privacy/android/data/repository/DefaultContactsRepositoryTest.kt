@@ -10,6 +10,8 @@ import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import kotlinx.coroutines.test.setMain
+import mega.privacy.android.data.cache.ContactDirectory
+import mega.privacy.android.data.cache.ContactDirectoryEntry
 import mega.privacy.android.data.database.DatabaseHandler
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
@@ -100,6 +102,7 @@ class DefaultContactsRepositoryTest {
     private val megaLocalRoomGateway: MegaLocalRoomGateway = mock()
     private val context: Context = mock()
     private val contactGateway: ContactGateway = mock()
+    private val contactDirectory: ContactDirectory = mock()
 
     private val userEmail = "test@mega.nz"
     private val userHandle = -123456L
@@ -154,7 +157,8 @@ class DefaultContactsRepositoryTest {
             userChatStatusMapper = userChatStatusMapper,
             userMapper = userMapper,
             sharingScope = CoroutineScope(UnconfinedTestDispatcher()),
-            contactGateway = contactGateway
+            contactGateway = contactGateway,
+            contactDirectory = contactDirectory,
         )
     }
 
@@ -986,6 +990,69 @@ class DefaultContactsRepositoryTest {
         verify(megaApiGateway, never()).getContactAvatar(anyString(), anyString(), any())
     }
 
+    @Test
+    fun `test that getVisibleContacts uses the contact directory entries`() = runTest {
+        val megaUser = mock<MegaUser> {
+            on { handle }.thenReturn(userHandle)
+            on { email }.thenReturn(userEmail)
+            on { visibility }.thenReturn(MegaUser.VISIBILITY_VISIBLE)
+        }
+        val entry = ContactDirectoryEntry(
+            email = userEmail,
+            fullName = "full name",
+            alias = testName,
+            avatarUri = avatarUri,
+        )
+        whenever(megaApiGateway.getContacts()).thenReturn(listOf(megaUser))
+        whenever(contactDirectory.get(userHandle)).thenReturn(entry)
+
+        underTest.getVisibleContacts()
+
+        verify(contactDataMapper).invoke("full name", testName, avatarUri)
+        verify(megaChatApiGateway, never()).getUserFullNameFromCache(any())
+        verify(megaChatApiGateway, never()).getUserAliasFromCache(any())
+        verify(cacheGateway, never()).buildAvatarFile(any())
+    }
+
+    @Test
+    fun `test that getVisibleContacts uses the saved contact names when the chat cache has none`() =
+        runTest {
+            val megaUser = mock<MegaUser> {
+                on { handle }.thenReturn(userHandle)
+                on { email }.thenReturn(userEmail)
+                on { visibility }.thenReturn(MegaUser.VISIBILITY_VISIBLE)
+            }
+            whenever(megaApiGateway.getContacts()).thenReturn(listOf(megaUser))
+            whenever(contactDirectory.getSavedContact(userHandle)).thenReturn(
+                Contact(userId = userHandle, email = userEmail, firstName = "First", lastName = "Last")
+            )
+
+            underTest.getVisibleContacts()
+
+            verify(contactDataMapper).invoke("First Last", null, null)
+            verify(contactDirectory).put(
+                userHandle,
+                ContactDirectoryEntry(userEmail, "First Last", null, null)
+            )
+            verify(contactDirectory, never()).shouldFetchName(any())
+        }
+
+    @Test
+    fun `test that getVisibleContacts fetches the names not found in any cache`() = runTest {
+        val megaUser = mock<MegaUser> {
+            on { handle }.thenReturn(userHandle)
+            on { email }.thenReturn(userEmail)
+            on { visibility }.thenReturn(MegaUser.VISIBILITY_VISIBLE)
+        }
+        whenever(megaApiGateway.getContacts()).thenReturn(listOf(megaUser))
+        whenever(contactDirectory.shouldFetchName(userHandle)).thenReturn(true)
+
+        underTest.getVisibleContacts()
+
+        verify(contactDirectory, never()).put(any(), any())
+        verify(megaChatApiGateway).getUserFirstnameFromCache(userHandle)
+    }
+
     /**
      * common mock initialization for returning the ContactItem for a given MegaUser
      * It may have further mocking, for instance if skipCache is true
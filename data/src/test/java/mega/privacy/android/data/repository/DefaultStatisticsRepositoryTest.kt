@@ -6,11 +6,14 @@ import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.preferences.StatisticsPreferencesGateway
+import mega.privacy.android.data.gateway.preferences.UserJourneyEventPreferencesGateway
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
 import mega.privacy.android.domain.repository.StatisticsRepository
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
 import kotlin.test.assertEquals
 
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -30,12 +33,15 @@ class DefaultStatisticsRepositoryTest {
         }.thenReturn(flowOf(1))
     }
 
+    private val userJourneyEventPreferencesGateway = mock<UserJourneyEventPreferencesGateway>()
+
     @BeforeEach
     internal fun setUp() {
         underTest = DefaultStatisticsRepository(
             ioDispatcher = UnconfinedTestDispatcher(),
             megaApiGateway = megaApiGateway,
             statisticsPreferencesGateway = statisticsPreferencesGateway,
+            userJourneyEventPreferencesGateway = userJourneyEventPreferencesGateway,
         )
     }
 
@@ -82,4 +88,22 @@ class DefaultStatisticsRepositoryTest {
             verify(statisticsPreferencesGateway).setClickCountFolder(newCount, defaultMediaHandle)
         }
 
-}
\ No newline at end of file
+    @Test
+    internal fun `test that the pending user journey events are returned from the gateway`() =
+        runTest {
+            val events = listOf(UserJourneyEvent(1, "message", "viewId"))
+            whenever(userJourneyEventPreferencesGateway.getPendingUserJourneyEvents()).thenReturn(events)
+
+            assertEquals(events, underTest.getPendingUserJourneyEvents())
+        }
+
+    @Test
+    internal fun `test that the pending user journey events are saved in the gateway`() =
+        runTest {
+            val events = listOf(UserJourneyEvent(1, "message", null))
+
+            underTest.setPendingUserJourneyEvents(events)
+
+            verify(userJourneyEventPreferencesGateway).setPendingUserJourneyEvents(events)
+        }
+}
@@ -34,10 +34,11 @@ import mega.privacy.android.data.mapper.transfer.PausedTransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferAppDataStringMapper
 import mega.privacy.android.data.mapper.transfer.TransferEventMapper
 import mega.privacy.android.data.mapper.transfer.TransferMapper
-import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
 import mega.privacy.android.data.model.GlobalTransfer
 import mega.privacy.android.data.model.RequestEvent
 import mega.privacy.android.data.repository.DefaultTransfersRepository.Companion.TRANSFERS_SD_TEMPORARY_FOLDER
+import mega.privacy.android.data.repository.transfers.ActiveTransferTotalsAggregator
+import mega.privacy.android.data.repository.transfers.TransferProgressStore
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedFileNode
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
@@ -49,6 +50,7 @@ import mega.privacy.android.domain.entity.transfer.InProgressTransfer
 import mega.privacy.android.domain.entity.transfer.Transfer
 import mega.privacy.android.domain.entity.transfer.TransferAppData
 import mega.privacy.android.domain.entity.transfer.TransferEvent
+import mega.privacy.android.domain.entity.transfer.TransferEventMetrics
 import mega.privacy.android.domain.entity.transfer.TransferStage
 import mega.privacy.android.domain.entity.transfer.TransferState
 import mega.privacy.android.domain.entity.transfer.TransferType
@@ -107,7 +109,7 @@ class DefaultTransfersRepositoryTest {
     private val workerManagerGateway = mock<WorkManagerGateway>()
     private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
     private val cancelTokenProvider = mock<CancelTokenProvider>()
-    private val activeTransferTotalsMapper = mock<ActiveTransferTotalsMapper>()
+    private val activeTransferTotalsAggregator = mock<ActiveTransferTotalsAggregator>()
     private val megaNodeMapper = mock<MegaNodeMapper>()
     private val sdCardGateway = mock<SDCardGateway>()
     private val deviceGateway = mock<DeviceGateway>()
@@ -118,6 +120,8 @@ class DefaultTransfersRepositoryTest {
     private val megaApiFolderGateway = mock<MegaApiFolderGateway>()
     private val megaChatApiGateway = mock<MegaChatApiGateway>()
 
+    private val totalsVersion = MutableStateFlow(0L)
+
     private val testScope = CoroutineScope(UnconfinedTestDispatcher())
 
     @BeforeAll
@@ -140,7 +144,8 @@ class DefaultTransfersRepositoryTest {
             transferMapper = transferMapper,
             transferAppDataStringMapper = transferAppDataStringMapper,
             pausedTransferEventMapper = pausedTransferEventMapper,
-            activeTransferTotalsMapper = activeTransferTotalsMapper,
+            activeTransferTotalsAggregator = activeTransferTotalsAggregator,
+            transferProgressStore = TransferProgressStore(),
             completedTransferMapper = completedTransferMapper,
             completedTransferPendingTransferMapper = completedTransferPendingTransferMapper,
             localStorageGateway = localStorageGateway,
@@ -180,10 +185,12 @@ class DefaultTransfersRepositoryTest {
             inProgressTransferMapper,
             cacheGateway,
             transferAppDataStringMapper,
-            activeTransferTotalsMapper,
+            activeTransferTotalsAggregator,
             monitorFetchNodesFinishUseCase,
             transfersPreferencesGateway,
         )
+        whenever(activeTransferTotalsAggregator.monitorTotalsVersion(any()))
+            .thenReturn(totalsVersion)
     }
 
     @Nested
@@ -1079,6 +1086,43 @@ class DefaultTransfersRepositoryTest {
         }
     }
 
+    @Test
+    fun `test that monitorTransferEventBatches emits mapped batches and paused events`() =
+        runTest {
+            val start = GlobalTransfer.OnTransferStart(mock())
+            val update = GlobalTransfer.OnTransferUpdate(mock())
+            val pause = RequestEvent.OnRequestFinish(mock(), mock())
+            val startEvent = TransferEvent.TransferStartEvent(mock())
+            val updateEvent = TransferEvent.TransferUpdateEvent(mock())
+            val pauseEvent = TransferEvent.TransferPaused(mock(), true)
+            whenever(transferEventMapper(start)).thenReturn(startEvent)
+            whenever(transferEventMapper(update)).thenReturn(updateEvent)
+            whenever(pausedTransferEventMapper(eq(pause), any())).thenReturn(pauseEvent)
+            whenever(megaApiGateway.globalTransferBatches).thenReturn(flowOf(listOf(start, update)))
+            whenever(megaApiGateway.globalRequestEvents).thenReturn(flowOf(pause))
+            underTest.monitorTransferEventBatches().test {
+                val batches = listOf(awaitItem(), awaitItem())
+                assertThat(batches).containsExactly(
+                    listOf(startEvent, updateEvent),
+                    listOf(pauseEvent),
+                )
+                cancelAndIgnoreRemainingEvents()
+            }
+        }
+
+    @Test
+    fun `test that getTransferEventMetrics returns the gateway metrics`() {
+        val metrics = TransferEventMetrics(
+            queueDepth = 0,
+            maxQueueDepth = 20,
+            coalescedEvents = 300L,
+            droppedEvents = 0L,
+        )
+        whenever(megaApiGateway.getTransferEventMetrics()).thenReturn(metrics)
+
+        assertThat(underTest.getTransferEventMetrics()).isEqualTo(metrics)
+    }
+
     @Test
     fun `test that getCompletedTransferById invokes when getCompletedTransferById is called`() =
         runTest {
@@ -1142,8 +1186,10 @@ class DefaultTransfersRepositoryTest {
         val transfer = mock<Transfer>()
 
         @BeforeEach
-        internal fun resetMocks() {
+        internal fun resetMocks() = runTest {
             reset(transfer)
+            //totals flows are shared by type, a new repository is needed for each test
+            underTest = createDefaultTransfersRepository()
         }
 
         @Test
@@ -1198,6 +1244,8 @@ class DefaultTransfersRepositoryTest {
                 val activeTransfer = mock<ActiveTransfer>()
                 underTest.insertOrUpdateActiveTransfer(activeTransfer)
                 verify(megaLocalRoomGateway).insertOrUpdateActiveTransfer(activeTransfer)
+                verify(activeTransferTotalsAggregator)
+                    .insertOrUpdateActiveTransfers(listOf(activeTransfer))
             }
 
         @Test
@@ -1206,6 +1254,7 @@ class DefaultTransfersRepositoryTest {
                 val activeTransfers = mock<List<ActiveTransfer>>()
                 underTest.insertOrUpdateActiveTransfers(activeTransfers)
                 verify(megaLocalRoomGateway).insertOrUpdateActiveTransfers(activeTransfers)
+                verify(activeTransferTotalsAggregator).insertOrUpdateActiveTransfers(activeTransfers)
             }
 
         @ParameterizedTest
@@ -1215,6 +1264,7 @@ class DefaultTransfersRepositoryTest {
         ) = runTest {
             underTest.deleteAllActiveTransfersByType(transferType)
             verify(megaLocalRoomGateway).deleteAllActiveTransfersByType(transferType)
+            verify(activeTransferTotalsAggregator).clearActiveTransfers(transferType)
         }
 
         @Test
@@ -1222,6 +1272,9 @@ class DefaultTransfersRepositoryTest {
             runTest {
                 underTest.deleteAllActiveTransfers()
                 verify(megaLocalRoomGateway).deleteAllActiveTransfers()
+                TransferType.entries.forEach {
+                    verify(activeTransferTotalsAggregator).clearActiveTransfers(it)
+                }
             }
 
         @Test
@@ -1230,62 +1283,52 @@ class DefaultTransfersRepositoryTest {
             val tags = mock<List<Int>>()
             underTest.setActiveTransferAsCancelledByTag(tags)
             verify(megaLocalRoomGateway).setActiveTransferAsCancelledByTag(tags)
+            verify(activeTransferTotalsAggregator).setActiveTransfersAsCancelled(tags)
         }
 
         @ParameterizedTest
         @EnumSource(TransferType::class)
-        fun `test that getActiveTransferTotalsByType gateway result is returned when getActiveTransferTotalsByType is called`(
+        fun `test that aggregated totals are returned when getActiveTransferTotalsByType is called`(
             transferType: TransferType,
         ) = runTest {
             val expected = mock<ActiveTransferTotals>()
-            val list = mock<List<ActiveTransfer>>()
-            val flow = flowOf(list)
-            whenever(megaLocalRoomGateway.getActiveTransfersByType(transferType))
-                .thenReturn(flow)
-            whenever(activeTransferTotalsMapper(eq(transferType), eq(list), any(), anyOrNull()))
-                .thenReturn(expected)
+            whenever(activeTransferTotalsAggregator.getTotals(transferType)).thenReturn(expected)
             val actual = underTest.getActiveTransferTotalsByType(transferType).first()
             assertThat(actual).isEqualTo(expected)
         }
 
         @ParameterizedTest
         @EnumSource(TransferType::class)
-        fun `test that previous groups are send to activeTransferTotalsMapper after first emission`(
+        fun `test that each new totals version emits new totals`(
             transferType: TransferType,
         ) = runTest {
-            val groups = mock<List<ActiveTransferTotals.Group>>()
-            val firstActiveTransferTotals = mock<ActiveTransferTotals> {
-                on { this.groups } doReturn groups
-            }
+            val firstActiveTransferTotals = mock<ActiveTransferTotals>()
             val secondActiveTransferTotals = mock<ActiveTransferTotals>()
-            val firstList = listOf(mock<ActiveTransfer>())
-            val secondList = listOf(mock<ActiveTransfer>(), mock<ActiveTransfer>())
-            val flow = MutableStateFlow(firstList)
-            whenever(megaLocalRoomGateway.getActiveTransfersByType(transferType))
-                .thenReturn(flow)
-            whenever(
-                activeTransferTotalsMapper(
-                    type = transferType,
-                    list = firstList,
-                    transferredBytes = emptyMap(),
-                    previousGroups = null
-                )
-            ) doReturn firstActiveTransferTotals
-            whenever(
-                activeTransferTotalsMapper(
-                    type = transferType,
-                    list = secondList,
-                    transferredBytes = emptyMap(),
-                    previousGroups = groups //this comes from first emission
-                )
-            ) doReturn secondActiveTransferTotals
+            whenever(activeTransferTotalsAggregator.getTotals(transferType))
+                .thenReturn(firstActiveTransferTotals, secondActiveTransferTotals)
             underTest.getActiveTransferTotalsByType(transferType).test {
                 assertThat(awaitItem()).isEqualTo(firstActiveTransferTotals)
-                flow.emit(secondList)
+                totalsVersion.value++
                 assertThat(awaitItem()).isEqualTo(secondActiveTransferTotals)
             }
         }
 
+        @ParameterizedTest
+        @EnumSource(TransferType::class)
+        fun `test that the same active transfers flow is shared by all the collectors`(
+            transferType: TransferType,
+        ) = runTest {
+            val expected = mock<ActiveTransferTotals>()
+            whenever(activeTransferTotalsAggregator.getTotals(transferType)).thenReturn(expected)
+            underTest.getActiveTransferTotalsByType(transferType).test {
+                underTest.getActiveTransferTotalsByType(transferType).test {
+                    assertThat(awaitItem()).isEqualTo(expected)
+                }
+                assertThat(awaitItem()).isEqualTo(expected)
+            }
+            verify(activeTransferTotalsAggregator).monitorTotalsVersion(transferType)
+        }
+
         @ParameterizedTest
         @EnumSource(TransferType::class)
         fun `test that getCurrentActiveTransferTotalsByType gateway result is returned when getCurrentActiveTransferTotalsByType is called`(
@@ -1295,7 +1338,7 @@ class DefaultTransfersRepositoryTest {
             val expected = mock<ActiveTransferTotals>()
             whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
                 .thenReturn(list)
-            whenever(activeTransferTotalsMapper(eq(transferType), eq(list), any(), anyOrNull()))
+            whenever(activeTransferTotalsAggregator.getTotals(transferType, list))
                 .thenReturn(expected)
             val actual = underTest.getCurrentActiveTransferTotalsByType(transferType)
             assertThat(actual).isEqualTo(expected)
@@ -1303,18 +1346,13 @@ class DefaultTransfersRepositoryTest {
 
         @ParameterizedTest
         @EnumSource(TransferType::class)
-        fun `test that updateTransferredBytes adds currentTransferred bytes and deleteAllActiveTransfersByType clears the values`(
+        fun `test that updateTransferredBytes sends the bytes to the aggregator`(
             transferType: TransferType,
         ) = runTest {
-            testCurrentActiveTransferTotals(
-                transferType = transferType,
-                expectedMap = { transfer ->
-                    mapOf(transfer.tag to transfer.transferredBytes)
-                },
-                callToTest = {
-                    underTest.updateTransferredBytes(listOf(transfer))
-                }
-            )
+            stubActiveTransfer(transfer, transferType)
+
+            underTest.updateTransferredBytes(listOf(transfer))
+            verify(activeTransferTotalsAggregator).updateTransferredBytes(transferType, mapOf(1 to 900L))
         }
 
         @ParameterizedTest
@@ -1322,84 +1360,12 @@ class DefaultTransfersRepositoryTest {
         fun `test that updateTransferredBytes doesn't update when the new value is 0 bytes`(
             transferType: TransferType,
         ) = runTest {
-            testCurrentActiveTransferTotals(
-                transferType = transferType,
-                expectedMap = { transfer ->
-                    mapOf(transfer.tag to transfer.transferredBytes)
-                },
-                callToTest = {
-                    val transferZero = mock<Transfer>()
-                    stubActiveTransfer(transferZero, transferType, transferredBytes = 0L)
-
-                    underTest.updateTransferredBytes(listOf(transfer))
-                    underTest.updateTransferredBytes(listOf(transferZero))
-                }
-            )
-        }
+            val transferZero = mock<Transfer>()
+            stubActiveTransfer(transferZero, transferType, transferredBytes = 0L)
 
-        @ParameterizedTest
-        @EnumSource(TransferType::class)
-        fun `test that updateTransferredBytes with non zero transferred bytes emits a new value`(
-            transferType: TransferType,
-        ) = runTest {
-            val transfer = mock<Transfer> {
-                on { this.transferType } doReturn transferType
-                on { this.transferredBytes } doReturn 34857L
-            }
-            val expected = mock<ActiveTransferTotals>()
-            val list = mock<List<ActiveTransfer>>()
-            val flow = flowOf(list)
-            whenever(megaLocalRoomGateway.getActiveTransfersByType(transferType))
-                .thenReturn(flow)
-            whenever(activeTransferTotalsMapper(eq(transferType), eq(list), any(), anyOrNull()))
-                .thenReturn(expected)
+            underTest.updateTransferredBytes(listOf(transferZero))
 
-            underTest.getActiveTransferTotalsByType(transferType).test {
-                awaitItem() //initial
-                underTest.updateTransferredBytes(listOf(transfer))
-                val actual = awaitItem()
-                assertThat(actual).isEqualTo(expected)
-                cancelAndIgnoreRemainingEvents()
-            }
-            underTest.deleteAllActiveTransfersByType(transferType)
-        }
-
-        /**
-         * As getCurrentActiveTransferTotalsByType is based on a state flow, we need to reset this state to make testing stateless
-         * This is a convenient function to test changes on this state and then reset it to its initial empty value.
-         */
-        private suspend fun testCurrentActiveTransferTotals(
-            transferType: TransferType,
-            expectedMap: (Transfer) -> Map<Int, Long>,
-            callToTest: suspend () -> Unit,
-        ) {
-            stubActiveTransfer(transfer, transferType)
-            val list = mock<List<ActiveTransfer>>()
-            whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
-                .thenReturn(list)
-
-            // test updateTransferredBytes
-            callToTest()
-            underTest.getCurrentActiveTransferTotalsByType(transferType)
-            //here we check that the mapper is called with the proper expectedMap
-            val map = expectedMap(transfer)
-            verify(activeTransferTotalsMapper).invoke(
-                eq(transferType),
-                eq(list),
-                eq(map),
-                anyOrNull()
-            )
-
-            // test deleteAllActiveTransfersByType so we also clear the cached values
-            underTest.deleteAllActiveTransfersByType(transferType)
-            underTest.getCurrentActiveTransferTotalsByType(transferType)
-            //here we check that the mapper is called with the proper expectedMap
-            verify(activeTransferTotalsMapper).invoke(
-                eq(transferType),
-                eq(list),
-                eq(emptyMap()),
-                anyOrNull()
-            )
+            verify(activeTransferTotalsAggregator).updateTransferredBytes(transferType, emptyMap())
         }
 
         private fun stubActiveTransfer(
@@ -90,7 +90,7 @@ class DocumentSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(backupNode, node))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(nodeMapper(megaNode = node, offline = null)).thenReturn(fileNode)
         whenever(megaApiGateway.isInBackups(backupNode)).thenReturn(true)
         whenever(megaApiGateway.isInBackups(node)).thenReturn(false)
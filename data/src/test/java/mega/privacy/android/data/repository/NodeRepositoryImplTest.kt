@@ -36,6 +36,7 @@ import mega.privacy.android.data.mapper.node.NodeShareKeyResultMapper
 import mega.privacy.android.data.mapper.node.OfflineAvailabilityMapper
 import mega.privacy.android.data.mapper.node.label.NodeLabelIntMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
+import mega.privacy.android.data.mapper.search.MegaSearchPageMapper
 import mega.privacy.android.data.mapper.shares.AccessPermissionIntMapper
 import mega.privacy.android.data.mapper.shares.AccessPermissionMapper
 import mega.privacy.android.data.mapper.shares.ShareDataMapper
@@ -46,6 +47,7 @@ import mega.privacy.android.domain.entity.ShareData
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.TypedFolderNode
 import mega.privacy.android.domain.entity.node.TypedImageNode
 import mega.privacy.android.domain.entity.node.publiclink.PublicLinkFolder
@@ -67,6 +69,7 @@ import nz.mega.sdk.MegaNodeList
 import nz.mega.sdk.MegaRequest
 import nz.mega.sdk.MegaRequestListenerInterface
 import nz.mega.sdk.MegaSearchFilter
+import nz.mega.sdk.MegaSearchPage
 import nz.mega.sdk.MegaShare
 import nz.mega.sdk.MegaShare.ACCESS_READ
 import nz.mega.sdk.MegaStringList
@@ -134,6 +137,7 @@ internal class NodeRepositoryImplTest {
     private val megaNodeMapper = mock<MegaNodeMapper>()
     private val cancelTokenProvider = mock<CancelTokenProvider>()
     private val megaSearchFilterMapper = mock<MegaSearchFilterMapper>()
+    private val megaSearchPageMapper = mock<MegaSearchPageMapper>()
     private val stringListMapper = mock<StringListMapper>()
     private val workManagerGateway = mock<WorkManagerGateway>()
 
@@ -194,6 +198,7 @@ internal class NodeRepositoryImplTest {
             megaSearchFilterMapper = megaSearchFilterMapper,
             workManagerGateway = workManagerGateway,
             stringListMapper = stringListMapper,
+            megaSearchPageMapper = megaSearchPageMapper,
         )
     }
 
@@ -1362,6 +1367,33 @@ internal class NodeRepositoryImplTest {
             verify(megaApiGateway).setNodeDescription(eq(megaNode), eq(description), any())
         }
 
+    @Test
+    fun `test that getNodeChildren only gets the requested page`() =
+        runTest {
+            val nodeId = NodeId(1L)
+            val filter = mock<MegaSearchFilter>()
+            val token = mock<MegaCancelToken>()
+            val page = mock<MegaSearchPage>()
+
+            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            whenever(sortOrderIntMapper(SortOrder.ORDER_NONE)).thenReturn(MegaApiJava.ORDER_NONE)
+            whenever(megaSearchFilterMapper(parentHandle = nodeId)).thenReturn(filter)
+            whenever(megaSearchPageMapper(100L, 100L)).thenReturn(page)
+            whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
+            whenever(
+                megaApiGateway.getChildren(filter, MegaApiJava.ORDER_NONE, token, page)
+            ).thenReturn(emptyList())
+
+            val actual = underTest.getNodeChildren(
+                nodeId = nodeId,
+                order = SortOrder.ORDER_NONE,
+                page = NodePage(offset = 100L, size = 100),
+            )
+
+            assertThat(actual).isEmpty()
+            verify(megaApiGateway).getChildren(filter, MegaApiJava.ORDER_NONE, token, page)
+        }
+
     @Test
     fun `test that sensitive descendant is checked properly`() = runTest {
         val node = mock<MegaNode>()
@@ -10,8 +10,10 @@ import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.SortOrderIntMapper
 import mega.privacy.android.data.mapper.node.NodeMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
+import mega.privacy.android.data.mapper.search.MegaSearchPageMapper
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.TypedFileNode
 import mega.privacy.android.domain.entity.search.SearchCategory
 import mega.privacy.android.domain.entity.search.SearchParameters
@@ -21,6 +23,7 @@ import mega.privacy.android.domain.usecase.GetLinksSortOrder
 import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaSearchFilter
+import nz.mega.sdk.MegaSearchPage
 import nz.mega.sdk.MegaShare
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.Test
@@ -45,6 +48,7 @@ class SearchRepositoryImplTest {
     private val megaCancelToken: MegaCancelToken = mock()
     private val megsSearchFilterMapper: MegaSearchFilterMapper = mock()
     private val megaLocalRoomGateway: MegaLocalRoomGateway = mock()
+    private val megaSearchPageMapper: MegaSearchPageMapper = mock()
     private val typedNode: TypedFileNode = mock {
         on { id } doReturn nodeId
     }
@@ -64,7 +68,8 @@ class SearchRepositoryImplTest {
             sortOrderIntMapper = sortOrderIntMapper,
             megaSearchFilterMapper = megsSearchFilterMapper,
             megaLocalRoomGateway = megaLocalRoomGateway,
-            getCloudSortOrder = getCloudSortOrder
+            getCloudSortOrder = getCloudSortOrder,
+            megaSearchPageMapper = megaSearchPageMapper,
         )
     }
 
@@ -79,7 +84,7 @@ class SearchRepositoryImplTest {
         whenever(megaNode.handle).thenReturn(-1L)
         whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
         whenever(megaApiGateway.getMegaNodeByHandle(nodeID.longValue)).thenReturn(megaNode)
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(emptyList())
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(
             megsSearchFilterMapper(
                 searchQuery = query,
@@ -115,7 +120,7 @@ class SearchRepositoryImplTest {
         whenever(megaNode.handle).thenReturn(-1L)
         whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
         whenever(megaApiGateway.getMegaNodeByHandle(nodeID.longValue)).thenReturn(megaNode)
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(emptyList())
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(
             megsSearchFilterMapper(
                 searchQuery = query,
@@ -213,6 +218,78 @@ class SearchRepositoryImplTest {
         assertThat(actual).isEqualTo(NodeId(-1L))
     }
 
+    @Test
+    fun `test that getChildren only gets the requested page`() = runTest {
+        whenever(sortOrderIntMapper(any())).thenReturn(0)
+        val filter = mock<MegaSearchFilter>()
+        val megaSearchPage = mock<MegaSearchPage>()
+        val nodes = List(2) { mock<MegaNode> { on { handle } doReturn it.toLong() } }
+        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
+        whenever(
+            megsSearchFilterMapper(
+                searchQuery = "",
+                parentHandle = nodeId,
+                searchCategory = SearchCategory.ALL
+            )
+        ).thenReturn(filter)
+        whenever(megaSearchPageMapper(2L, 2L)).thenReturn(megaSearchPage)
+        whenever(
+            megaApiGateway.getChildren(
+                filter = filter,
+                order = 0,
+                megaCancelToken = megaCancelToken,
+                megaSearchPage = megaSearchPage,
+            )
+        ).thenReturn(nodes)
+        nodes.forEach { whenever(nodeMapper(megaNode = it, offline = null)).thenReturn(typedNode) }
+
+        val actual = underTest.getChildren(
+            nodeId = nodeId,
+            order = SortOrder.ORDER_NONE,
+            parameters = SearchParameters(query = ""),
+            page = NodePage(offset = 2L, size = 2),
+        )
+
+        assertThat(actual).hasSize(2)
+    }
+
+    @Test
+    fun `test that search only gets the requested page`() = runTest {
+        whenever(sortOrderIntMapper(any())).thenReturn(0)
+        val query = "Some query"
+        val filter = mock<MegaSearchFilter>()
+        val megaSearchPage = mock<MegaSearchPage>()
+        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
+        whenever(
+            megsSearchFilterMapper(
+                searchQuery = query,
+                parentHandle = nodeId,
+                searchCategory = SearchCategory.ALL,
+                useAndForTextQuery = true,
+            )
+        ).thenReturn(filter)
+        whenever(megaSearchPageMapper(0L, 50L)).thenReturn(megaSearchPage)
+        whenever(
+            megaApiGateway.searchWithFilter(
+                filter = filter,
+                order = 0,
+                megaCancelToken = megaCancelToken,
+                megaSearchPage = megaSearchPage,
+            )
+        ).thenReturn(emptyList())
+
+        val actual = underTest.search(
+            nodeId = nodeId,
+            order = SortOrder.ORDER_NONE,
+            parameters = SearchParameters(query = query),
+            page = NodePage(offset = 0L, size = 50),
+        )
+
+        assertThat(actual).isEmpty()
+    }
+
     companion object {
         private val nodeId = NodeId(123456L)
     }
@@ -84,7 +84,7 @@ class VideoSectionRepositoryImplTest {
     }
 
     private fun initUnderTest() {
-        wheneverBlocking { megaLocalRoomGateway.getAllOfflineInfo() }.thenReturn(emptyList())
+        wheneverBlocking { megaLocalRoomGateway.getAllOfflineInfoByHandle() }.thenReturn(emptyMap())
         underTest = VideoSectionRepositoryImpl(
             megaApiGateway = megaApiGateway,
             sortOrderIntMapper = sortOrderIntMapper,
@@ -156,7 +156,7 @@ class VideoSectionRepositoryImplTest {
                 token
             )
         ).thenReturn(listOf(node, backupNode))
-        whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(null)
+        whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
         whenever(
             fileNodeMapper(
                 megaNode = node,
@@ -755,7 +755,7 @@ class VideoSectionRepositoryImplTest {
                     token
                 )
             ).thenReturn(megaNodes)
-            whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(emptyList())
+            whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
             megaNodes.mapIndexed { index, node ->
                 whenever(
                     fileNodeMapper(megaNode = node, requireSerializedData = false, offline = null)
@@ -890,7 +890,7 @@ class VideoSectionRepositoryImplTest {
                 flowOf(jsonString)
             )
             whenever(megaLocalRoomGateway.getAllRecentlyWatchedVideos()).thenReturn(flowOf(testItems))
-            whenever(megaLocalRoomGateway.getAllOfflineInfo()).thenReturn(emptyList())
+            whenever(megaLocalRoomGateway.getAllOfflineInfoByHandle()).thenReturn(emptyMap())
             val megaSetElement = mock<MegaSetElement> {
                 on { node() }.thenReturn(testHandles[collectionIdIndex])
             }
@@ -2,9 +2,11 @@ package mega.privacy.android.data.repository
 
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.mapper.zipbrowser.ZipTreeNodeMapper
+import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.zipbrowser.ZipEntryType
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import mega.privacy.android.domain.repository.ZipBrowserRepository
@@ -21,6 +23,7 @@ import java.io.File
 import java.util.Enumeration
 import java.util.zip.ZipEntry
 import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
 
 
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -234,4 +237,78 @@ class ZipBrowserRepositoryImplTest {
             val actual = underTest.unzipFile(testZipFile, testPath)
             assertThat(actual).isFalse()
         }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that the ZipNodeTree links every node with its children`() = runTest {
+        val repository = ZipBrowserRepositoryImpl(
+            zipTreeNodeMapper = ZipTreeNodeMapper(),
+            ioDispatcher = UnconfinedTestDispatcher()
+        )
+        val zipFile = createZipFile(
+            "folder/sub/file.txt" to "file",
+            "folder/sub/archive.zip" to "zip",
+            "folder/other.txt" to "other",
+            "root.txt" to "root",
+        )
+
+        val actual = zipFile.use { repository.getZipNodeTree(it) }
+
+        assertThat(actual.keys).containsExactly(
+            "folder",
+            "folder/sub",
+            "folder/sub/file.txt",
+            "folder/sub/archive.zip",
+            "folder/other.txt",
+            "root.txt",
+        ).inOrder()
+        assertThat(actual.values.filter { it.parentPath == null }.map { it.path })
+            .containsExactly("folder", "root.txt")
+        val folder = actual.getValue("folder")
+        assertThat(folder.zipEntryType).isEqualTo(ZipEntryType.Folder)
+        assertThat(folder.children.map { it.path }).containsExactly("folder/sub", "folder/other.txt")
+        assertThat(folder.children.first().children.map { it.name })
+            .containsExactly("file.txt", "archive.zip")
+        assertThat(actual.getValue("folder/sub/archive.zip").zipEntryType)
+            .isEqualTo(ZipEntryType.Zip)
+        assertThat(actual.getValue("folder/sub/file.txt").parentPath).isEqualTo("folder/sub")
+    }
+
+    @Test
+    fun `test that unzipFile extracts every file`() = runTest {
+        val entries = (1..20).map { "folder$it/file$it.txt" to "content $it".repeat(1000) }
+        val destination = File(temporaryFolder, "unzipped").canonicalPath + File.separator
+
+        val actual = createZipFile(*entries.toTypedArray()).use {
+            underTest.unzipFile(it, destination)
+        }
+
+        assertThat(actual).isTrue()
+        entries.forEach { (name, content) ->
+            assertThat(File(destination + name).readText()).isEqualTo(content)
+        }
+    }
+
+    @Test
+    fun `test that monitorUnzipFile reports the progress until completion`() = runTest {
+        val destination = File(temporaryFolder, "monitored").canonicalPath + File.separator
+        val zipFile = createZipFile("a.txt" to "a".repeat(100_000), "b.txt" to "b".repeat(100_000))
+
+        val progress = zipFile.use { underTest.monitorUnzipFile(it, destination).toList() }
+
+        assertThat(progress).isNotEmpty()
+        assertThat(progress.last()).isEqualTo(Progress(1f))
+        assertThat(File(destination, "b.txt").length()).isEqualTo(100_000)
+    }
+
+    private fun createZipFile(vararg entries: Pair<String, String>): ZipFile {
+        val file = File(temporaryFolder, "test${System.nanoTime()}.zip")
+        ZipOutputStream(file.outputStream()).use { outputStream ->
+            entries.forEach { (name, content) ->
+                outputStream.putNextEntry(ZipEntry(name))
+                outputStream.write(content.toByteArray())
+                outputStream.closeEntry()
+            }
+        }
+        return ZipFile(file)
+    }
+}
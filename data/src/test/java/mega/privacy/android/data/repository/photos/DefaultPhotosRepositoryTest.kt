@@ -1,14 +1,18 @@
 package mega.privacy.android.data.repository.photos
 
+import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.FileGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -19,12 +23,14 @@ import mega.privacy.android.data.mapper.FileTypeInfoMapper
 import mega.privacy.android.data.mapper.ImageMapper
 import mega.privacy.android.data.mapper.VideoMapper
 import mega.privacy.android.data.mapper.node.ImageNodeFileMapper
+import mega.privacy.android.data.mapper.node.ImageNodeMapper
 import mega.privacy.android.data.mapper.node.MegaNodeMapper
 import mega.privacy.android.data.mapper.photos.ContentConsumptionMegaStringMapMapper
 import mega.privacy.android.data.mapper.photos.MegaStringMapSensitivesMapper
 import mega.privacy.android.data.mapper.photos.MegaStringMapSensitivesRetriever
 import mega.privacy.android.data.mapper.photos.TimelineFilterPreferencesJSONMapper
 import mega.privacy.android.data.mapper.search.MegaSearchFilterMapper
+import mega.privacy.android.data.model.PhotoTimelineIndexItem
 import mega.privacy.android.data.repository.CancelTokenProvider
 import mega.privacy.android.data.wrapper.DateUtilWrapper
 import mega.privacy.android.domain.entity.FileTypeInfo
@@ -32,6 +38,7 @@ import mega.privacy.android.domain.entity.GifFileTypeInfo
 import mega.privacy.android.domain.entity.RawFileTypeInfo
 import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
 import mega.privacy.android.domain.entity.VideoFileTypeInfo
+import mega.privacy.android.domain.entity.node.ImageNode
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.photos.Photo
 import mega.privacy.android.domain.entity.search.SearchCategory
@@ -49,8 +56,11 @@ import nz.mega.sdk.MegaStringMap
 import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.time.LocalDateTime
 import kotlin.time.Duration.Companion.seconds
@@ -76,6 +86,7 @@ class DefaultPhotosRepositoryTest {
     private val videoMapper: VideoMapper = ::createVideo
     private val fileTypeInfoMapper: FileTypeInfoMapper = mock()
     private val imageNodeFileMapper: ImageNodeFileMapper = mock()
+    private val imageNodeMapper: ImageNodeMapper = mock()
     private val megaNodeMapper: MegaNodeMapper = mock()
     private val timelineFilterPreferencesJSONMapper: TimelineFilterPreferencesJSONMapper = mock()
     private val contentConsumptionMegaStringMapMapper: ContentConsumptionMegaStringMapMapper =
@@ -93,6 +104,7 @@ class DefaultPhotosRepositoryTest {
         onBlocking { invoke() }.thenReturn(emptyFlow())
     }
     private val uiPreferencesGateway = mock<UIPreferencesGateway>()
+    private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
 
     @Before
     fun setUp() {
@@ -315,7 +327,7 @@ class DefaultPhotosRepositoryTest {
         megaChatApiGateway = megaChatApiGateway,
         timelineFilterPreferencesJSONMapper = timelineFilterPreferencesJSONMapper,
         contentConsumptionMegaStringMapMapper = contentConsumptionMegaStringMapMapper,
-        imageNodeMapper = mock(),
+        imageNodeMapper = imageNodeMapper,
         cameraUploadsSettingsPreferenceGateway = cameraUploadsSettingsPreferenceGateway,
         sortOrderIntMapper = mock(),
         megaNodeMapper = megaNodeMapper,
@@ -325,6 +337,7 @@ class DefaultPhotosRepositoryTest {
         megaSearchFilterMapper = megaSearchFilterMapper,
         monitorFetchNodesFinishUseCase = monitorFetchNodesFinishUseCase,
         uiPreferencesGateway = uiPreferencesGateway,
+        megaLocalRoomGateway = megaLocalRoomGateway,
     )
 
     private fun createMegaNode(
@@ -646,4 +659,256 @@ class DefaultPhotosRepositoryTest {
             )
             assertThat(actualPhotos).isNotEmpty()
         }
+
+    @Test
+    fun `test that monitorPhotos emits the persisted timeline index and does not rewrite unchanged entries`() =
+        runTest {
+            val token = mock<MegaCancelToken>()
+            val imageNode = createMegaNode(handle = 1L, name = "image.jpg")
+            whenever(imageNode.base64Handle).thenReturn("AAAA")
+            val indexItem = PhotoTimelineIndexItem(
+                handle = 1L,
+                base64Handle = "AAAA",
+                parentHandle = 0L,
+                name = "image.jpg",
+                duration = 0,
+                isVideo = false,
+                isFavourite = false,
+                creationTime = 0L,
+                modificationTime = 0L,
+                size = 0L,
+                isTakenDown = false,
+                isSensitive = false,
+                isSensitiveInherited = false,
+                hasThumbnail = true,
+            )
+            val imageFilter = mock<MegaSearchFilter>()
+            val videoFilter = mock<MegaSearchFilter>()
+            whenever(megaLocalRoomGateway.getAllPhotoTimelineIndexItems())
+                .thenReturn(listOf(indexItem))
+            whenever(nodeRepository.isNodeInRubbishBin(NodeId(1L))).thenReturn(false)
+            whenever(fileTypeInfoMapper("image.jpg", 0)).thenReturn(
+                StaticImageFileTypeInfo(mimeType = "", extension = "jpg")
+            )
+            whenever(
+                megaSearchFilterMapper(
+                    parentHandle = null,
+                    searchQuery = "",
+                    searchTarget = SearchTarget.ROOT_NODES,
+                    searchCategory = SearchCategory.IMAGES,
+                )
+            ).thenReturn(imageFilter)
+            whenever(
+                megaSearchFilterMapper(
+                    parentHandle = null,
+                    searchQuery = "",
+                    searchTarget = SearchTarget.ROOT_NODES,
+                    searchCategory = SearchCategory.VIDEO,
+                )
+            ).thenReturn(videoFilter)
+            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            whenever(
+                megaApiGateway.searchWithFilter(
+                    filter = imageFilter,
+                    order = MegaApiJava.ORDER_MODIFICATION_DESC,
+                    megaCancelToken = token
+                ),
+            ).thenReturn(listOf(imageNode))
+            whenever(
+                megaApiGateway.searchWithFilter(
+                    filter = videoFilter,
+                    order = MegaApiJava.ORDER_MODIFICATION_DESC,
+                    megaCancelToken = token
+                ),
+            ).thenReturn(emptyList())
+            val imageNodeResult = mock<ImageNode> { on { id }.thenReturn(NodeId(1L)) }
+            whenever(imageNodeMapper(any(), any(), any(), anyOrNull())).thenReturn(imageNodeResult)
+            underTest = createUnderTest(this)
+
+            underTest.monitorPhotos().test {
+                assertThat(awaitItem().map { it.id }).containsExactly(1L)
+                cancelAndIgnoreRemainingEvents()
+            }
+            underTest.clearCache()
+            verify(megaLocalRoomGateway, never()).insertOrUpdatePhotoTimelineIndexItems(any())
+            verify(megaLocalRoomGateway, never()).replacePhotoTimelineIndexItems(any())
+        }
+
+    @Test
+    fun `test that monitorPhotos drops the indexed photos that are no longer found`() =
+        runTest {
+            val token = mock<MegaCancelToken>()
+            val imageNode = createMegaNode(handle = 1L, name = "image.jpg")
+            whenever(imageNode.base64Handle).thenReturn("AAAA")
+            val indexItem = PhotoTimelineIndexItem(
+                handle = 1L,
+                base64Handle = "AAAA",
+                parentHandle = 0L,
+                name = "image.jpg",
+                duration = 0,
+                isVideo = false,
+                isFavourite = false,
+                creationTime = 0L,
+                modificationTime = 0L,
+                size = 0L,
+                isTakenDown = false,
+                isSensitive = false,
+                isSensitiveInherited = false,
+                hasThumbnail = true,
+            )
+            val imageFilter = mock<MegaSearchFilter>()
+            val videoFilter = mock<MegaSearchFilter>()
+            val removedItem = indexItem.copy(handle = 2L, base64Handle = "AAAB")
+            whenever(megaLocalRoomGateway.getAllPhotoTimelineIndexItems())
+                .thenReturn(listOf(removedItem, indexItem))
+            whenever(nodeRepository.isNodeInRubbishBin(NodeId(1L))).thenReturn(false)
+            whenever(fileTypeInfoMapper("image.jpg", 0)).thenReturn(
+                StaticImageFileTypeInfo(mimeType = "", extension = "jpg")
+            )
+            whenever(
+                megaSearchFilterMapper(
+                    parentHandle = null,
+                    searchQuery = "",
+                    searchTarget = SearchTarget.ROOT_NODES,
+                    searchCategory = SearchCategory.IMAGES,
+                )
+            ).thenReturn(imageFilter)
+            whenever(
+                megaSearchFilterMapper(
+                    parentHandle = null,
+                    searchQuery = "",
+                    searchTarget = SearchTarget.ROOT_NODES,
+                    searchCategory = SearchCategory.VIDEO,
+                )
+            ).thenReturn(videoFilter)
+            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+            whenever(
+                megaApiGateway.searchWithFilter(
+                    filter = imageFilter,
+                    order = MegaApiJava.ORDER_MODIFICATION_DESC,
+                    megaCancelToken = token
+                ),
+            ).thenReturn(listOf(imageNode))
+            whenever(
+                megaApiGateway.searchWithFilter(
+                    filter = videoFilter,
+                    order = MegaApiJava.ORDER_MODIFICATION_DESC,
+                    megaCancelToken = token
+                ),
+            ).thenReturn(emptyList())
+            val imageNodeResult = mock<ImageNode> { on { id }.thenReturn(NodeId(1L)) }
+            whenever(imageNodeMapper(any(), any(), any(), anyOrNull())).thenReturn(imageNodeResult)
+            underTest = createUnderTest(this)
+
+            val photos = underTest.monitorPhotos().first { photos -> photos.none { it.id == 2L } }
+
+            assertThat(photos.map { it.id }).containsExactly(1L)
+            assertThat(underTest.getPhotoFromNodeID(NodeId(2L))).isNull()
+            underTest.clearCache()
+            verify(megaLocalRoomGateway).deletePhotoTimelineIndexItems(listOf(2L))
+        }
+
+    @Test
+    fun `test that monitorPhotos does not map again the indexed nodes that were not modified`() =
+        runTest {
+            val imageNode = createMegaNode(handle = 1L, name = "image.jpg", isFavourite = true)
+            whenever(imageNode.base64Handle).thenReturn("AAAA")
+            whenever(megaLocalRoomGateway.getAllPhotoTimelineIndexItems())
+                .thenReturn(listOf(createPhotoTimelineIndexItem(handle = 1L, modificationTime = 0L)))
+            stubTimelineSearch(listOf(imageNode))
+            underTest = createUnderTest(this)
+
+            underTest.monitorPhotos().test {
+                assertThat(awaitItem().single().isFavourite).isFalse()
+                advanceUntilIdle()
+                expectNoEvents()
+                cancelAndIgnoreRemainingEvents()
+            }
+            underTest.clearCache()
+            verify(megaApiGateway, never()).isSensitiveInherited(imageNode)
+        }
+
+    @Test
+    fun `test that monitorPhotos maps again the indexed nodes that were modified`() =
+        runTest {
+            val imageNode = createMegaNode(handle = 1L, name = "image.jpg", isFavourite = true)
+            whenever(imageNode.base64Handle).thenReturn("AAAA")
+            whenever(imageNode.modificationTime).thenReturn(5L)
+            val indexItem = createPhotoTimelineIndexItem(handle = 1L, modificationTime = 0L)
+            whenever(megaLocalRoomGateway.getAllPhotoTimelineIndexItems())
+                .thenReturn(listOf(indexItem))
+            stubTimelineSearch(listOf(imageNode))
+            underTest = createUnderTest(this)
+
+            val photos = underTest.monitorPhotos().first { photos -> photos.single().isFavourite }
+
+            assertThat(photos.map { it.id }).containsExactly(1L)
+            underTest.clearCache()
+            verify(megaLocalRoomGateway).replacePhotoTimelineIndexItems(
+                listOf(indexItem.copy(isFavourite = true, modificationTime = 5L))
+            )
+        }
+
+    private fun createPhotoTimelineIndexItem(handle: Long, modificationTime: Long) =
+        PhotoTimelineIndexItem(
+            handle = handle,
+            base64Handle = "AAAA",
+            parentHandle = 0L,
+            name = "image.jpg",
+            duration = 0,
+            isVideo = false,
+            isFavourite = false,
+            creationTime = 0L,
+            modificationTime = modificationTime,
+            size = 0L,
+            isTakenDown = false,
+            isSensitive = false,
+            isSensitiveInherited = false,
+            hasThumbnail = true,
+        )
+
+    private suspend fun stubTimelineSearch(imageNodes: List<MegaNode>) {
+        val token = mock<MegaCancelToken>()
+        val imageFilter = mock<MegaSearchFilter>()
+        val videoFilter = mock<MegaSearchFilter>()
+        imageNodes.forEach {
+            whenever(nodeRepository.isNodeInRubbishBin(NodeId(it.handle))).thenReturn(false)
+        }
+        whenever(fileTypeInfoMapper("image.jpg", 0)).thenReturn(
+            StaticImageFileTypeInfo(mimeType = "", extension = "jpg")
+        )
+        whenever(
+            megaSearchFilterMapper(
+                parentHandle = null,
+                searchQuery = "",
+                searchTarget = SearchTarget.ROOT_NODES,
+                searchCategory = SearchCategory.IMAGES,
+            )
+        ).thenReturn(imageFilter)
+        whenever(
+            megaSearchFilterMapper(
+                parentHandle = null,
+                searchQuery = "",
+                searchTarget = SearchTarget.ROOT_NODES,
+                searchCategory = SearchCategory.VIDEO,
+            )
+        ).thenReturn(videoFilter)
+        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(token)
+        whenever(
+            megaApiGateway.searchWithFilter(
+                filter = imageFilter,
+                order = MegaApiJava.ORDER_MODIFICATION_DESC,
+                megaCancelToken = token
+            ),
+        ).thenReturn(imageNodes)
+        whenever(
+            megaApiGateway.searchWithFilter(
+                filter = videoFilter,
+                order = MegaApiJava.ORDER_MODIFICATION_DESC,
+                megaCancelToken = token
+            ),
+        ).thenReturn(emptyList())
+        val imageNodeResult = mock<ImageNode> { on { id }.thenReturn(NodeId(1L)) }
+        whenever(imageNodeMapper(any(), any(), any(), anyOrNull())).thenReturn(imageNodeResult)
+    }
 }
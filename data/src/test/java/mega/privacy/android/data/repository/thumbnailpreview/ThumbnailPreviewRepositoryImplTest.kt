@@ -1,10 +1,13 @@
 package mega.privacy.android.data.repository.thumbnailpreview
 
 import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cache.ThumbnailPreviewDiskCache
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
@@ -28,6 +31,7 @@ import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.io.File
@@ -60,7 +64,9 @@ class ThumbnailPreviewRepositoryImplTest {
             ioDispatcher = UnconfinedTestDispatcher(),
             cacheGateway = cacheGateway,
             stringWrapper = stringWrapper,
-            megaNodeMapper = megaNodeMapper
+            megaNodeMapper = megaNodeMapper,
+            thumbnailPreviewDiskCache = ThumbnailPreviewDiskCache(cacheGateway, emptyMap()),
+            applicationScope = CoroutineScope(UnconfinedTestDispatcher()),
         )
     }
 
@@ -204,6 +210,31 @@ class ThumbnailPreviewRepositoryImplTest {
         }
     }
 
+    @Test
+    fun `test that concurrent requests for the same thumbnail share a single download`() =
+        runTest {
+            whenever(megaNode.base64Handle).thenReturn(thumbnailName)
+            whenever(megaNode.hasThumbnail()).thenReturn(true)
+            whenever(megaApi.getMegaNodeByHandle(nodeHandle)).thenReturn(megaNode)
+            whenever(cacheGateway.getCacheFile(any(), anyOrNull())).thenReturn(thumbnailFile)
+            val listeners = mutableListOf<MegaRequestListenerInterface>()
+            whenever(megaApi.getThumbnail(any(), any(), any())).thenAnswer {
+                listeners.add(it.arguments[2] as MegaRequestListenerInterface)
+            }
+            val error = mock<MegaError> {
+                on { errorCode }.thenReturn(MegaError.API_OK)
+            }
+
+            val first = async { underTest.getThumbnailFromServer(nodeHandle) }
+            val second = async { underTest.getThumbnailFromServer(nodeHandle) }
+            advanceUntilIdle()
+            listeners.forEach { it.onRequestFinish(mock(), mock(), error) }
+
+            assertThat(first.await()?.path).isEqualTo(thumbnailPath)
+            assertThat(second.await()?.path).isEqualTo(thumbnailPath)
+            verify(megaApi, times(1)).getThumbnail(any(), any(), any())
+        }
+
     @Test
     fun `test that get thumbnail or preview file name returns correctly for nodeHandle`() =
         runTest {
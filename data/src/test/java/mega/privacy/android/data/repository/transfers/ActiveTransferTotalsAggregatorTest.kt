@@ -0,0 +1,260 @@
+package mega.privacy.android.data.repository.transfers
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.entity.ActiveTransferEntity
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
+import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
+import mega.privacy.android.domain.entity.transfer.ActiveTransferGroupImpl
+import mega.privacy.android.domain.entity.transfer.ActiveTransferTotals
+import mega.privacy.android.domain.entity.transfer.TransferAppData
+import mega.privacy.android.domain.entity.transfer.TransferType
+import mega.privacy.android.domain.repository.TransferRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.EnumSource
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ActiveTransferTotalsAggregatorTest {
+
+    private lateinit var underTest: ActiveTransferTotalsAggregator
+
+    private val transferRepository = mock<TransferRepository>()
+    private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
+    private val activeTransferTotalsMapper = ActiveTransferTotalsMapper { transferRepository }
+
+    @BeforeEach
+    fun setUp() = runTest {
+        reset(transferRepository, megaLocalRoomGateway)
+        (0..GROUPS).forEach { groupId ->
+            whenever(transferRepository.getActiveTransferGroupById(groupId)).thenReturn(
+                ActiveTransferGroupImpl(
+                    groupId = groupId,
+                    transferType = TransferType.DOWNLOAD,
+                    destination = "destination$groupId",
+                    singleFileName = "file$groupId",
+                    startTime = groupId.toLong(),
+                )
+            )
+        }
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(any())).thenReturn(emptyList())
+        underTest = createAggregator(activeTransferTotalsMapper)
+    }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that totals are the same as a full aggregation`(transferType: TransferType) =
+        runTest {
+            underTest.getTotals(transferType) //first snapshot, synced with the database
+            val entities = createEntities(transferType)
+            val transferredBytes = entities.associate { it.tag to it.totalBytes / 2 }
+
+            underTest.insertOrUpdateActiveTransfers(entities)
+            underTest.updateTransferredBytes(transferType, transferredBytes)
+
+            assertSameAsFullAggregation(transferType, entities, transferredBytes)
+        }
+
+    @ParameterizedTest(name = "Transfer Type {0}")
+    @EnumSource(TransferType::class)
+    fun `test that totals are the same as a full aggregation after transfers change`(
+        transferType: TransferType,
+    ) = runTest {
+        underTest.getTotals(transferType)
+        val entities = createEntities(transferType)
+        underTest.insertOrUpdateActiveTransfers(entities)
+        underTest.updateTransferredBytes(transferType, entities.associate { it.tag to 10L })
+
+        val updates = entities.map {
+            when {
+                it.tag % 3 == 0 -> it.copy(isFinished = true)
+                it.tag % 4 == 0 -> it.copy(isPaused = !it.isPaused)
+                else -> it
+            }
+        } + createEntity(transferType, tag = 100)
+        val cancelledTags = listOf(1, 2)
+        underTest.insertOrUpdateActiveTransfers(updates)
+        underTest.setActiveTransfersAsCancelled(cancelledTags)
+        val transferredBytes = updates.associate { it.tag to it.totalBytes }
+        underTest.updateTransferredBytes(transferType, transferredBytes)
+
+        //finished transfers are not updated anymore
+        val expected = updates.map { update ->
+            val entity = entities.firstOrNull { it.tag == update.tag }
+            when {
+                update.tag in cancelledTags -> update.copy(isFinished = true, isCancelled = true)
+                entity?.isFinished == true -> entity
+                else -> update
+            }
+        }
+        assertSameAsFullAggregation(transferType, expected, transferredBytes)
+    }
+
+    @Test
+    fun `test that clearing a type removes its transfers and transferred bytes`() = runTest {
+        val transferType = TransferType.DOWNLOAD
+        underTest.getTotals(transferType)
+        val entities = createEntities(transferType)
+        underTest.insertOrUpdateActiveTransfers(entities)
+        underTest.updateTransferredBytes(transferType, entities.associate { it.tag to 10L })
+
+        underTest.clearActiveTransfers(transferType)
+
+        assertSameAsFullAggregation(transferType, emptyList(), emptyMap())
+    }
+
+    @Test
+    fun `test that the first snapshot of a type adds the transfers of the database`() = runTest {
+        val transferType = TransferType.DOWNLOAD
+        val entities = createEntities(transferType)
+        whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+            .thenReturn(entities)
+
+        assertSameAsFullAggregation(transferType, entities, emptyMap())
+    }
+
+    @Test
+    fun `test that the totals version only changes with changes of its type`() = runTest {
+        val version = underTest.monitorTotalsVersion(TransferType.DOWNLOAD)
+        val initial = version.value
+
+        underTest.updateTransferredBytes(TransferType.GENERAL_UPLOAD, mapOf(3 to 30L))
+        underTest.insertOrUpdateActiveTransfers(listOf(createEntity(TransferType.GENERAL_UPLOAD, 3)))
+        assertThat(version.value).isEqualTo(initial)
+
+        underTest.updateTransferredBytes(TransferType.DOWNLOAD, mapOf(1 to 10L))
+        assertThat(version.value).isEqualTo(initial + 1)
+        underTest.insertOrUpdateActiveTransfers(listOf(createEntity(TransferType.DOWNLOAD, 1)))
+        assertThat(version.value).isEqualTo(initial + 2)
+    }
+
+    @Test
+    fun `test that the totals of a list use the current transferred bytes`() = runTest {
+        val transferType = TransferType.DOWNLOAD
+        val entities = createEntities(transferType)
+        val transferredBytes = entities.associate { it.tag to it.totalBytes / 2 }
+        underTest.updateTransferredBytes(transferType, transferredBytes)
+
+        assertThat(underTest.getTotals(transferType, entities))
+            .isEqualTo(activeTransferTotalsMapper(transferType, entities, transferredBytes))
+    }
+
+    @Test
+    fun `test that group details are only fetched once`() = runTest {
+        val transferType = TransferType.DOWNLOAD
+        underTest.getTotals(transferType)
+        underTest.insertOrUpdateActiveTransfers(createEntities(transferType))
+
+        repeat(3) {
+            underTest.updateTransferredBytes(transferType, mapOf(1 to it.toLong()))
+            underTest.getTotals(transferType)
+        }
+
+        verify(transferRepository, times(1)).getActiveTransferGroupById(0)
+    }
+
+    @Test
+    fun `test that the app data of a group is dropped when no transfer of the group has it`() =
+        runTest {
+            val transferType = TransferType.DOWNLOAD
+            val withAppData = createEntity(transferType, tag = 1).let {
+                it.copy(appData = it.appData + TransferAppData.OfflineDownload)
+            }
+            val withoutAppData = createEntity(transferType, tag = 1 + GROUPS)
+            underTest.getTotals(transferType)
+            underTest.insertOrUpdateActiveTransfers(listOf(withAppData, withoutAppData))
+            assertThat(underTest.getTotals(transferType).groups.single().appData)
+                .containsExactly(TransferAppData.OfflineDownload)
+
+            //removed from the database without a change of its own, found by the consistency check
+            whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+                .thenReturn(listOf(withoutAppData))
+            repeat(ActiveTransferTotalsAggregator.CONSISTENCY_CHECK_INTERVAL) {
+                underTest.getTotals(transferType)
+            }
+
+            assertThat(underTest.getTotals(transferType).groups.single().appData).isEmpty()
+            assertSameAsFullAggregation(transferType, listOf(withoutAppData), emptyMap())
+        }
+
+    @Test
+    fun `test that totals are rebuilt from a full aggregation when the consistency check fails`() =
+        runTest {
+            val transferType = TransferType.DOWNLOAD
+            val expected = ActiveTransferTotals(
+                transfersType = transferType,
+                totalTransfers = 0,
+                totalFileTransfers = 0,
+                pausedFileTransfers = 0,
+                totalFinishedTransfers = 0,
+                totalFinishedFileTransfers = 0,
+                totalCompletedFileTransfers = 0,
+                totalBytes = 0L,
+                transferredBytes = 0L,
+                totalAlreadyTransferredFiles = 0,
+                totalCancelled = 0,
+            )
+            val mapper = mock<ActiveTransferTotalsMapper> {
+                onBlocking { invoke(any(), any(), any(), any()) }.thenReturn(expected)
+            }
+            underTest = createAggregator(mapper)
+            whenever(megaLocalRoomGateway.getCurrentActiveTransfersByType(transferType))
+                .thenReturn(createEntities(transferType))
+
+            val snapshots = (0..ActiveTransferTotalsAggregator.CONSISTENCY_CHECK_INTERVAL).map {
+                underTest.getTotals(transferType)
+            }
+
+            assertThat(snapshots.first()).isEqualTo(expected)
+            assertThat(snapshots.last()).isEqualTo(expected)
+            assertThat(snapshots.subList(1, snapshots.lastIndex)).doesNotContain(expected)
+        }
+
+    private fun createAggregator(mapper: ActiveTransferTotalsMapper) =
+        ActiveTransferTotalsAggregator(
+            transferRepository = { transferRepository },
+            megaLocalRoomGateway = megaLocalRoomGateway,
+            activeTransferTotalsMapper = mapper,
+            activeTransferEntityMapper = ActiveTransferEntityMapper(),
+        )
+
+    private suspend fun assertSameAsFullAggregation(
+        transferType: TransferType,
+        entities: List<ActiveTransferEntity>,
+        transferredBytes: Map<Int, Long>,
+    ) {
+        val expected = activeTransferTotalsMapper(transferType, entities, transferredBytes)
+        val actual = underTest.getTotals(transferType)
+        assertThat(actual.copy(groups = emptyList()))
+            .isEqualTo(expected.copy(groups = emptyList()))
+        assertThat(actual.groups).containsExactlyElementsIn(expected.groups)
+    }
+
+    private fun createEntities(transferType: TransferType) =
+        (0..40).map { createEntity(transferType, it) }
+
+    private fun createEntity(transferType: TransferType, tag: Int) = ActiveTransferEntity(
+        tag = tag,
+        transferType = transferType,
+        totalBytes = 1024 * (tag.toLong() % 5 + 1),
+        isFinished = tag.rem(5) == 0,
+        isFolderTransfer = tag.rem(8) == 0,
+        isPaused = tag.rem(2) == 0,
+        isAlreadyTransferred = tag.rem(9) == 0,
+        isCancelled = tag.rem(7) == 0,
+        appData = listOf(TransferAppData.TransferGroup((tag % GROUPS).toLong())),
+    )
+
+    companion object {
+        private const val GROUPS = 4
+    }
+}
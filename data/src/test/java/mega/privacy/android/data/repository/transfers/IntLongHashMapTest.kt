@@ -0,0 +1,77 @@
+package mega.privacy.android.data.repository.transfers
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import kotlin.random.Random
+
+class IntLongHashMapTest {
+
+    @Test
+    fun `test that values are set, replaced and removed`() {
+        val underTest = IntLongHashMap()
+
+        underTest[1] = 10L
+        underTest[2] = 20L
+        underTest[1] = 11L
+        underTest.remove(2)
+
+        assertThat(underTest[1]).isEqualTo(11L)
+        assertThat(underTest[2]).isNull()
+        assertThat(underTest.getOrDefault(2, -1L)).isEqualTo(-1L)
+        assertThat(underTest.size).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that it grows beyond its initial capacity`() {
+        val underTest = IntLongHashMap(initialCapacity = 2)
+
+        (0 until 1000).forEach { underTest[it] = it * 2L }
+
+        assertThat(underTest.size).isEqualTo(1000)
+        assertThat(underTest.toMap()).isEqualTo((0 until 1000).associateWith { it * 2L })
+    }
+
+    @Test
+    fun `test that it behaves as a map after random operations`() {
+        val random = Random(42)
+        val underTest = IntLongHashMap()
+        val expected = HashMap<Int, Long>()
+
+        repeat(20_000) {
+            val key = random.nextInt(500) * 16 //keys colliding on the low bits
+            if (random.nextInt(3) == 0) {
+                assertThat(underTest.remove(key)).isEqualTo(expected.remove(key) != null)
+            } else {
+                val value = random.nextLong()
+                underTest[key] = value
+                expected[key] = value
+            }
+        }
+
+        assertThat(underTest.toMap()).isEqualTo(expected)
+        expected.keys.forEach { assertThat(underTest.containsKey(it)).isTrue() }
+    }
+
+    @Test
+    fun `test that clear removes all the values`() {
+        val underTest = IntLongHashMap()
+        (0 until 10).forEach { underTest[it] = it.toLong() }
+
+        underTest.clear()
+
+        assertThat(underTest.size).isEqualTo(0)
+        assertThat(underTest.toMap()).isEmpty()
+    }
+
+    @Test
+    fun `test that the map view reflects the entries`() {
+        val underTest = IntLongHashMap()
+        val view = underTest.asMap()
+        (0 until 10).forEach { underTest[it] = it * 10L }
+        underTest.remove(3)
+
+        assertThat(view).isEqualTo(underTest.toMap())
+        assertThat(view[4]).isEqualTo(40L)
+        assertThat(view.containsKey(3)).isFalse()
+    }
+}
@@ -0,0 +1,59 @@
+package mega.privacy.android.data.repository.transfers
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.transfer.InProgressTransfer
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+
+class TransferProgressStoreTest {
+
+    private lateinit var underTest: TransferProgressStore
+
+    @BeforeEach
+    fun setUp() {
+        underTest = TransferProgressStore()
+    }
+
+    @Test
+    fun `test that earlier snapshots are not changed by later updates`() {
+        val first = inProgressTransfer(1)
+        underTest.updateInProgressTransfers(listOf(first))
+        val snapshot = underTest.monitorInProgressTransfers().value
+
+        underTest.updateInProgressTransfers(listOf(inProgressTransfer(2)))
+        underTest.removeInProgressTransfers(listOf(1))
+
+        assertThat(snapshot).containsExactly(1, first)
+    }
+
+    @Test
+    fun `test that in progress transfers are emitted after each change`() = runTest {
+        val first = inProgressTransfer(1)
+        val second = inProgressTransfer(2)
+
+        underTest.monitorInProgressTransfers().test {
+            assertThat(awaitItem()).isEmpty()
+            underTest.updateInProgressTransfers(listOf(first, second))
+            assertThat(awaitItem()).containsExactly(1, first, 2, second)
+            underTest.removeInProgressTransfers(listOf(1))
+            assertThat(awaitItem()).containsExactly(2, second)
+        }
+    }
+
+    @Test
+    fun `test that removing unknown in progress transfers does not emit`() = runTest {
+        underTest.monitorInProgressTransfers().test {
+            awaitItem()
+            underTest.removeInProgressTransfers(listOf(1))
+            expectNoEvents()
+        }
+    }
+
+    private fun inProgressTransfer(tag: Int) = mock<InProgressTransfer.Download> {
+        on { this.tag } doReturn tag
+    }
+}
@@ -49,7 +49,8 @@ import mega.privacy.android.domain.usecase.chat.message.CheckFinishedChatUploads
 import mega.privacy.android.domain.usecase.chat.message.MonitorPendingMessagesByStateUseCase
 import mega.privacy.android.domain.usecase.chat.message.UpdatePendingMessageUseCase
 import mega.privacy.android.domain.usecase.chat.message.pendingmessages.CompressPendingMessagesUseCase
-import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventsUseCase
+import mega.privacy.android.domain.usecase.transfers.GetTransferEventMetricsUseCase
+import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventBatchesUseCase
 import mega.privacy.android.domain.usecase.transfers.active.ClearActiveTransfersIfFinishedUseCase
 import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
@@ -93,7 +94,7 @@ class ChatUploadsWorkerTest {
     private val workProgressUpdater = mock<ProgressUpdater>()
 
     private val attachNodeWithPendingMessageUseCase = mock<AttachNodeWithPendingMessageUseCase>()
-    private val monitorTransferEventsUseCase = mock<MonitorTransferEventsUseCase>()
+    private val monitorTransferEventBatchesUseCase = mock<MonitorTransferEventBatchesUseCase>()
     private val handleTransferEventUseCase = mock<HandleTransferEventUseCase>()
     private val monitorOngoingActiveTransfersUseCase = mock<MonitorOngoingActiveTransfersUseCase>()
     private val areTransfersPausedUseCase = mock<AreTransfersPausedUseCase>()
@@ -104,6 +105,7 @@ class ChatUploadsWorkerTest {
     private val correctActiveTransfersUseCase = mock<CorrectActiveTransfersUseCase>()
     private val clearActiveTransfersIfFinishedUseCase =
         mock<ClearActiveTransfersIfFinishedUseCase>()
+    private val getTransferEventMetricsUseCase = mock<GetTransferEventMetricsUseCase>()
     private val chatUploadNotificationMapper = mock<ChatUploadNotificationMapper>()
     private val updatePendingMessageUseCase = mock<UpdatePendingMessageUseCase>()
     private val checkFinishedChatUploadsUseCase = mock<CheckFinishedChatUploadsUseCase>()
@@ -147,7 +149,7 @@ class ChatUploadsWorkerTest {
                 )
             ),
             ioDispatcher = ioDispatcher,
-            monitorTransferEventsUseCase,
+            monitorTransferEventBatchesUseCase,
             handleTransferEventUseCase,
             areTransfersPausedUseCase,
             getActiveTransferTotalsUseCase,
@@ -156,6 +158,7 @@ class ChatUploadsWorkerTest {
             areNotificationsEnabledUseCase,
             correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase,
+            getTransferEventMetricsUseCase,
             chatUploadNotificationMapper,
             attachNodeWithPendingMessageUseCase,
             updatePendingMessageUseCase,
@@ -185,9 +188,10 @@ class ChatUploadsWorkerTest {
             notificationManager,
             correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase,
+            getTransferEventMetricsUseCase,
             crashReporter,
             setForeground,
-            monitorTransferEventsUseCase,
+            monitorTransferEventBatchesUseCase,
             attachNodeWithPendingMessageUseCase,
             monitorOngoingActiveTransfersUseCase,
             chatUploadNotificationMapper,
@@ -450,7 +454,7 @@ class ChatUploadsWorkerTest {
                 storageOverQuota = false
             )
         ))
-        whenever(monitorTransferEventsUseCase()) doReturn (emptyFlow())
+        whenever(monitorTransferEventBatchesUseCase()) doReturn (emptyFlow())
         whenever(workProgressUpdater.updateProgress(any(), any(), any()))
             .thenReturn(SettableFuture.create<Void?>().also { it.set(null) })
         whenever(areNotificationsEnabledUseCase()).thenReturn(false)
@@ -37,13 +37,15 @@ import mega.privacy.android.domain.entity.transfer.ActiveTransferTotals
 import mega.privacy.android.domain.entity.transfer.MonitorOngoingActiveTransfersResult
 import mega.privacy.android.domain.entity.transfer.Transfer
 import mega.privacy.android.domain.entity.transfer.TransferEvent
+import mega.privacy.android.domain.entity.transfer.TransferEventMetrics
 import mega.privacy.android.domain.entity.transfer.TransferProgressResult
 import mega.privacy.android.domain.entity.transfer.TransferType
 import mega.privacy.android.domain.monitoring.CrashReporter
 import mega.privacy.android.domain.usecase.featureflag.GetFeatureFlagValueUseCase
 import mega.privacy.android.domain.usecase.qrcode.ScanMediaFileUseCase
+import mega.privacy.android.domain.usecase.transfers.GetTransferEventMetricsUseCase
 import mega.privacy.android.domain.usecase.transfers.MonitorActiveAndPendingTransfersUseCase
-import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventsUseCase
+import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventBatchesUseCase
 import mega.privacy.android.domain.usecase.transfers.active.ClearActiveTransfersIfFinishedUseCase
 import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
@@ -80,7 +82,7 @@ class DownloadsWorkerTest {
     private lateinit var workExecutor: WorkManagerTaskExecutor
     private lateinit var workDatabase: WorkDatabase
 
-    private val monitorTransferEventsUseCase = mock<MonitorTransferEventsUseCase>()
+    private val monitorTransferEventBatchesUseCase = mock<MonitorTransferEventBatchesUseCase>()
     private val handleTransferEventUseCase = mock<HandleTransferEventUseCase>()
     private val areTransfersPausedUseCase = mock<AreTransfersPausedUseCase>()
     private val getActiveTransferTotalsUseCase = mock<GetActiveTransferTotalsUseCase>()
@@ -90,6 +92,7 @@ class DownloadsWorkerTest {
     private val overQuotaNotificationBuilder = mock<OverQuotaNotificationBuilder>()
     private val clearActiveTransfersIfFinishedUseCase =
         mock<ClearActiveTransfersIfFinishedUseCase>()
+    private val getTransferEventMetricsUseCase = mock<GetTransferEventMetricsUseCase>()
     private val transfersFinishedNotificationMapper = mock<TransfersFinishedNotificationMapper>()
     private val workProgressUpdater = mock<ProgressUpdater>()
     private val scanMediaFileUseCase = mock<ScanMediaFileUseCase>()
@@ -137,7 +140,7 @@ class DownloadsWorkerTest {
                 )
             ),
             ioDispatcher = ioDispatcher,
-            monitorTransferEventsUseCase = monitorTransferEventsUseCase,
+            monitorTransferEventBatchesUseCase = monitorTransferEventBatchesUseCase,
             handleTransferEventUseCase = handleTransferEventUseCase,
             areTransfersPausedUseCase = areTransfersPausedUseCase,
             getActiveTransferTotalsUseCase = getActiveTransferTotalsUseCase,
@@ -147,6 +150,7 @@ class DownloadsWorkerTest {
             notificationManager = notificationManager,
             correctActiveTransfersUseCase = correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+            getTransferEventMetricsUseCase = getTransferEventMetricsUseCase,
             transfersFinishedNotificationMapper = transfersFinishedNotificationMapper,
             scanMediaFileUseCase = scanMediaFileUseCase,
             crashReporter = crashReporter,
@@ -177,10 +181,11 @@ class DownloadsWorkerTest {
             notificationManager,
             correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase,
+            getTransferEventMetricsUseCase,
             transfersFinishedNotificationMapper,
             crashReporter,
             setForeground,
-            monitorTransferEventsUseCase,
+            monitorTransferEventBatchesUseCase,
             monitorActiveAndPendingTransfersUseCase,
             startAllPendingDownloadsUseCase,
             transfersActionGroupFinishNotificationBuilder,
@@ -197,11 +202,11 @@ class DownloadsWorkerTest {
     }
 
     @Test
-    fun `test that monitorTransferEventsUseCase is invoked when the worker starts doing work`() =
+    fun `test that monitorTransferEventBatchesUseCase is invoked when the worker starts doing work`() =
         runTest {
             commonStub()
             underTest.doWork()
-            verify(monitorTransferEventsUseCase).invoke()
+            verify(monitorTransferEventBatchesUseCase).invoke()
         }
 
     @Test
@@ -212,6 +217,21 @@ class DownloadsWorkerTest {
             verify(crashReporter, times(2)).log(any())
         }
 
+    @Test
+    fun `test that the transfer event metrics are logged when the worker finishes`() =
+        runTest {
+            val metrics = TransferEventMetrics(
+                queueDepth = 0,
+                maxQueueDepth = 20,
+                coalescedEvents = 300L,
+                droppedEvents = 1L,
+            )
+            commonStub()
+            whenever(getTransferEventMetricsUseCase()).thenReturn(metrics)
+            underTest.doWork()
+            verify(crashReporter).log("DownloadsWorker Finished, $metrics")
+        }
+
     @Test
     fun `test that correctActiveTransfersUseCase is invoked when the worker starts doing work`() =
         runTest {
@@ -234,7 +254,7 @@ class DownloadsWorkerTest {
             commonStub()
             val inOrder =
                 inOrder(
-                    monitorTransferEventsUseCase,
+                    monitorTransferEventBatchesUseCase,
                     correctActiveTransfersUseCase,
                     monitorActiveAndPendingTransfersUseCase,
                 )
@@ -449,8 +469,8 @@ class DownloadsWorkerTest {
         val transferEvent = TransferEvent.TransferFinishEvent(transfer, null)
         whenever(areTransfersPausedUseCase())
             .thenReturn(false)
-        whenever(monitorTransferEventsUseCase())
-            .thenReturn(flowOf(transferEvent))
+        whenever(monitorTransferEventBatchesUseCase())
+            .thenReturn(flowOf(listOf(transferEvent)))
         whenever(monitorActiveAndPendingTransfersUseCase(TransferType.DOWNLOAD))
             .thenReturn(flow {
                 emit(
@@ -36,8 +36,9 @@ import mega.privacy.android.domain.entity.transfer.TransferState
 import mega.privacy.android.domain.entity.transfer.TransferType
 import mega.privacy.android.domain.entity.uri.UriPath
 import mega.privacy.android.domain.monitoring.CrashReporter
+import mega.privacy.android.domain.usecase.transfers.GetTransferEventMetricsUseCase
 import mega.privacy.android.domain.usecase.transfers.MonitorActiveAndPendingTransfersUseCase
-import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventsUseCase
+import mega.privacy.android.domain.usecase.transfers.MonitorTransferEventBatchesUseCase
 import mega.privacy.android.domain.usecase.transfers.active.ClearActiveTransfersIfFinishedUseCase
 import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
@@ -75,7 +76,7 @@ class UploadsWorkerTest {
     private lateinit var workExecutor: WorkManagerTaskExecutor
     private lateinit var workDatabase: WorkDatabase
 
-    private val monitorTransferEventsUseCase = mock<MonitorTransferEventsUseCase>()
+    private val monitorTransferEventBatchesUseCase = mock<MonitorTransferEventBatchesUseCase>()
     private val handleTransferEventUseCase = mock<HandleTransferEventUseCase>()
     private val monitorActiveAndPendingTransfersUseCase =
         mock<MonitorActiveAndPendingTransfersUseCase>()
@@ -87,6 +88,7 @@ class UploadsWorkerTest {
     private val overQuotaNotificationBuilder = mock<OverQuotaNotificationBuilder>()
     private val clearActiveTransfersIfFinishedUseCase =
         mock<ClearActiveTransfersIfFinishedUseCase>()
+    private val getTransferEventMetricsUseCase = mock<GetTransferEventMetricsUseCase>()
     private val transfersFinishedNotificationMapper = mock<TransfersFinishedNotificationMapper>()
     private val setNodeAttributesAfterUploadUseCase = mock<SetNodeAttributesAfterUploadUseCase>()
     private val workProgressUpdater = mock<ProgressUpdater>()
@@ -126,7 +128,7 @@ class UploadsWorkerTest {
                 )
             ),
             ioDispatcher = ioDispatcher,
-            monitorTransferEventsUseCase = monitorTransferEventsUseCase,
+            monitorTransferEventBatchesUseCase = monitorTransferEventBatchesUseCase,
             handleTransferEventUseCase = handleTransferEventUseCase,
             areTransfersPausedUseCase = areTransfersPausedUseCase,
             monitorActiveAndPendingTransfersUseCase = monitorActiveAndPendingTransfersUseCase,
@@ -137,6 +139,7 @@ class UploadsWorkerTest {
             notificationManager = notificationManager,
             correctActiveTransfersUseCase = correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+            getTransferEventMetricsUseCase = getTransferEventMetricsUseCase,
             transfersFinishedNotificationMapper = transfersFinishedNotificationMapper,
             setNodeAttributesAfterUploadUseCase = setNodeAttributesAfterUploadUseCase,
             crashReporter = crashReporter,
@@ -160,6 +163,7 @@ class UploadsWorkerTest {
             notificationManager,
             correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase,
+            getTransferEventMetricsUseCase,
             transfersFinishedNotificationMapper,
             setNodeAttributesAfterUploadUseCase,
             crashReporter,
@@ -174,11 +178,11 @@ class UploadsWorkerTest {
     }
 
     @Test
-    fun `test that monitorTransferEventsUseCase is invoked when the worker starts doing work`() =
+    fun `test that monitorTransferEventBatchesUseCase is invoked when the worker starts doing work`() =
         runTest {
             commonStub()
             underTest.doWork()
-            verify(monitorTransferEventsUseCase, atLeastOnce()).invoke()
+            verify(monitorTransferEventBatchesUseCase, atLeastOnce()).invoke()
         }
 
     @Test
@@ -211,7 +215,7 @@ class UploadsWorkerTest {
             commonStub()
             val inOrder =
                 inOrder(
-                    monitorTransferEventsUseCase,
+                    monitorTransferEventBatchesUseCase,
                     correctActiveTransfersUseCase,
                     monitorActiveAndPendingTransfersUseCase
                 )
@@ -390,8 +394,8 @@ class UploadsWorkerTest {
         val transferEvent = TransferEvent.TransferFinishEvent(transfer, null)
         whenever(areTransfersPausedUseCase())
             .thenReturn(false)
-        whenever(monitorTransferEventsUseCase())
-            .thenReturn(flowOf(transferEvent))
+        whenever(monitorTransferEventBatchesUseCase())
+            .thenReturn(flowOf(listOf(transferEvent)))
         whenever(monitorActiveAndPendingTransfersUseCase(TransferType.GENERAL_UPLOAD))
             .thenReturn(flow {
                 emit(
@@ -0,0 +1,17 @@
+package mega.privacy.android.domain.entity.analytics
+
+import kotlinx.serialization.Serializable
+
+/**
+ * User journey event to be sent to the stats server
+ *
+ * @property eventId Event type
+ * @property message Event message
+ * @property viewId ViewID the event belongs to, if any
+ */
+@Serializable
+data class UserJourneyEvent(
+    val eventId: Int,
+    val message: String,
+    val viewId: String?,
+)
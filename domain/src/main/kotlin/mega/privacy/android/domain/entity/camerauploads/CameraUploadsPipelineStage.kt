@@ -0,0 +1,29 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Stages of the Camera Uploads upload pipeline
+ *
+ * Each record goes through the stages in order. A record can leave the pipeline early,
+ * for instance if it is copied or if the generation of its temporary file fails
+ */
+enum class CameraUploadsPipelineStage {
+    /**
+     * The record has been checked against the cloud, and copied if needed
+     */
+    PREPARE,
+
+    /**
+     * The temporary file of the record has been generated (gps coordinates removal or video compression)
+     */
+    GENERATE_TEMP_FILE,
+
+    /**
+     * The fingerprint of the temporary file has been computed and saved
+     */
+    FINGERPRINT,
+
+    /**
+     * The record has been uploaded
+     */
+    UPLOAD,
+}
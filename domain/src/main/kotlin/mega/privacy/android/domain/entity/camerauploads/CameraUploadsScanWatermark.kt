@@ -0,0 +1,19 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+
+/**
+ * Watermark of the last successful Media Store scan done by Camera Uploads
+ *
+ * @property folderType the folder type (Primary or Secondary) that has been scanned
+ * @property fileType the type of media (Photo or Video) that has been scanned
+ * @property parentPath the local folder path that has been scanned
+ * @property timestamp the time in milliseconds when the scan started. Only the media added or
+ *                     modified after this time need to be retrieved in the next scan
+ */
+data class CameraUploadsScanWatermark(
+    val folderType: CameraUploadFolderType,
+    val fileType: CameraUploadsRecordType,
+    val parentPath: String,
+    val timestamp: Long,
+)
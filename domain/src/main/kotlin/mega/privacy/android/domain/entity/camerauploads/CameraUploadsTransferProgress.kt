@@ -88,6 +88,19 @@ sealed interface CameraUploadsTransferProgress {
         val nodeId: NodeId,
     ) : CameraUploadsTransferProgress
 
+    /**
+     * Represents a record that went through a stage of the upload pipeline
+     * Used to monitor the throughput of each stage
+     *
+     * @property stage the stage completed
+     * @property stageCompletedCount the number of records that completed this stage so far
+     */
+    data class StageCompleted(
+        override val record: CameraUploadsRecord,
+        val stage: CameraUploadsPipelineStage,
+        val stageCompletedCount: Int,
+    ) : CameraUploadsTransferProgress
+
     /**
      * Represents a record associated to a video that is under compression
      */
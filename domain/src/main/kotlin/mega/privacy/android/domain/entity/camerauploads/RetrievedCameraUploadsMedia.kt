@@ -0,0 +1,14 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Media retrieved from the media store by Camera Uploads
+ *
+ * @property records the records created from the media retrieved
+ * @property oldestNotMappedTimestamp the timestamp of the oldest media that could not be turned
+ *                                    into a record, or null if every media has a record. That
+ *                                    media needs to be retrieved again in the next scan
+ */
+data class RetrievedCameraUploadsMedia(
+    val records: List<CameraUploadsRecord>,
+    val oldestNotMappedTimestamp: Long? = null,
+)
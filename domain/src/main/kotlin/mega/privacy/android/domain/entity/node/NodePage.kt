@@ -0,0 +1,12 @@
+package mega.privacy.android.domain.entity.node
+
+/**
+ * Page of a node listing, to only get part of the nodes of a folder or a search
+ *
+ * @property offset index of the first node of the page
+ * @property size maximum number of nodes of the page
+ */
+data class NodePage(
+    val offset: Long,
+    val size: Int,
+)
@@ -0,0 +1,16 @@
+package mega.privacy.android.domain.entity.transfer
+
+/**
+ * Metrics of the queue of transfer events waiting to be collected, since the app started
+ *
+ * @property queueDepth events currently queued
+ * @property maxQueueDepth maximum number of events queued at the same time
+ * @property coalescedEvents progress events replaced by a newer one before being delivered
+ * @property droppedEvents progress events dropped because the queue was full
+ */
+data class TransferEventMetrics(
+    val queueDepth: Int,
+    val maxQueueDepth: Int,
+    val coalescedEvents: Long,
+    val droppedEvents: Long,
+)
@@ -12,6 +12,7 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsSettingsAction
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsStatusInfo
 import mega.privacy.android.domain.entity.camerauploads.HeartbeatStatus
@@ -484,6 +485,15 @@ interface CameraUploadsRepository {
      */
     fun getMediaSelectionQuery(parentPath: String): String
 
+    /**
+     * Get the selection query to filter the media based on the parent path, only keeping the media
+     * added or modified since the given time
+     *
+     * @param parentPath path that contains the media
+     * @param addedOrModifiedSince time in milliseconds
+     */
+    fun getIncrementalMediaSelectionQuery(parentPath: String, addedOrModifiedSince: Long): String
+
     /**
      * Save a list of [CameraUploadsRecord] in the database
      *
@@ -549,6 +559,25 @@ interface CameraUploadsRepository {
      */
     suspend fun clearRecords(folderTypes: List<CameraUploadFolderType>)
 
+    /**
+     * Get the watermark of the last successful Media Store scan
+     *
+     * @param folderType the folder type (Primary or Secondary) scanned
+     * @param fileType the type of media (Photo or Video) scanned
+     * @return the [CameraUploadsScanWatermark] or null if no scan has been completed yet
+     */
+    suspend fun getCameraUploadsScanWatermark(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+    ): CameraUploadsScanWatermark?
+
+    /**
+     * Save the watermarks of a successful Media Store scan
+     *
+     * @param watermarks the list to save in the database
+     */
+    suspend fun setCameraUploadsScanWatermarks(watermarks: List<CameraUploadsScanWatermark>)
+
     /**
      * Observes the User's Setting in the DataStore, as to whether or not the Device must be charged
      * for the active Camera Uploads to start uploading content
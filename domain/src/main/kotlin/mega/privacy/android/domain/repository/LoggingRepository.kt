@@ -23,30 +23,30 @@ interface LoggingRepository {
     fun resetSdkLogging()
 
     /**
-     * Get sdk logging flow
+     * Get sdk logging flow, emitting log entries in batches
      *
      */
-    fun getSdkLoggingFlow(): Flow<LogEntry>
+    fun getSdkLoggingFlow(): Flow<List<LogEntry>>
 
     /**
-     * Get chat logging flow
+     * Get chat logging flow, emitting log entries in batches
      *
      */
-    fun getChatLoggingFlow(): Flow<LogEntry>
+    fun getChatLoggingFlow(): Flow<List<LogEntry>>
 
     /**
-     * Log to sdk file
+     * Log a batch of entries to sdk file
      *
-     * @param logMessage
+     * @param logMessages
      */
-    suspend fun logToSdkFile(logMessage: LogEntry)
+    suspend fun logToSdkFile(logMessages: List<LogEntry>)
 
     /**
-     * Log to chat file
+     * Log a batch of entries to chat file
      *
-     * @param logMessage
+     * @param logMessages
      */
-    suspend fun logToChatFile(logMessage: LogEntry)
+    suspend fun logToChatFile(logMessages: List<LogEntry>)
 
     /**
      * Compress logs
@@ -11,6 +11,7 @@ import mega.privacy.android.domain.entity.node.FileNode
 import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.Node
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.node.TypedFolderNode
 import mega.privacy.android.domain.entity.node.TypedNode
@@ -134,9 +135,14 @@ interface NodeRepository {
      *
      * @param nodeId [NodeId]
      * @param order [SortOrder]
+     * @param page [NodePage] to only get a page of the children, all of them if null
      * @return
      */
-    suspend fun getNodeChildren(nodeId: NodeId, order: SortOrder? = null): List<UnTypedNode>
+    suspend fun getNodeChildren(
+        nodeId: NodeId,
+        order: SortOrder? = null,
+        page: NodePage? = null,
+    ): List<UnTypedNode>
 
     /**
      * Get node children file types
@@ -2,6 +2,7 @@ package mega.privacy.android.domain.repository
 
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.UnTypedNode
 import mega.privacy.android.domain.entity.search.SearchParameters
 
@@ -16,11 +17,13 @@ interface SearchRepository {
      * @param nodeId [NodeId] place to be searched
      * @param order [SortOrder] locally saved user selected sort order
      * @param parameters [SearchParameters] additional search parameters
+     * @param page [NodePage] to only get a page of the results, all of them if null
      */
     suspend fun search(
         nodeId: NodeId?,
         order: SortOrder,
         parameters: SearchParameters,
+        page: NodePage? = null,
     ): List<UnTypedNode>
 
     /**
@@ -28,11 +31,13 @@ interface SearchRepository {
      * @param nodeId [NodeId] place to be searched
      * @param order [SortOrder] locally saved user selected sort order
      * @param parameters [SearchParameters] additional search parameters
+     * @param page [NodePage] to only get a page of the children, all of them if null
      */
     suspend fun getChildren(
         nodeId: NodeId?,
         order: SortOrder,
         parameters: SearchParameters,
+        page: NodePage? = null,
     ): List<UnTypedNode>
 
     /**
@@ -1,5 +1,7 @@
 package mega.privacy.android.domain.repository
 
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+
 /**
  * The MEGA Stats Repository
  */
@@ -34,6 +36,20 @@ interface StatisticsRepository {
      */
     suspend fun generateViewId(): String
 
+    /**
+     * Get the user journey events saved because they could not be sent yet
+     *
+     * @return the pending events, oldest first
+     */
+    suspend fun getPendingUserJourneyEvents(): List<UserJourneyEvent>
+
+    /**
+     * Save the user journey events not sent yet, replacing the previously saved ones
+     *
+     * @param events pending events, oldest first
+     */
+    suspend fun setPendingUserJourneyEvents(events: List<UserJourneyEvent>)
+
     /**
      * Get the media discovery click count
      */
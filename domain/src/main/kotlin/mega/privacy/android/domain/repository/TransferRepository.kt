@@ -14,6 +14,7 @@ import mega.privacy.android.domain.entity.transfer.InProgressTransfer
 import mega.privacy.android.domain.entity.transfer.Transfer
 import mega.privacy.android.domain.entity.transfer.TransferAppData
 import mega.privacy.android.domain.entity.transfer.TransferEvent
+import mega.privacy.android.domain.entity.transfer.TransferEventMetrics
 import mega.privacy.android.domain.entity.transfer.TransferType
 import mega.privacy.android.domain.entity.transfer.pending.InsertPendingTransferRequest
 import mega.privacy.android.domain.entity.transfer.pending.PendingTransfer
@@ -33,6 +34,19 @@ interface TransferRepository {
      */
     fun monitorTransferEvents(): Flow<TransferEvent>
 
+    /**
+     * Monitor transfer events in batches, progress events of the same transfer are conflated
+     * while waiting to be collected
+     *
+     * @return flow of transfer event batches
+     */
+    fun monitorTransferEventBatches(): Flow<List<TransferEvent>>
+
+    /**
+     * Get the metrics of the queue of transfer events waiting to be collected
+     */
+    fun getTransferEventMetrics(): TransferEventMetrics
+
     /**
      * Gets the number of pending download transfers that are not background transfers.
      *
@@ -1,5 +1,7 @@
 package mega.privacy.android.domain.repository
 
+import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.domain.entity.Progress
 import mega.privacy.android.domain.entity.zipbrowser.ZipTreeNode
 import java.util.zip.ZipFile
 
@@ -43,4 +45,12 @@ interface ZipBrowserRepository {
      * @return true is unzip succeed.
      */
     suspend fun unzipFile(zipFile: ZipFile, unzipRootPath: String): Boolean
+
+    /**
+     * Unzip file reporting its progress
+     * @param zipFile ZipFile
+     * @param unzipRootPath unzip destination path
+     * @return flow of the extracted bytes progress, completes when unzip succeed and fails otherwise
+     */
+    fun monitorUnzipFile(zipFile: ZipFile, unzipRootPath: String): Flow<Progress>
 }
\ No newline at end of file
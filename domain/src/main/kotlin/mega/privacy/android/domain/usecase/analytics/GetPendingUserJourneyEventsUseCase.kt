@@ -0,0 +1,18 @@
+package mega.privacy.android.domain.usecase.analytics
+
+import mega.privacy.android.domain.repository.StatisticsRepository
+import javax.inject.Inject
+
+/**
+ * Get the user journey events saved because they could not be sent yet
+ */
+class GetPendingUserJourneyEventsUseCase @Inject constructor(
+    private val statisticsRepository: StatisticsRepository,
+) {
+    /**
+     * Invoke
+     *
+     * @return the pending events, oldest first
+     */
+    suspend operator fun invoke() = statisticsRepository.getPendingUserJourneyEvents()
+}
@@ -0,0 +1,20 @@
+package mega.privacy.android.domain.usecase.analytics
+
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+import mega.privacy.android.domain.repository.StatisticsRepository
+import javax.inject.Inject
+
+/**
+ * Save the user journey events not sent yet, replacing the previously saved ones
+ */
+class SetPendingUserJourneyEventsUseCase @Inject constructor(
+    private val statisticsRepository: StatisticsRepository,
+) {
+    /**
+     * Invoke
+     *
+     * @param events pending events, oldest first
+     */
+    suspend operator fun invoke(events: List<UserJourneyEvent>) =
+        statisticsRepository.setPendingUserJourneyEvents(events)
+}
@@ -0,0 +1,32 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import javax.inject.Inject
+
+/**
+ * Get the watermark of the last successful Media Store scan
+ */
+class GetCameraUploadsScanWatermarkUseCase @Inject constructor(
+    private val cameraUploadsRepository: CameraUploadsRepository,
+) {
+
+    /**
+     * Get the watermark of the last successful Media Store scan
+     *
+     * @param folderType the folder type (Primary or Secondary) to scan
+     * @param fileType the type of media (Photo or Video) to scan
+     * @param parentPath the local folder path to scan
+     * @return the [CameraUploadsScanWatermark], or null if no scan has been completed for
+     *         the given parent path, in which case a full scan is needed
+     */
+    suspend operator fun invoke(
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        parentPath: String,
+    ): CameraUploadsScanWatermark? =
+        cameraUploadsRepository.getCameraUploadsScanWatermark(folderType, fileType)
+            ?.takeIf { it.parentPath == parentPath }
+}
@@ -1,20 +1,33 @@
 package mega.privacy.android.domain.usecase.camerauploads
 
 import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.coroutineScope
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
+import mega.privacy.android.domain.usecase.environment.GetCurrentTimeInMillisUseCase
 import javax.inject.Inject
 
 /**
  * Use case to retrieve media from the media stores, and save them in the database
  * to be uploaded by Camera Uploads
  *
+ * The media store is scanned incrementally: only the media added or modified since the last
+ * successful scan of the same folder are retrieved. A full scan is done if no previous scan
+ * has been completed for the folder, or if the folder path has changed. Media that could not be
+ * turned into a record keep the watermark at or before their timestamp, so they are retried
+ *
  * @property getPrimaryFolderPathUseCase
  * @property getSecondaryFolderPathUseCase
  * @property getMediaStoreFileTypesUseCase
  * @property isMediaUploadsEnabledUseCase
  * @property retrieveMediaFromMediaStoreUseCase
+ * @property getCameraUploadsScanWatermarkUseCase
+ * @property setCameraUploadsScanWatermarksUseCase
+ * @property getCurrentTimeInMillisUseCase
  */
 class ProcessCameraUploadsMediaUseCase @Inject constructor(
     private val getPrimaryFolderPathUseCase: GetPrimaryFolderPathUseCase,
@@ -23,6 +36,9 @@ class ProcessCameraUploadsMediaUseCase @Inject constructor(
     private val isMediaUploadsEnabledUseCase: IsMediaUploadsEnabledUseCase,
     private val retrieveMediaFromMediaStoreUseCase: RetrieveMediaFromMediaStoreUseCase,
     private val saveCameraUploadsRecordUseCase: SaveCameraUploadsRecordUseCase,
+    private val getCameraUploadsScanWatermarkUseCase: GetCameraUploadsScanWatermarkUseCase,
+    private val setCameraUploadsScanWatermarksUseCase: SetCameraUploadsScanWatermarksUseCase,
+    private val getCurrentTimeInMillisUseCase: GetCurrentTimeInMillisUseCase,
 ) {
 
     /**
@@ -32,72 +48,92 @@ class ProcessCameraUploadsMediaUseCase @Inject constructor(
     suspend operator fun invoke(
         tempRoot: String,
     ) = coroutineScope {
+        // Media added or modified while scanning will be retrieved in the next scan
+        val scanStartTime = getCurrentTimeInMillisUseCase()
         val (photoMediaStoreTypes, videoMediaStoreTypes) = getMediaStoreFileTypesUseCase().partition { it.isImageFileType() }
         val primaryFolderPath = getPrimaryFolderPathUseCase()
-
-        val primaryPhotoMedia = async {
-            photoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                retrieveMediaFromMediaStoreUseCase(
-                    parentPath = primaryFolderPath,
-                    types = it,
-                    folderType = CameraUploadFolderType.Primary,
-                    fileType = CameraUploadsRecordType.TYPE_PHOTO,
-                    tempRoot = tempRoot,
-                )
-            } ?: emptyList()
-        }
-
-        val primaryVideoMedia = async {
-            videoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                retrieveMediaFromMediaStoreUseCase(
-                    parentPath = primaryFolderPath,
-                    types = it,
-                    folderType = CameraUploadFolderType.Primary,
-                    fileType = CameraUploadsRecordType.TYPE_VIDEO,
-                    tempRoot = tempRoot,
-                )
-            } ?: emptyList()
-        }
-
         val isSecondaryFolderEnabled = isMediaUploadsEnabledUseCase()
         val secondaryFolderPath = getSecondaryFolderPathUseCase()
 
-        val secondaryPhotoMedia =
+        val folders = buildList {
+            add(CameraUploadFolderType.Primary to primaryFolderPath)
             if (isSecondaryFolderEnabled) {
-                async {
-                    photoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                        retrieveMediaFromMediaStoreUseCase(
-                            parentPath = secondaryFolderPath,
-                            types = it,
-                            folderType = CameraUploadFolderType.Secondary,
-                            fileType = CameraUploadsRecordType.TYPE_PHOTO,
-                            tempRoot = tempRoot,
-                        )
-                    }.orEmpty()
-                }
-            } else null
+                add(CameraUploadFolderType.Secondary to secondaryFolderPath)
+            }
+        }
+        val fileTypes = listOf(
+            CameraUploadsRecordType.TYPE_PHOTO to photoMediaStoreTypes,
+            CameraUploadsRecordType.TYPE_VIDEO to videoMediaStoreTypes,
+        ).filter { (_, types) -> types.isNotEmpty() }
 
-        val secondaryVideoMedia =
-            if (isSecondaryFolderEnabled) {
+        val scans = folders.flatMap { (folderType, parentPath) ->
+            fileTypes.map { (fileType, types) ->
                 async {
-                    videoMediaStoreTypes.takeUnless { it.isEmpty() }?.let {
-                        retrieveMediaFromMediaStoreUseCase(
-                            parentPath = secondaryFolderPath,
-                            types = it,
-                            folderType = CameraUploadFolderType.Secondary,
-                            fileType = CameraUploadsRecordType.TYPE_VIDEO,
-                            tempRoot = tempRoot,
-                        )
-                    }.orEmpty()
+                    scanMedia(
+                        parentPath = parentPath,
+                        types = types,
+                        folderType = folderType,
+                        fileType = fileType,
+                        tempRoot = tempRoot,
+                        scanStartTime = scanStartTime,
+                    )
                 }
-            } else null
+            }
+        }.awaitAll()
 
-        val combinedList = buildList {
-            addAll(primaryPhotoMedia.await())
-            addAll(primaryVideoMedia.await())
-            secondaryPhotoMedia?.let { addAll(it.await()) }
-            secondaryVideoMedia?.let { addAll(it.await()) }
-        }
-        saveCameraUploadsRecordUseCase(combinedList)
+        saveCameraUploadsRecordUseCase(scans.flatMap { it.records })
+        setCameraUploadsScanWatermarksUseCase(scans.map { it.watermark })
     }
+
+    /**
+     * Retrieve the media from the media store, incrementally if a previous scan
+     * of the same folder has been completed
+     *
+     * The new watermark is the scan start time, unless some media could not be turned into a
+     * record. In that case it is the timestamp of the oldest of them, so they are retrieved again
+     * in the next scan
+     */
+    private suspend fun scanMedia(
+        parentPath: String,
+        types: List<MediaStoreFileType>,
+        folderType: CameraUploadFolderType,
+        fileType: CameraUploadsRecordType,
+        tempRoot: String,
+        scanStartTime: Long,
+    ): MediaScan {
+        val retrievedMedia = retrieveMediaFromMediaStoreUseCase(
+            parentPath = parentPath,
+            types = types,
+            folderType = folderType,
+            fileType = fileType,
+            tempRoot = tempRoot,
+            addedOrModifiedSince = getCameraUploadsScanWatermarkUseCase(
+                folderType = folderType,
+                fileType = fileType,
+                parentPath = parentPath,
+            )?.timestamp,
+        )
+        return MediaScan(
+            records = retrievedMedia.records,
+            watermark = CameraUploadsScanWatermark(
+                folderType = folderType,
+                fileType = fileType,
+                parentPath = parentPath,
+                timestamp = retrievedMedia.oldestNotMappedTimestamp
+                    ?.coerceAtMost(scanStartTime)
+                    ?: scanStartTime,
+            ),
+        )
+    }
+
+    /**
+     * Result of scanning one folder for one type of media
+     *
+     * @property records the records to save
+     * @property watermark the watermark to save once the records are saved
+     */
+    private data class MediaScan(
+        val records: List<CameraUploadsRecord>,
+        val watermark: CameraUploadsScanWatermark,
+    )
 }
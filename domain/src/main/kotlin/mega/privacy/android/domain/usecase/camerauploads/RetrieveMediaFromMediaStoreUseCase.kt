@@ -11,6 +11,7 @@ import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.RetrievedCameraUploadsMedia
 import mega.privacy.android.domain.repository.CameraUploadsRepository
 import mega.privacy.android.domain.usecase.camerauploads.mapper.CameraUploadsRecordMapper
 import javax.inject.Inject
@@ -28,8 +29,11 @@ class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
      *
      * @param parentPath used for filtering the media contained in the parent path
      * @param types types of files that we want to retrieve. This types will be converted to proper Uri
+     * @param addedOrModifiedSince if not null, only the media added or modified since this time
+     *                             in milliseconds are retrieved. Otherwise, a full scan is done
      *
-     * @return a list of [CameraUploadsRecord]
+     * @return the [CameraUploadsRecord] of the media retrieved, and the timestamp of the oldest
+     *         media that could not be turned into a record
      */
     suspend operator fun invoke(
         parentPath: String,
@@ -37,58 +41,55 @@ class RetrieveMediaFromMediaStoreUseCase @Inject constructor(
         folderType: CameraUploadFolderType,
         fileType: CameraUploadsRecordType,
         tempRoot: String,
-    ): List<CameraUploadsRecord> = coroutineScope {
-        val selectionQuery = cameraUploadsRepository.getMediaSelectionQuery(parentPath)
+        addedOrModifiedSince: Long? = null,
+    ): RetrievedCameraUploadsMedia = coroutineScope {
+        val selectionQuery = addedOrModifiedSince?.let {
+            cameraUploadsRepository.getIncrementalMediaSelectionQuery(parentPath, it)
+        } ?: cameraUploadsRepository.getMediaSelectionQuery(parentPath)
 
-        val (recordsInPrimaryFolder, recordsInSecondaryFolder) =
-            cameraUploadsRepository.getAllCameraUploadsRecords()
-                .partition { it.folderType == CameraUploadFolderType.Primary }
+        val existingRecordKeys = cameraUploadsRepository.getAllCameraUploadsRecords()
+            .filter { it.folderType == folderType }
+            .mapTo(HashSet()) { CameraUploadsRecordKey(it.mediaId, it.timestamp) }
 
         val semaphore = Semaphore(8)
-        return@coroutineScope types.flatMap {
+        val mappedMedia = types.flatMap {
             cameraUploadsRepository.getMediaList(
                 mediaStoreFileType = it,
                 selectionQuery = selectionQuery,
-            ).map {
+            ).filterNot {
+                existingRecordKeys.contains(CameraUploadsRecordKey(it.mediaId, it.timestamp))
+            }.map {
                 async {
                     semaphore.withPermit {
                         yield()
-                        runCatching {
-                            val exists = checkCameraUploadsRecordAlreadyExists(
-                                cameraUploadsMedia = it,
-                                recordsToCheck =
-                                if (folderType == CameraUploadFolderType.Primary)
-                                    recordsInPrimaryFolder
-                                else recordsInSecondaryFolder,
+                        it to runCatching {
+                            cameraUploadsRecordMapper(
+                                media = it,
+                                folderType = folderType,
+                                fileType = fileType,
+                                tempRoot = tempRoot,
                             )
-                            if (!exists) {
-                                cameraUploadsRecordMapper(
-                                    media = it,
-                                    folderType = folderType,
-                                    fileType = fileType,
-                                    tempRoot = tempRoot,
-                                )
-                            } else null
                         }.getOrNull()
                     }
                 }
-            }.awaitAll().filterNotNull()
+            }.awaitAll()
         }
+        return@coroutineScope RetrievedCameraUploadsMedia(
+            records = mappedMedia.mapNotNull { (_, record) -> record },
+            oldestNotMappedTimestamp = mappedMedia
+                .filter { (_, record) -> record == null }
+                .minOfOrNull { (media, _) -> media.timestamp },
+        )
     }
 
     /**
-     * Check if the camera uploads media has already been inserted in the database
+     * Key identifying a [CameraUploadsRecord] already inserted in the database
      *
-     * @param cameraUploadsMedia the [CameraUploadsMedia] to check
-     * @param recordsToCheck the list of [CameraUploadsRecord] saved in the database
+     * @property mediaId the media id of the record
+     * @property timestamp the timestamp of the record
      */
-    private fun checkCameraUploadsRecordAlreadyExists(
-        cameraUploadsMedia: CameraUploadsMedia,
-        recordsToCheck: List<CameraUploadsRecord>,
-    ): Boolean {
-        return recordsToCheck.find {
-            it.mediaId == cameraUploadsMedia.mediaId && it.timestamp == cameraUploadsMedia.timestamp
-        } != null
-    }
+    private data class CameraUploadsRecordKey(
+        val mediaId: Long,
+        val timestamp: Long,
+    )
 }
-
@@ -0,0 +1,21 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import javax.inject.Inject
+
+/**
+ * Save the watermarks of a successful Media Store scan
+ */
+class SetCameraUploadsScanWatermarksUseCase @Inject constructor(
+    private val cameraUploadsRepository: CameraUploadsRepository,
+) {
+
+    /**
+     * Save the watermarks of a successful Media Store scan
+     *
+     * @param watermarks the list to save in the database
+     */
+    suspend operator fun invoke(watermarks: List<CameraUploadsScanWatermark>) =
+        cameraUploadsRepository.setCameraUploadsScanWatermarks(watermarks)
+}
@@ -1,7 +1,9 @@
 package mega.privacy.android.domain.usecase.camerauploads
 
-import kotlinx.coroutines.DelicateCoroutinesApi
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.channels.Channel.Factory.UNLIMITED
+import kotlinx.coroutines.channels.ReceiveChannel
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.buffer
@@ -13,17 +15,18 @@ import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.map
-import kotlinx.coroutines.flow.onCompletion
 import kotlinx.coroutines.flow.retry
 import kotlinx.coroutines.flow.singleOrNull
 import kotlinx.coroutines.joinAll
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import kotlinx.coroutines.yield
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.VideoCompressionState
 import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsPipelineStage
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsTransferProgress
@@ -99,15 +102,35 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
         private const val CONCURRENT_VIDEO_COMPRESSION_LIMIT = 1
     }
 
+    /**
+     * A record that does not exist in the cloud and needs to be uploaded
+     *
+     * @property record the record to upload
+     * @property parentNodeId the node id of the folder to upload the record to
+     * @property shouldRemoveLocationTags true if a temporary file without gps coordinates must be uploaded
+     * @property shouldCompressVideo true if a compressed temporary file must be uploaded
+     */
+    private data class PendingUpload(
+        val record: CameraUploadsRecord,
+        val parentNodeId: NodeId,
+        val shouldRemoveLocationTags: Boolean,
+        val shouldCompressVideo: Boolean,
+    )
+
     /**
      * Camera Uploads upload process
      *
+     * The records are processed through a pipeline of stages connected by bounded channels:
+     * prepare (check existence and copy) -> generate temporary file -> fingerprint -> upload.
+     * Each stage is processed by a fixed number of workers, so the memory used does not depend
+     * on the number of records to upload. The number of records processed concurrently is
+     * restricted based on the device conditions
+     *
      * @param cameraUploadsRecords The list of records to process
      * @param primaryUploadNodeId The primary upload node id
      * @param secondaryUploadNodeId The secondary upload node id
      * @param tempRoot The file path to the temporary folder to generate temp files
      */
-    @OptIn(DelicateCoroutinesApi::class)
     operator fun invoke(
         cameraUploadsRecords: List<CameraUploadsRecord>,
         primaryUploadNodeId: NodeId,
@@ -117,10 +140,8 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
         // Calculate the default number of concurrent uploads based on the available processors
         val defaultConcurrentUploadsCount = max(2, getAvailableProcessorsUseCase())
 
-        // Limit the number of concurrent uploads to defaultConcurrentUploadsCount
-        val semaphore = Semaphore(defaultConcurrentUploadsCount)
-
-        // Limit the number of concurrent uploads based on the device state
+        // Limit the number of records processed concurrently based on the device state
+        // A permit is only held while processing a record, never while waiting for the next stage
         val deviceStateSemaphore = Semaphore(defaultConcurrentUploadsCount)
 
         // Keep tracks of number of permits preempted in [deviceStateSemaphore]
@@ -135,7 +156,21 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
         val locationTagsDisabled = !areLocationTagsEnabledUseCase()
         val isChargingRequiredForVideoCompression = isChargingRequiredForVideoCompressionUseCase()
 
-        launch {
+        val stageCompletedCounts =
+            CameraUploadsPipelineStage.entries.associateWith { AtomicInteger(0) }
+        val sendStageCompleted: (CameraUploadsRecord, CameraUploadsPipelineStage) -> Unit =
+            { record, stage ->
+                trySend(
+                    CameraUploadsTransferProgress.StageCompleted(
+                        record = record,
+                        stage = stage,
+                        stageCompletedCount = stageCompletedCounts.getValue(stage)
+                            .incrementAndGet(),
+                    )
+                )
+            }
+
+        val monitorConcurrentUploadsLimitJob = launch {
             monitorConcurrentUploadsLimitUseCase(defaultConcurrentUploadsCount)
                 .collectLatest { concurrentUploadsLimit ->
                     val permitsToRestrict = defaultConcurrentUploadsCount - concurrentUploadsLimit
@@ -155,236 +190,33 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
                 }
         }
 
-        cameraUploadsRecords.map { record ->
-            launch {
-                semaphore.acquire()
-                deviceStateSemaphore.acquire()
-
-                yield()
-
-                val parentNodeId =
-                    getParentNodeId(record, primaryUploadNodeId, secondaryUploadNodeId)
+        val recordsToPrepare = Channel<CameraUploadsRecord>(defaultConcurrentUploadsCount)
+        launch {
+            cameraUploadsRecords.forEach { recordsToPrepare.send(it) }
+            recordsToPrepare.close()
+        }
 
+        // Prepare stage: copy the records that exist in another folder,
+        // and forward the records that do not exist in the cloud to the next stage
+        val recordsToGenerate = launchStage(
+            input = recordsToPrepare,
+            workersCount = defaultConcurrentUploadsCount,
+        ) { record ->
+            yield()
+            val parentNodeId =
+                getParentNodeId(record, primaryUploadNodeId, secondaryUploadNodeId)
+
+            deviceStateSemaphore.withPermit {
                 when {
                     // node does not exist => upload
-                    record.existingNodeId == null -> {
-
-                        val shouldRemoveLocationTags =
-                            record.type == CameraUploadsRecordType.TYPE_PHOTO && locationTagsDisabled
-
-                        val shouldCompressVideo =
-                            record.type == CameraUploadsRecordType.TYPE_VIDEO && videoQuality != VideoQuality.ORIGINAL
-
-                        yield()
-
-                        // create temporary file
-                        if (shouldRemoveLocationTags) {
-                            createTempFileAndRemoveCoordinates(record, tempRoot)
-                                .catch {
-                                    trySend(CameraUploadsTransferProgress.Error(record, it))
-                                    setCameraUploadsRecordUploadStatus(
-                                        record = record,
-                                        status = if (it is FileNotFoundException)
-                                            CameraUploadsRecordUploadStatus.LOCAL_FILE_NOT_EXIST
-                                        else CameraUploadsRecordUploadStatus.FAILED
-                                    ).onFailure { error ->
-                                        trySend(CameraUploadsTransferProgress.Error(record, error))
-                                    }
-                                }
-                                .singleOrNull()
-                                ?: run {
-                                    deviceStateSemaphore.release()
-                                    semaphore.release()
-                                    return@launch
-                                }
-                        }
-
-                        yield()
-
-                        // Compress Video
-                        if (shouldCompressVideo) {
-                            var isCompressionCancelled = false
-                            videoCompressionSemaphore.acquire()
-                            if (isChargingRequiredForVideoCompression
-                                && monitorBatteryInfoUseCase().first().isCharging.not()
-                            ) {
-                                videoCompressionSemaphore.release()
-                                deviceStateSemaphore.release()
-                                semaphore.release()
-                                return@launch
-                            }
-                            channelFlow compression@{
-                                launch {
-                                    flow {
-                                        emitAll(monitorBatteryInfoUseCase().map { it.isCharging })
-                                    }.collect { isCharging ->
-                                        if (isChargingRequiredForVideoCompression && !isCharging) {
-                                            isCompressionCancelled = true
-                                            send(VideoCompressionState.Cancel)
-                                            this@compression.close()
-                                        }
-                                    }
-                                }
-
-                                launch {
-                                    compressVideo(
-                                        record,
-                                        tempRoot,
-                                        videoQuality
-                                    ).collect {
-                                        if (!isClosedForSend) {
-                                            send(it)
-                                            yield()
-                                        }
-                                        if (it is VideoCompressionState.Finished) {
-                                            this@compression.close()
-                                        }
-                                    }
-                                }
-                            }.catch {
-                                emit(VideoCompressionState.Finished)
-                                trySend(CameraUploadsTransferProgress.Error(record, it))
-                            }.onCompletion {
-                                videoCompressionSemaphore.release()
-                            }.collect {
-                                when (it) {
-                                    is VideoCompressionState.Progress -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.Progress(
-                                                record = record,
-                                                progress = it.progress,
-                                            )
-                                        )
-                                    }
-
-                                    is VideoCompressionState.Successful -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.Successful(
-                                                record = record,
-                                            )
-                                        )
-                                    }
-
-                                    is VideoCompressionState.InsufficientStorage -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.InsufficientStorage(
-                                                record = record,
-                                            )
-                                        )
-                                    }
-
-                                    is VideoCompressionState.Cancel -> {
-                                        trySend(
-                                            CameraUploadsTransferProgress.Compressing.Cancel(
-                                                record = record,
-                                            )
-                                        )
-                                    }
-
-                                    else -> Unit
-                                }
-                            }
-                            if (isCompressionCancelled) {
-                                deviceStateSemaphore.release()
-                                semaphore.release()
-                                return@launch
-                            }
-                        }
-
-                        yield()
-
-                        // generate fingerprint and save it
-                        // This step is important to check if a file exist in the cloud drive,
-                        // in case the original fingerprint cannot be assigned to the Node after the transfer finishes
-                        val setGeneratedFingerprintJob = launch {
-                            setGeneratedFingerprint(record)
-                                .onFailure {
-                                    trySend(CameraUploadsTransferProgress.Error(record, it))
-                                }
-                        }
-
-                        // retrieve path of file to upload
-                        val path = getPath(record, shouldRemoveLocationTags, shouldCompressVideo)
-
-                        yield()
-
-                        // upload
-                        startUploadUseCase(
-                            localPath = path,
-                            parentNodeId = parentNodeId,
-                            fileName = record.generatedFileName,
-                            modificationTime = record.timestamp / 1000,
-                            appData = TransferAppData.CameraUpload,
-                            isSourceTemporary = false,
-                            shouldStartFirst = false,
-                        ).collect { transferEvent ->
-                            when (transferEvent) {
-                                is TransferEvent.TransferStartEvent -> {
-                                    // set status to STARTED
-                                    setCameraUploadsRecordUploadStatus(
-                                        record = record,
-                                        status = CameraUploadsRecordUploadStatus.STARTED,
-                                    ).onFailure {
-                                        trySend(CameraUploadsTransferProgress.Error(record, it))
-                                    }
-
-                                    trySend(
-                                        CameraUploadsTransferProgress.ToUpload(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                        )
-                                    )
-                                }
-
-                                is TransferEvent.TransferFinishEvent -> {
-                                    yield()
-                                    processTransferFinishEvent(record, transferEvent)
-                                        .collect {
-                                            trySend(CameraUploadsTransferProgress.Error(record, it))
-                                        }
-
-                                    // Make sure that the generated fingerprint has complete
-                                    setGeneratedFingerprintJob.join()
-
-                                    // delete temp file
-                                    deleteTempFile(record)
-                                        .onFailure {
-                                            trySend(CameraUploadsTransferProgress.Error(record, it))
-                                        }
-
-                                    trySend(
-                                        CameraUploadsTransferProgress.Uploaded(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                            nodeId = NodeId(transferEvent.transfer.nodeHandle),
-                                        )
-                                    )
-
-                                    deviceStateSemaphore.release()
-                                    semaphore.release()
-                                }
-
-                                is TransferEvent.TransferUpdateEvent -> {
-                                    trySend(
-                                        CameraUploadsTransferProgress.UploadInProgress.TransferUpdate(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                        )
-                                    )
-                                }
-
-                                is TransferEvent.TransferTemporaryErrorEvent ->
-                                    trySend(
-                                        CameraUploadsTransferProgress.UploadInProgress.TransferTemporaryError(
-                                            record = record,
-                                            transferEvent = transferEvent,
-                                        )
-                                    )
-
-                                else -> Unit
-                            }
-                        }
-                    }
+                    record.existingNodeId == null -> PendingUpload(
+                        record = record,
+                        parentNodeId = parentNodeId,
+                        shouldRemoveLocationTags =
+                        record.type == CameraUploadsRecordType.TYPE_PHOTO && locationTagsDisabled,
+                        shouldCompressVideo =
+                        record.type == CameraUploadsRecordType.TYPE_VIDEO && videoQuality != VideoQuality.ORIGINAL,
+                    )
 
                     // node exists but not in target folder => copy
                     record.existsInTargetNode == false -> {
@@ -416,10 +248,7 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
                         ).onFailure {
                             trySend(CameraUploadsTransferProgress.Error(record, it))
                         }
-
-                        deviceStateSemaphore.release()
-                        semaphore.release()
-                        return@launch
+                        null
                     }
 
                     // node exists in target folder or is in rubbish bin => do nothing
@@ -430,19 +259,322 @@ class UploadCameraUploadsRecordsUseCase @Inject constructor(
                         ).onFailure {
                             trySend(CameraUploadsTransferProgress.Error(record, it))
                         }
+                        null
+                    }
+                }
+            }.also { sendStageCompleted(record, CameraUploadsPipelineStage.PREPARE) }
+        }
+
+        // Generate temporary file stage: remove the gps coordinates or compress the video
+        val recordsToFingerprint = launchStage(
+            input = recordsToGenerate,
+            workersCount = defaultConcurrentUploadsCount,
+        ) { pendingUpload ->
+            val record = pendingUpload.record
+            yield()
+
+            // create temporary file
+            if (pendingUpload.shouldRemoveLocationTags) {
+                deviceStateSemaphore.withPermit {
+                    createTempFileAndRemoveCoordinates(record, tempRoot)
+                        .catch {
+                            trySend(CameraUploadsTransferProgress.Error(record, it))
+                            setCameraUploadsRecordUploadStatus(
+                                record = record,
+                                status = if (it is FileNotFoundException)
+                                    CameraUploadsRecordUploadStatus.LOCAL_FILE_NOT_EXIST
+                                else CameraUploadsRecordUploadStatus.FAILED
+                            ).onFailure { error ->
+                                trySend(CameraUploadsTransferProgress.Error(record, error))
+                            }
+                        }
+                        .singleOrNull()
+                } ?: return@launchStage null
+            }
+
+            yield()
+
+            // Compress Video
+            if (pendingUpload.shouldCompressVideo) {
+                val isCompressed = videoCompressionSemaphore.withPermit {
+                    if (isChargingRequiredForVideoCompression
+                        && monitorBatteryInfoUseCase().first().isCharging.not()
+                    ) {
+                        false
+                    } else {
+                        deviceStateSemaphore.withPermit {
+                            compressVideoAndSendProgress(
+                                record = record,
+                                tempRoot = tempRoot,
+                                videoQuality = videoQuality,
+                                isChargingRequiredForVideoCompression = isChargingRequiredForVideoCompression,
+                                sendProgress = { trySend(it) },
+                            )
+                        }
+                    }
+                }
+                if (!isCompressed) return@launchStage null
+            }
+
+            sendStageCompleted(record, CameraUploadsPipelineStage.GENERATE_TEMP_FILE)
+            pendingUpload
+        }
 
-                        deviceStateSemaphore.release()
-                        semaphore.release()
-                        return@launch
+        // Fingerprint stage: generate fingerprint and save it
+        // This step is important to check if a file exist in the cloud drive,
+        // in case the original fingerprint cannot be assigned to the Node after the transfer finishes
+        val recordsToUpload = launchStage(
+            input = recordsToFingerprint,
+            workersCount = defaultConcurrentUploadsCount,
+        ) { pendingUpload ->
+            val record = pendingUpload.record
+            yield()
+
+            setGeneratedFingerprint(record)
+                .onFailure {
+                    trySend(CameraUploadsTransferProgress.Error(record, it))
+                }
+
+            sendStageCompleted(record, CameraUploadsPipelineStage.FINGERPRINT)
+            pendingUpload
+        }
+
+        // Upload stage
+        List(defaultConcurrentUploadsCount) {
+            launch {
+                for (pendingUpload in recordsToUpload) {
+                    yield()
+                    deviceStateSemaphore.withPermit {
+                        upload(
+                            pendingUpload = pendingUpload,
+                            sendProgress = { trySend(it) },
+                        )
                     }
+                    sendStageCompleted(pendingUpload.record, CameraUploadsPipelineStage.UPLOAD)
                 }
             }
         }.joinAll()
+        monitorConcurrentUploadsLimitJob.cancel()
         channel.close()
     }
         .buffer(UNLIMITED)
         .cancellable()
 
+    /**
+     * Launch a stage of the upload pipeline
+     *
+     * The items received from [input] are processed by [workersCount] workers,
+     * and the non null results are sent to the returned channel.
+     * The returned channel is closed once all the items of [input] are processed
+     *
+     * @param input the channel of items to process
+     * @param workersCount the number of workers processing the items concurrently
+     * @param process the operation to apply to each item, returning null if the item must not
+     *                be forwarded to the next stage
+     * @return a bounded channel of the processed items
+     */
+    private fun <T, R : Any> CoroutineScope.launchStage(
+        input: ReceiveChannel<T>,
+        workersCount: Int,
+        process: suspend (T) -> R?,
+    ): ReceiveChannel<R> {
+        val output = Channel<R>(workersCount)
+        launch {
+            List(workersCount) {
+                launch {
+                    for (item in input) {
+                        process(item)?.let { output.send(it) }
+                    }
+                }
+            }.joinAll()
+            output.close()
+        }
+        return output
+    }
+
+    /**
+     * Compress a video and send the compression progress
+     *
+     * @param record
+     * @param tempRoot
+     * @param videoQuality
+     * @param isChargingRequiredForVideoCompression
+     * @param sendProgress
+     * @return true if the record can be uploaded, false if the compression has been cancelled
+     */
+    private suspend fun compressVideoAndSendProgress(
+        record: CameraUploadsRecord,
+        tempRoot: String,
+        videoQuality: VideoQuality,
+        isChargingRequiredForVideoCompression: Boolean,
+        sendProgress: (CameraUploadsTransferProgress) -> Unit,
+    ): Boolean {
+        var isCompressionCancelled = false
+        channelFlow compression@{
+            launch {
+                flow {
+                    emitAll(monitorBatteryInfoUseCase().map { it.isCharging })
+                }.collect { isCharging ->
+                    if (isChargingRequiredForVideoCompression && !isCharging) {
+                        isCompressionCancelled = true
+                        send(VideoCompressionState.Cancel)
+                        this@compression.close()
+                    }
+                }
+            }
+
+            launch {
+                compressVideo(
+                    record,
+                    tempRoot,
+                    videoQuality
+                ).collect {
+                    if (!isClosedForSend) {
+                        send(it)
+                        yield()
+                    }
+                    if (it is VideoCompressionState.Finished) {
+                        this@compression.close()
+                    }
+                }
+            }
+        }.catch {
+            emit(VideoCompressionState.Finished)
+            sendProgress(CameraUploadsTransferProgress.Error(record, it))
+        }.collect {
+            when (it) {
+                is VideoCompressionState.Progress -> {
+                    sendProgress(
+                        CameraUploadsTransferProgress.Compressing.Progress(
+                            record = record,
+                            progress = it.progress,
+                        )
+                    )
+                }
+
+                is VideoCompressionState.Successful -> {
+                    sendProgress(
+                        CameraUploadsTransferProgress.Compressing.Successful(
+                            record = record,
+                        )
+                    )
+                }
+
+                is VideoCompressionState.InsufficientStorage -> {
+                    sendProgress(
+                        CameraUploadsTransferProgress.Compressing.InsufficientStorage(
+                            record = record,
+                        )
+                    )
+                }
+
+                is VideoCompressionState.Cancel -> {
+                    sendProgress(
+                        CameraUploadsTransferProgress.Compressing.Cancel(
+                            record = record,
+                        )
+                    )
+                }
+
+                else -> Unit
+            }
+        }
+        return !isCompressionCancelled
+    }
+
+    /**
+     * Upload a record and send the transfer progress
+     *
+     * Suspends until the transfer finishes
+     *
+     * @param pendingUpload
+     * @param sendProgress
+     */
+    private suspend fun upload(
+        pendingUpload: PendingUpload,
+        sendProgress: (CameraUploadsTransferProgress) -> Unit,
+    ) {
+        val record = pendingUpload.record
+
+        // retrieve path of file to upload
+        val path = getPath(
+            record,
+            pendingUpload.shouldRemoveLocationTags,
+            pendingUpload.shouldCompressVideo,
+        )
+
+        yield()
+
+        startUploadUseCase(
+            localPath = path,
+            parentNodeId = pendingUpload.parentNodeId,
+            fileName = record.generatedFileName,
+            modificationTime = record.timestamp / 1000,
+            appData = TransferAppData.CameraUpload,
+            isSourceTemporary = false,
+            shouldStartFirst = false,
+        ).collect { transferEvent ->
+            when (transferEvent) {
+                is TransferEvent.TransferStartEvent -> {
+                    // set status to STARTED
+                    setCameraUploadsRecordUploadStatus(
+                        record = record,
+                        status = CameraUploadsRecordUploadStatus.STARTED,
+                    ).onFailure {
+                        sendProgress(CameraUploadsTransferProgress.Error(record, it))
+                    }
+                    sendProgress(
+                        CameraUploadsTransferProgress.ToUpload(
+                            record = record,
+                            transferEvent = transferEvent,
+                        )
+                    )
+                }
+
+                is TransferEvent.TransferFinishEvent -> {
+                    yield()
+                    processTransferFinishEvent(record, transferEvent)
+                        .collect {
+                            sendProgress(CameraUploadsTransferProgress.Error(record, it))
+                        }
+
+                    // delete temp file
+                    deleteTempFile(record)
+                        .onFailure {
+                            sendProgress(CameraUploadsTransferProgress.Error(record, it))
+                        }
+
+                    sendProgress(
+                        CameraUploadsTransferProgress.Uploaded(
+                            record = record,
+                            transferEvent = transferEvent,
+                            nodeId = NodeId(transferEvent.transfer.nodeHandle),
+                        )
+                    )
+                }
+
+                is TransferEvent.TransferUpdateEvent -> {
+                    sendProgress(
+                        CameraUploadsTransferProgress.UploadInProgress.TransferUpdate(
+                            record = record,
+                            transferEvent = transferEvent,
+                        )
+                    )
+                }
+
+                is TransferEvent.TransferTemporaryErrorEvent ->
+                    sendProgress(
+                        CameraUploadsTransferProgress.UploadInProgress.TransferTemporaryError(
+                            record = record,
+                            transferEvent = transferEvent,
+                        )
+                    )
+
+                else -> Unit
+            }
+        }
+    }
+
     /**
      * Compress a video
      * Will emit a [VideoCompressionState.Finished] if an error is thrown
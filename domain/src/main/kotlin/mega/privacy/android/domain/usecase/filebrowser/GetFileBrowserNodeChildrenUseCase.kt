@@ -1,6 +1,7 @@
 package mega.privacy.android.domain.usecase.filebrowser
 
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.repository.NodeRepository
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
@@ -26,14 +27,19 @@ class GetFileBrowserNodeChildrenUseCase @Inject constructor(
      * Get children nodes of the browser parent handle
      *
      * @param parentHandle
+     * @param page [NodePage] to only get a page of the children, all of them if null
      * @return Children nodes of the parent handle, null if cannot be retrieved
      */
-    suspend operator fun invoke(parentHandle: Long): List<TypedNode> {
+    suspend operator fun invoke(parentHandle: Long, page: NodePage? = null): List<TypedNode> {
         val nodeId =
             (if (parentHandle != nodeRepository.getInvalidHandle()) NodeId(parentHandle) else getRootNodeUseCase()?.id)
                 ?: return emptyList()
         val childNodes =
-            nodeRepository.getNodeChildren(nodeId = nodeId, order = getCloudSortOrder())
+            nodeRepository.getNodeChildren(
+                nodeId = nodeId,
+                order = getCloudSortOrder(),
+                page = page,
+            )
         return addNodesTypeUseCase(childNodes)
     }
 }
\ No newline at end of file
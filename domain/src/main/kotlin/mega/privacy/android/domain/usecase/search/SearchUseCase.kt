@@ -2,6 +2,7 @@ package mega.privacy.android.domain.usecase.search
 
 import mega.privacy.android.domain.entity.node.Node
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.NodeSourceType
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.entity.search.SearchCategory
@@ -33,6 +34,7 @@ class SearchUseCase @Inject constructor(
      * @param parentHandle search parent
      * @param nodeSourceType search type [NodeSourceType]
      * @param searchParameters search parameters [SearchParameters]
+     * @param page [NodePage] to only get a page of the results, all of them if null
      *
      * @return list of search results or empty TypedNode
      */
@@ -40,22 +42,26 @@ class SearchUseCase @Inject constructor(
         parentHandle: NodeId,
         nodeSourceType: NodeSourceType,
         searchParameters: SearchParameters,
+        page: NodePage? = null,
     ): List<TypedNode> {
         val (query, searchTarget, searchCategory, modificationDate, creationDate, description, tag) = searchParameters
         val invalidNodeHandle = searchRepository.getInvalidHandle()
         val searchList = when {
             // Favourites Root (No Search applied)
             query.isEmpty() && parentHandle == invalidNodeHandle && nodeSourceType == NodeSourceType.FAVOURITES ->
-                sortFavouritesUseCase(favouritesRepository.getAllFavorites())
+                sortFavouritesUseCase(favouritesRepository.getAllFavorites()).getPage(page)
 
             // Incoming Shares Root (No Search applied)
             query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.INCOMING_SHARE -> searchRepository.getInShares()
+                .getPage(page)
 
             // Outgoing Shares Root (No Search applied)
             query.isEmpty() && description.isNullOrEmpty() && tag.isNullOrEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.OUTGOING_SHARE -> searchRepository.getOutShares()
+                .getPage(page)
 
             // Links Shares Root (No Search applied)
             query.isEmpty() && description.isNullOrEmpty() && tag.isNullOrEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.LINKS_SHARE -> searchRepository.getPublicLinks()
+                .getPage(page)
 
             // Outgoing and Links Shares Root (Non Query Search applied)
             query.isEmpty() && (!description.isNullOrEmpty() || !tag.isNullOrEmpty())
@@ -65,6 +71,7 @@ class SearchUseCase @Inject constructor(
                     nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
                     order = getCloudSortOrder(),
                     parameters = searchParameters,
+                    page = page,
                 )
 
             // Tag search recursively
@@ -72,6 +79,7 @@ class SearchUseCase @Inject constructor(
                 nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
                 order = getCloudSortOrder(),
                 parameters = searchParameters,
+                page = page,
             )
 
             // General Children (Non Query Search applied)
@@ -79,6 +87,7 @@ class SearchUseCase @Inject constructor(
                 nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
                 order = getCloudSortOrder(),
                 parameters = searchParameters,
+                page = page,
             )
 
             // General Root (Query Search applied)
@@ -86,11 +95,19 @@ class SearchUseCase @Inject constructor(
                 nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
                 order = getCloudSortOrder(),
                 parameters = searchParameters,
+                page = page,
             )
         }
         return addNodesTypeUseCase(searchList)
     }
 
+    /**
+     * The roots of the shares and favourites are not paged by the SDK, so the page is taken from
+     * the whole list
+     */
+    private fun <T> List<T>.getPage(page: NodePage?): List<T> =
+        page?.let { drop(it.offset.toInt()).take(it.size) } ?: this
+
     /**
      * This method Returns [Node] for respective selected [NodeSourceType]
      *
@@ -0,0 +1,19 @@
+package mega.privacy.android.domain.usecase.transfers
+
+import mega.privacy.android.domain.repository.TransferRepository
+import javax.inject.Inject
+
+/**
+ * Get the metrics of the queue of transfer events use case
+ *
+ * @property repository
+ */
+class GetTransferEventMetricsUseCase @Inject constructor(
+    private val repository: TransferRepository,
+) {
+    /**
+     * Invoke
+     *
+     */
+    operator fun invoke() = repository.getTransferEventMetrics()
+}
@@ -0,0 +1,22 @@
+package mega.privacy.android.domain.usecase.transfers
+
+import mega.privacy.android.domain.repository.TransferRepository
+import javax.inject.Inject
+
+/**
+ * Monitor transfer events in batches use case
+ *
+ * Progress events of the same transfer are conflated while waiting to be collected, so slow
+ * collectors only get the latest progress of each transfer.
+ *
+ * @property repository
+ */
+class MonitorTransferEventBatchesUseCase @Inject constructor(
+    private val repository: TransferRepository,
+) {
+    /**
+     * Invoke
+     *
+     */
+    operator fun invoke() = repository.monitorTransferEventBatches()
+}
@@ -0,0 +1,29 @@
+package mega.privacy.android.domain.usecase.zipbrowser
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emptyFlow
+import mega.privacy.android.domain.entity.Progress
+import mega.privacy.android.domain.repository.ZipBrowserRepository
+import java.util.zip.ZipFile
+import javax.inject.Inject
+
+/**
+ * Unzip file and monitor its progress use case
+ */
+class MonitorUnzipFileUseCase @Inject constructor(
+    private val zipBrowserRepository: ZipBrowserRepository,
+) {
+
+    /**
+     * Unzip file
+     * @param  zipFile ZipFile
+     * @param unzipRootPath unzip destination path
+     * @return flow of the unzip progress, completes when unzip succeed and fails otherwise.
+     */
+    operator fun invoke(zipFile: ZipFile?, unzipRootPath: String?): Flow<Progress> =
+        if (zipFile != null && unzipRootPath != null) {
+            zipBrowserRepository.monitorUnzipFile(zipFile, unzipRootPath)
+        } else {
+            emptyFlow()
+        }
+}
@@ -20,8 +20,8 @@ class InitialiseLoggingUseCaseTest {
     private val chatMessage = LogEntry(message = "chat", priority = 1)
 
     private val loggingRepository = mock<LoggingRepository> {
-        on { getSdkLoggingFlow() }.thenReturn(flowOf(sdkMessage))
-        on { getChatLoggingFlow() }.thenReturn(flowOf(chatMessage))
+        on { getSdkLoggingFlow() }.thenReturn(flowOf(listOf(sdkMessage)))
+        on { getChatLoggingFlow() }.thenReturn(flowOf(listOf(chatMessage)))
     }
 
     @Before
@@ -38,10 +38,10 @@ class InitialiseLoggingUseCaseTest {
         underTest()
 
         verify(loggingRepository, times(1)).getSdkLoggingFlow()
-        verify(loggingRepository, times(1)).logToSdkFile(sdkMessage)
+        verify(loggingRepository, times(1)).logToSdkFile(listOf(sdkMessage))
 
         verify(loggingRepository, times(1)).getChatLoggingFlow()
-        verify(loggingRepository, times(1)).logToChatFile(chatMessage)
+        verify(loggingRepository, times(1)).logToChatFile(listOf(chatMessage))
 
         verifyNoMoreInteractions(loggingRepository)
     }
@@ -0,0 +1,29 @@
+package mega.privacy.android.domain.usecase.analytics
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+import mega.privacy.android.domain.repository.StatisticsRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+
+internal class GetPendingUserJourneyEventsUseCaseTest {
+    private lateinit var underTest: GetPendingUserJourneyEventsUseCase
+
+    private val statisticsRepository = mock<StatisticsRepository>()
+
+    @BeforeEach
+    internal fun setUp() {
+        underTest = GetPendingUserJourneyEventsUseCase(statisticsRepository = statisticsRepository)
+    }
+
+    @Test
+    internal fun `test that the pending events of the repository are returned`() = runTest {
+        val events = listOf(UserJourneyEvent(1, "message", "viewId"), UserJourneyEvent(2, "", null))
+        whenever(statisticsRepository.getPendingUserJourneyEvents()).thenReturn(events)
+
+        assertThat(underTest()).isEqualTo(events)
+    }
+}
@@ -0,0 +1,29 @@
+package mega.privacy.android.domain.usecase.analytics
+
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.analytics.UserJourneyEvent
+import mega.privacy.android.domain.repository.StatisticsRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+
+internal class SetPendingUserJourneyEventsUseCaseTest {
+    private lateinit var underTest: SetPendingUserJourneyEventsUseCase
+
+    private val statisticsRepository = mock<StatisticsRepository>()
+
+    @BeforeEach
+    internal fun setUp() {
+        underTest = SetPendingUserJourneyEventsUseCase(statisticsRepository = statisticsRepository)
+    }
+
+    @Test
+    internal fun `test that the pending events are saved in the repository`() = runTest {
+        val events = listOf(UserJourneyEvent(1, "message", "viewId"))
+
+        underTest(events)
+
+        verify(statisticsRepository).setPendingUserJourneyEvents(events)
+    }
+}
@@ -0,0 +1,75 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+/**
+ * Test class for [GetCameraUploadsScanWatermarkUseCase]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class GetCameraUploadsScanWatermarkUseCaseTest {
+    private lateinit var underTest: GetCameraUploadsScanWatermarkUseCase
+
+    private val cameraUploadsRepository = mock<CameraUploadsRepository>()
+
+    private val folderType = CameraUploadFolderType.Primary
+    private val fileType = CameraUploadsRecordType.TYPE_PHOTO
+    private val parentPath = "parentPath"
+
+    @BeforeAll
+    fun setUp() {
+        underTest = GetCameraUploadsScanWatermarkUseCase(cameraUploadsRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(cameraUploadsRepository)
+    }
+
+    @Test
+    fun `test that the watermark is returned if the parent path has not changed`() = runTest {
+        val watermark = CameraUploadsScanWatermark(
+            folderType = folderType,
+            fileType = fileType,
+            parentPath = parentPath,
+            timestamp = 1234L,
+        )
+        whenever(cameraUploadsRepository.getCameraUploadsScanWatermark(folderType, fileType))
+            .thenReturn(watermark)
+
+        assertThat(underTest(folderType, fileType, parentPath)).isEqualTo(watermark)
+    }
+
+    @Test
+    fun `test that null is returned if the parent path has changed`() = runTest {
+        val watermark = CameraUploadsScanWatermark(
+            folderType = folderType,
+            fileType = fileType,
+            parentPath = "oldParentPath",
+            timestamp = 1234L,
+        )
+        whenever(cameraUploadsRepository.getCameraUploadsScanWatermark(folderType, fileType))
+            .thenReturn(watermark)
+
+        assertThat(underTest(folderType, fileType, parentPath)).isNull()
+    }
+
+    @Test
+    fun `test that null is returned if no scan has been completed yet`() = runTest {
+        whenever(cameraUploadsRepository.getCameraUploadsScanWatermark(folderType, fileType))
+            .thenReturn(null)
+
+        assertThat(underTest(folderType, fileType, parentPath)).isNull()
+    }
+}
@@ -5,15 +5,20 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
+import mega.privacy.android.domain.entity.camerauploads.RetrievedCameraUploadsMedia
+import mega.privacy.android.domain.usecase.environment.GetCurrentTimeInMillisUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.DisplayName
 import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.never
@@ -33,6 +38,10 @@ class ProcessCameraUploadsMediaUseCaseTest {
     private val isMediaUploadsEnabledUseCase = mock<IsMediaUploadsEnabledUseCase>()
     private val retrieveMediaFromMediaStoreUseCase = mock<RetrieveMediaFromMediaStoreUseCase>()
     private val saveCameraUploadsRecordUseCase = mock<SaveCameraUploadsRecordUseCase>()
+    private val getCameraUploadsScanWatermarkUseCase = mock<GetCameraUploadsScanWatermarkUseCase>()
+    private val setCameraUploadsScanWatermarksUseCase =
+        mock<SetCameraUploadsScanWatermarksUseCase>()
+    private val getCurrentTimeInMillisUseCase = mock<GetCurrentTimeInMillisUseCase>()
 
     @BeforeAll
     fun setUp() {
@@ -43,6 +52,9 @@ class ProcessCameraUploadsMediaUseCaseTest {
             isMediaUploadsEnabledUseCase = isMediaUploadsEnabledUseCase,
             retrieveMediaFromMediaStoreUseCase = retrieveMediaFromMediaStoreUseCase,
             saveCameraUploadsRecordUseCase = saveCameraUploadsRecordUseCase,
+            getCameraUploadsScanWatermarkUseCase = getCameraUploadsScanWatermarkUseCase,
+            setCameraUploadsScanWatermarksUseCase = setCameraUploadsScanWatermarksUseCase,
+            getCurrentTimeInMillisUseCase = getCurrentTimeInMillisUseCase,
         )
     }
 
@@ -55,6 +67,9 @@ class ProcessCameraUploadsMediaUseCaseTest {
             isMediaUploadsEnabledUseCase,
             retrieveMediaFromMediaStoreUseCase,
             saveCameraUploadsRecordUseCase,
+            getCameraUploadsScanWatermarkUseCase,
+            setCameraUploadsScanWatermarksUseCase,
+            getCurrentTimeInMillisUseCase,
         )
     }
 
@@ -74,8 +89,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
+                .thenReturn(RetrievedCameraUploadsMedia(emptyList()))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
             val (photoFileTypes, videoFileTypes) = mediaStoreFileType.partition { it.isImageFileType() }
@@ -108,8 +123,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
+                .thenReturn(RetrievedCameraUploadsMedia(emptyList()))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
             val (photoFileTypes, videoFileTypes) = mediaStoreFileType.partition { it.isImageFileType() }
@@ -142,8 +157,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
+                .thenReturn(RetrievedCameraUploadsMedia(emptyList()))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
 
             val types = mediaStoreFileType.partition { it.isImageFileType() }
@@ -175,8 +190,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val secondaryFolderPath = "secondaryFolderPath"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
+                .thenReturn(RetrievedCameraUploadsMedia(emptyList()))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -188,6 +203,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                 any(),
                 any(),
                 any(),
+                anyOrNull(),
             )
         }
 
@@ -202,8 +218,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
+                .thenReturn(RetrievedCameraUploadsMedia(emptyList()))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -238,8 +254,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
+                .thenReturn(RetrievedCameraUploadsMedia(emptyList()))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -274,8 +290,8 @@ class ProcessCameraUploadsMediaUseCaseTest {
             val tempRoot = "tempRoot"
             whenever(getMediaStoreFileTypesUseCase()).thenReturn(mediaStoreFileType)
             whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
-            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any()))
-                .thenReturn(emptyList())
+            whenever(retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull()))
+                .thenReturn(RetrievedCameraUploadsMedia(emptyList()))
             whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
             whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -344,7 +360,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         photoRecordType,
                         tempRoot
                     )
-                ).thenReturn(photoPrimaryRecordList)
+                ).thenReturn(RetrievedCameraUploadsMedia(photoPrimaryRecordList))
                 whenever(
                     retrieveMediaFromMediaStoreUseCase(
                         primaryFolderPath,
@@ -353,7 +369,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         videoRecordType,
                         tempRoot
                     )
-                ).thenReturn(videoPrimaryRecordList)
+                ).thenReturn(RetrievedCameraUploadsMedia(videoPrimaryRecordList))
                 whenever(
                     retrieveMediaFromMediaStoreUseCase(
                         secondaryFolderPath,
@@ -362,7 +378,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         photoRecordType,
                         tempRoot
                     )
-                ).thenReturn(photoSecondaryRecordList)
+                ).thenReturn(RetrievedCameraUploadsMedia(photoSecondaryRecordList))
                 whenever(
                     retrieveMediaFromMediaStoreUseCase(
                         secondaryFolderPath,
@@ -371,7 +387,7 @@ class ProcessCameraUploadsMediaUseCaseTest {
                         videoRecordType,
                         tempRoot
                     )
-                ).thenReturn(videoSecondaryRecordList)
+                ).thenReturn(RetrievedCameraUploadsMedia(videoSecondaryRecordList))
                 whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
                 whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
 
@@ -383,6 +399,139 @@ class ProcessCameraUploadsMediaUseCaseTest {
             }
     }
 
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @Nested
+    @DisplayName("test that the media store is scanned incrementally")
+    inner class IncrementalScan {
+
+        @Test
+        fun `test that only the media added or modified since the last scan are retrieved`() =
+            runTest {
+                val primaryFolderPath = "primaryFolderPath"
+                val folderType = CameraUploadFolderType.Primary
+                val fileType = CameraUploadsRecordType.TYPE_PHOTO
+                val types = listOf(MediaStoreFileType.IMAGES_EXTERNAL)
+                val tempRoot = "tempRoot"
+                val lastScanTime = 1000L
+                whenever(getMediaStoreFileTypesUseCase()).thenReturn(types)
+                whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
+                whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
+                whenever(
+                    getCameraUploadsScanWatermarkUseCase(folderType, fileType, primaryFolderPath)
+                ).thenReturn(
+                    CameraUploadsScanWatermark(
+                        folderType = folderType,
+                        fileType = fileType,
+                        parentPath = primaryFolderPath,
+                        timestamp = lastScanTime,
+                    )
+                )
+                whenever(
+                    retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull())
+                ).thenReturn(RetrievedCameraUploadsMedia(emptyList()))
+
+                underTest(tempRoot)
+
+                verify(retrieveMediaFromMediaStoreUseCase).invoke(
+                    primaryFolderPath,
+                    types,
+                    folderType,
+                    fileType,
+                    tempRoot,
+                    lastScanTime,
+                )
+            }
+
+        @Test
+        fun `test that the watermarks are saved with the scan start time once the records are saved`() =
+            runTest {
+                val primaryFolderPath = "primaryFolderPath"
+                val secondaryFolderPath = "secondaryFolderPath"
+                val scanStartTime = 2000L
+                whenever(getCurrentTimeInMillisUseCase()).thenReturn(scanStartTime)
+                whenever(getMediaStoreFileTypesUseCase())
+                    .thenReturn(listOf(MediaStoreFileType.IMAGES_EXTERNAL))
+                whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
+                whenever(isMediaUploadsEnabledUseCase()).thenReturn(true)
+                whenever(getSecondaryFolderPathUseCase()).thenReturn(secondaryFolderPath)
+                whenever(
+                    retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull())
+                ).thenReturn(RetrievedCameraUploadsMedia(emptyList()))
+
+                underTest("tempRoot")
+
+                verify(setCameraUploadsScanWatermarksUseCase).invoke(
+                    listOf(
+                        CameraUploadsScanWatermark(
+                            folderType = CameraUploadFolderType.Primary,
+                            fileType = CameraUploadsRecordType.TYPE_PHOTO,
+                            parentPath = primaryFolderPath,
+                            timestamp = scanStartTime,
+                        ),
+                        CameraUploadsScanWatermark(
+                            folderType = CameraUploadFolderType.Secondary,
+                            fileType = CameraUploadsRecordType.TYPE_PHOTO,
+                            parentPath = secondaryFolderPath,
+                            timestamp = scanStartTime,
+                        ),
+                    )
+                )
+            }
+
+        @Test
+        fun `test that the watermark is kept at the oldest media that could not be retrieved`() =
+            runTest {
+                val primaryFolderPath = "primaryFolderPath"
+                val scanStartTime = 5000L
+                val oldestNotMappedTimestamp = 3000L
+                val record = mock<CameraUploadsRecord>()
+                whenever(getCurrentTimeInMillisUseCase()).thenReturn(scanStartTime)
+                whenever(getMediaStoreFileTypesUseCase())
+                    .thenReturn(listOf(MediaStoreFileType.IMAGES_EXTERNAL))
+                whenever(getPrimaryFolderPathUseCase()).thenReturn(primaryFolderPath)
+                whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
+                whenever(
+                    retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull())
+                ).thenReturn(
+                    RetrievedCameraUploadsMedia(
+                        records = listOf(record),
+                        oldestNotMappedTimestamp = oldestNotMappedTimestamp,
+                    )
+                )
+
+                underTest("tempRoot")
+
+                verify(saveCameraUploadsRecordUseCase).invoke(listOf(record))
+                verify(setCameraUploadsScanWatermarksUseCase).invoke(
+                    listOf(
+                        CameraUploadsScanWatermark(
+                            folderType = CameraUploadFolderType.Primary,
+                            fileType = CameraUploadsRecordType.TYPE_PHOTO,
+                            parentPath = primaryFolderPath,
+                            timestamp = oldestNotMappedTimestamp,
+                        ),
+                    )
+                )
+            }
+
+        @Test
+        fun `test that the watermarks are not saved if the records cannot be saved`() =
+            runTest {
+                whenever(getMediaStoreFileTypesUseCase())
+                    .thenReturn(listOf(MediaStoreFileType.IMAGES_EXTERNAL))
+                whenever(getPrimaryFolderPathUseCase()).thenReturn("primaryFolderPath")
+                whenever(isMediaUploadsEnabledUseCase()).thenReturn(false)
+                whenever(
+                    retrieveMediaFromMediaStoreUseCase(any(), any(), any(), any(), any(), anyOrNull())
+                ).thenReturn(RetrievedCameraUploadsMedia(emptyList()))
+                whenever(saveCameraUploadsRecordUseCase(any())).thenThrow(RuntimeException())
+
+                runCatching { underTest("tempRoot") }
+
+                verify(setCameraUploadsScanWatermarksUseCase, never()).invoke(any())
+            }
+    }
+
     companion object {
         @JvmStatic
         fun provideImageMediaStoreFileTypeParameters(): Stream<Arguments> = Stream.of(
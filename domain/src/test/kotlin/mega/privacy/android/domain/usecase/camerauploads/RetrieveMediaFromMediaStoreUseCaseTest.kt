@@ -8,6 +8,7 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsMedia
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.RetrievedCameraUploadsMedia
 import mega.privacy.android.domain.repository.CameraUploadsRepository
 import mega.privacy.android.domain.usecase.camerauploads.mapper.CameraUploadsRecordMapper
 import org.junit.jupiter.api.BeforeAll
@@ -107,12 +108,12 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
 
             val expected = cameraUploadsRecordList1 + cameraUploadsRecordList2
 
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
+            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot).records)
                 .isEqualTo(expected)
         }
 
     @Test
-    fun `test that if an error is thrown when mapping, the record is omitted in the result returned`() =
+    fun `test that if an error is thrown when mapping, the record is omitted and the oldest media not mapped is returned`() =
         runTest {
             val parentPath = ""
             val mediaStoreFileType1 = mock<MediaStoreFileType>()
@@ -124,7 +125,10 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             val selectionQuery = "selectionQuery"
 
             val cameraUploadsMediaList1 = listOf<CameraUploadsMedia>(mock(), mock())
-            val cameraUploadsMediaList2 = listOf<CameraUploadsMedia>(mock())
+            val cameraUploadsMediaList2 = listOf<CameraUploadsMedia>(
+                mock { on { timestamp }.thenReturn(3000L) },
+                mock { on { timestamp }.thenReturn(2000L) },
+            )
             whenever(cameraUploadsRepository.getMediaSelectionQuery(parentPath))
                 .thenReturn(selectionQuery)
             whenever(
@@ -170,7 +174,12 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             whenever(cameraUploadsRepository.getAllCameraUploadsRecords()).thenReturn(emptyList())
 
             assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
-                .isEqualTo(cameraUploadsRecordList1)
+                .isEqualTo(
+                    RetrievedCameraUploadsMedia(
+                        records = cameraUploadsRecordList1,
+                        oldestNotMappedTimestamp = 2000L,
+                    )
+                )
         }
 
     @Test
@@ -218,7 +227,45 @@ class RetrieveMediaFromMediaStoreUseCaseTest {
             val expected =
                 cameraUploadsRecordList1.filterNot { it.mediaId == 1111L && it.timestamp == 1234L }
 
-            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot))
+            assertThat(underTest(parentPath, types, folderType, fileType, tempRoot).records)
                 .isEqualTo(expected)
         }
+
+    @Test
+    fun `test that the incremental selection query is used if a time to retrieve the media from is provided`() =
+        runTest {
+            val parentPath = "parentPath"
+            val mediaStoreFileType = mock<MediaStoreFileType>()
+            val folderType = CameraUploadFolderType.Primary
+            val fileType = CameraUploadsRecordType.TYPE_PHOTO
+            val tempRoot = "tempRoot"
+            val addedOrModifiedSince = 1000L
+            val incrementalSelectionQuery = "incrementalSelectionQuery"
+            val media = mock<CameraUploadsMedia>()
+            val record = mock<CameraUploadsRecord>()
+
+            whenever(
+                cameraUploadsRepository.getIncrementalMediaSelectionQuery(
+                    parentPath,
+                    addedOrModifiedSince
+                )
+            ).thenReturn(incrementalSelectionQuery)
+            whenever(
+                cameraUploadsRepository.getMediaList(mediaStoreFileType, incrementalSelectionQuery)
+            ).thenReturn(listOf(media))
+            whenever(cameraUploadsRecordMapper(media, folderType, fileType, tempRoot))
+                .thenReturn(record)
+            whenever(cameraUploadsRepository.getAllCameraUploadsRecords()).thenReturn(emptyList())
+
+            assertThat(
+                underTest(
+                    parentPath,
+                    listOf(mediaStoreFileType),
+                    folderType,
+                    fileType,
+                    tempRoot,
+                    addedOrModifiedSince,
+                )
+            ).isEqualTo(RetrievedCameraUploadsMedia(listOf(record)))
+        }
 }
@@ -0,0 +1,41 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsScanWatermark
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+
+/**
+ * Test class for [SetCameraUploadsScanWatermarksUseCase]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class SetCameraUploadsScanWatermarksUseCaseTest {
+    private lateinit var underTest: SetCameraUploadsScanWatermarksUseCase
+
+    private val cameraUploadsRepository = mock<CameraUploadsRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = SetCameraUploadsScanWatermarksUseCase(cameraUploadsRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(cameraUploadsRepository)
+    }
+
+    @Test
+    fun `test that the watermarks are saved in the database`() = runTest {
+        val watermarks = listOf<CameraUploadsScanWatermark>(mock())
+
+        underTest(watermarks)
+
+        verify(cameraUploadsRepository).setCameraUploadsScanWatermarks(watermarks)
+    }
+}
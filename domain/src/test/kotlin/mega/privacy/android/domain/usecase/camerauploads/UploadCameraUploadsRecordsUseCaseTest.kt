@@ -6,9 +6,12 @@ import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.asFlow
 import kotlinx.coroutines.flow.collect
+import kotlinx.coroutines.flow.filterIsInstance
+import kotlinx.coroutines.flow.filterNot
 import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.BatteryInfo
@@ -16,6 +19,7 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.VideoCompressionState
 import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsPipelineStage
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsTransferProgress
@@ -43,6 +47,7 @@ import mega.privacy.android.domain.usecase.video.CompressVideoUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
@@ -189,6 +194,10 @@ internal class UploadCameraUploadsRecordsUseCaseTest {
         }
 
     private fun executeUnderTest() =
+        executeUnderTestWithStageEvents()
+            .filterNot { it is CameraUploadsTransferProgress.StageCompleted }
+
+    private fun executeUnderTestWithStageEvents() =
         underTest(
             cameraUploadsRecords,
             primaryUploadNodeId,
@@ -1292,4 +1301,76 @@ internal class UploadCameraUploadsRecordsUseCaseTest {
             ),
         )
     }
+
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @Nested
+    inner class Pipeline {
+
+        private val transferFinished = mock<Transfer> {
+            on { nodeHandle }.thenReturn(9876L)
+        }
+        private val transferFinishedEvent = mock<TransferEvent.TransferFinishEvent> {
+            on { transfer }.thenReturn(transferFinished)
+        }
+
+        @Test
+        fun `test that all the records go through every stage of the pipeline when more records than workers are uploaded`() =
+            runTest {
+                val recordsCount = 50
+                cameraUploadsRecords = List(recordsCount) {
+                    record1.copy(
+                        mediaId = it.toLong(),
+                        folderType = CameraUploadFolderType.Primary,
+                        existsInTargetNode = false,
+                        existingNodeId = null,
+                    )
+                }
+                whenever(
+                    startUploadUseCase(
+                        localPath = record1.filePath,
+                        parentNodeId = primaryUploadNodeId,
+                        fileName = record1.generatedFileName,
+                        modificationTime = record1.timestamp / 1000,
+                        appData = TransferAppData.CameraUpload,
+                        isSourceTemporary = false,
+                        shouldStartFirst = false,
+                    )
+                ).thenReturn(flowOf(transferFinishedEvent))
+
+                val stageEvents = executeUnderTestWithStageEvents()
+                    .filterIsInstance<CameraUploadsTransferProgress.StageCompleted>()
+                    .toList()
+
+                CameraUploadsPipelineStage.entries.forEach { stage ->
+                    val events = stageEvents.filter { it.stage == stage }
+                    assertThat(events.map { it.record }).containsExactlyElementsIn(
+                        cameraUploadsRecords
+                    )
+                    assertThat(events.maxOf { it.stageCompletedCount }).isEqualTo(recordsCount)
+                }
+                verify(startUploadUseCase, times(recordsCount)).invoke(
+                    localPath = record1.filePath,
+                    parentNodeId = primaryUploadNodeId,
+                    fileName = record1.generatedFileName,
+                    modificationTime = record1.timestamp / 1000,
+                    appData = TransferAppData.CameraUpload,
+                    isSourceTemporary = false,
+                    shouldStartFirst = false,
+                )
+            }
+
+        @Test
+        fun `test that a copied record only goes through the prepare stage`() = runTest {
+            cameraUploadsRecords = listOf(
+                record1.copy(existsInTargetNode = false, existingNodeId = existingNodeId)
+            )
+
+            val stages = executeUnderTestWithStageEvents()
+                .filterIsInstance<CameraUploadsTransferProgress.StageCompleted>()
+                .toList()
+                .map { it.stage }
+
+            assertThat(stages).containsExactly(CameraUploadsPipelineStage.PREPARE)
+        }
+    }
 }
@@ -6,6 +6,7 @@ import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.DefaultTypedFolderNode
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.repository.NodeRepository
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.GetRootNodeUseCase
@@ -71,4 +72,24 @@ class GetFileBrowserNodeChildrenUseCaseTest {
             val list = underTest(handle)
             Truth.assertThat(list).isEqualTo(nodes)
         }
-}
\ No newline at end of file
+
+    @Test
+    fun `test that only the requested page of children is returned`() =
+        runTest {
+            val handle = 1234L
+            val page = NodePage(offset = 0L, size = 100)
+            val nodes = listOf(mock<DefaultTypedFolderNode>())
+            whenever(nodeRepository.getInvalidHandle()).thenReturn(-1L)
+            whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_DEFAULT_ASC)
+            whenever(
+                nodeRepository.getNodeChildren(
+                    nodeId = NodeId(handle),
+                    order = SortOrder.ORDER_DEFAULT_ASC,
+                    page = page,
+                )
+            ).thenReturn(nodes)
+            whenever(addNodesTypeUseCase(nodes)).thenReturn(nodes)
+            val list = underTest(handle, page)
+            Truth.assertThat(list).isEqualTo(nodes)
+        }
+}
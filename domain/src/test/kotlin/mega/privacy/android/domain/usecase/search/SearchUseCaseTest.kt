@@ -1,9 +1,13 @@
 package mega.privacy.android.domain.usecase.search
 
+import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodePage
 import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
 import mega.privacy.android.domain.entity.search.DateFilterOption
 import mega.privacy.android.domain.entity.search.SearchCategory
 import mega.privacy.android.domain.entity.search.SearchParameters
@@ -395,4 +399,46 @@ class SearchUseCaseTest {
             )
         }
     }
+
+    @Test
+    fun `test that the page is passed to getChildren`() = runTest {
+        val page = NodePage(offset = 200L, size = 100)
+        val searchParameters = SearchParameters(
+            query = "",
+            searchCategory = SearchCategory.ALL,
+        )
+        whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
+        whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+        underTest(
+            parentHandle = NodeId(123456),
+            nodeSourceType = NodeSourceType.CLOUD_DRIVE,
+            searchParameters = searchParameters,
+            page = page,
+        )
+        verify(searchRepository).getChildren(
+            nodeId = NodeId(123456),
+            order = SortOrder.ORDER_NONE,
+            parameters = searchParameters,
+            page = page,
+        )
+    }
+
+    @Test
+    fun `test that only the requested page of the incoming shares is returned`() = runTest {
+        val nodes = List(5) { mock<UnTypedNode>() }
+        val expected = List(2) { mock<TypedNode>() }
+        whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
+        whenever(searchRepository.getInShares()).thenReturn(nodes)
+        whenever(addNodesTypeUseCase(nodes.subList(2, 4))).thenReturn(expected)
+        val actual = underTest(
+            parentHandle = NodeId(-1),
+            nodeSourceType = NodeSourceType.INCOMING_SHARES,
+            searchParameters = SearchParameters(
+                query = "",
+                searchTarget = SearchTarget.INCOMING_SHARE,
+            ),
+            page = NodePage(offset = 2L, size = 2),
+        )
+        assertThat(actual).isEqualTo(expected)
+    }
 }
@@ -0,0 +1,43 @@
+package mega.privacy.android.domain.usecase.transfers
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.transfer.TransferEventMetrics
+import mega.privacy.android.domain.repository.TransferRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetTransferEventMetricsUseCaseTest {
+
+    private lateinit var underTest: GetTransferEventMetricsUseCase
+
+    private val transferRepository = mock<TransferRepository>()
+
+    @BeforeAll
+    fun setup() {
+        underTest = GetTransferEventMetricsUseCase(transferRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(transferRepository)
+    }
+
+    @Test
+    fun `test that use case returns the metrics from the repository`() {
+        val metrics = TransferEventMetrics(
+            queueDepth = 1,
+            maxQueueDepth = 10,
+            coalescedEvents = 100L,
+            droppedEvents = 0L,
+        )
+        whenever(transferRepository.getTransferEventMetrics()).thenReturn(metrics)
+
+        assertThat(underTest()).isEqualTo(metrics)
+    }
+}
@@ -0,0 +1,57 @@
+package mega.privacy.android.domain.usecase.zipbrowser
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.Progress
+import mega.privacy.android.domain.repository.ZipBrowserRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verifyNoInteractions
+import org.mockito.kotlin.whenever
+import java.util.zip.ZipFile
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MonitorUnzipFileUseCaseTest {
+    private lateinit var underTest: MonitorUnzipFileUseCase
+    private val zipBrowserRepository = mock<ZipBrowserRepository>()
+    private val testZipFile = mock<ZipFile>()
+    private val testUnzipRootPath = "UnzipRootPath"
+
+    @BeforeAll
+    fun setUp() {
+        underTest = MonitorUnzipFileUseCase(zipBrowserRepository = zipBrowserRepository)
+    }
+
+    @BeforeEach
+    fun resetMock() {
+        reset(zipBrowserRepository)
+    }
+
+    @Test
+    fun `test that the repository progress is returned`() = runTest {
+        val progress = listOf(Progress(0.5f), Progress(1f))
+        whenever(zipBrowserRepository.monitorUnzipFile(testZipFile, testUnzipRootPath))
+            .thenReturn(flowOf(*progress.toTypedArray()))
+
+        underTest(testZipFile, testUnzipRootPath).test {
+            assertThat(awaitItem()).isEqualTo(progress[0])
+            assertThat(awaitItem()).isEqualTo(progress[1])
+            awaitComplete()
+        }
+    }
+
+    @Test
+    fun `test that the flow is empty and the repository is not called when zipFile is null`() =
+        runTest {
+            underTest(null, testUnzipRootPath).test {
+                awaitComplete()
+            }
+            verifyNoInteractions(zipBrowserRepository)
+        }
+}